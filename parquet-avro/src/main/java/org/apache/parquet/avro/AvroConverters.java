@@ -62,6 +62,12 @@ public class AvroConverters {
       parent.add(convert(value));
     }
 
+    // converted values never share the bytes of the Binary
+    @Override
+    public boolean hasReusedBinarySupport() {
+      return true;
+    }
+
     @Override
     public boolean hasDictionarySupport() {
       return true;
@@ -246,6 +246,11 @@ class AvroIndexedRecordConverter<T extends IndexedRecord> extends GroupConverter
           SpecificData.get().getClass(enumSchema);
     }
 
+    @Override
+    public boolean hasReusedBinarySupport() {
+      return true;
+    }
+
     @Override
     final public void addBinary(Binary value) {
       Object enumValue = value.toStringUsingUTF8();
@@ -282,6 +287,11 @@ class AvroIndexedRecordConverter<T extends IndexedRecord> extends GroupConverter
       }
     }
 
+    @Override
+    public boolean hasReusedBinarySupport() {
+      return true;
+    }
+
     @Override
     final public void addBinary(Binary value) {
       if (fixedClass == null) {
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import org.apache.parquet.column.values.bitpacking.BytePacker;
+import org.apache.parquet.column.values.bitpacking.BytePackerForLong;
+import org.apache.parquet.column.values.bitpacking.Packer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares unpack32Values, which reads 64 bit words, to unpack8Values, which
+ * reads one byte at a time, on the little endian packers used by the
+ * RLE/bit-packing hybrid and delta encodings.
+ */
+@State(Scope.Thread)
+public class BitUnpackingBenchmarks {
+  private static final int VALUE_COUNT = 32 * 1024;
+
+  @Param({ "1", "2", "3", "4", "7", "8", "12", "16", "20", "32" })
+  public int bitWidth;
+
+  private BytePacker packer;
+  private BytePackerForLong longPacker;
+  private ByteBuffer packed;
+  private ByteBuffer packedLongs;
+  private int[] ints;
+  private long[] longs;
+
+  @Setup
+  public void setup() {
+    this.packer = Packer.LITTLE_ENDIAN.newBytePacker(bitWidth);
+    this.longPacker = Packer.LITTLE_ENDIAN.newBytePackerForLong(bitWidth * 2);
+    this.packed = randomBytes(VALUE_COUNT / 8 * bitWidth);
+    this.packedLongs = randomBytes(VALUE_COUNT / 8 * bitWidth * 2);
+    this.ints = new int[VALUE_COUNT];
+    this.longs = new long[VALUE_COUNT];
+  }
+
+  private static ByteBuffer randomBytes(int length) {
+    byte[] bytes = new byte[length];
+    new Random(42).nextBytes(bytes);
+    return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  @Benchmark
+  public void unpack8Values(Blackhole blackhole) {
+    for (int i = 0, pos = 0; i < VALUE_COUNT; i += 8, pos += bitWidth) {
+      packer.unpack8Values(packed, pos, ints, i);
+    }
+    blackhole.consume(ints);
+  }
+
+  @Benchmark
+  public void unpack32Values(Blackhole blackhole) {
+    for (int i = 0, pos = 0; i < VALUE_COUNT; i += 32, pos += bitWidth * 4) {
+      packer.unpack32Values(packed, pos, ints, i);
+    }
+    blackhole.consume(ints);
+  }
+
+  @Benchmark
+  public void unpack8LongValues(Blackhole blackhole) {
+    int width = longPacker.getBitWidth();
+    for (int i = 0, pos = 0; i < VALUE_COUNT; i += 8, pos += width) {
+      longPacker.unpack8Values(packedLongs, pos, longs, i);
+    }
+    blackhole.consume(longs);
+  }
+
+  @Benchmark
+  public void unpack32LongValues(Blackhole blackhole) {
+    int width = longPacker.getBitWidth();
+    for (int i = 0, pos = 0; i < VALUE_COUNT; i += 32, pos += width * 4) {
+      longPacker.unpack32Values(packedLongs, pos, longs, i);
+    }
+    blackhole.consume(longs);
+  }
+}
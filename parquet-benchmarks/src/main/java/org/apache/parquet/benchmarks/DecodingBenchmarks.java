@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.benchmarks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.apache.parquet.bytes.ByteBufferInputStream;
+import org.apache.parquet.bytes.HeapByteBufferAllocator;
+import org.apache.parquet.column.values.delta.DeltaBinaryPackingValuesReader;
+import org.apache.parquet.column.values.delta.DeltaBinaryPackingValuesWriterForLong;
+import org.apache.parquet.column.values.rle.RunLengthBitPackingHybridDecoder;
+import org.apache.parquet.column.values.rle.RunLengthBitPackingHybridEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Decodes pages of RLE/bit-packed levels or dictionary ids, and of delta
+ * encoded longs, with values of a given bit width. A bit width of 0 gives
+ * RLE runs and mini blocks that only have the min delta.
+ */
+@State(Scope.Thread)
+public class DecodingBenchmarks {
+  private static final int VALUE_COUNT = 64 * 1024;
+
+  @Param({ "0", "1", "2", "4", "8", "12", "16", "20" })
+  public int bitWidth;
+
+  private ByteBuffer rlePage;
+  private ByteBuffer deltaPage;
+  private int[] ints;
+  private long[] longs;
+
+  @Setup
+  public void setup() throws IOException {
+    Random random = new Random(42);
+    int rleWidth = Math.max(1, bitWidth);
+    RunLengthBitPackingHybridEncoder encoder = new RunLengthBitPackingHybridEncoder(
+        rleWidth, 64 * 1024, 1024 * 1024, new HeapByteBufferAllocator());
+    DeltaBinaryPackingValuesWriterForLong writer = new DeltaBinaryPackingValuesWriterForLong(
+        64 * 1024, 1024 * 1024, new HeapByteBufferAllocator());
+    long value = 0;
+    for (int i = 0; i < VALUE_COUNT; i += 1) {
+      int next = bitWidth == 0 ? 1 : random.nextInt(1 << bitWidth);
+      encoder.writeInt(next);
+      value += next;
+      writer.writeLong(value);
+    }
+    this.rlePage = encoder.toBytes().toByteBuffer();
+    this.deltaPage = writer.getBytes().toByteBuffer();
+    this.ints = new int[VALUE_COUNT];
+    this.longs = new long[VALUE_COUNT];
+  }
+
+  @Benchmark
+  public void decodeRunLengthBitPackingHybrid(Blackhole blackhole) throws IOException {
+    RunLengthBitPackingHybridDecoder decoder = new RunLengthBitPackingHybridDecoder(
+        Math.max(1, bitWidth), new ByteBufferInputStream(rlePage.duplicate()));
+    decoder.readInts(ints, 0, VALUE_COUNT);
+    blackhole.consume(ints);
+  }
+
+  @Benchmark
+  public void decodeDeltaBinaryPacking(Blackhole blackhole) throws IOException {
+    DeltaBinaryPackingValuesReader reader = new DeltaBinaryPackingValuesReader();
+    reader.initFromPage(VALUE_COUNT, deltaPage.duplicate(), 0);
+    reader.readLongs(longs, 0, VALUE_COUNT);
+    blackhole.consume(longs);
+  }
+}
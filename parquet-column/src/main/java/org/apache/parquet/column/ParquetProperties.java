@@ -18,6 +18,10 @@
  */
 package org.apache.parquet.column;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
 import org.apache.parquet.Preconditions;
 import org.apache.parquet.bytes.ByteBufferAllocator;
 import org.apache.parquet.bytes.CapacityByteArrayOutputStream;
@@ -29,11 +33,14 @@ import org.apache.parquet.column.impl.ColumnWriteStoreV2;
 import org.apache.parquet.column.page.PageWriteStore;
 import org.apache.parquet.column.values.ValuesWriter;
 import org.apache.parquet.column.values.bitpacking.DevNullValuesWriter;
+import org.apache.parquet.column.values.bloomfilter.BlockSplitBloomFilter;
 import org.apache.parquet.column.values.factory.DefaultValuesWriterFactory;
 import org.apache.parquet.column.values.rle.RunLengthBitPackingHybridEncoder;
 import org.apache.parquet.column.values.rle.RunLengthBitPackingHybridValuesWriter;
 import org.apache.parquet.column.values.factory.ValuesWriterFactory;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
 import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
 
 /**
  * This class represents all the configurable Parquet properties.
@@ -52,6 +59,9 @@ public class ParquetProperties {
   public static final int DEFAULT_MAXIMUM_RECORD_COUNT_FOR_CHECK = 10000;
 
   public static final ValuesWriterFactory DEFAULT_VALUES_WRITER_FACTORY = new DefaultValuesWriterFactory();
+  public static final long DEFAULT_BLOOM_FILTER_NDV = 100000;
+  public static final double DEFAULT_BLOOM_FILTER_FPP = 0.01;
+  public static final boolean DEFAULT_PAGE_INDEX_ENABLED = false;
 
   private static final int MIN_SLAB_SIZE = 64;
 
@@ -85,11 +95,16 @@ public class ParquetProperties {
   private final int maxRowCountForPageSizeCheck;
   private final boolean estimateNextSizeCheck;
   private final ByteBufferAllocator allocator;
+  private final Set<String> bloomFilterColumns;
+  private final long bloomFilterNDV;
+  private final double bloomFilterFPP;
+  private final boolean pageIndexEnabled;
   private final ValuesWriterFactory valuesWriterFactory;
 
   private ParquetProperties(WriterVersion writerVersion, int pageSize, int dictPageSize, boolean enableDict, int minRowCountForPageSizeCheck,
                             int maxRowCountForPageSizeCheck, boolean estimateNextSizeCheck, ByteBufferAllocator allocator,
-                            ValuesWriterFactory writerFactory) {
+                            ValuesWriterFactory writerFactory, Set<String> bloomFilterColumns,
+                            long bloomFilterNDV, double bloomFilterFPP, boolean pageIndexEnabled) {
     this.pageSizeThreshold = pageSize;
     this.initialSlabSize = CapacityByteArrayOutputStream
       .initialSlabSizeHeuristic(MIN_SLAB_SIZE, pageSizeThreshold, 10);
@@ -100,6 +115,10 @@ public class ParquetProperties {
     this.maxRowCountForPageSizeCheck = maxRowCountForPageSizeCheck;
     this.estimateNextSizeCheck = estimateNextSizeCheck;
     this.allocator = allocator;
+    this.bloomFilterColumns = bloomFilterColumns;
+    this.bloomFilterNDV = bloomFilterNDV;
+    this.bloomFilterFPP = bloomFilterFPP;
+    this.pageIndexEnabled = pageIndexEnabled;
 
     this.valuesWriterFactory = writerFactory;
   }
@@ -138,6 +157,19 @@ public class ParquetProperties {
     return valuesWriterFactory.newValuesWriter(path);
   }
 
+  /**
+   * @param path a column
+   * @return an empty Bloom filter for the values of a chunk of the column, or
+   *         null if the column has no Bloom filter
+   */
+  public BlockSplitBloomFilter newBloomFilter(ColumnDescriptor path) {
+    if (bloomFilterColumns.isEmpty() || path.getType() == PrimitiveTypeName.BOOLEAN
+        || !bloomFilterColumns.contains(ColumnPath.get(path.getPath()).toDotString())) {
+      return null;
+    }
+    return new BlockSplitBloomFilter(BlockSplitBloomFilter.optimalNumOfBytes(bloomFilterNDV, bloomFilterFPP));
+  }
+
   public int getPageSizeThreshold() {
     return pageSizeThreshold;
   }
@@ -190,6 +222,22 @@ public class ParquetProperties {
     return estimateNextSizeCheck;
   }
 
+  public Set<String> getBloomFilterColumns() {
+    return bloomFilterColumns;
+  }
+
+  public long getBloomFilterNDV() {
+    return bloomFilterNDV;
+  }
+
+  public double getBloomFilterFPP() {
+    return bloomFilterFPP;
+  }
+
+  public boolean isPageIndexEnabled() {
+    return pageIndexEnabled;
+  }
+
   public static Builder builder() {
     return new Builder();
   }
@@ -208,6 +256,10 @@ public class ParquetProperties {
     private boolean estimateNextSizeCheck = DEFAULT_ESTIMATE_ROW_COUNT_FOR_PAGE_SIZE_CHECK;
     private ByteBufferAllocator allocator = new HeapByteBufferAllocator();
     private ValuesWriterFactory valuesWriterFactory = DEFAULT_VALUES_WRITER_FACTORY;
+    private Set<String> bloomFilterColumns = Collections.emptySet();
+    private long bloomFilterNDV = DEFAULT_BLOOM_FILTER_NDV;
+    private double bloomFilterFPP = DEFAULT_BLOOM_FILTER_FPP;
+    private boolean pageIndexEnabled = DEFAULT_PAGE_INDEX_ENABLED;
 
     private Builder() {
     }
@@ -220,6 +272,10 @@ public class ParquetProperties {
       this.maxRowCountForPageSizeCheck = toCopy.maxRowCountForPageSizeCheck;
       this.estimateNextSizeCheck = toCopy.estimateNextSizeCheck;
       this.allocator = toCopy.allocator;
+      this.bloomFilterColumns = toCopy.bloomFilterColumns;
+      this.bloomFilterNDV = toCopy.bloomFilterNDV;
+      this.bloomFilterFPP = toCopy.bloomFilterFPP;
+      this.pageIndexEnabled = toCopy.pageIndexEnabled;
     }
 
     /**
@@ -296,6 +352,59 @@ public class ParquetProperties {
       return this;
     }
 
+    /**
+     * Set the columns that have a Bloom filter in each column chunk.
+     *
+     * @param columns the dot separated paths of the columns
+     * @return this builder for method chaining.
+     */
+    public Builder withBloomFilterColumns(Set<String> columns) {
+      Preconditions.checkNotNull(columns, "Bloom filter columns");
+      this.bloomFilterColumns = Collections.unmodifiableSet(new HashSet<String>(columns));
+      return this;
+    }
+
+    /**
+     * Set the number of distinct values expected in a column chunk, used to
+     * size the Bloom filters.
+     *
+     * @param ndv the expected number of distinct values
+     * @return this builder for method chaining.
+     */
+    public Builder withBloomFilterNDV(long ndv) {
+      Preconditions.checkArgument(ndv > 0,
+          "Invalid Bloom filter NDV (negative): %s", ndv);
+      this.bloomFilterNDV = ndv;
+      return this;
+    }
+
+    /**
+     * Set the false positive probability of the Bloom filters for the
+     * expected number of distinct values.
+     *
+     * @param fpp a probability between 0 and 1
+     * @return this builder for method chaining.
+     */
+    public Builder withBloomFilterFPP(double fpp) {
+      Preconditions.checkArgument(fpp > 0.0 && fpp < 1.0,
+          "Invalid Bloom filter false positive probability: %s", fpp);
+      this.bloomFilterFPP = fpp;
+      return this;
+    }
+
+    /**
+     * Enable or disable writing column and offset indexes for the pages of
+     * each column chunk. The indexes are not part of parquet-format and are
+     * located through the key/value metadata of the column chunks.
+     *
+     * @param enablePageIndex whether page indexes should be written
+     * @return this builder for method chaining.
+     */
+    public Builder withPageIndex(boolean enablePageIndex) {
+      this.pageIndexEnabled = enablePageIndex;
+      return this;
+    }
+
     public Builder withValuesWriterFactory(ValuesWriterFactory factory) {
       Preconditions.checkNotNull(factory, "ValuesWriterFactory");
       this.valuesWriterFactory = factory;
@@ -306,7 +415,8 @@ public class ParquetProperties {
       ParquetProperties properties =
         new ParquetProperties(writerVersion, pageSize, dictPageSize,
           enableDict, minRowCountForPageSizeCheck, maxRowCountForPageSizeCheck,
-          estimateNextSizeCheck, allocator, valuesWriterFactory);
+          estimateNextSizeCheck, allocator, valuesWriterFactory, bloomFilterColumns,
+          bloomFilterNDV, bloomFilterFPP, pageIndexEnabled);
       // we pass a constructed but uninitialized factory to ParquetProperties above as currently
       // creation of ValuesWriters is invoked from within ParquetProperties. In the future
       // we'd like to decouple that and won't need to pass an object to properties and then pass the
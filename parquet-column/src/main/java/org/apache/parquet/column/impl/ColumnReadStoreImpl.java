@@ -24,8 +24,10 @@ import org.apache.parquet.VersionParser.VersionParseException;
 import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.ColumnReadStore;
 import org.apache.parquet.column.ColumnReader;
+import org.apache.parquet.column.page.FilteredPageReadStore;
 import org.apache.parquet.column.page.PageReadStore;
 import org.apache.parquet.column.page.PageReader;
+import org.apache.parquet.filter2.columnindex.RowRanges;
 import org.apache.parquet.io.api.Converter;
 import org.apache.parquet.io.api.GroupConverter;
 import org.apache.parquet.io.api.PrimitiveConverter;
@@ -79,7 +81,11 @@ public class ColumnReadStoreImpl implements ColumnReadStore {
 
   private ColumnReaderImpl newMemColumnReader(ColumnDescriptor path, PageReader pageReader) {
     PrimitiveConverter converter = getPrimitiveConverter(path);
-    return new ColumnReaderImpl(path, pageReader, converter, writerVersion);
+    RowRanges rowRanges = null;
+    if (pageReadStore instanceof FilteredPageReadStore) {
+      rowRanges = ((FilteredPageReadStore) pageReadStore).getRowRanges();
+    }
+    return new ColumnReaderImpl(path, pageReader, converter, writerVersion, rowRanges);
   }
 
   private PrimitiveConverter getPrimitiveConverter(ColumnDescriptor path) {
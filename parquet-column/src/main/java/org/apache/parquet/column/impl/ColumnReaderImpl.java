@@ -19,6 +19,7 @@
 package org.apache.parquet.column.impl;
 
 import static java.lang.String.format;
+import static org.apache.parquet.Preconditions.checkArgument;
 import static org.apache.parquet.Preconditions.checkNotNull;
 import static org.apache.parquet.column.ValuesType.DEFINITION_LEVEL;
 import static org.apache.parquet.column.ValuesType.REPETITION_LEVEL;
@@ -41,9 +42,12 @@ import org.apache.parquet.column.page.DataPageV1;
 import org.apache.parquet.column.page.DataPageV2;
 import org.apache.parquet.column.page.DictionaryPage;
 import org.apache.parquet.column.page.PageReader;
+import org.apache.parquet.column.page.SkippablePageReader;
 import org.apache.parquet.column.values.RequiresPreviousReader;
 import org.apache.parquet.column.values.ValuesReader;
 import org.apache.parquet.column.values.rle.RunLengthBitPackingHybridDecoder;
+import org.apache.parquet.column.values.rle.RunLengthBitPackingHybridValuesReader;
+import org.apache.parquet.filter2.columnindex.RowRanges;
 import org.apache.parquet.io.ParquetDecodingException;
 import org.apache.parquet.io.api.Binary;
 import org.apache.parquet.io.api.PrimitiveConverter;
@@ -139,6 +143,10 @@ public class ColumnReaderImpl implements ColumnReader {
   private final long totalValueCount;
   private final PageReader pageReader;
   private final Dictionary dictionary;
+  // the rows to read when the page reader returns only some pages, or null
+  private final RowRanges rowRanges;
+  private long currentRow;
+  private int currentRange = 0;
 
   private IntIterator repetitionLevelColumn;
   private IntIterator definitionLevelColumn;
@@ -334,14 +342,25 @@ public class ColumnReaderImpl implements ColumnReader {
    * @param pageReader the underlying store to read from
    */
   public ColumnReaderImpl(ColumnDescriptor path, PageReader pageReader, PrimitiveConverter converter, ParsedVersion writerVersion) {
+    this(path, pageReader, converter, writerVersion, null);
+  }
+
+  /**
+   * creates a reader for triplets that returns only the values of the given rows
+   * @param path the descriptor for the corresponding column
+   * @param pageReader the underlying store to read from, its pages must have a first row index
+   * @param rowRanges the rows to read, or null to read all values
+   */
+  public ColumnReaderImpl(ColumnDescriptor path, PageReader pageReader, PrimitiveConverter converter, ParsedVersion writerVersion, RowRanges rowRanges) {
     this.path = checkNotNull(path, "path");
+    this.rowRanges = rowRanges;
     this.pageReader = checkNotNull(pageReader, "pageReader");
     this.converter = checkNotNull(converter, "converter");
     this.writerVersion = writerVersion;
     DictionaryPage dictionaryPage = pageReader.readDictionaryPage();
     if (dictionaryPage != null) {
       try {
-        this.dictionary = dictionaryPage.getEncoding().initDictionary(path, dictionaryPage);
+        this.dictionary = dictionaryPage.decode(path);
         if (converter.hasDictionarySupport()) {
           converter.setDictionary(dictionary);
         }
@@ -504,6 +523,83 @@ public class ColumnReaderImpl implements ColumnReader {
     }
   }
 
+  /**
+   * Skips the current triplet and the next n - 1 triplets, then moves to the
+   * triplet after them. This is the same as calling {@link #skip()} for each
+   * non-null value and {@link #consume()} n times, but values are skipped
+   * without decoding them and pages that are skipped entirely are not
+   * decompressed when possible.
+   * @param n the number of triplets to skip, starting with the current one
+   */
+  public void skip(long n) {
+    checkArgument(n >= 0, "Cannot skip a negative number of values: %s", n);
+    if (n == 0) {
+      return;
+    }
+    if (definitionLevel == path.getMaxDefinitionLevel()) {
+      skip();
+    }
+    if (rowRanges != null) {
+      // triplets are counted in the selected rows, consume skips the rows between them
+      for (long i = 1; i < n; i += 1) {
+        consume();
+        if (definitionLevel == path.getMaxDefinitionLevel()) {
+          skip();
+        }
+      }
+      consume();
+      return;
+    }
+    long remaining = n - 1;
+    while (remaining > 0 && !isFullyConsumed()) {
+      if (isPageFullyConsumed()) {
+        int skipped = skipPage(remaining);
+        if (skipped > 0) {
+          remaining -= skipped;
+        } else {
+          readPage();
+        }
+      } else {
+        int count = (int) Math.min(remaining, endOfPageValueCount - readValues);
+        skipInPage(count);
+        remaining -= count;
+      }
+    }
+    consume();
+  }
+
+  /**
+   * Skips the next values of the current page without decoding them.
+   */
+  private void skipInPage(int count) {
+    repetitionLevelColumn.skip(count);
+    int values = definitionLevelColumn.countAndSkip(path.getMaxDefinitionLevel(), count);
+    dataColumn.skip(values);
+    readValues += count;
+  }
+
+  /**
+   * Skips the next page without decompressing it if the page reader supports
+   * it and all of its values are skipped.
+   * @return the number of values of the skipped page, or 0 if it was not skipped
+   */
+  private int skipPage(long maxValues) {
+    // the delta byte array values of a page may depend on the previous page
+    if (!(pageReader instanceof SkippablePageReader)
+        || CorruptDeltaByteArrays.requiresSequentialReads(writerVersion, Encoding.DELTA_BYTE_ARRAY)) {
+      return 0;
+    }
+    SkippablePageReader pages = (SkippablePageReader) pageReader;
+    int count = pages.getNextPageValueCount();
+    if (count <= 0 || count > maxValues) {
+      return 0;
+    }
+    pages.skipPage();
+    readValues += count;
+    endOfPageValueCount = readValues;
+    return count;
+  }
+
   /**
    * {@inheritDoc}
    * @see org.apache.parquet.column.ColumnReader#getCurrentDefinitionLevel()
@@ -521,20 +617,82 @@ public class ColumnReaderImpl implements ColumnReader {
   }
 
   private void checkRead() {
-    if (isPageFullyConsumed()) {
-      if (isFullyConsumed()) {
-        LOG.debug("end reached");
-        repetitionLevel = 0; // the next repetition level
-        return;
+    while (true) {
+      if (isPageFullyConsumed()) {
+        if (isFullyConsumed()) {
+          LOG.debug("end reached");
+          repetitionLevel = 0; // the next repetition level
+          return;
+        }
+        readPage();
+      } else if (!skipUnselectedRows()) {
+        readRepetitionAndDefinitionLevels();
+        if (!skipUnselectedValue()) {
+          return;
+        }
       }
-      readPage();
     }
-    readRepetitionAndDefinitionLevels();
+  }
+
+  /**
+   * Skips the values of the current page up to the next row range without
+   * decoding them, when row ranges are set and each value is a row.
+   * @return true if values were skipped
+   */
+  private boolean skipUnselectedRows() {
+    if (rowRanges == null || path.getMaxRepetitionLevel() > 0) {
+      return false;
+    }
+    long nextRow = currentRow + 1;
+    while (currentRange < rowRanges.size() && rowRanges.getTo(currentRange) < nextRow) {
+      ++currentRange;
+    }
+    long unselected = currentRange < rowRanges.size()
+        ? rowRanges.getFrom(currentRange) - nextRow
+        : Long.MAX_VALUE;
+    if (unselected <= 0) {
+      return false;
+    }
+    int count = (int) Math.min(unselected, endOfPageValueCount - readValues);
+    skipInPage(count);
+    currentRow += count;
+    return true;
+  }
+
+  /**
+   * Skips the current value if row ranges are set and its row is not in them.
+   * @return true if the value was skipped
+   */
+  private boolean skipUnselectedValue() {
+    if (rowRanges == null) {
+      return false;
+    }
+    if (repetitionLevel == 0) {
+      ++currentRow;
+    }
+    // rows only increase so ranges before the current row are done
+    while (currentRange < rowRanges.size() && rowRanges.getTo(currentRange) < currentRow) {
+      ++currentRange;
+    }
+    if (currentRange < rowRanges.size() && rowRanges.getFrom(currentRange) <= currentRow) {
+      return false;
+    }
+    if (definitionLevel == path.getMaxDefinitionLevel()) {
+      binding.skip();
+    }
+    return true;
   }
 
   private void readPage() {
     LOG.debug("loading page");
     DataPage page = pageReader.readPage();
+    if (rowRanges != null) {
+      if (page.getFirstRowIndex() < 0) {
+        throw new ParquetDecodingException("missing the first row index of a page in col " + path);
+      }
+      // pages are not contiguous when only some of them are read
+      this.currentRow = page.getFirstRowIndex() - 1;
+    }
     page.accept(new DataPage.Visitor<Void>() {
       @Override
       public Void visit(DataPageV1 dataPageV1) {
@@ -565,6 +723,7 @@ public class ColumnReaderImpl implements ColumnReader {
     } else {
       this.dataColumn = dataEncoding.getValuesReader(path, VALUES);
     }
+    dataColumn.setReuseBinaries(converter.hasReusedBinarySupport());
     if (dataEncoding.usesDictionary() && converter.hasDictionarySupport()) {
       bindToDictionary(dictionary);
     } else {
@@ -654,6 +813,13 @@ public class ColumnReaderImpl implements ColumnReader {
 
   static abstract class IntIterator {
     abstract int nextInt();
+
+    abstract void skip(int n);
+
+    /**
+     * @return the number of the next n values that are equal to value
+     */
+    abstract int countAndSkip(int value, int n);
   }
 
   static class ValuesReaderIntIterator extends IntIterator {
@@ -668,6 +834,25 @@ public class ColumnReaderImpl implements ColumnReader {
     int nextInt() {
       return delegate.readInteger();
     }
+
+    @Override
+    void skip(int n) {
+      delegate.skip(n);
+    }
+
+    @Override
+    int countAndSkip(int value, int n) {
+      if (delegate instanceof RunLengthBitPackingHybridValuesReader) {
+        return ((RunLengthBitPackingHybridValuesReader) delegate).countAndSkip(value, n);
+      }
+      int count = 0;
+      for (int i = 0; i < n; i += 1) {
+        if (delegate.readInteger() == value) {
+          count += 1;
+        }
+      }
+      return count;
+    }
   }
 
   static class RLEIntIterator extends IntIterator {
@@ -685,6 +870,24 @@ public class ColumnReaderImpl implements ColumnReader {
         throw new ParquetDecodingException(e);
       }
     }
+
+    @Override
+    void skip(int n) {
+      try {
+        delegate.skip(n);
+      } catch (IOException e) {
+        throw new ParquetDecodingException(e);
+      }
+    }
+
+    @Override
+    int countAndSkip(int value, int n) {
+      try {
+        return delegate.countAndSkip(value, n);
+      } catch (IOException e) {
+        throw new ParquetDecodingException(e);
+      }
+    }
   }
 
   private static final class NullIntIterator extends IntIterator {
@@ -692,5 +895,14 @@ public class ColumnReaderImpl implements ColumnReader {
     int nextInt() {
       return 0;
     }
+
+    @Override
+    void skip(int n) {
+    }
+
+    @Override
+    int countAndSkip(int value, int n) {
+      return value == 0 ? n : 0;
+    }
   }
 }
@@ -25,10 +25,12 @@ import java.io.IOException;
 import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.ColumnWriter;
 import org.apache.parquet.column.ParquetProperties;
+import org.apache.parquet.column.page.BloomFilterPageWriter;
 import org.apache.parquet.column.page.DictionaryPage;
 import org.apache.parquet.column.page.PageWriter;
 import org.apache.parquet.column.statistics.Statistics;
 import org.apache.parquet.column.values.ValuesWriter;
+import org.apache.parquet.column.values.bloomfilter.BlockSplitBloomFilter;
 import org.apache.parquet.io.ParquetEncodingException;
 import org.apache.parquet.io.api.Binary;
 import org.slf4j.Logger;
@@ -57,6 +59,7 @@ final class ColumnWriterV1 implements ColumnWriter {
   private int valueCount;
   private int valueCountForNextSizeCheck;
 
+  private BlockSplitBloomFilter bloomFilter;
   private Statistics statistics;
 
   public ColumnWriterV1(ColumnDescriptor path, PageWriter pageWriter,
@@ -73,6 +76,7 @@ final class ColumnWriterV1 implements ColumnWriter {
     this.repetitionLevelColumn = props.newRepetitionLevelWriter(path);
     this.definitionLevelColumn = props.newDefinitionLevelWriter(path);
     this.dataColumn = props.newValuesWriter(path);
+    this.bloomFilter = props.newBloomFilter(path);
   }
 
   private void log(Object value, int r, int d) {
@@ -180,6 +184,7 @@ final class ColumnWriterV1 implements ColumnWriter {
     definitionLevelColumn.writeInteger(definitionLevel);
     dataColumn.writeDouble(value);
     updateStatistics(value);
+    if (bloomFilter != null) bloomFilter.insertHash(BlockSplitBloomFilter.hash(value));
     accountForValueWritten();
   }
 
@@ -190,6 +195,7 @@ final class ColumnWriterV1 implements ColumnWriter {
     definitionLevelColumn.writeInteger(definitionLevel);
     dataColumn.writeFloat(value);
     updateStatistics(value);
+    if (bloomFilter != null) bloomFilter.insertHash(BlockSplitBloomFilter.hash(value));
     accountForValueWritten();
   }
 
@@ -200,6 +206,7 @@ final class ColumnWriterV1 implements ColumnWriter {
     definitionLevelColumn.writeInteger(definitionLevel);
     dataColumn.writeBytes(value);
     updateStatistics(value);
+    if (bloomFilter != null) bloomFilter.insertHash(BlockSplitBloomFilter.hash(value));
     accountForValueWritten();
   }
 
@@ -220,6 +227,7 @@ final class ColumnWriterV1 implements ColumnWriter {
     definitionLevelColumn.writeInteger(definitionLevel);
     dataColumn.writeInteger(value);
     updateStatistics(value);
+    if (bloomFilter != null) bloomFilter.insertHash(BlockSplitBloomFilter.hash(value));
     accountForValueWritten();
   }
 
@@ -230,6 +238,7 @@ final class ColumnWriterV1 implements ColumnWriter {
     definitionLevelColumn.writeInteger(definitionLevel);
     dataColumn.writeLong(value);
     updateStatistics(value);
+    if (bloomFilter != null) bloomFilter.insertHash(BlockSplitBloomFilter.hash(value));
     accountForValueWritten();
   }
 
@@ -247,6 +256,19 @@ final class ColumnWriterV1 implements ColumnWriter {
       }
       dataColumn.resetDictionary();
     }
+    writeBloomFilter();
+  }
+
+  /**
+   * Hands the Bloom filter of the chunk to the page writer, if it stores them.
+   */
+  private void writeBloomFilter() {
+    if (bloomFilter != null) {
+      if (pageWriter instanceof BloomFilterPageWriter) {
+        ((BloomFilterPageWriter) pageWriter).writeBloomFilter(bloomFilter);
+      }
+      this.bloomFilter = null;
+    }
   }
 
   @Override
@@ -26,10 +26,12 @@ import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.ColumnWriter;
 import org.apache.parquet.column.Encoding;
 import org.apache.parquet.column.ParquetProperties;
+import org.apache.parquet.column.page.BloomFilterPageWriter;
 import org.apache.parquet.column.page.DictionaryPage;
 import org.apache.parquet.column.page.PageWriter;
 import org.apache.parquet.column.statistics.Statistics;
 import org.apache.parquet.column.values.ValuesWriter;
+import org.apache.parquet.column.values.bloomfilter.BlockSplitBloomFilter;
 import org.apache.parquet.column.values.rle.RunLengthBitPackingHybridEncoder;
 import org.apache.parquet.io.ParquetEncodingException;
 import org.apache.parquet.io.api.Binary;
@@ -56,6 +58,7 @@ final class ColumnWriterV2 implements ColumnWriter {
   private ValuesWriter dataColumn;
   private int valueCount;
 
+  private BlockSplitBloomFilter bloomFilter;
   private Statistics<?> statistics;
   private long rowsWrittenSoFar = 0;
 
@@ -70,6 +73,7 @@ final class ColumnWriterV2 implements ColumnWriter {
     this.repetitionLevelColumn = props.newRepetitionLevelEncoder(path);
     this.definitionLevelColumn = props.newDefinitionLevelEncoder(path);
     this.dataColumn = props.newValuesWriter(path);
+    this.bloomFilter = props.newBloomFilter(path);
   }
 
   private void log(Object value, int r, int d) {
@@ -137,6 +141,7 @@ final class ColumnWriterV2 implements ColumnWriter {
     definitionLevel(definitionLevel);
     dataColumn.writeDouble(value);
     statistics.updateStats(value);
+    if (bloomFilter != null) bloomFilter.insertHash(BlockSplitBloomFilter.hash(value));
     ++ valueCount;
   }
 
@@ -152,6 +157,7 @@ final class ColumnWriterV2 implements ColumnWriter {
     definitionLevel(definitionLevel);
     dataColumn.writeFloat(value);
     statistics.updateStats(value);
+    if (bloomFilter != null) bloomFilter.insertHash(BlockSplitBloomFilter.hash(value));
     ++ valueCount;
   }
 
@@ -167,6 +173,7 @@ final class ColumnWriterV2 implements ColumnWriter {
     definitionLevel(definitionLevel);
     dataColumn.writeBytes(value);
     statistics.updateStats(value);
+    if (bloomFilter != null) bloomFilter.insertHash(BlockSplitBloomFilter.hash(value));
     ++ valueCount;
   }
 
@@ -197,6 +204,7 @@ final class ColumnWriterV2 implements ColumnWriter {
     definitionLevel(definitionLevel);
     dataColumn.writeInteger(value);
     statistics.updateStats(value);
+    if (bloomFilter != null) bloomFilter.insertHash(BlockSplitBloomFilter.hash(value));
     ++ valueCount;
   }
 
@@ -212,6 +220,7 @@ final class ColumnWriterV2 implements ColumnWriter {
     definitionLevel(definitionLevel);
     dataColumn.writeLong(value);
     statistics.updateStats(value);
+    if (bloomFilter != null) bloomFilter.insertHash(BlockSplitBloomFilter.hash(value));
     ++ valueCount;
   }
 
@@ -230,6 +239,19 @@ final class ColumnWriterV2 implements ColumnWriter {
       }
       dataColumn.resetDictionary();
     }
+    writeBloomFilter();
+  }
+
+  /**
+   * Hands the Bloom filter of the chunk to the page writer, if it stores them.
+   */
+  private void writeBloomFilter() {
+    if (bloomFilter != null) {
+      if (pageWriter instanceof BloomFilterPageWriter) {
+        ((BloomFilterPageWriter) pageWriter).writeBloomFilter(bloomFilter);
+      }
+      this.bloomFilter = null;
+    }
   }
 
   /**
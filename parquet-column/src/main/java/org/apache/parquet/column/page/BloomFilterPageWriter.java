@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.column.page;
+
+import org.apache.parquet.column.values.bloomfilter.BlockSplitBloomFilter;
+
+/**
+ * A {@link PageWriter} that stores the Bloom filter of its column chunk.
+ *
+ * Column writers hand the filter of the values of the chunk to it once the
+ * chunk is complete.
+ */
+public interface BloomFilterPageWriter extends PageWriter {
+
+  /**
+   * @param bloomFilter the Bloom filter of the values of this column chunk
+   */
+  void writeBloomFilter(BlockSplitBloomFilter bloomFilter);
+
+}
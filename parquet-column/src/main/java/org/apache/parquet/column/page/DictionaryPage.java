@@ -24,6 +24,8 @@ import java.io.IOException;
 
 import org.apache.parquet.Ints;
 import org.apache.parquet.bytes.BytesInput;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.Dictionary;
 import org.apache.parquet.column.Encoding;
 
 /**
@@ -37,6 +39,7 @@ public class DictionaryPage extends Page {
   private final BytesInput bytes;
   private final int dictionarySize;
   private final Encoding encoding;
+  private Dictionary dictionary = null;
 
   /**
    * creates an uncompressed page
@@ -74,6 +77,28 @@ public class DictionaryPage extends Page {
     return encoding;
   }
 
+  /**
+   * Decodes the values of this page. The page must be uncompressed.
+   * The values are decoded once and shared by the readers of the page.
+   *
+   * @param descriptor the column of the page
+   * @return the decoded dictionary
+   * @throws IOException if the page cannot be decoded
+   */
+  public synchronized Dictionary decode(ColumnDescriptor descriptor) throws IOException {
+    if (dictionary == null) {
+      this.dictionary = encoding.initDictionary(descriptor, this);
+    }
+    return dictionary;
+  }
+
+  /**
+   * @return whether {@link #decode} was called, which means the page is uncompressed
+   */
+  public synchronized boolean isDecoded() {
+    return dictionary != null;
+  }
+
   public DictionaryPage copy() throws IOException {
     return new DictionaryPage(BytesInput.copy(bytes), getUncompressedSize(), dictionarySize, encoding);
   }
@@ -0,0 +1,38 @@
+/* 
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.column.page;
+
+import org.apache.parquet.filter2.columnindex.RowRanges;
+
+/**
+ * A {@link PageReadStore} that may contain only the pages of its row group
+ * that overlap some ranges of rows.
+ *
+ * The pages returned for each column then have a first row index set and
+ * column readers skip the rows of those pages that are not in the ranges.
+ * {@link #getRowCount()} returns the number of rows in the ranges.
+ */
+public interface FilteredPageReadStore extends PageReadStore {
+
+  /**
+   * @return the rows of the row group to read, or null to read all rows
+   */
+  RowRanges getRowRanges();
+
+}
@@ -0,0 +1,39 @@
+/* 
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.column.page;
+
+/**
+ * A {@link PageReader} that can skip data pages without decompressing them,
+ * and without reading them when pages are read from the file one at a time.
+ *
+ * Column readers use it to skip whole pages of values that are not read.
+ */
+public interface SkippablePageReader extends PageReader {
+
+  /**
+   * @return the number of values in the next data page, or -1 if after the last page
+   */
+  int getNextPageValueCount();
+
+  /**
+   * Skips the next data page, which is not returned by {@link #readPage()}.
+   */
+  void skipPage();
+
+}
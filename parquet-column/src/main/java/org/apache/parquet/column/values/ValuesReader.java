@@ -131,9 +131,114 @@ public abstract class ValuesReader {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Allows {@link #readBytes()} to return the same {@link Binary.ReusableBinary}
+   * for successive values, which is only valid until the next value is read.
+   * Readers that do not allocate a Binary per value ignore it.
+   * @param reuse whether to reuse the returned Binary
+   */
+  public void setReuseBinaries(boolean reuse) {
+  }
+
   /**
    * Skips the next value in the page
    */
   abstract public void skip();
+
+  /**
+   * Skips the next values in the page. This default implementation calls
+   * {@link #skip()} for each value; encodings override it to skip without
+   * decoding the values.
+   * @param n the number of values to skip
+   */
+  public void skip(int n) {
+    for (int i = 0; i < n; i += 1) {
+      skip();
+    }
+  }
+
+  /*
+   * Bulk reads: the next values are written to dst[offset] to dst[offset + length - 1].
+   * These default implementations call the single-value methods; encodings
+   * override them to decode many values per call.
+   */
+
+  /**
+   * usable when the encoding is dictionary based
+   * @param dst the array to fill with the ids of the next values
+   * @param offset the first index of dst to fill
+   * @param length the number of values to read
+   */
+  public void readDictionaryIds(int[] dst, int offset, int length) {
+    for (int i = offset, end = offset + length; i < end; i += 1) {
+      dst[i] = readValueDictionaryId();
+    }
+  }
+
+  /**
+   * @param dst the array to fill with the next booleans
+   * @param offset the first index of dst to fill
+   * @param length the number of values to read
+   */
+  public void readBooleans(boolean[] dst, int offset, int length) {
+    for (int i = offset, end = offset + length; i < end; i += 1) {
+      dst[i] = readBoolean();
+    }
+  }
+
+  /**
+   * @param dst the array to fill with the next Binary values
+   * @param offset the first index of dst to fill
+   * @param length the number of values to read
+   */
+  public void readBinaries(Binary[] dst, int offset, int length) {
+    for (int i = offset, end = offset + length; i < end; i += 1) {
+      dst[i] = readBytes();
+    }
+  }
+
+  /**
+   * @param dst the array to fill with the next floats
+   * @param offset the first index of dst to fill
+   * @param length the number of values to read
+   */
+  public void readFloats(float[] dst, int offset, int length) {
+    for (int i = offset, end = offset + length; i < end; i += 1) {
+      dst[i] = readFloat();
+    }
+  }
+
+  /**
+   * @param dst the array to fill with the next doubles
+   * @param offset the first index of dst to fill
+   * @param length the number of values to read
+   */
+  public void readDoubles(double[] dst, int offset, int length) {
+    for (int i = offset, end = offset + length; i < end; i += 1) {
+      dst[i] = readDouble();
+    }
+  }
+
+  /**
+   * @param dst the array to fill with the next integers
+   * @param offset the first index of dst to fill
+   * @param length the number of values to read
+   */
+  public void readIntegers(int[] dst, int offset, int length) {
+    for (int i = offset, end = offset + length; i < end; i += 1) {
+      dst[i] = readInteger();
+    }
+  }
+
+  /**
+   * @param dst the array to fill with the next longs
+   * @param offset the first index of dst to fill
+   * @param length the number of values to read
+   */
+  public void readLongs(long[] dst, int offset, int length) {
+    for (int i = offset, end = offset + length; i < end; i += 1) {
+      dst[i] = readLong();
+    }
+  }
 }
 
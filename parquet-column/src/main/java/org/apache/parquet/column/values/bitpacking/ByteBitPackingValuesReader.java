@@ -65,6 +65,25 @@ public class ByteBitPackingValuesReader extends ValuesReader {
     return decoded[decodedPosition];
   }
 
+  @Override
+  public void readIntegers(int[] dst, int offset, int length) {
+    int i = offset;
+    int end = offset + length;
+    // values left from the last unpacked group
+    while (i < end && decodedPosition < VALUES_AT_A_TIME - 1) {
+      dst[i++] = decoded[++decodedPosition];
+    }
+    // whole groups are unpacked directly
+    while (end - i >= VALUES_AT_A_TIME && encodedPos + bitWidth <= encoded.limit()) {
+      packer.unpack8Values(encoded, encodedPos, dst, i);
+      encodedPos += bitWidth;
+      i += VALUES_AT_A_TIME;
+    }
+    while (i < end) {
+      dst[i++] = readInteger();
+    }
+  }
+
   @Override
   public void initFromPage(int valueCount, ByteBuffer page, int offset)
       throws IOException {
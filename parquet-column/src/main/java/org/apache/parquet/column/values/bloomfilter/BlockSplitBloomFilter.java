@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.column.values.bloomfilter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import org.apache.parquet.Preconditions;
+import org.apache.parquet.io.api.Binary;
+
+/**
+ * A split block Bloom filter: the filter is an array of 256 bit blocks, a
+ * value sets one bit in each of the 8 words of the block selected by its hash.
+ *
+ * Values are hashed with {@link XxHash64} over their plain encoding: 4 or 8
+ * little endian bytes for numbers, the bits of floating point numbers and
+ * the bytes of binary values. The filter is stored as its little endian words.
+ */
+public class BlockSplitBloomFilter {
+  public static final int BYTES_PER_BLOCK = 32;
+  public static final int MINIMUM_BYTES = BYTES_PER_BLOCK;
+  public static final int MAXIMUM_BYTES = 128 * 1024 * 1024;
+
+  private static final int WORDS_PER_BLOCK = 8;
+  private static final int[] SALT = {
+      0x47b6137b, 0x44974d91, 0x8824ad5b, 0xa2b7289d,
+      0x705495c7, 0x2df1424b, 0x9efc4947, 0x5c6bfb31 };
+
+  private final int[] words;
+  private final int numBlocks;
+
+  /**
+   * @param numBytes the size of the filter, rounded to a power of 2 between
+   *                 {@link #MINIMUM_BYTES} and {@link #MAXIMUM_BYTES}
+   */
+  public BlockSplitBloomFilter(int numBytes) {
+    this.numBlocks = normalizeSize(numBytes) / BYTES_PER_BLOCK;
+    this.words = new int[numBlocks * WORDS_PER_BLOCK];
+  }
+
+  /**
+   * @param bitset the bytes of a filter written by {@link #writeTo(OutputStream)}
+   */
+  public BlockSplitBloomFilter(byte[] bitset) {
+    Preconditions.checkArgument(bitset.length >= MINIMUM_BYTES && bitset.length % BYTES_PER_BLOCK == 0,
+        "Invalid Bloom filter size: %s", bitset.length);
+    this.numBlocks = bitset.length / BYTES_PER_BLOCK;
+    this.words = new int[numBlocks * WORDS_PER_BLOCK];
+    for (int i = 0, pos = 0; i < words.length; i += 1, pos += 4) {
+      words[i] = (bitset[pos] & 0xFF)
+          | ((bitset[pos + 1] & 0xFF) << 8)
+          | ((bitset[pos + 2] & 0xFF) << 16)
+          | ((bitset[pos + 3] & 0xFF) << 24);
+    }
+  }
+
+  /**
+   * Returns the size of a filter that holds the given number of distinct
+   * values with the given false positive probability, rounded to a power of 2
+   * between {@link #MINIMUM_BYTES} and {@link #MAXIMUM_BYTES}.
+   *
+   * @param ndv the expected number of distinct values
+   * @param fpp the false positive probability
+   * @return the number of bytes of the filter
+   */
+  public static int optimalNumOfBytes(long ndv, double fpp) {
+    Preconditions.checkArgument(fpp > 0.0 && fpp < 1.0,
+        "Invalid false positive probability: %s", fpp);
+    double bits = -WORDS_PER_BLOCK * ndv / Math.log(1 - Math.pow(fpp, 1.0 / WORDS_PER_BLOCK));
+    return normalizeSize((int) Math.min(Math.ceil(bits / 8), MAXIMUM_BYTES));
+  }
+
+  private static int normalizeSize(int numBytes) {
+    if (numBytes <= MINIMUM_BYTES) {
+      return MINIMUM_BYTES;
+    } else if (numBytes >= MAXIMUM_BYTES) {
+      return MAXIMUM_BYTES;
+    }
+    int size = Integer.highestOneBit(numBytes);
+    return size == numBytes ? size : size << 1;
+  }
+
+  public void insertHash(long hash) {
+    int offset = blockOffset(hash);
+    int key = (int) hash;
+    for (int i = 0; i < WORDS_PER_BLOCK; i += 1) {
+      words[offset + i] |= 1 << ((key * SALT[i]) >>> 27);
+    }
+  }
+
+  /**
+   * @param hash the hash of a value
+   * @return false if the value was not inserted, true if it might have been
+   */
+  public boolean findHash(long hash) {
+    int offset = blockOffset(hash);
+    int key = (int) hash;
+    for (int i = 0; i < WORDS_PER_BLOCK; i += 1) {
+      if ((words[offset + i] & (1 << ((key * SALT[i]) >>> 27))) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int blockOffset(long hash) {
+    return (int) (((hash >>> 32) * numBlocks) >>> 32) * WORDS_PER_BLOCK;
+  }
+
+  /**
+   * @return the number of bytes written by {@link #writeTo(OutputStream)}
+   */
+  public int getBitsetSize() {
+    return numBlocks * BYTES_PER_BLOCK;
+  }
+
+  public void writeTo(OutputStream out) throws IOException {
+    byte[] bitset = new byte[getBitsetSize()];
+    for (int i = 0, pos = 0; i < words.length; i += 1, pos += 4) {
+      int word = words[i];
+      bitset[pos] = (byte) word;
+      bitset[pos + 1] = (byte) (word >>> 8);
+      bitset[pos + 2] = (byte) (word >>> 16);
+      bitset[pos + 3] = (byte) (word >>> 24);
+    }
+    out.write(bitset);
+  }
+
+  public static long hash(int value) {
+    return XxHash64.hash(value);
+  }
+
+  public static long hash(long value) {
+    return XxHash64.hash(value);
+  }
+
+  public static long hash(float value) {
+    return XxHash64.hash(Float.floatToIntBits(value));
+  }
+
+  public static long hash(double value) {
+    return XxHash64.hash(Double.doubleToLongBits(value));
+  }
+
+  public static long hash(Binary value) {
+    ByteBuffer buffer = value.toByteBuffer();
+    if (buffer.hasArray()) {
+      return XxHash64.hash(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+    }
+    return XxHash64.hash(value.getBytes(), 0, value.length());
+  }
+
+  /**
+   * @param value an Integer, Long, Float, Double or Binary
+   * @return the hash of the value
+   */
+  public static long hash(Object value) {
+    if (value instanceof Integer) {
+      return hash(((Integer) value).intValue());
+    } else if (value instanceof Long) {
+      return hash(((Long) value).longValue());
+    } else if (value instanceof Float) {
+      return hash(((Float) value).floatValue());
+    } else if (value instanceof Double) {
+      return hash(((Double) value).doubleValue());
+    } else if (value instanceof Binary) {
+      return hash((Binary) value);
+    }
+    throw new IllegalArgumentException("Bloom filters do not support values of " + value.getClass());
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.column.values.bloomfilter;
+
+/**
+ * The 64 bit xxHash of little endian bytes, with a seed of 0.
+ *
+ * int and long values are hashed as their 4 and 8 little endian bytes without
+ * copying them to an array.
+ */
+public final class XxHash64 {
+  private static final long PRIME1 = 0x9E3779B185EBCA87L;
+  private static final long PRIME2 = 0xC2B2AE3D27D4EB4FL;
+  private static final long PRIME3 = 0x165667B19E3779F9L;
+  private static final long PRIME4 = 0x85EBCA77C2B2AE63L;
+  private static final long PRIME5 = 0x27D4EB2F165667C5L;
+
+  private XxHash64() {
+  }
+
+  public static long hash(int value) {
+    long hash = PRIME5 + 4;
+    hash ^= (value & 0xFFFFFFFFL) * PRIME1;
+    hash = Long.rotateLeft(hash, 23) * PRIME2 + PRIME3;
+    return avalanche(hash);
+  }
+
+  public static long hash(long value) {
+    long hash = PRIME5 + 8;
+    hash ^= round(0, value);
+    hash = Long.rotateLeft(hash, 27) * PRIME1 + PRIME4;
+    return avalanche(hash);
+  }
+
+  public static long hash(byte[] bytes, int offset, int length) {
+    int end = offset + length;
+    int pos = offset;
+    long hash;
+    if (length >= 32) {
+      long v1 = PRIME1 + PRIME2;
+      long v2 = PRIME2;
+      long v3 = 0;
+      long v4 = -PRIME1;
+      int limit = end - 32;
+      do {
+        v1 = round(v1, readLong(bytes, pos));
+        v2 = round(v2, readLong(bytes, pos + 8));
+        v3 = round(v3, readLong(bytes, pos + 16));
+        v4 = round(v4, readLong(bytes, pos + 24));
+        pos += 32;
+      } while (pos <= limit);
+      hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7)
+          + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+      hash = mergeRound(hash, v1);
+      hash = mergeRound(hash, v2);
+      hash = mergeRound(hash, v3);
+      hash = mergeRound(hash, v4);
+    } else {
+      hash = PRIME5;
+    }
+
+    hash += length;
+
+    while (pos + 8 <= end) {
+      hash ^= round(0, readLong(bytes, pos));
+      hash = Long.rotateLeft(hash, 27) * PRIME1 + PRIME4;
+      pos += 8;
+    }
+    if (pos + 4 <= end) {
+      hash ^= (readInt(bytes, pos) & 0xFFFFFFFFL) * PRIME1;
+      hash = Long.rotateLeft(hash, 23) * PRIME2 + PRIME3;
+      pos += 4;
+    }
+    while (pos < end) {
+      hash ^= (bytes[pos] & 0xFF) * PRIME5;
+      hash = Long.rotateLeft(hash, 11) * PRIME1;
+      pos += 1;
+    }
+
+    return avalanche(hash);
+  }
+
+  private static long round(long acc, long input) {
+    acc += input * PRIME2;
+    acc = Long.rotateLeft(acc, 31);
+    return acc * PRIME1;
+  }
+
+  private static long mergeRound(long acc, long value) {
+    acc ^= round(0, value);
+    return acc * PRIME1 + PRIME4;
+  }
+
+  private static long avalanche(long hash) {
+    hash ^= hash >>> 33;
+    hash *= PRIME2;
+    hash ^= hash >>> 29;
+    hash *= PRIME3;
+    hash ^= hash >>> 32;
+    return hash;
+  }
+
+  private static long readLong(byte[] bytes, int pos) {
+    return (readInt(bytes, pos) & 0xFFFFFFFFL) | ((long) readInt(bytes, pos + 4) << 32);
+  }
+
+  private static int readInt(byte[] bytes, int pos) {
+    return (bytes[pos] & 0xFF)
+        | ((bytes[pos + 1] & 0xFF) << 8)
+        | ((bytes[pos + 2] & 0xFF) << 16)
+        | ((bytes[pos + 3] & 0xFF) << 24);
+  }
+}
@@ -105,6 +105,12 @@ public class DeltaBinaryPackingValuesReader extends ValuesReader {
     valuesRead++;
   }
 
+  @Override
+  public void skip(int n) {
+    checkRead(n);
+    valuesRead += n;
+  }
+
   @Override
   public int readInteger() {
     // TODO: probably implement it separately
@@ -117,12 +123,35 @@ public class DeltaBinaryPackingValuesReader extends ValuesReader {
     return valuesBuffer[valuesRead++];
   }
 
+  @Override
+  public void readIntegers(int[] dst, int offset, int length) {
+    checkRead(length);
+    for (int i = 0; i < length; i += 1) {
+      dst[offset + i] = (int) valuesBuffer[valuesRead + i];
+    }
+    valuesRead += length;
+  }
+
+  @Override
+  public void readLongs(long[] dst, int offset, int length) {
+    checkRead(length);
+    System.arraycopy(valuesBuffer, valuesRead, dst, offset, length);
+    valuesRead += length;
+  }
+
   private void checkRead() {
     if (valuesRead >= totalValueCount) {
       throw new ParquetDecodingException("no more value to read, total value count is " + totalValueCount);
     }
   }
 
+  private void checkRead(int length) {
+    if (valuesRead + length > totalValueCount) {
+      throw new ParquetDecodingException("cannot read " + length + " values, only "
+          + (totalValueCount - valuesRead) + " left of " + totalValueCount);
+    }
+  }
+
   private void loadNewBlockToBuffer() {
     try {
       minDeltaInCurrentBlock = BytesUtils.readZigZagVarLong(in);
@@ -133,31 +162,60 @@ public class DeltaBinaryPackingValuesReader extends ValuesReader {
     readBitWidthsForMiniBlocks();
 
     // mini block is atomic for reading, we read a mini block when there are more values left
-    int i;
-    for (i = 0; i < config.miniBlockNumInABlock && valuesBuffered < totalValueCount; i++) {
+    for (int i = 0; i < config.miniBlockNumInABlock && valuesBuffered < totalValueCount; i++) {
+      int start = valuesBuffered;
+      if (bitWidths[i] == 0) {
+        fillMiniBlock(start);
+        continue;
+      }
       BytePackerForLong packer = Packer.LITTLE_ENDIAN.newBytePackerForLong(bitWidths[i]);
       unpackMiniBlock(packer);
+      //calculate values from deltas unpacked for current mini block
+      for (int j = start; j < valuesBuffered; j++) {
+        valuesBuffer[j] += minDeltaInCurrentBlock + valuesBuffer[j - 1];
+      }
     }
+  }
 
-    //calculate values from deltas unpacked for current block
-    int valueUnpacked=i*config.miniBlockSizeInValues;
-    for (int j = valuesBuffered-valueUnpacked; j < valuesBuffered; j++) {
-      int index = j;
-      valuesBuffer[index] += minDeltaInCurrentBlock + valuesBuffer[index - 1];
+  /**
+   * all the deltas of a mini block with a bit width of 0 are the min delta, so
+   * each value is computed from the last value of the previous mini block
+   * instead of from the value before it, which lets the loop be vectorized
+   *
+   * @param start the index of the first value of the mini block
+   */
+  private void fillMiniBlock(int start) {
+    long previous = valuesBuffer[start - 1];
+    long delta = minDeltaInCurrentBlock;
+    for (int j = 0; j < config.miniBlockSizeInValues; j++) {
+      valuesBuffer[start + j] = previous + (j + 1) * delta;
     }
+    this.valuesBuffered += config.miniBlockSizeInValues;
   }
 
   /**
-   * mini block has a size of 8*n, unpack 8 value each time
+   * mini block has a size of 8*n, unpack 32 values each time and the rest 8
+   * values each time
    *
    * @param packer the packer created from bitwidth of current mini block
    */
   private void unpackMiniBlock(BytePackerForLong packer) {
-    for (int j = 0; j < config.miniBlockSizeInValues; j += 8) {
+    int j = 0;
+    for (; j + 32 <= config.miniBlockSizeInValues; j += 32) {
+      unpack32Values(packer);
+    }
+    for (; j < config.miniBlockSizeInValues; j += 8) {
       unpack8Values(packer);
     }
   }
 
+  private void unpack32Values(BytePackerForLong packer) {
+    int pos = page.limit() - in.available();
+    packer.unpack32Values(page, pos, valuesBuffer, valuesBuffered);
+    this.valuesBuffered += 32;
+    in.skip(packer.getBitWidth() * 4);
+  }
+
   private void unpack8Values(BytePackerForLong packer) {
     //calculate the pos because the packer api uses array not stream
     int pos = page.limit() - in.available();
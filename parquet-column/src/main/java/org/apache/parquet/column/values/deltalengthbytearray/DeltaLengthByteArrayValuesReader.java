@@ -40,6 +40,8 @@ public class DeltaLengthByteArrayValuesReader extends ValuesReader {
   private ValuesReader lengthReader;
   private ByteBuffer in;
   private int offset;
+  private int[] lengths = new int[0];
+  private Binary.ReusableBinary reused;
 
   public DeltaLengthByteArrayValuesReader() {
     this.lengthReader = new DeltaBinaryPackingValuesReader();
@@ -60,9 +62,31 @@ public class DeltaLengthByteArrayValuesReader extends ValuesReader {
     int length = lengthReader.readInteger();
     int start = offset;
     offset = start + length;
+    if (reused != null) {
+      return reused.set(in, start, length);
+    }
     return Binary.fromConstantByteBuffer(in, start, length);
   }
 
+  @Override
+  public void readBinaries(Binary[] dst, int dstOffset, int count) {
+    if (lengths.length < count) {
+      this.lengths = new int[count];
+    }
+    lengthReader.readIntegers(lengths, 0, count);
+    int pos = offset;
+    for (int i = 0; i < count; i += 1) {
+      dst[dstOffset + i] = Binary.fromConstantByteBuffer(in, pos, lengths[i]);
+      pos += lengths[i];
+    }
+    this.offset = pos;
+  }
+
+  @Override
+  public void setReuseBinaries(boolean reuse) {
+    this.reused = reuse ? new Binary.ReusableBinary() : null;
+  }
+
   @Override
   public void skip() {
     int length = lengthReader.readInteger();
@@ -18,6 +18,7 @@
  */
 package org.apache.parquet.column.values.deltastrings;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 
@@ -25,6 +26,7 @@ import org.apache.parquet.column.values.RequiresPreviousReader;
 import org.apache.parquet.column.values.ValuesReader;
 import org.apache.parquet.column.values.delta.DeltaBinaryPackingValuesReader;
 import org.apache.parquet.column.values.deltalengthbytearray.DeltaLengthByteArrayValuesReader;
+import org.apache.parquet.io.ParquetDecodingException;
 import org.apache.parquet.io.api.Binary;
 
 /**
@@ -38,6 +40,10 @@ public class DeltaByteArrayReader extends ValuesReader implements RequiresPrevio
   private ValuesReader suffixReader;
 
   private Binary previous;
+  private int[] prefixLengths = new int[0];
+  // when binaries are reused, values are built in this buffer, which holds the previous value
+  private ValueBuffer valueBuffer;
+  private Binary.ReusableBinary reused;
 
   public DeltaByteArrayReader() {
     this.prefixLengthReader = new DeltaBinaryPackingValuesReader();
@@ -59,8 +65,24 @@ public class DeltaByteArrayReader extends ValuesReader implements RequiresPrevio
     readBytes();
   }
 
+  @Override
+  public void setReuseBinaries(boolean reuse) {
+    suffixReader.setReuseBinaries(reuse);
+    if (reuse) {
+      this.valueBuffer = new ValueBuffer();
+      this.reused = new Binary.ReusableBinary();
+      bufferPrevious();
+    } else {
+      this.valueBuffer = null;
+      this.reused = null;
+    }
+  }
+
   @Override
   public Binary readBytes() {
+    if (reused != null) {
+      return readReusedBytes();
+    }
     int prefixLength = prefixLengthReader.readInteger();
     // This does not copy bytes
     Binary suffix = suffixReader.readBytes();
@@ -84,6 +106,57 @@ public class DeltaByteArrayReader extends ValuesReader implements RequiresPrevio
     return previous;
   }
 
+  private Binary readReusedBytes() {
+    int prefixLength = prefixLengthReader.readInteger();
+    Binary suffix = suffixReader.readBytes();
+    // the prefix of the previous value is already at the start of the buffer
+    valueBuffer.truncate(prefixLength);
+    try {
+      suffix.writeTo(valueBuffer);
+    } catch (IOException e) {
+      throw new ParquetDecodingException("could not read suffix of " + suffix, e);
+    }
+    previous = reused.set(valueBuffer.toBuffer(), 0, valueBuffer.size());
+    return previous;
+  }
+
+  private void bufferPrevious() {
+    valueBuffer.reset();
+    try {
+      previous.writeTo(valueBuffer);
+    } catch (IOException e) {
+      throw new ParquetDecodingException("could not copy previous value " + previous, e);
+    }
+  }
+
+  @Override
+  public void readBinaries(Binary[] dst, int offset, int length) {
+    if (prefixLengths.length < length) {
+      this.prefixLengths = new int[length];
+    }
+    prefixLengthReader.readIntegers(prefixLengths, 0, length);
+    // the suffixes are replaced by the values
+    suffixReader.readBinaries(dst, offset, length);
+    Binary last = previous;
+    for (int i = 0; i < length; i += 1) {
+      int prefixLength = prefixLengths[i];
+      Binary suffix = dst[offset + i];
+      if (prefixLength != 0) {
+        byte[] out = new byte[prefixLength + suffix.length()];
+        System.arraycopy(last.getBytesUnsafe(), 0, out, 0, prefixLength);
+        System.arraycopy(suffix.getBytesUnsafe(), 0, out, prefixLength, suffix.length());
+        last = Binary.fromConstantByteArray(out);
+      } else {
+        last = suffix;
+      }
+      dst[offset + i] = last;
+    }
+    this.previous = last;
+    if (reused != null) {
+      bufferPrevious();
+    }
+  }
+
   /**
    * There was a bug (PARQUET-246) in which DeltaByteArrayWriter's reset() method did not
    * clear the previous value state that it tracks internally. This resulted in the first
@@ -95,6 +168,28 @@ public class DeltaByteArrayReader extends ValuesReader implements RequiresPrevio
   public void setPreviousReader(ValuesReader reader) {
     if (reader != null) {
       this.previous = ((DeltaByteArrayReader) reader).previous;
+      if (reused != null) {
+        bufferPrevious();
+      }
+    }
+  }
+
+  private static class ValueBuffer extends ByteArrayOutputStream {
+    private ByteBuffer wrapped;
+
+    void truncate(int length) {
+      if (length > count) {
+        throw new ParquetDecodingException(
+            "prefix length " + length + " is longer than the previous value " + count);
+      }
+      this.count = length;
+    }
+
+    ByteBuffer toBuffer() {
+      if (wrapped == null || wrapped.array() != buf) {
+        this.wrapped = ByteBuffer.wrap(buf);
+      }
+      return wrapped;
     }
   }
 }
@@ -47,6 +47,8 @@ public class DictionaryValuesReader extends ValuesReader {
 
   private RunLengthBitPackingHybridDecoder decoder;
 
+  private int[] ids = new int[0];
+
   public DictionaryValuesReader(Dictionary dictionary) {
     this.dictionary = dictionary;
   }
@@ -66,6 +68,18 @@ public class DictionaryValuesReader extends ValuesReader {
         public int readInt() throws IOException {
           throw new IOException("Attempt to read from empty page");
         }
+
+        @Override
+        public void readInts(int[] dst, int offset, int length) throws IOException {
+          throw new IOException("Attempt to read from empty page");
+        }
+
+        @Override
+        public void skip(int length) throws IOException {
+          if (length > 0) {
+            throw new IOException("Attempt to read from empty page");
+          }
+        }
       };
     }
   }
@@ -124,6 +138,68 @@ public class DictionaryValuesReader extends ValuesReader {
     }
   }
 
+  @Override
+  public void readDictionaryIds(int[] dst, int offset, int length) {
+    try {
+      decoder.readInts(dst, offset, length);
+    } catch (IOException e) {
+      throw new ParquetDecodingException(e);
+    }
+  }
+
+  @Override
+  public void readBinaries(Binary[] dst, int offset, int length) {
+    int[] ids = readIds(length);
+    for (int i = 0; i < length; i += 1) {
+      dst[offset + i] = dictionary.decodeToBinary(ids[i]);
+    }
+  }
+
+  @Override
+  public void readFloats(float[] dst, int offset, int length) {
+    int[] ids = readIds(length);
+    for (int i = 0; i < length; i += 1) {
+      dst[offset + i] = dictionary.decodeToFloat(ids[i]);
+    }
+  }
+
+  @Override
+  public void readDoubles(double[] dst, int offset, int length) {
+    int[] ids = readIds(length);
+    for (int i = 0; i < length; i += 1) {
+      dst[offset + i] = dictionary.decodeToDouble(ids[i]);
+    }
+  }
+
+  @Override
+  public void readIntegers(int[] dst, int offset, int length) {
+    // the ids are decoded in place
+    readDictionaryIds(dst, offset, length);
+    for (int i = offset, end = offset + length; i < end; i += 1) {
+      dst[i] = dictionary.decodeToInt(dst[i]);
+    }
+  }
+
+  @Override
+  public void readLongs(long[] dst, int offset, int length) {
+    int[] ids = readIds(length);
+    for (int i = 0; i < length; i += 1) {
+      dst[offset + i] = dictionary.decodeToLong(ids[i]);
+    }
+  }
+
+  /**
+   * @param length the number of ids to read
+   * @return a reused array holding the next ids in its first length elements
+   */
+  private int[] readIds(int length) {
+    if (ids.length < length) {
+      this.ids = new int[length];
+    }
+    readDictionaryIds(ids, 0, length);
+    return ids;
+  }
+
   @Override
   public void skip() {
     try {
@@ -132,4 +208,13 @@ public class DictionaryValuesReader extends ValuesReader {
       throw new ParquetDecodingException(e);
     }
   }
+
+  @Override
+  public void skip(int n) {
+    try {
+      decoder.skip(n);
+    } catch (IOException e) {
+      throw new ParquetDecodingException(e);
+    }
+  }
 }
@@ -33,6 +33,7 @@ public class BinaryPlainValuesReader extends ValuesReader {
   private static final Logger LOG = LoggerFactory.getLogger(BinaryPlainValuesReader.class);
   private ByteBuffer in;
   private int offset;
+  private Binary.ReusableBinary reused;
 
   @Override
   public Binary readBytes() {
@@ -40,6 +41,9 @@ public class BinaryPlainValuesReader extends ValuesReader {
       int length = BytesUtils.readIntLittleEndian(in, offset);
       int start = offset + 4;
       offset = start + length;
+      if (reused != null) {
+        return reused.set(in, start, length);
+      }
       return Binary.fromConstantByteBuffer(in, start, length);
     } catch (IOException e) {
       throw new ParquetDecodingException("could not read bytes at offset " + offset, e);
@@ -48,6 +52,28 @@ public class BinaryPlainValuesReader extends ValuesReader {
     }
   }
 
+  @Override
+  public void readBinaries(Binary[] dst, int dstOffset, int length) {
+    int pos = offset;
+    try {
+      for (int i = dstOffset, end = dstOffset + length; i < end; i += 1) {
+        int valueLength = BytesUtils.readIntLittleEndian(in, pos);
+        dst[i] = Binary.fromConstantByteBuffer(in, pos + 4, valueLength);
+        pos += 4 + valueLength;
+      }
+    } catch (IOException e) {
+      throw new ParquetDecodingException("could not read bytes at offset " + pos, e);
+    } catch (RuntimeException e) {
+      throw new ParquetDecodingException("could not read bytes at offset " + pos, e);
+    }
+    this.offset = pos;
+  }
+
+  @Override
+  public void setReuseBinaries(boolean reuse) {
+    this.reused = reuse ? new Binary.ReusableBinary() : null;
+  }
+
   @Override
   public void skip() {
     try {
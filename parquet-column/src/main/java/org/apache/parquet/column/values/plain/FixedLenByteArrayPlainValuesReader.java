@@ -36,6 +36,7 @@ public class FixedLenByteArrayPlainValuesReader extends ValuesReader {
   private ByteBuffer in;
   private int offset;
   private int length;
+  private Binary.ReusableBinary reused;
 
   public FixedLenByteArrayPlainValuesReader(int length) {
     this.length = length;
@@ -46,17 +47,43 @@ public class FixedLenByteArrayPlainValuesReader extends ValuesReader {
     try {
       int start = offset;
       offset = start + length;
+      if (reused != null) {
+        return reused.set(in, start, length);
+      }
       return Binary.fromConstantByteBuffer(in, start, length);
     } catch (RuntimeException e) {
       throw new ParquetDecodingException("could not read bytes at offset " + offset, e);
     }
   }
 
+  @Override
+  public void readBinaries(Binary[] dst, int dstOffset, int count) {
+    if (offset + count * length > in.limit()) {
+      throw new ParquetDecodingException("could not read " + count + " values at offset " + offset);
+    }
+    int pos = offset;
+    for (int i = dstOffset, end = dstOffset + count; i < end; i += 1) {
+      dst[i] = Binary.fromConstantByteBuffer(in, pos, length);
+      pos += length;
+    }
+    this.offset = pos;
+  }
+
+  @Override
+  public void setReuseBinaries(boolean reuse) {
+    this.reused = reuse ? new Binary.ReusableBinary() : null;
+  }
+
   @Override
   public void skip() {
     offset += length;
   }
 
+  @Override
+  public void skip(int n) {
+    offset += n * length;
+  }
+
   @Override
   public void initFromPage(int valueCount, ByteBuffer in, int offset)
       throws IOException {
@@ -20,6 +20,7 @@ package org.apache.parquet.column.values.plain;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 import org.apache.parquet.bytes.ByteBufferInputStream;
 import org.apache.parquet.bytes.LittleEndianDataInputStream;
@@ -38,6 +39,8 @@ abstract public class PlainValuesReader extends ValuesReader {
   private static final Logger LOG = LoggerFactory.getLogger(PlainValuesReader.class);
 
   protected LittleEndianDataInputStream in;
+  // the stream read by in, which does not buffer
+  private ByteBufferInputStream input;
 
   /**
    * {@inheritDoc}
@@ -46,7 +49,26 @@ abstract public class PlainValuesReader extends ValuesReader {
   @Override
   public void initFromPage(int valueCount, ByteBuffer in, int offset) throws IOException {
     LOG.debug("init from page at offset {} for length {}", offset , (in.limit() - offset));
-    this.in = new LittleEndianDataInputStream(toInputStream(in, offset));
+    this.input = toInputStream(in, offset);
+    this.in = new LittleEndianDataInputStream(input);
+  }
+
+  /**
+   * Returns the next values for bulk reads and advances past them.
+   * @param valueSize the size of each value in bytes
+   * @param count the number of values
+   * @return a little endian buffer holding the next count values
+   */
+  ByteBuffer nextValues(int valueSize, int count) {
+    int size = valueSize * count;
+    if (size > input.available()) {
+      throw new ParquetDecodingException("could not read " + count + " values, only "
+          + (input.available() / valueSize) + " left in page");
+    }
+    ByteBuffer values = input.toByteBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    values.limit(size);
+    input.skip(size);
+    return values;
   }
 
   private ByteBufferInputStream toInputStream(ByteBuffer in, int offset) {
@@ -64,6 +86,11 @@ abstract public class PlainValuesReader extends ValuesReader {
       }
     }
 
+    @Override
+    public void skip(int n) {
+      nextValues(8, n);
+    }
+
     @Override
     public double readDouble() {
       try {
@@ -72,6 +99,11 @@ abstract public class PlainValuesReader extends ValuesReader {
         throw new ParquetDecodingException("could not read double", e);
       }
     }
+
+    @Override
+    public void readDoubles(double[] dst, int offset, int length) {
+      nextValues(8, length).asDoubleBuffer().get(dst, offset, length);
+    }
   }
 
   public static class FloatPlainValuesReader extends PlainValuesReader {
@@ -85,6 +117,11 @@ abstract public class PlainValuesReader extends ValuesReader {
       }
     }
 
+    @Override
+    public void skip(int n) {
+      nextValues(4, n);
+    }
+
     @Override
     public float readFloat() {
       try {
@@ -93,6 +130,11 @@ abstract public class PlainValuesReader extends ValuesReader {
         throw new ParquetDecodingException("could not read float", e);
       }
     }
+
+    @Override
+    public void readFloats(float[] dst, int offset, int length) {
+      nextValues(4, length).asFloatBuffer().get(dst, offset, length);
+    }
   }
 
   public static class IntegerPlainValuesReader extends PlainValuesReader {
@@ -106,6 +148,11 @@ abstract public class PlainValuesReader extends ValuesReader {
       }
     }
 
+    @Override
+    public void skip(int n) {
+      nextValues(4, n);
+    }
+
     @Override
     public int readInteger() {
       try {
@@ -114,6 +161,11 @@ abstract public class PlainValuesReader extends ValuesReader {
         throw new ParquetDecodingException("could not read int", e);
       }
     }
+
+    @Override
+    public void readIntegers(int[] dst, int offset, int length) {
+      nextValues(4, length).asIntBuffer().get(dst, offset, length);
+    }
   }
 
   public static class LongPlainValuesReader extends PlainValuesReader {
@@ -127,6 +179,11 @@ abstract public class PlainValuesReader extends ValuesReader {
       }
     }
 
+    @Override
+    public void skip(int n) {
+      nextValues(8, n);
+    }
+
     @Override
     public long readLong() {
       try {
@@ -135,5 +192,10 @@ abstract public class PlainValuesReader extends ValuesReader {
         throw new ParquetDecodingException("could not read long", e);
       }
     }
+
+    @Override
+    public void readLongs(long[] dst, int offset, int length) {
+      nextValues(8, length).asLongBuffer().get(dst, offset, length);
+    }
   }
 }
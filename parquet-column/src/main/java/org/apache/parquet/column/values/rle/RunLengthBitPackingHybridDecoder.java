@@ -23,6 +23,8 @@ import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
 
 import org.apache.parquet.bytes.ByteBufferInputStream;
 import org.apache.parquet.Preconditions;
@@ -50,7 +52,12 @@ public class RunLengthBitPackingHybridDecoder {
   private MODE mode;
   private int currentCount;
   private int currentValue;
-  private int[] currentBuffer;
+  // bit-packed runs are unpacked a group of 8 values at a time, when the group is read
+  private byte[] packedBytes = new byte[0];
+  // packedBytes, for unpackers that read 64 bit words
+  private ByteBuffer packedBuffer = ByteBuffer.wrap(packedBytes).order(ByteOrder.LITTLE_ENDIAN);
+  private int packedCount;
+  private final int[] currentGroup = new int[8];
 
   public RunLengthBitPackingHybridDecoder(int bitWidth, InputStream in) {
     LOG.debug("decoding bitWidth {}", bitWidth);
@@ -72,7 +79,11 @@ public class RunLengthBitPackingHybridDecoder {
       result = currentValue;
       break;
     case PACKED:
-      result = currentBuffer[currentBuffer.length - 1 - currentCount];
+      int index = packedCount - 1 - currentCount;
+      if ((index & 7) == 0) {
+        unpackGroup(index >>> 3, currentGroup, 0);
+      }
+      result = currentGroup[index & 7];
       break;
     default:
       throw new ParquetDecodingException("not a valid mode " + mode);
@@ -80,6 +91,125 @@ public class RunLengthBitPackingHybridDecoder {
     return result;
   }
 
+  /**
+   * Reads the next values into an array. RLE runs are filled and whole groups
+   * of bit-packed values are unpacked directly into the array.
+   * @param dst the array to fill
+   * @param offset the first index of dst to fill
+   * @param length the number of values to read
+   * @throws IOException if there are fewer values left
+   */
+  public void readInts(int[] dst, int offset, int length) throws IOException {
+    int end = offset + length;
+    while (offset < end) {
+      if (currentCount == 0) {
+        readNext();
+      }
+      int n = Math.min(currentCount, end - offset);
+      switch (mode) {
+      case RLE:
+        Arrays.fill(dst, offset, offset + n, currentValue);
+        break;
+      case PACKED:
+        int index = packedCount - currentCount;
+        int last = index + n;
+        // the rest of a group that was partly read
+        int inGroup = index & 7;
+        if (inGroup != 0) {
+          int count = Math.min(8 - inGroup, n);
+          System.arraycopy(currentGroup, inGroup, dst, offset, count);
+          index += count;
+        }
+        int pos = offset + index - (packedCount - currentCount);
+        for (; index + 32 <= last; index += 32, pos += 32) {
+          packer.unpack32Values(packedBuffer, (index >>> 3) * bitWidth, dst, pos);
+        }
+        for (; index + 8 <= last; index += 8, pos += 8) {
+          unpackGroup(index >>> 3, dst, pos);
+        }
+        // the start of a group that is read by the next call
+        if (index < last) {
+          unpackGroup(index >>> 3, currentGroup, 0);
+          System.arraycopy(currentGroup, 0, dst, pos, last - index);
+        }
+        break;
+      default:
+        throw new ParquetDecodingException("not a valid mode " + mode);
+      }
+      currentCount -= n;
+      offset += n;
+    }
+  }
+
+  /**
+   * Skips the next values without unpacking them.
+   * @param length the number of values to skip
+   * @throws IOException if there are fewer values left
+   */
+  public void skip(int length) throws IOException {
+    while (length > 0) {
+      if (currentCount == 0) {
+        readNext();
+      }
+      int n = Math.min(currentCount, length);
+      if (mode == MODE.PACKED) {
+        int index = packedCount - currentCount + n;
+        // keep the group of the next value if it was partly skipped
+        if ((index & 7) != 0 && index < packedCount) {
+          unpackGroup(index >>> 3, currentGroup, 0);
+        }
+      }
+      currentCount -= n;
+      length -= n;
+    }
+  }
+
+  /**
+   * Skips the next values and counts how many of them are equal to a value,
+   * for example to find how many of the next definition levels are the
+   * maximum level. RLE runs are counted without looking at each value.
+   * @param value the value to count
+   * @param length the number of values to skip
+   * @return the number of skipped values that are equal to value
+   * @throws IOException if there are fewer values left
+   */
+  public int countAndSkip(int value, int length) throws IOException {
+    int matches = 0;
+    while (length > 0) {
+      if (currentCount == 0) {
+        readNext();
+      }
+      int n = Math.min(currentCount, length);
+      switch (mode) {
+      case RLE:
+        if (currentValue == value) {
+          matches += n;
+        }
+        break;
+      case PACKED:
+        int index = packedCount - currentCount;
+        for (int last = index + n; index < last; index += 1) {
+          if ((index & 7) == 0) {
+            unpackGroup(index >>> 3, currentGroup, 0);
+          }
+          if (currentGroup[index & 7] == value) {
+            matches += 1;
+          }
+        }
+        break;
+      default:
+        throw new ParquetDecodingException("not a valid mode " + mode);
+      }
+      currentCount -= n;
+      length -= n;
+    }
+    return matches;
+  }
+
+  private void unpackGroup(int group, int[] dst, int offset) {
+    packer.unpack8Values(packedBytes, group * bitWidth, dst, offset);
+  }
+
   private void readNext() throws IOException {
     Preconditions.checkArgument(in.available() > 0, "Reading past RLE/BitPacking stream.");
     final int header = BytesUtils.readUnsignedVarInt(in);
@@ -93,16 +223,18 @@ public class RunLengthBitPackingHybridDecoder {
     case PACKED:
       int numGroups = header >>> 1;
       currentCount = numGroups * 8;
+      packedCount = currentCount;
       LOG.debug("reading {} values BIT PACKED", currentCount);
-      currentBuffer = new int[currentCount]; // TODO: reuse a buffer
-      byte[] bytes = new byte[numGroups * bitWidth];
+      int size = numGroups * bitWidth;
+      if (packedBytes.length < size) {
+        packedBytes = new byte[size];
+        packedBuffer = ByteBuffer.wrap(packedBytes).order(ByteOrder.LITTLE_ENDIAN);
+      }
       // At the end of the file RLE data though, there might not be that many bytes left.
       int bytesToRead = (int)Math.ceil(currentCount * bitWidth / 8.0);
       bytesToRead = Math.min(bytesToRead, in.available());
-      new DataInputStream(in).readFully(bytes, 0, bytesToRead);
-      for (int valueIndex = 0, byteIndex = 0; valueIndex < currentCount; valueIndex += 8, byteIndex += bitWidth) {
-        packer.unpack8Values(bytes, byteIndex, currentBuffer, valueIndex);
-      }
+      new DataInputStream(in).readFully(packedBytes, 0, bytesToRead);
+      Arrays.fill(packedBytes, bytesToRead, size, (byte) 0);
       break;
     default:
       throw new ParquetDecodingException("not a valid mode " + mode);
@@ -66,6 +66,15 @@ public class RunLengthBitPackingHybridValuesReader extends ValuesReader {
     }
   }
   
+  @Override
+  public void readIntegers(int[] dst, int offset, int length) {
+    try {
+      decoder.readInts(dst, offset, length);
+    } catch (IOException e) {
+      throw new ParquetDecodingException(e);
+    }
+  }
+
   @Override
   public boolean readBoolean() {
     return readInteger() == 0 ? false : true;
@@ -73,6 +82,34 @@ public class RunLengthBitPackingHybridValuesReader extends ValuesReader {
 
   @Override
   public void skip() {
-    readInteger();
+    try {
+      decoder.skip(1);
+    } catch (IOException e) {
+      throw new ParquetDecodingException(e);
+    }
+  }
+
+  @Override
+  public void skip(int n) {
+    try {
+      decoder.skip(n);
+    } catch (IOException e) {
+      throw new ParquetDecodingException(e);
+    }
+  }
+
+  /**
+   * Skips the next values and counts how many of them are equal to a value.
+   * @param value the value to count
+   * @param n the number of values to skip
+   * @return the number of skipped values that are equal to value
+   * @see RunLengthBitPackingHybridDecoder#countAndSkip(int, int)
+   */
+  public int countAndSkip(int value, int n) {
+    try {
+      return decoder.countAndSkip(value, n);
+    } catch (IOException e) {
+      throw new ParquetDecodingException(e);
+    }
   }
 }
@@ -20,6 +20,7 @@ package org.apache.parquet.column.values.rle;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 import org.apache.parquet.column.values.ValuesReader;
 
@@ -36,6 +37,11 @@ public class ZeroIntegerValuesReader extends ValuesReader {
     return 0;
   }
 
+  @Override
+  public void readIntegers(int[] dst, int offset, int length) {
+    Arrays.fill(dst, offset, offset + length, 0);
+  }
+
   @Override
   public void initFromPage(int valueCount, ByteBuffer in, int offset) throws IOException {
     this.nextOffset = offset;
@@ -50,4 +56,8 @@ public class ZeroIntegerValuesReader extends ValuesReader {
   public void skip() {
   }
 
+  @Override
+  public void skip(int n) {
+  }
+
 }
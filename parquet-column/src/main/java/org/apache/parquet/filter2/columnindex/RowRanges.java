@@ -0,0 +1,200 @@
+/* 
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.filter2.columnindex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.parquet.Preconditions.checkArgument;
+
+/**
+ * A sorted set of disjoint, inclusive ranges of row indexes within a row group.
+ *
+ * Row ranges are used to select the rows of a row group that may match a
+ * filter, based on the page-level statistics of the filtered columns. All
+ * columns are read for the same row ranges so that they stay aligned.
+ */
+public class RowRanges {
+
+  private static final class Range {
+    private final long from;
+    private final long to;
+
+    private Range(long from, long to) {
+      this.from = from;
+      this.to = to;
+    }
+  }
+
+  /**
+   * @param rowCount the number of rows in the row group
+   * @return ranges containing all the rows of a row group
+   */
+  public static RowRanges all(long rowCount) {
+    RowRanges ranges = new RowRanges();
+    if (rowCount > 0) {
+      ranges.add(0, rowCount - 1);
+    }
+    return ranges;
+  }
+
+  /**
+   * @return ranges containing no rows
+   */
+  public static RowRanges empty() {
+    return new RowRanges();
+  }
+
+  /**
+   * @return the rows contained in either of the given ranges
+   */
+  public static RowRanges union(RowRanges left, RowRanges right) {
+    RowRanges result = new RowRanges();
+    int l = 0;
+    int r = 0;
+    while (l < left.ranges.size() || r < right.ranges.size()) {
+      Range next;
+      if (r == right.ranges.size()
+          || (l < left.ranges.size() && left.ranges.get(l).from <= right.ranges.get(r).from)) {
+        next = left.ranges.get(l++);
+      } else {
+        next = right.ranges.get(r++);
+      }
+      result.merge(next.from, next.to);
+    }
+    return result;
+  }
+
+  /**
+   * @return the rows contained in both of the given ranges
+   */
+  public static RowRanges intersection(RowRanges left, RowRanges right) {
+    RowRanges result = new RowRanges();
+    int l = 0;
+    int r = 0;
+    while (l < left.ranges.size() && r < right.ranges.size()) {
+      Range a = left.ranges.get(l);
+      Range b = right.ranges.get(r);
+      long from = Math.max(a.from, b.from);
+      long to = Math.min(a.to, b.to);
+      if (from <= to) {
+        result.add(from, to);
+      }
+      // advance the range that ends first
+      if (a.to < b.to) {
+        l += 1;
+      } else {
+        r += 1;
+      }
+    }
+    return result;
+  }
+
+  private final List<Range> ranges = new ArrayList<Range>();
+
+  /**
+   * Adds a range after the existing ranges. Adjacent or overlapping ranges
+   * are merged.
+   *
+   * @param from the first row of the range
+   * @param to the last row of the range, inclusive
+   */
+  public void add(long from, long to) {
+    checkArgument(from <= to, "Invalid range: [%s, %s]", from, to);
+    checkArgument(ranges.isEmpty() || from >= ranges.get(ranges.size() - 1).from,
+        "Ranges must be added in order: [%s, %s]", from, to);
+    merge(from, to);
+  }
+
+  private void merge(long from, long to) {
+    int last = ranges.size() - 1;
+    if (last >= 0 && from <= ranges.get(last).to + 1) {
+      if (to > ranges.get(last).to) {
+        ranges.set(last, new Range(ranges.get(last).from, to));
+      }
+    } else {
+      ranges.add(new Range(from, to));
+    }
+  }
+
+  /**
+   * @return the number of rows in these ranges
+   */
+  public long rowCount() {
+    long count = 0;
+    for (Range range : ranges) {
+      count += range.to - range.from + 1;
+    }
+    return count;
+  }
+
+  public boolean isEmpty() {
+    return ranges.isEmpty();
+  }
+
+  /**
+   * @return true if any row between from and to (inclusive) is in these ranges
+   */
+  public boolean isOverlapping(long from, long to) {
+    for (Range range : ranges) {
+      if (range.from > to) {
+        return false;
+      }
+      if (range.to >= from) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return the number of disjoint ranges
+   */
+  public int size() {
+    return ranges.size();
+  }
+
+  /**
+   * @param i the index of a range
+   * @return the first row of the range
+   */
+  public long getFrom(int i) {
+    return ranges.get(i).from;
+  }
+
+  /**
+   * @param i the index of a range
+   * @return the last row of the range, inclusive
+   */
+  public long getTo(int i) {
+    return ranges.get(i).to;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("[");
+    for (Range range : ranges) {
+      if (sb.length() > 1) {
+        sb.append(", ");
+      }
+      sb.append('[').append(range.from).append(", ").append(range.to).append(']');
+    }
+    return sb.append(']').toString();
+  }
+}
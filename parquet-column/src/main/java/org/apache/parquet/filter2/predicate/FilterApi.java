@@ -19,6 +19,7 @@
 package org.apache.parquet.filter2.predicate;
 
 import java.io.Serializable;
+import java.util.Set;
 
 import org.apache.parquet.hadoop.metadata.ColumnPath;
 import org.apache.parquet.filter2.predicate.Operators.And;
@@ -30,12 +31,14 @@ import org.apache.parquet.filter2.predicate.Operators.Eq;
 import org.apache.parquet.filter2.predicate.Operators.FloatColumn;
 import org.apache.parquet.filter2.predicate.Operators.Gt;
 import org.apache.parquet.filter2.predicate.Operators.GtEq;
+import org.apache.parquet.filter2.predicate.Operators.In;
 import org.apache.parquet.filter2.predicate.Operators.IntColumn;
 import org.apache.parquet.filter2.predicate.Operators.LongColumn;
 import org.apache.parquet.filter2.predicate.Operators.Lt;
 import org.apache.parquet.filter2.predicate.Operators.LtEq;
 import org.apache.parquet.filter2.predicate.Operators.Not;
 import org.apache.parquet.filter2.predicate.Operators.NotEq;
+import org.apache.parquet.filter2.predicate.Operators.NotIn;
 import org.apache.parquet.filter2.predicate.Operators.Or;
 import org.apache.parquet.filter2.predicate.Operators.SupportsEqNotEq;
 import org.apache.parquet.filter2.predicate.Operators.SupportsLtGt;
@@ -120,6 +123,29 @@ public final class FilterApi {
     return new NotEq<T>(column, value);
   }
 
+  /**
+   * Keeps records if their value is equal to one of the provided values.
+   * The values cannot be null and there must be at least one of them.
+   * Records with null values will be dropped, as for {@link #eq} with a non-null value.
+   * For example:
+   *   in(column, values) is equivalent to or(eq(column, v1), or(eq(column, v2), ...)),
+   *   but tests each value with a single hash lookup.
+   */
+  public static <T extends Comparable<T>, C extends Column<T> & SupportsEqNotEq> In<T> in(C column, Set<T> values) {
+    return new In<T>(column, values);
+  }
+
+  /**
+   * Keeps records if their value is not equal to any of the provided values.
+   * The values cannot be null and there must be at least one of them.
+   * Records with null values will be kept, as for {@link #notEq} with a non-null value.
+   * For example:
+   *   notIn(column, values) is equivalent to and(notEq(column, v1), and(notEq(column, v2), ...))
+   */
+  public static <T extends Comparable<T>, C extends Column<T> & SupportsEqNotEq> NotIn<T> notIn(C column, Set<T> values) {
+    return new NotIn<T>(column, values);
+  }
+
   /**
    * Keeps records if their value is less than (but not equal to) the provided value.
    * The provided value cannot be null, as less than null has no meaning.
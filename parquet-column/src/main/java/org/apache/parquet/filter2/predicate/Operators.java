@@ -19,11 +19,15 @@
 package org.apache.parquet.filter2.predicate;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Locale;
+import java.util.Set;
 
 import org.apache.parquet.hadoop.metadata.ColumnPath;
 import org.apache.parquet.io.api.Binary;
 
+import static org.apache.parquet.Preconditions.checkArgument;
 import static org.apache.parquet.Preconditions.checkNotNull;
 
 /**
@@ -250,6 +254,100 @@ public final class Operators {
     }
   }
 
+  // base class for In, NotIn
+  static abstract class SetColumnFilterPredicate<T extends Comparable<T>> implements FilterPredicate, Serializable {
+    private final Column<T> column;
+    private final Set<T> values;
+    private final String toString;
+    // built on first use, it is not serialized
+    private transient volatile ValueSet<T> valueSet;
+
+    protected SetColumnFilterPredicate(Column<T> column, Set<T> values) {
+      this.column = checkNotNull(column, "column");
+      checkNotNull(values, "values");
+      checkArgument(!values.isEmpty(), "values cannot be empty");
+      for (T value : values) {
+        checkArgument(value != null, "values cannot contain null, use eq(column, null) instead");
+      }
+      this.values = Collections.unmodifiableSet(new LinkedHashSet<T>(values));
+
+      String name = getClass().getSimpleName().toLowerCase(Locale.ENGLISH);
+      this.toString = name + "(" + column.getColumnPath().toDotString() + ", " + values + ")";
+    }
+
+    public Column<T> getColumn() {
+      return column;
+    }
+
+    public Set<T> getValues() {
+      return values;
+    }
+
+    /**
+     * @return the values of this predicate, for membership tests without boxing
+     */
+    public ValueSet<T> getValueSet() {
+      ValueSet<T> set = valueSet;
+      if (set == null) {
+        set = new ValueSet<T>(column.getColumnType(), values);
+        valueSet = set;
+      }
+      return set;
+    }
+
+    @Override
+    public String toString() {
+      return toString;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+
+      SetColumnFilterPredicate that = (SetColumnFilterPredicate) o;
+
+      if (!column.equals(that.column)) return false;
+      if (!values.equals(that.values)) return false;
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = column.hashCode();
+      result = 31 * result + values.hashCode();
+      result = 31 * result + getClass().hashCode();
+      return result;
+    }
+  }
+
+  public static final class In<T extends Comparable<T>> extends SetColumnFilterPredicate<T> {
+
+    // values cannot be null or empty
+    In(Column<T> column, Set<T> values) {
+      super(column, values);
+    }
+
+    @Override
+    public <R> R accept(Visitor<R> visitor) {
+      return visitor.visit(this);
+    }
+  }
+
+  public static final class NotIn<T extends Comparable<T>> extends SetColumnFilterPredicate<T> {
+
+    // values cannot be null or empty
+    NotIn(Column<T> column, Set<T> values) {
+      super(column, values);
+    }
+
+    @Override
+    public <R> R accept(Visitor<R> visitor) {
+      return visitor.visit(this);
+    }
+  }
+
   // base class for And, Or
   private static abstract class BinaryLogicalFilterPredicate implements FilterPredicate, Serializable {
     private final FilterPredicate left;
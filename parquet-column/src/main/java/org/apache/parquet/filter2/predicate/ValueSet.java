@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.filter2.predicate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.parquet.io.api.Binary;
+
+/**
+ * The values of an {@link Operators.In} or {@link Operators.NotIn} predicate,
+ * for membership tests of primitive values without boxing them and for range
+ * checks against min/max statistics.
+ *
+ * Numbers are kept in an open addressing hash table of their bits. As with
+ * {@link Operators.Eq}, float and double values are compared with ==: 0.0 and
+ * -0.0 are equal and NaN is never contained. Range checks follow the same
+ * rule, so -0.0 values are sorted as 0.0 and NaN values are left out.
+ */
+public final class ValueSet<T extends Comparable<T>> {
+
+  private final int size;
+  // the values without NaN, and with -0.0 as 0.0
+  private final Object[] sorted;
+  private final long[] table;
+  private final int mask;
+  private final boolean containsZeroKey;
+  private final Set<Binary> binaries;
+  private final boolean containsTrue;
+  private final boolean containsFalse;
+
+  ValueSet(Class<T> type, Set<T> values) {
+    this.size = values.size();
+    List<Object> comparable = new ArrayList<Object>(size);
+    for (T value : values) {
+      if (!isNaN(value)) {
+        comparable.add(withoutNegativeZero(value));
+      }
+    }
+    this.sorted = comparable.toArray();
+    Arrays.sort(sorted);
+
+    if (type.equals(Binary.class)) {
+      this.binaries = new HashSet<Binary>(size * 2);
+      for (Object value : sorted) {
+        binaries.add((Binary) value);
+      }
+    } else {
+      this.binaries = null;
+    }
+
+    boolean hasTrue = false;
+    boolean hasFalse = false;
+    if (type.equals(Boolean.class)) {
+      for (Object value : sorted) {
+        if ((Boolean) value) {
+          hasTrue = true;
+        } else {
+          hasFalse = true;
+        }
+      }
+    }
+    this.containsTrue = hasTrue;
+    this.containsFalse = hasFalse;
+
+    if (type.equals(Integer.class) || type.equals(Long.class)
+        || type.equals(Float.class) || type.equals(Double.class)) {
+      // keep at least half of the slots empty
+      this.table = new long[Integer.highestOneBit(Math.max(size, 1)) * 4];
+      this.mask = table.length - 1;
+      boolean zero = false;
+      for (Object value : sorted) {
+        long key = toKey(value);
+        if (key == 0) {
+          zero = true;
+        } else {
+          insert(key);
+        }
+      }
+      this.containsZeroKey = zero;
+    } else {
+      this.table = null;
+      this.mask = 0;
+      this.containsZeroKey = false;
+    }
+  }
+
+  private static boolean isNaN(Object value) {
+    return value instanceof Float && ((Float) value).isNaN()
+        || value instanceof Double && ((Double) value).isNaN();
+  }
+
+  private static Object withoutNegativeZero(Object value) {
+    if (value instanceof Float && (Float) value == 0) {
+      return 0.0f;
+    } else if (value instanceof Double && (Double) value == 0) {
+      return 0.0d;
+    }
+    return value;
+  }
+
+  private static long toKey(Object value) {
+    if (value instanceof Integer) {
+      return (Integer) value;
+    } else if (value instanceof Long) {
+      return (Long) value;
+    } else if (value instanceof Float) {
+      return floatKey((Float) value);
+    } else {
+      return doubleKey((Double) value);
+    }
+  }
+
+  private static long floatKey(float value) {
+    // 0.0 == -0.0
+    return value == 0 ? 0 : Float.floatToIntBits(value);
+  }
+
+  private static long doubleKey(double value) {
+    // 0.0 == -0.0
+    return value == 0 ? 0 : Double.doubleToLongBits(value);
+  }
+
+  private int slot(long key) {
+    long hash = key * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+
+  private void insert(long key) {
+    int slot = slot(key);
+    while (table[slot] != 0) {
+      if (table[slot] == key) {
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+    table[slot] = key;
+  }
+
+  private boolean containsKey(long key) {
+    if (key == 0) {
+      return containsZeroKey;
+    }
+    int slot = slot(key);
+    long current;
+    while ((current = table[slot]) != 0) {
+      if (current == key) {
+        return true;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return false;
+  }
+
+  /**
+   * @return the number of values
+   */
+  public int size() {
+    return size;
+  }
+
+  public boolean contains(int value) {
+    return containsKey(value);
+  }
+
+  public boolean contains(long value) {
+    return containsKey(value);
+  }
+
+  public boolean contains(float value) {
+    return value == value && containsKey(floatKey(value));
+  }
+
+  public boolean contains(double value) {
+    return value == value && containsKey(doubleKey(value));
+  }
+
+  public boolean contains(boolean value) {
+    return value ? containsTrue : containsFalse;
+  }
+
+  public boolean contains(Binary value) {
+    return binaries.contains(value);
+  }
+
+  /**
+   * @param min a lower bound
+   * @param max an upper bound
+   * @return whether a value v of this set is in the range min <= v <= max
+   */
+  @SuppressWarnings("unchecked")
+  public boolean containsValueBetween(T min, T max) {
+    // a bound of -0.0 or 0.0 covers both zeros
+    T lower = (T) withoutNegativeZero(min);
+    T upper = (T) withoutNegativeZero(max);
+    int index = Arrays.binarySearch(sorted, lower);
+    if (index >= 0) {
+      return true;
+    }
+    // the smallest value that is greater than min
+    int insertion = -index - 1;
+    return insertion < sorted.length && ((T) sorted[insertion]).compareTo(upper) <= 0;
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.filter2.recordlevel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.parquet.filter2.recordlevel.IncrementallyUpdatedFilterPredicate.ValueInspector;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.io.api.Binary;
+
+/**
+ * A {@link org.apache.parquet.filter2.predicate.FilterPredicate} compiled by {@link FilterPredicateCompiler}
+ * into a class of its own, as an alternative to a tree of {@link ValueInspector}s.
+ *
+ * The values of the current record are passed to the update methods with the index of their column,
+ * which evaluate the predicates on that column with straight-line comparisons. {@link #keep()} then
+ * combines the results, treating columns without a value as null, and {@link #reset()} clears them
+ * for the next record.
+ *
+ * The subclasses are generated, this class is public so that they can be loaded by their own class loader.
+ */
+public abstract class CompiledFilterPredicate {
+  private Map<ColumnPath, Integer> columnIndexes = Collections.emptyMap();
+
+  protected CompiledFilterPredicate() { }
+
+  // set by the compiler, the generated classes are shared by equal predicates
+  final void setColumnIndexes(Map<ColumnPath, Integer> columnIndexes) {
+    this.columnIndexes = columnIndexes;
+  }
+
+  /**
+   * @return true if the current record matches the predicate
+   */
+  public abstract boolean keep();
+
+  /**
+   * Clears the values of the current record.
+   */
+  public abstract void reset();
+
+  public void update(int column, int value) { throw new UnsupportedOperationException(); }
+  public void update(int column, long value) { throw new UnsupportedOperationException(); }
+  public void update(int column, float value) { throw new UnsupportedOperationException(); }
+  public void update(int column, double value) { throw new UnsupportedOperationException(); }
+  public void update(int column, boolean value) { throw new UnsupportedOperationException(); }
+  public void update(int column, Binary value) { throw new UnsupportedOperationException(); }
+
+  /**
+   * Returns a {@link ValueInspector} for each column of the predicate that forwards the column's values to
+   * this predicate, for use with {@link FilteringRecordMaterializer}'s converters. The inspectors are only
+   * used to receive values and never have a result.
+   *
+   * @return the value inspectors by column
+   */
+  public Map<ColumnPath, List<ValueInspector>> getValueInspectorsByColumn() {
+    Map<ColumnPath, List<ValueInspector>> inspectors = new HashMap<ColumnPath, List<ValueInspector>>();
+    for (Map.Entry<ColumnPath, Integer> entry : columnIndexes.entrySet()) {
+      List<ValueInspector> list = new ArrayList<ValueInspector>(1);
+      list.add(new ColumnUpdater(this, entry.getValue()));
+      inspectors.put(entry.getKey(), list);
+    }
+    return inspectors;
+  }
+
+  private static final class ColumnUpdater extends ValueInspector {
+    private final CompiledFilterPredicate predicate;
+    private final int column;
+
+    private ColumnUpdater(CompiledFilterPredicate predicate, int column) {
+      this.predicate = predicate;
+      this.column = column;
+    }
+
+    @Override
+    public void update(int value) {
+      predicate.update(column, value);
+    }
+
+    @Override
+    public void update(long value) {
+      predicate.update(column, value);
+    }
+
+    @Override
+    public void update(double value) {
+      predicate.update(column, value);
+    }
+
+    @Override
+    public void update(float value) {
+      predicate.update(column, value);
+    }
+
+    @Override
+    public void update(boolean value) {
+      predicate.update(column, value);
+    }
+
+    @Override
+    public void update(Binary value) {
+      predicate.update(column, value);
+    }
+  }
+}
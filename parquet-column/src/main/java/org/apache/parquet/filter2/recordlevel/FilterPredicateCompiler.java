@@ -0,0 +1,727 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.filter2.recordlevel;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators.And;
+import org.apache.parquet.filter2.predicate.Operators.Column;
+import org.apache.parquet.filter2.predicate.Operators.Eq;
+import org.apache.parquet.filter2.predicate.Operators.Gt;
+import org.apache.parquet.filter2.predicate.Operators.GtEq;
+import org.apache.parquet.filter2.predicate.Operators.In;
+import org.apache.parquet.filter2.predicate.Operators.LogicalNotUserDefined;
+import org.apache.parquet.filter2.predicate.Operators.Lt;
+import org.apache.parquet.filter2.predicate.Operators.LtEq;
+import org.apache.parquet.filter2.predicate.Operators.Not;
+import org.apache.parquet.filter2.predicate.Operators.NotEq;
+import org.apache.parquet.filter2.predicate.Operators.NotIn;
+import org.apache.parquet.filter2.predicate.Operators.Or;
+import org.apache.parquet.filter2.predicate.Operators.UserDefined;
+import org.apache.parquet.filter2.predicate.UserDefinedPredicate;
+import org.apache.parquet.filter2.predicate.ValueSet;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import static org.apache.parquet.Preconditions.checkNotNull;
+
+/**
+ * Compiles a {@link FilterPredicate} for a schema into a {@link CompiledFilterPredicate} class of its own.
+ *
+ * The generated class has a boolean field for the result of each predicate on a column and evaluates them
+ * with primitive comparisons as the column values arrive. {@link CompiledFilterPredicate#keep()} combines
+ * the results with the and() and or() of the predicate as straight-line code, instead of visiting a tree
+ * of {@link IncrementallyUpdatedFilterPredicate}s for every record. Predicates on columns that are not in
+ * the schema are always evaluated as if the value was null.
+ *
+ * Generated classes are cached by the shape of the predicate, its operators, column types and
+ * columns without its values, and by schema. The values of the predicate are passed to the
+ * constructor of the class, so predicates that only differ by their values share a class and each
+ * call returns a new instance with its own state.
+ *
+ * Like {@link IncrementallyUpdatedFilterPredicateBuilder}, the supplied predicate must not contain
+ * the not() operator and should first be run through
+ * {@link org.apache.parquet.filter2.predicate.LogicalInverseRewriter}.
+ */
+public final class FilterPredicateCompiler implements Opcodes {
+
+  private static final int CACHE_SIZE = 100;
+  private static final String BASE_CLASS = Type.getInternalName(CompiledFilterPredicate.class);
+  private static final String CLASS_PREFIX = BASE_CLASS + "$$Generated";
+  private static final String BINARY = Type.getInternalName(Binary.class);
+  private static final String VALUE_SET = Type.getInternalName(ValueSet.class);
+  private static final String UDP = Type.getInternalName(UserDefinedPredicate.class);
+  private static final AtomicInteger CLASS_COUNT = new AtomicInteger();
+
+  private static final Map<CacheKey, Constructor<? extends CompiledFilterPredicate>> CACHE =
+      new LinkedHashMap<CacheKey, Constructor<? extends CompiledFilterPredicate>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CacheKey, Constructor<? extends CompiledFilterPredicate>> eldest) {
+          return size() > CACHE_SIZE;
+        }
+      };
+
+  private FilterPredicateCompiler() { }
+
+  /**
+   * @param pred a filter predicate without not()
+   * @param schema the schema of the records
+   * @return a new instance of the predicate compiled for the schema
+   */
+  public static CompiledFilterPredicate compile(FilterPredicate pred, MessageType schema) {
+    checkNotNull(pred, "pred");
+    checkNotNull(schema, "schema");
+
+    // planning collects the values for this instance, user defined predicates are instantiated for each
+    Plan plan = new Plan(schema);
+    Node root = pred.accept(plan);
+
+    Constructor<? extends CompiledFilterPredicate> constructor;
+    CacheKey key = new CacheKey(shape(root, new StringBuilder()).toString(), schema);
+    synchronized (CACHE) {
+      constructor = CACHE.get(key);
+      if (constructor == null) {
+        constructor = define(plan, root);
+        CACHE.put(key, constructor);
+      }
+    }
+
+    try {
+      CompiledFilterPredicate compiled = constructor.newInstance((Object) plan.constants.toArray());
+      compiled.setColumnIndexes(Collections.unmodifiableMap(plan.columnIndexes));
+      return compiled;
+    } catch (InstantiationException e) {
+      throw new RuntimeException("Could not instantiate compiled filter predicate for " + pred, e);
+    } catch (IllegalAccessException e) {
+      throw new RuntimeException("Could not instantiate compiled filter predicate for " + pred, e);
+    } catch (InvocationTargetException e) {
+      throw new RuntimeException("Could not instantiate compiled filter predicate for " + pred, e.getCause());
+    }
+  }
+
+  /**
+   * Describes the generated code of a node: its operators, and the column index and type of its
+   * leaves, but not their values.
+   */
+  private static StringBuilder shape(Node node, StringBuilder sb) {
+    if (node instanceof AndNode) {
+      AndNode and = (AndNode) node;
+      return shape(and.right, shape(and.left, sb.append("and(")).append(',')).append(')');
+    } else if (node instanceof OrNode) {
+      OrNode or = (OrNode) node;
+      return shape(or.right, shape(or.left, sb.append("or(")).append(',')).append(')');
+    }
+    Leaf leaf = (Leaf) node;
+    sb.append(leaf.op).append('(').append(leaf.column).append(',').append(leaf.type.getSimpleName());
+    if (leaf.isConstant) {
+      sb.append(",null");
+    }
+    return sb.append(')');
+  }
+
+  private static final class CacheKey {
+    private final String shape;
+    private final MessageType schema;
+
+    private CacheKey(String shape, MessageType schema) {
+      this.shape = shape;
+      this.schema = schema;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      CacheKey that = (CacheKey) o;
+      return shape.equals(that.shape) && schema.equals(that.schema);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * shape.hashCode() + schema.hashCode();
+    }
+  }
+
+  private enum Op {
+    EQ(IFEQ, IF_ICMPEQ), NOT_EQ(IFNE, IF_ICMPNE),
+    LT(IFLT, IF_ICMPLT), LT_EQ(IFLE, IF_ICMPLE),
+    GT(IFGT, IF_ICMPGT), GT_EQ(IFGE, IF_ICMPGE),
+    IN(0, 0), NOT_IN(0, 0), UDP(0, 0), NOT_UDP(0, 0);
+
+    // jumps if the comparison to 0 or of two ints is true
+    private final int ifZero;
+    private final int ifInts;
+
+    Op(int ifZero, int ifInts) {
+      this.ifZero = ifZero;
+      this.ifInts = ifInts;
+    }
+  }
+
+  private static abstract class Node { }
+
+  private static final class AndNode extends Node {
+    private final Node left;
+    private final Node right;
+
+    private AndNode(Node left, Node right) {
+      this.left = left;
+      this.right = right;
+    }
+  }
+
+  private static final class OrNode extends Node {
+    private final Node left;
+    private final Node right;
+
+    private OrNode(Node left, Node right) {
+      this.left = left;
+      this.right = right;
+    }
+  }
+
+  private static final class Leaf extends Node {
+    private final int id;
+    private final Op op;
+    private final Class<?> type;
+    // the index of the column, or -1 if the column is not in the schema
+    private final int column;
+    // the index of the value, ValueSet or UserDefinedPredicate in the constants
+    private final int constant;
+    // for eq(column, null) and notEq(column, null), the result is known when a value arrives
+    private final boolean isConstant;
+    private final boolean resultIfNotNull;
+    private final boolean resultIfNull;
+
+    private Leaf(int id, Op op, Class<?> type, int column, int constant,
+                 boolean isConstant, boolean resultIfNotNull, boolean resultIfNull) {
+      this.id = id;
+      this.op = op;
+      this.type = type;
+      this.column = column;
+      this.constant = constant;
+      this.isConstant = isConstant;
+      this.resultIfNotNull = resultIfNotNull;
+      this.resultIfNull = resultIfNull;
+    }
+  }
+
+  /**
+   * Converts a predicate into nodes, assigning an index to each column in the schema and collecting
+   * the values that are passed to the constructor of the generated class.
+   */
+  private static final class Plan implements FilterPredicate.Visitor<Node> {
+    private final Set<ColumnPath> schemaColumns = new HashSet<ColumnPath>();
+    private final Map<ColumnPath, Integer> columnIndexes = new LinkedHashMap<ColumnPath, Integer>();
+    private final List<Object> constants = new ArrayList<Object>();
+    private final List<Leaf> leaves = new ArrayList<Leaf>();
+
+    private Plan(MessageType schema) {
+      for (ColumnDescriptor descriptor : schema.getColumns()) {
+        schemaColumns.add(ColumnPath.get(descriptor.getPath()));
+      }
+    }
+
+    private int columnIndex(Column<?> column) {
+      ColumnPath path = column.getColumnPath();
+      if (!schemaColumns.contains(path)) {
+        return -1;
+      }
+      Integer index = columnIndexes.get(path);
+      if (index == null) {
+        index = columnIndexes.size();
+        columnIndexes.put(path, index);
+      }
+      return index;
+    }
+
+    private int addConstant(Object constant) {
+      constants.add(constant);
+      return constants.size() - 1;
+    }
+
+    private Leaf addLeaf(Op op, Column<?> column, int constant,
+                        boolean isConstant, boolean resultIfNotNull, boolean resultIfNull) {
+      Leaf leaf = new Leaf(leaves.size(), op, column.getColumnType(), columnIndex(column),
+          constant, isConstant, resultIfNotNull, resultIfNull);
+      leaves.add(leaf);
+      return leaf;
+    }
+
+    private Leaf comparison(Op op, Column<?> column, Object value) {
+      if (value == null) {
+        // only eq() and notEq() accept null
+        boolean isEq = op == Op.EQ;
+        return addLeaf(op, column, -1, true, !isEq, isEq);
+      }
+      return addLeaf(op, column, addConstant(value), false, false, op == Op.NOT_EQ);
+    }
+
+    @Override
+    public <T extends Comparable<T>> Node visit(Eq<T> eq) {
+      return comparison(Op.EQ, eq.getColumn(), eq.getValue());
+    }
+
+    @Override
+    public <T extends Comparable<T>> Node visit(NotEq<T> notEq) {
+      return comparison(Op.NOT_EQ, notEq.getColumn(), notEq.getValue());
+    }
+
+    @Override
+    public <T extends Comparable<T>> Node visit(Lt<T> lt) {
+      return comparison(Op.LT, lt.getColumn(), lt.getValue());
+    }
+
+    @Override
+    public <T extends Comparable<T>> Node visit(LtEq<T> ltEq) {
+      return comparison(Op.LT_EQ, ltEq.getColumn(), ltEq.getValue());
+    }
+
+    @Override
+    public <T extends Comparable<T>> Node visit(Gt<T> gt) {
+      return comparison(Op.GT, gt.getColumn(), gt.getValue());
+    }
+
+    @Override
+    public <T extends Comparable<T>> Node visit(GtEq<T> gtEq) {
+      return comparison(Op.GT_EQ, gtEq.getColumn(), gtEq.getValue());
+    }
+
+    @Override
+    public <T extends Comparable<T>> Node visit(In<T> in) {
+      return addLeaf(Op.IN, in.getColumn(), addConstant(in.getValueSet()), false, false, false);
+    }
+
+    @Override
+    public <T extends Comparable<T>> Node visit(NotIn<T> notIn) {
+      return addLeaf(Op.NOT_IN, notIn.getColumn(), addConstant(notIn.getValueSet()), false, false, true);
+    }
+
+    @Override
+    public Node visit(And and) {
+      return new AndNode(and.getLeft().accept(this), and.getRight().accept(this));
+    }
+
+    @Override
+    public Node visit(Or or) {
+      return new OrNode(or.getLeft().accept(this), or.getRight().accept(this));
+    }
+
+    @Override
+    public Node visit(Not not) {
+      throw new IllegalArgumentException(
+          "This predicate contains a not! Did you forget to run this predicate through LogicalInverseRewriter? " + not);
+    }
+
+    @Override
+    public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> Node visit(UserDefined<T, U> udp) {
+      // the result for null is the predicate's, udp.keep(null) is called for each record without a value
+      return addLeaf(Op.UDP, udp.getColumn(), addConstant(udp.getUserDefinedPredicate()), false, false, false);
+    }
+
+    @Override
+    public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> Node visit(LogicalNotUserDefined<T, U> udp) {
+      UserDefined<T, U> userDefined = udp.getUserDefined();
+      return addLeaf(Op.NOT_UDP, userDefined.getColumn(),
+          addConstant(userDefined.getUserDefinedPredicate()), false, false, false);
+    }
+  }
+
+  // generated classes are loaded by their own class loader, so that they can be unloaded with it
+  private static final class GeneratedClassLoader extends ClassLoader {
+    private GeneratedClassLoader() {
+      super(CompiledFilterPredicate.class.getClassLoader());
+    }
+
+    private Class<?> define(String name, byte[] bytes) {
+      return defineClass(name, bytes, 0, bytes.length);
+    }
+  }
+
+  private static Constructor<? extends CompiledFilterPredicate> define(Plan plan, Node root) {
+    String className = CLASS_PREFIX + CLASS_COUNT.incrementAndGet();
+    byte[] bytes = new Generator(className, plan, root).generate();
+    Class<?> generated = new GeneratedClassLoader().define(className.replace('/', '.'), bytes);
+    try {
+      return generated.asSubclass(CompiledFilterPredicate.class).getConstructor(Object[].class);
+    } catch (NoSuchMethodException e) {
+      throw new RuntimeException("Generated class has no constructor: " + className, e);
+    }
+  }
+
+  private static final class Generator {
+    private final String className;
+    private final Plan plan;
+    private final Node root;
+    private final ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES) {
+      @Override
+      protected String getCommonSuperClass(String type1, String type2) {
+        // the generated code only merges values of the same type, avoid loading classes
+        return "java/lang/Object";
+      }
+    };
+
+    private Generator(String className, Plan plan, Node root) {
+      this.className = className;
+      this.plan = plan;
+      this.root = root;
+    }
+
+    private byte[] generate() {
+      cw.visit(V1_7, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, className, null, BASE_CLASS, null);
+
+      for (int column = 0; column < plan.columnIndexes.size(); column += 1) {
+        cw.visitField(ACC_PRIVATE, knownField(column), "Z", null, null).visitEnd();
+      }
+      for (Leaf leaf : plan.leaves) {
+        if (leaf.column >= 0 && !leaf.isConstant) {
+          cw.visitField(ACC_PRIVATE, resultField(leaf), "Z", null, null).visitEnd();
+        }
+      }
+      for (int i = 0; i < plan.constants.size(); i += 1) {
+        cw.visitField(ACC_PRIVATE | ACC_FINAL, constantField(i), constantDescriptor(i), null, null).visitEnd();
+      }
+
+      generateConstructor();
+      generateReset();
+      generateKeep();
+      for (Class<?> type : new Class<?>[] {
+          Integer.class, Long.class, Float.class, Double.class, Boolean.class, Binary.class }) {
+        generateUpdate(type);
+      }
+
+      cw.visitEnd();
+      return cw.toByteArray();
+    }
+
+    private static String knownField(int column) {
+      return "known" + column;
+    }
+
+    private static String resultField(Leaf leaf) {
+      return "result" + leaf.id;
+    }
+
+    private static String constantField(int index) {
+      return "constant" + index;
+    }
+
+    // primitive values are unboxed into primitive fields
+    private String constantDescriptor(int index) {
+      Object constant = plan.constants.get(index);
+      if (constant instanceof Integer) {
+        return "I";
+      } else if (constant instanceof Long) {
+        return "J";
+      } else if (constant instanceof Float) {
+        return "F";
+      } else if (constant instanceof Double) {
+        return "D";
+      } else if (constant instanceof Boolean) {
+        return "Z";
+      } else if (constant instanceof Binary) {
+        return "L" + BINARY + ";";
+      } else if (constant instanceof ValueSet) {
+        return "L" + VALUE_SET + ";";
+      } else {
+        return "L" + UDP + ";";
+      }
+    }
+
+    private void generateConstructor() {
+      MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "([Ljava/lang/Object;)V", null, null);
+      mv.visitCode();
+      mv.visitVarInsn(ALOAD, 0);
+      mv.visitMethodInsn(INVOKESPECIAL, BASE_CLASS, "<init>", "()V", false);
+      for (int i = 0; i < plan.constants.size(); i += 1) {
+        String descriptor = constantDescriptor(i);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitLdcInsn(i);
+        mv.visitInsn(AALOAD);
+        Object constant = plan.constants.get(i);
+        if (descriptor.length() == 1) {
+          // unbox the value of a primitive comparison
+          String boxed = Type.getInternalName(constant.getClass());
+          String unbox = Type.getType(descriptor).getClassName() + "Value";
+          mv.visitTypeInsn(CHECKCAST, boxed);
+          mv.visitMethodInsn(INVOKEVIRTUAL, boxed, unbox, "()" + descriptor, false);
+        } else {
+          mv.visitTypeInsn(CHECKCAST, descriptor.substring(1, descriptor.length() - 1));
+        }
+        mv.visitFieldInsn(PUTFIELD, className, constantField(i), descriptor);
+      }
+      mv.visitInsn(RETURN);
+      mv.visitMaxs(0, 0);
+      mv.visitEnd();
+    }
+
+    private void generateReset() {
+      MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "reset", "()V", null, null);
+      mv.visitCode();
+      for (int column = 0; column < plan.columnIndexes.size(); column += 1) {
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitInsn(ICONST_0);
+        mv.visitFieldInsn(PUTFIELD, className, knownField(column), "Z");
+      }
+      mv.visitInsn(RETURN);
+      mv.visitMaxs(0, 0);
+      mv.visitEnd();
+    }
+
+    private void generateKeep() {
+      MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "keep", "()Z", null, null);
+      mv.visitCode();
+      Label drop = new Label();
+      jumpIfFalse(mv, root, drop);
+      mv.visitInsn(ICONST_1);
+      mv.visitInsn(IRETURN);
+      mv.visitLabel(drop);
+      mv.visitInsn(ICONST_0);
+      mv.visitInsn(IRETURN);
+      mv.visitMaxs(0, 0);
+      mv.visitEnd();
+    }
+
+    // falls through if the node is true, jumps to ifFalse otherwise
+    private void jumpIfFalse(MethodVisitor mv, Node node, Label ifFalse) {
+      if (node instanceof AndNode) {
+        AndNode and = (AndNode) node;
+        jumpIfFalse(mv, and.left, ifFalse);
+        jumpIfFalse(mv, and.right, ifFalse);
+      } else if (node instanceof OrNode) {
+        OrNode or = (OrNode) node;
+        Label tryRight = new Label();
+        Label isTrue = new Label();
+        jumpIfFalse(mv, or.left, tryRight);
+        mv.visitJumpInsn(GOTO, isTrue);
+        mv.visitLabel(tryRight);
+        jumpIfFalse(mv, or.right, ifFalse);
+        mv.visitLabel(isTrue);
+      } else {
+        pushLeafResult(mv, (Leaf) node);
+        mv.visitJumpInsn(IFEQ, ifFalse);
+      }
+    }
+
+    private void pushLeafResult(MethodVisitor mv, Leaf leaf) {
+      if (leaf.column < 0) {
+        pushNullResult(mv, leaf);
+        return;
+      }
+      Label isNull = new Label();
+      Label end = new Label();
+      mv.visitVarInsn(ALOAD, 0);
+      mv.visitFieldInsn(GETFIELD, className, knownField(leaf.column), "Z");
+      mv.visitJumpInsn(IFEQ, isNull);
+      if (leaf.isConstant) {
+        mv.visitInsn(leaf.resultIfNotNull ? ICONST_1 : ICONST_0);
+      } else {
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className, resultField(leaf), "Z");
+      }
+      mv.visitJumpInsn(GOTO, end);
+      mv.visitLabel(isNull);
+      pushNullResult(mv, leaf);
+      mv.visitLabel(end);
+    }
+
+    private void pushNullResult(MethodVisitor mv, Leaf leaf) {
+      if (leaf.op == Op.UDP || leaf.op == Op.NOT_UDP) {
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className, constantField(leaf.constant), "L" + UDP + ";");
+        mv.visitInsn(ACONST_NULL);
+        mv.visitMethodInsn(INVOKEVIRTUAL, UDP, "keep", "(Ljava/lang/Comparable;)Z", false);
+        negateIf(mv, leaf.op == Op.NOT_UDP);
+      } else {
+        mv.visitInsn(leaf.resultIfNull ? ICONST_1 : ICONST_0);
+      }
+    }
+
+    private static void negateIf(MethodVisitor mv, boolean negate) {
+      if (negate) {
+        mv.visitInsn(ICONST_1);
+        mv.visitInsn(IXOR);
+      }
+    }
+
+    private void generateUpdate(Class<?> type) {
+      int columnCount = plan.columnIndexes.size();
+      List<List<Leaf>> leavesByColumn = new ArrayList<List<Leaf>>(columnCount);
+      boolean hasLeaves = false;
+      for (int column = 0; column < columnCount; column += 1) {
+        leavesByColumn.add(new ArrayList<Leaf>());
+      }
+      for (Leaf leaf : plan.leaves) {
+        if (leaf.column >= 0 && leaf.type.equals(type)) {
+          leavesByColumn.get(leaf.column).add(leaf);
+          hasLeaves = true;
+        }
+      }
+      if (!hasLeaves) {
+        // the base class throws UnsupportedOperationException
+        return;
+      }
+
+      String descriptor = "(I" + valueDescriptor(type) + ")V";
+      MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "update", descriptor, null, null);
+      mv.visitCode();
+
+      Label unsupported = new Label();
+      Label[] cases = new Label[columnCount];
+      for (int column = 0; column < columnCount; column += 1) {
+        cases[column] = leavesByColumn.get(column).isEmpty() ? unsupported : new Label();
+      }
+      mv.visitVarInsn(ILOAD, 1);
+      mv.visitTableSwitchInsn(0, columnCount - 1, unsupported, cases);
+
+      for (int column = 0; column < columnCount; column += 1) {
+        List<Leaf> leaves = leavesByColumn.get(column);
+        if (leaves.isEmpty()) {
+          continue;
+        }
+        mv.visitLabel(cases[column]);
+        for (Leaf leaf : leaves) {
+          if (!leaf.isConstant) {
+            mv.visitVarInsn(ALOAD, 0);
+            pushResult(mv, leaf);
+            mv.visitFieldInsn(PUTFIELD, className, resultField(leaf), "Z");
+          }
+        }
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitInsn(ICONST_1);
+        mv.visitFieldInsn(PUTFIELD, className, knownField(column), "Z");
+        mv.visitInsn(RETURN);
+      }
+
+      mv.visitLabel(unsupported);
+      mv.visitVarInsn(ALOAD, 0);
+      mv.visitVarInsn(ILOAD, 1);
+      loadValue(mv, type);
+      mv.visitMethodInsn(INVOKESPECIAL, BASE_CLASS, "update", descriptor, false);
+      mv.visitInsn(RETURN);
+      mv.visitMaxs(0, 0);
+      mv.visitEnd();
+    }
+
+    // pushes the result of the leaf for the value of the update method
+    private void pushResult(MethodVisitor mv, Leaf leaf) {
+      switch (leaf.op) {
+        case IN:
+        case NOT_IN:
+          mv.visitVarInsn(ALOAD, 0);
+          mv.visitFieldInsn(GETFIELD, className, constantField(leaf.constant), "L" + VALUE_SET + ";");
+          loadValue(mv, leaf.type);
+          mv.visitMethodInsn(INVOKEVIRTUAL, VALUE_SET, "contains", "(" + valueDescriptor(leaf.type) + ")Z", false);
+          negateIf(mv, leaf.op == Op.NOT_IN);
+          return;
+        case UDP:
+        case NOT_UDP:
+          mv.visitVarInsn(ALOAD, 0);
+          mv.visitFieldInsn(GETFIELD, className, constantField(leaf.constant), "L" + UDP + ";");
+          loadValue(mv, leaf.type);
+          box(mv, leaf.type);
+          mv.visitMethodInsn(INVOKEVIRTUAL, UDP, "keep", "(Ljava/lang/Comparable;)Z", false);
+          negateIf(mv, leaf.op == Op.NOT_UDP);
+          return;
+        default:
+          pushComparison(mv, leaf);
+      }
+    }
+
+    private void pushComparison(MethodVisitor mv, Leaf leaf) {
+      Label isTrue = new Label();
+      Label end = new Label();
+      loadValue(mv, leaf.type);
+      mv.visitVarInsn(ALOAD, 0);
+      mv.visitFieldInsn(GETFIELD, className, constantField(leaf.constant), valueDescriptor(leaf.type));
+      if (leaf.type.equals(Integer.class) || leaf.type.equals(Boolean.class)) {
+        mv.visitJumpInsn(leaf.op.ifInts, isTrue);
+      } else if (leaf.type.equals(Long.class)) {
+        mv.visitInsn(LCMP);
+        mv.visitJumpInsn(leaf.op.ifZero, isTrue);
+      } else if (leaf.type.equals(Float.class)) {
+        // as in java, comparisons with NaN are false except !=
+        mv.visitInsn(leaf.op == Op.LT || leaf.op == Op.LT_EQ ? FCMPG : FCMPL);
+        mv.visitJumpInsn(leaf.op.ifZero, isTrue);
+      } else if (leaf.type.equals(Double.class)) {
+        mv.visitInsn(leaf.op == Op.LT || leaf.op == Op.LT_EQ ? DCMPG : DCMPL);
+        mv.visitJumpInsn(leaf.op.ifZero, isTrue);
+      } else if (leaf.type.equals(Binary.class)) {
+        mv.visitMethodInsn(INVOKEVIRTUAL, BINARY, "compareTo", "(L" + BINARY + ";)I", false);
+        mv.visitJumpInsn(leaf.op.ifZero, isTrue);
+      } else {
+        throw new IllegalArgumentException("Encountered unknown type " + leaf.type);
+      }
+      mv.visitInsn(ICONST_0);
+      mv.visitJumpInsn(GOTO, end);
+      mv.visitLabel(isTrue);
+      mv.visitInsn(ICONST_1);
+      mv.visitLabel(end);
+    }
+
+    private static String valueDescriptor(Class<?> type) {
+      if (type.equals(Integer.class)) {
+        return "I";
+      } else if (type.equals(Long.class)) {
+        return "J";
+      } else if (type.equals(Float.class)) {
+        return "F";
+      } else if (type.equals(Double.class)) {
+        return "D";
+      } else if (type.equals(Boolean.class)) {
+        return "Z";
+      } else if (type.equals(Binary.class)) {
+        return "L" + BINARY + ";";
+      }
+      throw new IllegalArgumentException("Encountered unknown type " + type);
+    }
+
+    // the value is the second argument of the update methods
+    private static void loadValue(MethodVisitor mv, Class<?> type) {
+      Type valueType = Type.getType(valueDescriptor(type));
+      mv.visitVarInsn(valueType.getOpcode(ILOAD), 2);
+    }
+
+    private static void box(MethodVisitor mv, Class<?> type) {
+      if (type.equals(Binary.class)) {
+        return;
+      }
+      String boxed = Type.getInternalName(type);
+      mv.visitMethodInsn(INVOKESTATIC, boxed, "valueOf", "(" + valueDescriptor(type) + ")L" + boxed + ";", false);
+    }
+  }
+}
@@ -59,6 +59,12 @@ public class FilteringPrimitiveConverter extends PrimitiveConverter {
     throw new UnsupportedOperationException("FilteringPrimitiveConverter doesn't have dictionary support");
   }
 
+  // value inspectors do not keep the values they are updated with
+  @Override
+  public boolean hasReusedBinarySupport() {
+    return delegate.hasReusedBinarySupport();
+  }
+
   @Override
   public void addBinary(Binary value) {
     for (ValueInspector valueInspector : valueInspectors) {
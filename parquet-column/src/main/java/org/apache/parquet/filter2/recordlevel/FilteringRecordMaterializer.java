@@ -38,6 +38,9 @@ import static org.apache.parquet.Preconditions.checkNotNull;
  * there are no more values, the predicate indicates that this record should be dropped, {@link #getCurrentRecord()}
  * returns null to signal that this record is being skipped.
  * Otherwise, the record is retrieved from the delegate.
+ *
+ * The predicate is either a tree of {@link IncrementallyUpdatedFilterPredicate}s or a
+ * {@link CompiledFilterPredicate}, which receives the values through the same converters.
  */
 public class FilteringRecordMaterializer<T> extends RecordMaterializer<T> {
   // the real record materializer
@@ -46,18 +49,37 @@ public class FilteringRecordMaterializer<T> extends RecordMaterializer<T> {
   // the proxied root converter
   private final FilteringGroupConverter rootConverter;
 
-  // the predicate
+  // the predicate, only one of them is set
   private final IncrementallyUpdatedFilterPredicate filterPredicate;
+  private final CompiledFilterPredicate compiledPredicate;
 
   public FilteringRecordMaterializer(
       RecordMaterializer<T> delegate,
       List<PrimitiveColumnIO> columnIOs,
       Map<ColumnPath, List<ValueInspector>> valueInspectorsByColumn,
       IncrementallyUpdatedFilterPredicate filterPredicate) {
+    this(delegate, columnIOs, valueInspectorsByColumn, checkNotNull(filterPredicate, "filterPredicate"), null);
+  }
+
+  public FilteringRecordMaterializer(
+      RecordMaterializer<T> delegate,
+      List<PrimitiveColumnIO> columnIOs,
+      CompiledFilterPredicate compiledPredicate) {
+    this(delegate, columnIOs, checkNotNull(compiledPredicate, "compiledPredicate").getValueInspectorsByColumn(),
+        null, compiledPredicate);
+  }
+
+  private FilteringRecordMaterializer(
+      RecordMaterializer<T> delegate,
+      List<PrimitiveColumnIO> columnIOs,
+      Map<ColumnPath, List<ValueInspector>> valueInspectorsByColumn,
+      IncrementallyUpdatedFilterPredicate filterPredicate,
+      CompiledFilterPredicate compiledPredicate) {
 
     checkNotNull(columnIOs, "columnIOs");
     checkNotNull(valueInspectorsByColumn, "valueInspectorsByColumn");
-    this.filterPredicate = checkNotNull(filterPredicate, "filterPredicate");
+    this.filterPredicate = filterPredicate;
+    this.compiledPredicate = compiledPredicate;
     this.delegate = checkNotNull(delegate, "delegate");
 
     // keep track of which path of indices leads to which primitive column
@@ -89,11 +111,17 @@ public class FilteringRecordMaterializer<T> extends RecordMaterializer<T> {
   @Override
   public T getCurrentRecord() {
 
-    // find out if the predicate thinks we should keep this record
-    boolean keep = IncrementallyUpdatedFilterPredicateEvaluator.evaluate(filterPredicate);
+    boolean keep;
+    if (compiledPredicate != null) {
+      keep = compiledPredicate.keep();
+      compiledPredicate.reset();
+    } else {
+      // find out if the predicate thinks we should keep this record
+      keep = IncrementallyUpdatedFilterPredicateEvaluator.evaluate(filterPredicate);
 
-    // reset the stateful predicate no matter what
-    IncrementallyUpdatedFilterPredicateResetter.reset(filterPredicate);
+      // reset the stateful predicate no matter what
+      IncrementallyUpdatedFilterPredicateResetter.reset(filterPredicate);
+    }
 
     if (keep) {
       return delegate.getCurrentRecord();
@@ -37,6 +37,8 @@ import org.apache.parquet.filter2.compat.FilterCompat.NoOpFilter;
 import org.apache.parquet.filter2.compat.FilterCompat.UnboundRecordFilterCompat;
 import org.apache.parquet.filter2.compat.FilterCompat.Visitor;
 import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.recordlevel.CompiledFilterPredicate;
+import org.apache.parquet.filter2.recordlevel.FilterPredicateCompiler;
 import org.apache.parquet.filter2.recordlevel.FilteringRecordMaterializer;
 import org.apache.parquet.filter2.recordlevel.IncrementallyUpdatedFilterPredicate;
 import org.apache.parquet.filter2.recordlevel.IncrementallyUpdatedFilterPredicateBuilder;
@@ -93,9 +95,24 @@ public class MessageColumnIO extends GroupColumnIO {
     return getRecordReader(columns, recordMaterializer, FilterCompat.get(filter));
   }
 
+  public <T> RecordReader<T> getRecordReader(PageReadStore columns,
+                                             RecordMaterializer<T> recordMaterializer,
+                                             Filter filter) {
+    return getRecordReader(columns, recordMaterializer, filter, false);
+  }
+
+  /**
+   * @param columns the pages of the row group
+   * @param recordMaterializer the materializer for the records
+   * @param filter the record filter
+   * @param compileFilterPredicate whether a filter predicate is compiled into bytecode by
+   *                               {@link FilterPredicateCompiler} instead of evaluated as a tree
+   * @return a record reader
+   */
   public <T> RecordReader<T> getRecordReader(final PageReadStore columns,
                                              final RecordMaterializer<T> recordMaterializer,
-                                             final Filter filter) {
+                                             final Filter filter,
+                                             final boolean compileFilterPredicate) {
     checkNotNull(columns, "columns");
     checkNotNull(recordMaterializer, "recordMaterializer");
     checkNotNull(filter, "filter");
@@ -109,13 +126,22 @@ public class MessageColumnIO extends GroupColumnIO {
       public RecordReader<T> visit(FilterPredicateCompat filterPredicateCompat) {
 
         FilterPredicate predicate = filterPredicateCompat.getFilterPredicate();
-        IncrementallyUpdatedFilterPredicateBuilder builder = new IncrementallyUpdatedFilterPredicateBuilder();
-        IncrementallyUpdatedFilterPredicate streamingPredicate = builder.build(predicate);
-        RecordMaterializer<T> filteringRecordMaterializer = new FilteringRecordMaterializer<T>(
-            recordMaterializer,
-            leaves,
-            builder.getValueInspectorsByColumn(),
-            streamingPredicate);
+        RecordMaterializer<T> filteringRecordMaterializer;
+        if (compileFilterPredicate) {
+          CompiledFilterPredicate compiledPredicate = FilterPredicateCompiler.compile(predicate, getType());
+          filteringRecordMaterializer = new FilteringRecordMaterializer<T>(
+              recordMaterializer,
+              leaves,
+              compiledPredicate);
+        } else {
+          IncrementallyUpdatedFilterPredicateBuilder builder = new IncrementallyUpdatedFilterPredicateBuilder();
+          IncrementallyUpdatedFilterPredicate streamingPredicate = builder.build(predicate);
+          filteringRecordMaterializer = new FilteringRecordMaterializer<T>(
+              recordMaterializer,
+              leaves,
+              builder.getValueInspectorsByColumn(),
+              streamingPredicate);
+        }
 
         return new RecordReaderImplementation<T>(
             MessageColumnIO.this,
@@ -406,6 +406,13 @@ abstract public class Binary implements Comparable<Binary>, Serializable {
       this.isBackingBytesReused = isBackingBytesReused;
     }
 
+    void reset(ByteBuffer value, int offset, int length) {
+      this.value = value;
+      this.offset = offset;
+      this.length = length;
+      this.cachedBytes = null;
+    }
+
     @Override
     public String toStringUsingUTF8() {
       String ret;
@@ -562,6 +569,34 @@ abstract public class Binary implements Comparable<Binary>, Serializable {
 
   }
 
+  /**
+   * A view of a range of a ByteBuffer that is moved to the next value instead
+   * of allocating a Binary for each value.
+   *
+   * Readers that reuse a view return the same instance for successive values,
+   * so a value is only valid until the next value is read from the same
+   * reader. {@link #isBackingBytesReused()} is true: consumers that keep a
+   * value must keep its {@link #copy()}.
+   */
+  public static final class ReusableBinary extends ByteBufferBackedBinary {
+
+    public ReusableBinary() {
+      super(ByteBuffer.allocate(0), 0, 0, true);
+    }
+
+    /**
+     * Points this view to another range of bytes.
+     * @param value the buffer of the value
+     * @param offset the position of the value in the buffer
+     * @param length the length of the value
+     * @return this view
+     */
+    public ReusableBinary set(ByteBuffer value, int offset, int length) {
+      reset(value, offset, length);
+      return this;
+    }
+  }
+
   public static Binary fromReusedByteBuffer(final ByteBuffer value, int offset, int length) {
     return new ByteBufferBackedBinary(value, offset, length, true);
   }
@@ -55,6 +55,17 @@ abstract public class PrimitiveConverter extends Converter {
     throw new UnsupportedOperationException(getClass().getName());
   }
 
+  /**
+   * if it returns true, readers may pass the same reused Binary to addBinary
+   * for successive values instead of allocating one per value. The value is
+   * only valid until addBinary returns, the converter must keep a
+   * {@link Binary#copy()} of the values it retains.
+   * @return if reused binary values are supported
+   */
+  public boolean hasReusedBinarySupport() {
+    return false;
+  }
+
   /** runtime calls  **/
 
   /**
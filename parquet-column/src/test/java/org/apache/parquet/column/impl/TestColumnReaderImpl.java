@@ -19,8 +19,10 @@
 package org.apache.parquet.column.impl;
 
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
 import static org.apache.parquet.column.ParquetProperties.WriterVersion.PARQUET_2_0;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.parquet.Version;
@@ -29,11 +31,13 @@ import org.junit.Test;
 
 import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.ColumnReader;
+import org.apache.parquet.column.ColumnWriter;
 import org.apache.parquet.column.ParquetProperties;
 import org.apache.parquet.column.page.DataPage;
 import org.apache.parquet.column.page.DataPageV2;
 import org.apache.parquet.column.page.mem.MemPageReader;
 import org.apache.parquet.column.page.mem.MemPageWriter;
+import org.apache.parquet.filter2.columnindex.RowRanges;
 import org.apache.parquet.io.api.Binary;
 import org.apache.parquet.io.api.PrimitiveConverter;
 import org.apache.parquet.schema.MessageType;
@@ -128,4 +132,144 @@ public class TestColumnReaderImpl {
     assertEquals(0, converter.count);
   }
 
+  @Test
+  public void testRowRanges() throws Exception {
+    MessageType schema = MessageTypeParser.parseMessageType("message test { optional int64 foo; }");
+    ColumnDescriptor col = schema.getColumns().get(0);
+    MemPageWriter pageWriter = new MemPageWriter();
+    ColumnWriterV2 columnWriterV2 = new ColumnWriterV2(col, pageWriter,
+        ParquetProperties.builder()
+            .withDictionaryPageSize(1024).withWriterVersion(PARQUET_2_0)
+            .withPageSize(2048).build());
+    for (int i = 0; i < rows; i++) {
+      if (i % 7 == 0) {
+        columnWriterV2.writeNull(0, 0);
+      } else {
+        columnWriterV2.write((long) i, 0, 1);
+      }
+      if ((i + 1) % 1000 == 0) {
+        columnWriterV2.writePage(i + 1);
+      }
+    }
+    columnWriterV2.writePage(rows);
+    columnWriterV2.finalizeColumnChunk();
+
+    RowRanges ranges = new RowRanges();
+    ranges.add(1500, 1510);
+    ranges.add(4000, 4999);
+    ranges.add(12999, 13000);
+
+    // keep only the pages that overlap the ranges, as a filtered page store would
+    List<DataPage> selected = new ArrayList<DataPage>();
+    long valueCount = 0;
+    long firstRow = 0;
+    for (DataPage page : pageWriter.getPages()) {
+      DataPageV2 v2 = (DataPageV2) page;
+      long lastRow = firstRow + v2.getRowCount() - 1;
+      if (ranges.isOverlapping(firstRow, lastRow)) {
+        selected.add(new DataPageV2(v2.getRowCount(), v2.getNullCount(), v2.getValueCount(),
+            v2.getRepetitionLevels(), v2.getDefinitionLevels(), v2.getDataEncoding(), v2.getData(),
+            v2.getUncompressedSize(), v2.getStatistics(), v2.isCompressed(), firstRow));
+        valueCount += v2.getValueCount();
+      }
+      firstRow = lastRow + 1;
+    }
+    assertEquals(4, selected.size());
+
+    MemPageReader pageReader = new MemPageReader(valueCount, selected.iterator(), pageWriter.getDictionaryPage());
+    final List<Long> values = new ArrayList<Long>();
+    PrimitiveConverter converter = new PrimitiveConverter() {
+      @Override
+      public void addLong(long value) {
+        values.add(value);
+      }
+    };
+    ColumnReader columnReader = new ColumnReaderImpl(col, pageReader, converter,
+        VersionParser.parse(Version.FULL_VERSION), ranges);
+    List<Long> expected = new ArrayList<Long>();
+    for (int r = 0; r < ranges.size(); r++) {
+      for (long row = ranges.getFrom(r); row <= ranges.getTo(r); row++) {
+        if (columnReader.getCurrentDefinitionLevel() == 1) {
+          columnReader.writeCurrentValueToConverter();
+          expected.add(row);
+        } else {
+          assertEquals(0, row % 7);
+        }
+        columnReader.consume();
+      }
+    }
+    assertEquals(expected, values);
+    assertEquals(868, values.size());
+  }
+
+  @Test
+  public void testSkip() throws Exception {
+    MessageType schema = MessageTypeParser.parseMessageType("message test { optional int64 foo; }");
+    ColumnDescriptor col = schema.getColumns().get(0);
+    for (ParquetProperties.WriterVersion version : ParquetProperties.WriterVersion.values()) {
+      for (boolean dictionary : new boolean[] { true, false }) {
+        MemPageWriter pageWriter = new MemPageWriter();
+        ParquetProperties props = ParquetProperties.builder()
+            .withDictionaryEncoding(dictionary)
+            .withDictionaryPageSize(64 * 1024).withWriterVersion(version)
+            .withPageSize(2048).build();
+        ColumnWriter writer = version == PARQUET_2_0
+            ? new ColumnWriterV2(col, pageWriter, props)
+            : new ColumnWriterV1(col, pageWriter, props);
+        for (int i = 0; i < rows; i++) {
+          if (i % 7 == 0) {
+            writer.writeNull(0, 0);
+          } else {
+            writer.write((long) i % 500, 0, 1);
+          }
+          if (version == PARQUET_2_0 && (i + 1) % 1000 == 0) {
+            ((ColumnWriterV2) writer).writePage(i + 1);
+          }
+        }
+        if (version == PARQUET_2_0) {
+          ((ColumnWriterV2) writer).writePage(rows);
+          ((ColumnWriterV2) writer).finalizeColumnChunk();
+        } else {
+          ((ColumnWriterV1) writer).flush();
+        }
+        List<DataPage> pages = pageWriter.getPages();
+        assertTrue("Should write several pages", pages.size() > 3);
+
+        final int[] pagesRead = { 0 };
+        MemPageReader pageReader = new MemPageReader((long) rows, pages.iterator(), pageWriter.getDictionaryPage()) {
+          @Override
+          public DataPage readPage() {
+            pagesRead[0] += 1;
+            return super.readPage();
+          }
+        };
+        final List<Long> values = new ArrayList<Long>();
+        PrimitiveConverter converter = new PrimitiveConverter() {
+          @Override
+          public void addLong(long value) {
+            values.add(value);
+          }
+        };
+        ColumnReaderImpl columnReader = new ColumnReaderImpl(col, pageReader, converter,
+            VersionParser.parse(Version.FULL_VERSION));
+        List<Long> expected = new ArrayList<Long>();
+        int row = 0;
+        int[] skips = { 0, 1, 3, 2500, 17, 1, 4000 };
+        for (int i = 0; row < rows; i += 1) {
+          if (columnReader.getCurrentDefinitionLevel() == 1) {
+            columnReader.writeCurrentValueToConverter();
+            expected.add((long) row % 500);
+          }
+          columnReader.consume();
+          row += 1;
+          int skip = Math.min(skips[i % skips.length], rows - row);
+          columnReader.skip(skip);
+          row += skip;
+        }
+        assertEquals(expected, values);
+        assertTrue("Should skip pages without reading them", pagesRead[0] < pages.size());
+      }
+    }
+  }
+
 }
@@ -24,18 +24,19 @@ import java.util.Iterator;
 
 import org.apache.parquet.column.page.DictionaryPage;
 import org.apache.parquet.column.page.DataPage;
-import org.apache.parquet.column.page.PageReader;
+import org.apache.parquet.column.page.SkippablePageReader;
 import org.apache.parquet.io.ParquetDecodingException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 
-public class MemPageReader implements PageReader {
+public class MemPageReader implements SkippablePageReader {
   private static final Logger LOG = LoggerFactory.getLogger(MemPageReader.class);
 
   private final long totalValueCount;
   private final Iterator<DataPage> pages;
   private final DictionaryPage dictionaryPage;
+  private DataPage next = null;
 
   public MemPageReader(long totalValueCount, Iterator<DataPage> pages, DictionaryPage dictionaryPage) {
     super();
@@ -52,10 +53,30 @@ public class MemPageReader implements PageReader {
 
   @Override
   public DataPage readPage() {
+    DataPage page = next != null ? next : nextPage();
+    next = null;
+    LOG.debug("read page {}", page);
+    return page;
+  }
+
+  @Override
+  public int getNextPageValueCount() {
+    if (next == null && pages.hasNext()) {
+      next = pages.next();
+    }
+    return next == null ? -1 : next.getValueCount();
+  }
+
+  @Override
+  public void skipPage() {
+    DataPage page = next != null ? next : nextPage();
+    next = null;
+    LOG.debug("skip page {}", page);
+  }
+
+  private DataPage nextPage() {
     if (pages.hasNext()) {
-      DataPage next = pages.next();
-      LOG.debug("read page {}", next);
-      return next;
+      return pages.next();
     } else {
       throw new ParquetDecodingException("after last page");
     }
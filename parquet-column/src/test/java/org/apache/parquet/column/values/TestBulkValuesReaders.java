@@ -0,0 +1,439 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.column.values;
+
+import static org.apache.parquet.column.Encoding.PLAIN;
+import static org.apache.parquet.column.Encoding.PLAIN_DICTIONARY;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Random;
+
+import org.apache.parquet.bytes.ByteBufferAllocator;
+import org.apache.parquet.bytes.HeapByteBufferAllocator;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.Dictionary;
+import org.apache.parquet.column.values.bitpacking.ByteBitPackingValuesReader;
+import org.apache.parquet.column.values.bitpacking.ByteBitPackingValuesWriter;
+import org.apache.parquet.column.values.bitpacking.Packer;
+import org.apache.parquet.column.values.delta.DeltaBinaryPackingValuesReader;
+import org.apache.parquet.column.values.delta.DeltaBinaryPackingValuesWriterForInteger;
+import org.apache.parquet.column.values.delta.DeltaBinaryPackingValuesWriterForLong;
+import org.apache.parquet.column.values.deltalengthbytearray.DeltaLengthByteArrayValuesReader;
+import org.apache.parquet.column.values.deltalengthbytearray.DeltaLengthByteArrayValuesWriter;
+import org.apache.parquet.column.values.deltastrings.DeltaByteArrayReader;
+import org.apache.parquet.column.values.deltastrings.DeltaByteArrayWriter;
+import org.apache.parquet.column.values.dictionary.DictionaryValuesReader;
+import org.apache.parquet.column.values.dictionary.DictionaryValuesWriter.PlainBinaryDictionaryValuesWriter;
+import org.apache.parquet.column.values.dictionary.DictionaryValuesWriter.PlainIntegerDictionaryValuesWriter;
+import org.apache.parquet.column.values.plain.BinaryPlainValuesReader;
+import org.apache.parquet.column.values.plain.FixedLenByteArrayPlainValuesReader;
+import org.apache.parquet.column.values.plain.FixedLenByteArrayPlainValuesWriter;
+import org.apache.parquet.column.values.plain.PlainValuesReader.DoublePlainValuesReader;
+import org.apache.parquet.column.values.plain.PlainValuesReader.FloatPlainValuesReader;
+import org.apache.parquet.column.values.plain.PlainValuesReader.IntegerPlainValuesReader;
+import org.apache.parquet.column.values.plain.PlainValuesReader.LongPlainValuesReader;
+import org.apache.parquet.column.values.plain.PlainValuesWriter;
+import org.apache.parquet.column.values.rle.RunLengthBitPackingHybridValuesReader;
+import org.apache.parquet.column.values.rle.RunLengthBitPackingHybridValuesWriter;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.junit.Test;
+
+/**
+ * Checks that bulk reads return the same values as single-value reads, when
+ * both are mixed and batches do not line up with runs or blocks.
+ */
+public class TestBulkValuesReaders {
+
+  private static final int COUNT = 2000;
+  private static final int[] BATCH_SIZES = { 7, 64, 3, 100, 0, 257 };
+  private static final ByteBufferAllocator ALLOCATOR = new HeapByteBufferAllocator();
+
+  private final Random random = new Random(42);
+
+  @Test
+  public void testPlain() throws IOException {
+    int[] ints = randomInts(Integer.MAX_VALUE);
+    ValuesWriter writer = new PlainValuesWriter(1024, 64 * 1024, ALLOCATOR);
+    for (int value : ints) {
+      writer.writeInteger(value);
+    }
+    assertArrayEquals(ints, readIntegers(writer, new IntegerPlainValuesReader()));
+
+    long[] longs = new long[COUNT];
+    writer = new PlainValuesWriter(1024, 64 * 1024, ALLOCATOR);
+    for (int i = 0; i < COUNT; i += 1) {
+      longs[i] = random.nextLong();
+      writer.writeLong(longs[i]);
+    }
+    ValuesReader reader = init(writer, new LongPlainValuesReader());
+    long[] actualLongs = new long[COUNT];
+    for (int i = 0, batch = 0; i < COUNT; batch += 1) {
+      actualLongs[i++] = reader.readLong();
+      int length = nextBatch(batch, i);
+      reader.readLongs(actualLongs, i, length);
+      i += length;
+    }
+    assertArrayEquals(longs, actualLongs);
+
+    double[] doubles = new double[COUNT];
+    writer = new PlainValuesWriter(1024, 64 * 1024, ALLOCATOR);
+    for (int i = 0; i < COUNT; i += 1) {
+      doubles[i] = random.nextDouble();
+      writer.writeDouble(doubles[i]);
+    }
+    reader = init(writer, new DoublePlainValuesReader());
+    double[] actualDoubles = new double[COUNT];
+    for (int i = 0, batch = 0; i < COUNT; batch += 1) {
+      actualDoubles[i++] = reader.readDouble();
+      int length = nextBatch(batch, i);
+      reader.readDoubles(actualDoubles, i, length);
+      i += length;
+    }
+    assertArrayEquals(doubles, actualDoubles, 0.0);
+
+    float[] floats = new float[COUNT];
+    writer = new PlainValuesWriter(1024, 64 * 1024, ALLOCATOR);
+    for (int i = 0; i < COUNT; i += 1) {
+      floats[i] = random.nextFloat();
+      writer.writeFloat(floats[i]);
+    }
+    reader = init(writer, new FloatPlainValuesReader());
+    float[] actualFloats = new float[COUNT];
+    for (int i = 0, batch = 0; i < COUNT; batch += 1) {
+      actualFloats[i++] = reader.readFloat();
+      int length = nextBatch(batch, i);
+      reader.readFloats(actualFloats, i, length);
+      i += length;
+    }
+    assertArrayEquals(floats, actualFloats, 0.0f);
+  }
+
+  @Test
+  public void testPlainBinary() throws IOException {
+    Binary[] binaries = randomBinaries();
+    ValuesWriter writer = new PlainValuesWriter(1024, 64 * 1024, ALLOCATOR);
+    for (Binary value : binaries) {
+      writer.writeBytes(value);
+    }
+    assertArrayEquals(binaries, readBinaries(writer, new BinaryPlainValuesReader()));
+
+    writer = new FixedLenByteArrayPlainValuesWriter(4, 1024, 64 * 1024, ALLOCATOR);
+    Binary[] fixed = new Binary[COUNT];
+    for (int i = 0; i < COUNT; i += 1) {
+      fixed[i] = Binary.fromConstantByteArray(new byte[] {
+          (byte) i, (byte) (i >> 8), (byte) random.nextInt(), 0 });
+      writer.writeBytes(fixed[i]);
+    }
+    assertArrayEquals(fixed, readBinaries(writer, new FixedLenByteArrayPlainValuesReader(4)));
+  }
+
+  @Test
+  public void testRunLengthBitPackingHybrid() throws IOException {
+    int[] ints = randomRuns(32);
+    ValuesWriter writer = new RunLengthBitPackingHybridValuesWriter(5, 1024, 64 * 1024, ALLOCATOR);
+    for (int value : ints) {
+      writer.writeInteger(value);
+    }
+    assertArrayEquals(ints, readIntegers(writer, new RunLengthBitPackingHybridValuesReader(5)));
+  }
+
+  @Test
+  public void testBitPacking() throws IOException {
+    int[] ints = randomInts(100);
+    ValuesWriter writer = new ByteBitPackingValuesWriter(100, Packer.BIG_ENDIAN);
+    for (int value : ints) {
+      writer.writeInteger(value);
+    }
+    assertArrayEquals(ints, readIntegers(writer, new ByteBitPackingValuesReader(100, Packer.BIG_ENDIAN)));
+  }
+
+  @Test
+  public void testDictionary() throws IOException {
+    int[] ints = randomRuns(50);
+    ValuesWriter writer = new PlainIntegerDictionaryValuesWriter(
+        Integer.MAX_VALUE, PLAIN_DICTIONARY, PLAIN_DICTIONARY, ALLOCATOR);
+    for (int value : ints) {
+      writer.writeInteger(value);
+    }
+    byte[] data = writer.getBytes().toByteArray();
+    Dictionary dictionary = PLAIN.initDictionary(
+        new ColumnDescriptor(new String[] {"foo"}, PrimitiveTypeName.INT32, 0, 0),
+        writer.toDictPageAndClose().copy());
+
+    DictionaryValuesReader reader = new DictionaryValuesReader(dictionary);
+    reader.initFromPage(COUNT, java.nio.ByteBuffer.wrap(data), 0);
+    int[] ids = new int[COUNT];
+    for (int i = 0, batch = 0; i < COUNT; batch += 1) {
+      ids[i++] = reader.readValueDictionaryId();
+      int length = nextBatch(batch, i);
+      reader.readDictionaryIds(ids, i, length);
+      i += length;
+    }
+    for (int i = 0; i < COUNT; i += 1) {
+      assertEquals(ints[i], dictionary.decodeToInt(ids[i]));
+    }
+
+    reader = new DictionaryValuesReader(dictionary);
+    reader.initFromPage(COUNT, java.nio.ByteBuffer.wrap(data), 0);
+    int[] actual = new int[COUNT];
+    for (int i = 0, batch = 0; i < COUNT; batch += 1) {
+      actual[i++] = reader.readInteger();
+      int length = nextBatch(batch, i);
+      reader.readIntegers(actual, i, length);
+      i += length;
+    }
+    assertArrayEquals(ints, actual);
+  }
+
+  @Test
+  public void testBinaryDictionary() throws IOException {
+    Binary[] binaries = new Binary[COUNT];
+    ValuesWriter writer = new PlainBinaryDictionaryValuesWriter(
+        Integer.MAX_VALUE, PLAIN_DICTIONARY, PLAIN_DICTIONARY, ALLOCATOR);
+    for (int i = 0; i < COUNT; i += 1) {
+      binaries[i] = Binary.fromString("value-" + random.nextInt(20));
+      writer.writeBytes(binaries[i]);
+    }
+    byte[] data = writer.getBytes().toByteArray();
+    Dictionary dictionary = PLAIN.initDictionary(
+        new ColumnDescriptor(new String[] {"foo"}, PrimitiveTypeName.BINARY, 0, 0),
+        writer.toDictPageAndClose().copy());
+    DictionaryValuesReader reader = new DictionaryValuesReader(dictionary);
+    reader.initFromPage(COUNT, java.nio.ByteBuffer.wrap(data), 0);
+    assertArrayEquals(binaries, readBinaries(reader));
+  }
+
+  @Test
+  public void testDeltaBinaryPacking() throws IOException {
+    int[] ints = randomInts(1000);
+    ValuesWriter writer = new DeltaBinaryPackingValuesWriterForInteger(128, 4, 1024, 64 * 1024, ALLOCATOR);
+    for (int value : ints) {
+      writer.writeInteger(value);
+    }
+    assertArrayEquals(ints, readIntegers(writer, new DeltaBinaryPackingValuesReader()));
+
+    long[] longs = new long[COUNT];
+    writer = new DeltaBinaryPackingValuesWriterForLong(128, 4, 1024, 64 * 1024, ALLOCATOR);
+    for (int i = 0; i < COUNT; i += 1) {
+      longs[i] = random.nextLong();
+      writer.writeLong(longs[i]);
+    }
+    ValuesReader reader = init(writer, new DeltaBinaryPackingValuesReader());
+    long[] actual = new long[COUNT];
+    for (int i = 0, batch = 0; i < COUNT; batch += 1) {
+      actual[i++] = reader.readLong();
+      int length = nextBatch(batch, i);
+      reader.readLongs(actual, i, length);
+      i += length;
+    }
+    assertArrayEquals(longs, actual);
+  }
+
+  @Test
+  public void testDeltaLengthByteArray() throws IOException {
+    Binary[] binaries = randomBinaries();
+    ValuesWriter writer = new DeltaLengthByteArrayValuesWriter(1024, 64 * 1024, ALLOCATOR);
+    for (Binary value : binaries) {
+      writer.writeBytes(value);
+    }
+    assertArrayEquals(binaries, readBinaries(writer, new DeltaLengthByteArrayValuesReader()));
+  }
+
+  @Test
+  public void testDeltaByteArray() throws IOException {
+    Binary[] binaries = new Binary[COUNT];
+    ValuesWriter writer = new DeltaByteArrayWriter(1024, 64 * 1024, ALLOCATOR);
+    for (int i = 0; i < COUNT; i += 1) {
+      // shared prefixes of varying lengths
+      binaries[i] = Binary.fromString("prefix-" + (i / 10) + "-" + random.nextInt(1000));
+      writer.writeBytes(binaries[i]);
+    }
+    assertArrayEquals(binaries, readBinaries(writer, new DeltaByteArrayReader()));
+  }
+
+  @Test
+  public void testReusedBinaries() throws IOException {
+    Binary[] binaries = randomBinaries();
+    ValuesWriter writer = new PlainValuesWriter(1024, 64 * 1024, ALLOCATOR);
+    for (Binary value : binaries) {
+      writer.writeBytes(value);
+    }
+    assertReusedBinaries(binaries, writer, new BinaryPlainValuesReader());
+
+    writer = new DeltaLengthByteArrayValuesWriter(1024, 64 * 1024, ALLOCATOR);
+    for (Binary value : binaries) {
+      writer.writeBytes(value);
+    }
+    assertReusedBinaries(binaries, writer, new DeltaLengthByteArrayValuesReader());
+
+    writer = new FixedLenByteArrayPlainValuesWriter(4, 1024, 64 * 1024, ALLOCATOR);
+    Binary[] fixed = new Binary[COUNT];
+    for (int i = 0; i < COUNT; i += 1) {
+      fixed[i] = Binary.fromConstantByteArray(new byte[] { (byte) i, (byte) (i >> 8), 0, 1 });
+      writer.writeBytes(fixed[i]);
+    }
+    assertReusedBinaries(fixed, writer, new FixedLenByteArrayPlainValuesReader(4));
+
+    writer = new DeltaByteArrayWriter(1024, 64 * 1024, ALLOCATOR);
+    Binary[] prefixed = new Binary[COUNT];
+    for (int i = 0; i < COUNT; i += 1) {
+      prefixed[i] = Binary.fromString("prefix-" + (i / 10) + "-" + random.nextInt(1000));
+      writer.writeBytes(prefixed[i]);
+    }
+    assertReusedBinaries(prefixed, writer, new DeltaByteArrayReader());
+  }
+
+  private void assertReusedBinaries(Binary[] expected, ValuesWriter writer, ValuesReader reader)
+      throws IOException {
+    reader.setReuseBinaries(true);
+    init(writer, reader);
+    Binary[] copies = new Binary[COUNT];
+    Binary first = null;
+    for (int i = 0, batch = 0; i < COUNT; batch += 1) {
+      Binary value = reader.readBytes();
+      assertTrue(value.isBackingBytesReused());
+      if (first == null) {
+        first = value;
+      }
+      assertSame("Should return the same view", first, value);
+      assertEquals(expected[i], value);
+      copies[i++] = value.copy();
+      // values read in bulk and skipped values do not break the reused view
+      int length = nextBatch(batch, i);
+      reader.readBinaries(copies, i, length);
+      i += length;
+      if (i < COUNT) {
+        reader.skip();
+        copies[i] = expected[i];
+        i += 1;
+      }
+    }
+    assertArrayEquals(expected, copies);
+  }
+
+  @Test
+  public void testSkip() throws IOException {
+    int[] ints = randomRuns(32);
+    ValuesWriter plain = new PlainValuesWriter(1024, 64 * 1024, ALLOCATOR);
+    ValuesWriter rle = new RunLengthBitPackingHybridValuesWriter(5, 1024, 64 * 1024, ALLOCATOR);
+    ValuesWriter delta = new DeltaBinaryPackingValuesWriterForInteger(128, 4, 1024, 64 * 1024, ALLOCATOR);
+    ValuesWriter dictionary = new PlainIntegerDictionaryValuesWriter(
+        Integer.MAX_VALUE, PLAIN_DICTIONARY, PLAIN_DICTIONARY, ALLOCATOR);
+    for (int value : ints) {
+      plain.writeInteger(value);
+      rle.writeInteger(value);
+      delta.writeInteger(value);
+      dictionary.writeInteger(value);
+    }
+    assertSkips(ints, init(plain, new IntegerPlainValuesReader()));
+    assertSkips(ints, init(rle, new RunLengthBitPackingHybridValuesReader(5)));
+    assertSkips(ints, init(delta, new DeltaBinaryPackingValuesReader()));
+
+    byte[] data = dictionary.getBytes().toByteArray();
+    DictionaryValuesReader reader = new DictionaryValuesReader(PLAIN.initDictionary(
+        new ColumnDescriptor(new String[] {"foo"}, PrimitiveTypeName.INT32, 0, 0),
+        dictionary.toDictPageAndClose().copy()));
+    reader.initFromPage(COUNT, java.nio.ByteBuffer.wrap(data), 0);
+    assertSkips(ints, reader);
+  }
+
+  private void assertSkips(int[] expected, ValuesReader reader) {
+    for (int i = 0, batch = 0; i < COUNT; batch += 1) {
+      assertEquals(expected[i++], reader.readInteger());
+      int length = nextBatch(batch, i);
+      reader.skip(length);
+      i += length;
+    }
+  }
+
+  private int nextBatch(int batch, int read) {
+    return Math.min(BATCH_SIZES[batch % BATCH_SIZES.length], COUNT - read);
+  }
+
+  private ValuesReader init(ValuesWriter writer, ValuesReader reader) throws IOException {
+    reader.initFromPage(COUNT, writer.getBytes().toByteBuffer(), 0);
+    return reader;
+  }
+
+  private int[] readIntegers(ValuesWriter writer, ValuesReader reader) throws IOException {
+    init(writer, reader);
+    int[] values = new int[COUNT];
+    for (int i = 0, batch = 0; i < COUNT; batch += 1) {
+      values[i++] = reader.readInteger();
+      int length = nextBatch(batch, i);
+      reader.readIntegers(values, i, length);
+      i += length;
+    }
+    return values;
+  }
+
+  private Binary[] readBinaries(ValuesWriter writer, ValuesReader reader) throws IOException {
+    return readBinaries(init(writer, reader));
+  }
+
+  private Binary[] readBinaries(ValuesReader reader) {
+    Binary[] values = new Binary[COUNT];
+    for (int i = 0, batch = 0; i < COUNT; batch += 1) {
+      values[i++] = reader.readBytes();
+      int length = nextBatch(batch, i);
+      reader.readBinaries(values, i, length);
+      i += length;
+    }
+    return values;
+  }
+
+  private int[] randomInts(int bound) {
+    int[] values = new int[COUNT];
+    for (int i = 0; i < COUNT; i += 1) {
+      values[i] = random.nextInt(bound);
+    }
+    return values;
+  }
+
+  /**
+   * @return values with runs of repeated values, which are encoded as RLE runs
+   */
+  private int[] randomRuns(int bound) {
+    int[] values = new int[COUNT];
+    int i = 0;
+    while (i < COUNT) {
+      int value = random.nextInt(bound);
+      int runLength = random.nextBoolean() ? 1 : random.nextInt(40);
+      for (int j = 0; j < runLength && i < COUNT; j += 1) {
+        values[i++] = value;
+      }
+    }
+    return values;
+  }
+
+  private Binary[] randomBinaries() {
+    Binary[] values = new Binary[COUNT];
+    for (int i = 0; i < COUNT; i += 1) {
+      byte[] bytes = new byte[random.nextInt(20)];
+      random.nextBytes(bytes);
+      values[i] = Binary.fromConstantByteArray(bytes);
+    }
+    return values;
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.column.values.bloomfilter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import org.apache.parquet.io.api.Binary;
+import org.junit.Test;
+
+public class TestBlockSplitBloomFilter {
+
+  @Test
+  public void testXxHash64() {
+    assertEquals(0xEF46DB3751D8E999L, hash(""));
+    assertEquals(0xD24EC4F1A98C6E5BL, hash("a"));
+    assertEquals(0x44BC2CF5AD770999L, hash("abc"));
+    assertEquals(0xFBCEA83C8A378BF1L, hash("Nobody inspects the spammish repetition"));
+  }
+
+  private static long hash(String value) {
+    byte[] bytes = value.getBytes();
+    return XxHash64.hash(bytes, 0, bytes.length);
+  }
+
+  @Test
+  public void testHashPlainEncoding() {
+    Random random = new Random(42);
+    for (int i = 0; i < 100; i += 1) {
+      int intValue = random.nextInt();
+      long longValue = random.nextLong();
+      byte[] intBytes = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(intValue).array();
+      byte[] longBytes = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(longValue).array();
+      assertEquals(XxHash64.hash(intBytes, 0, 4), BlockSplitBloomFilter.hash(intValue));
+      assertEquals(XxHash64.hash(longBytes, 0, 8), BlockSplitBloomFilter.hash(longValue));
+      assertEquals(BlockSplitBloomFilter.hash(Binary.fromConstantByteArray(longBytes)),
+          BlockSplitBloomFilter.hash(Binary.fromConstantByteBuffer(ByteBuffer.wrap(longBytes))));
+      assertEquals(BlockSplitBloomFilter.hash(Binary.fromConstantByteArray(longBytes, 2, 4)),
+          BlockSplitBloomFilter.hash(Binary.fromConstantByteArray(new byte[] {
+              longBytes[2], longBytes[3], longBytes[4], longBytes[5] })));
+    }
+  }
+
+  @Test
+  public void testOptimalNumOfBytes() {
+    assertEquals(BlockSplitBloomFilter.MINIMUM_BYTES, BlockSplitBloomFilter.optimalNumOfBytes(1, 0.01));
+    assertEquals(BlockSplitBloomFilter.MAXIMUM_BYTES, BlockSplitBloomFilter.optimalNumOfBytes(Long.MAX_VALUE / 64, 0.01));
+    int size = BlockSplitBloomFilter.optimalNumOfBytes(100000, 0.01);
+    assertEquals("Should be a power of 2", Integer.highestOneBit(size), size);
+    assertTrue("Should hold ~10 bits per value", size >= 100000 * 10 / 8);
+    assertTrue(BlockSplitBloomFilter.optimalNumOfBytes(100000, 0.001) > size);
+  }
+
+  @Test
+  public void testInsertAndFind() throws IOException {
+    int ndv = 10000;
+    BlockSplitBloomFilter filter = new BlockSplitBloomFilter(
+        BlockSplitBloomFilter.optimalNumOfBytes(ndv, 0.01));
+    for (int i = 0; i < ndv; i += 1) {
+      filter.insertHash(BlockSplitBloomFilter.hash(Binary.fromString("id-" + i)));
+    }
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    filter.writeTo(out);
+    assertEquals(filter.getBitsetSize(), out.size());
+    BlockSplitBloomFilter read = new BlockSplitBloomFilter(out.toByteArray());
+
+    for (int i = 0; i < ndv; i += 1) {
+      long hash = BlockSplitBloomFilter.hash(Binary.fromString("id-" + i));
+      assertTrue(filter.findHash(hash));
+      assertTrue(read.findHash(hash));
+    }
+
+    int falsePositives = 0;
+    for (int i = ndv; i < 2 * ndv; i += 1) {
+      if (read.findHash(BlockSplitBloomFilter.hash(Binary.fromString("id-" + i)))) {
+        falsePositives += 1;
+      }
+    }
+    assertTrue("Too many false positives: " + falsePositives, falsePositives < ndv * 0.02);
+  }
+
+  @Test
+  public void testEmptyFilter() {
+    BlockSplitBloomFilter filter = new BlockSplitBloomFilter(1000);
+    assertEquals(1024, filter.getBitsetSize());
+    assertFalse(filter.findHash(BlockSplitBloomFilter.hash(7)));
+    filter.insertHash(BlockSplitBloomFilter.hash(7));
+    assertTrue(filter.findHash(BlockSplitBloomFilter.hash(7)));
+    assertTrue(filter.findHash(BlockSplitBloomFilter.hash((Object) 7)));
+  }
+}
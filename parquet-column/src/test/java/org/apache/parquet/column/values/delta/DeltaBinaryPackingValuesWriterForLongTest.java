@@ -120,6 +120,19 @@ public class DeltaBinaryPackingValuesWriterForLongTest {
     shouldWriteAndRead(data);
   }
 
+  @Test
+  public void shouldReadMiniBlocksWithSameAndDifferentDeltas() throws IOException {
+    int miniBlockSize = blockSize / miniBlockNum;
+    long[] data = new long[3 * blockSize + 5];
+    data[0] = Long.MAX_VALUE - 100;
+    for (int i = 1; i < data.length; i++) {
+      // every other mini block only has the min delta, and values overflow
+      boolean sameDeltas = ((i - 1) / miniBlockSize) % 2 == 0;
+      data[i] = data[i - 1] + 7 + (sameDeltas ? 0 : random.nextInt(1000));
+    }
+    shouldWriteAndRead(data);
+  }
+
   @Test
   public void shouldReadWriteWhenDataIsNotAlignedWithBlock() throws IOException {
     long[] data = new long[5 * blockSize + 3];
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.column.values.rle;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.Random;
+
+import org.apache.parquet.bytes.ByteBufferInputStream;
+import org.apache.parquet.bytes.HeapByteBufferAllocator;
+import org.junit.Test;
+
+public class TestRunLengthBitPackingHybridDecoder {
+
+  private static final int COUNT = 5000;
+
+  @Test
+  public void testReadInts() throws IOException {
+    for (int bitWidth = 1; bitWidth <= 32; bitWidth += 1) {
+      int[] values = values(bitWidth, new Random(bitWidth));
+      RunLengthBitPackingHybridDecoder decoder = decoder(bitWidth, values);
+      int[] actual = new int[COUNT];
+      Random random = new Random(bitWidth);
+      int i = 0;
+      while (i < COUNT) {
+        // mix single reads and batches that end inside groups and runs
+        actual[i++] = decoder.readInt();
+        int length = Math.min(random.nextInt(50), COUNT - i);
+        decoder.readInts(actual, i, length);
+        i += length;
+      }
+      assertArrayEquals("bitWidth " + bitWidth, values, actual);
+    }
+  }
+
+  @Test
+  public void testSkip() throws IOException {
+    for (int bitWidth = 1; bitWidth <= 32; bitWidth += 1) {
+      int[] values = values(bitWidth, new Random(bitWidth));
+      RunLengthBitPackingHybridDecoder decoder = decoder(bitWidth, values);
+      Random random = new Random(bitWidth);
+      int i = 0;
+      while (i < COUNT) {
+        assertEquals("bitWidth " + bitWidth, values[i++], decoder.readInt());
+        int length = Math.min(random.nextInt(50), COUNT - i);
+        decoder.skip(length);
+        i += length;
+      }
+    }
+  }
+
+  @Test
+  public void testCountAndSkip() throws IOException {
+    for (int bitWidth = 1; bitWidth <= 8; bitWidth += 1) {
+      int[] values = values(bitWidth, new Random(bitWidth));
+      int max = (1 << bitWidth) - 1;
+      RunLengthBitPackingHybridDecoder decoder = decoder(bitWidth, values);
+      Random random = new Random(bitWidth);
+      int i = 0;
+      while (i < COUNT) {
+        int length = Math.min(random.nextInt(50), COUNT - i);
+        int expected = 0;
+        for (int j = i; j < i + length; j += 1) {
+          if (values[j] == max) {
+            expected += 1;
+          }
+        }
+        assertEquals("bitWidth " + bitWidth, expected, decoder.countAndSkip(max, length));
+        i += length;
+        if (i < COUNT) {
+          assertEquals("bitWidth " + bitWidth, values[i++], decoder.readInt());
+        }
+      }
+    }
+  }
+
+  private static int[] values(int bitWidth, Random random) {
+    int bound = (int) Math.min(Integer.MAX_VALUE, 1L << bitWidth);
+    int[] values = new int[COUNT];
+    int i = 0;
+    while (i < COUNT) {
+      int value = random.nextInt(bound);
+      // repeated values are written as RLE runs, the others are bit-packed
+      int runLength = random.nextBoolean() ? 1 : random.nextInt(30);
+      for (int j = 0; j < runLength && i < COUNT; j += 1) {
+        values[i++] = value;
+      }
+    }
+    return values;
+  }
+
+  private static RunLengthBitPackingHybridDecoder decoder(int bitWidth, int[] values) throws IOException {
+    RunLengthBitPackingHybridEncoder encoder = new RunLengthBitPackingHybridEncoder(
+        bitWidth, 1024, 64 * 1024, new HeapByteBufferAllocator());
+    for (int value : values) {
+      encoder.writeInt(value);
+    }
+    return new RunLengthBitPackingHybridDecoder(bitWidth,
+        new ByteBufferInputStream(encoder.toBytes().toByteBuffer()));
+  }
+}
@@ -0,0 +1,65 @@
+/* 
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.filter2.columnindex;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class TestRowRanges {
+
+  private static RowRanges ranges(long... bounds) {
+    RowRanges ranges = new RowRanges();
+    for (int i = 0; i < bounds.length; i += 2) {
+      ranges.add(bounds[i], bounds[i + 1]);
+    }
+    return ranges;
+  }
+
+  @Test
+  public void testAddMergesAdjacentRanges() {
+    RowRanges ranges = ranges(0, 9, 10, 19, 15, 25, 40, 49);
+    assertEquals("[[0, 25], [40, 49]]", ranges.toString());
+    assertEquals(36, ranges.rowCount());
+    assertTrue(ranges.isOverlapping(20, 30));
+    assertFalse(ranges.isOverlapping(26, 39));
+    assertTrue(ranges.isOverlapping(49, 100));
+  }
+
+  @Test
+  public void testUnion() {
+    RowRanges left = ranges(0, 9, 30, 39, 100, 109);
+    RowRanges right = ranges(5, 14, 40, 49, 60, 69);
+    assertEquals("[[0, 14], [30, 49], [60, 69], [100, 109]]",
+        RowRanges.union(left, right).toString());
+    assertEquals(left.toString(), RowRanges.union(left, RowRanges.empty()).toString());
+  }
+
+  @Test
+  public void testIntersection() {
+    RowRanges left = ranges(0, 9, 30, 39, 100, 109);
+    RowRanges right = ranges(5, 34, 39, 49, 60, 69);
+    assertEquals("[[5, 9], [30, 34], [39, 39]]",
+        RowRanges.intersection(left, right).toString());
+    assertTrue(RowRanges.intersection(left, RowRanges.empty()).isEmpty());
+    assertEquals(left.toString(), RowRanges.intersection(left, RowRanges.all(1000)).toString());
+  }
+}
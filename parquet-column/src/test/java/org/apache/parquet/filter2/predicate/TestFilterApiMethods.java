@@ -23,6 +23,11 @@ import java.io.ByteArrayOutputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
 
 import org.junit.Test;
 
@@ -32,6 +37,7 @@ import org.apache.parquet.filter2.predicate.Operators.BinaryColumn;
 import org.apache.parquet.filter2.predicate.Operators.DoubleColumn;
 import org.apache.parquet.filter2.predicate.Operators.Eq;
 import org.apache.parquet.filter2.predicate.Operators.Gt;
+import org.apache.parquet.filter2.predicate.Operators.In;
 import org.apache.parquet.filter2.predicate.Operators.IntColumn;
 import org.apache.parquet.filter2.predicate.Operators.LongColumn;
 import org.apache.parquet.filter2.predicate.Operators.Not;
@@ -41,16 +47,20 @@ import org.apache.parquet.filter2.predicate.Operators.UserDefinedByClass;
 import org.apache.parquet.io.api.Binary;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.apache.parquet.filter2.predicate.FilterApi.and;
 import static org.apache.parquet.filter2.predicate.FilterApi.binaryColumn;
 import static org.apache.parquet.filter2.predicate.FilterApi.doubleColumn;
 import static org.apache.parquet.filter2.predicate.FilterApi.eq;
 import static org.apache.parquet.filter2.predicate.FilterApi.gt;
+import static org.apache.parquet.filter2.predicate.FilterApi.in;
 import static org.apache.parquet.filter2.predicate.FilterApi.intColumn;
 import static org.apache.parquet.filter2.predicate.FilterApi.longColumn;
 import static org.apache.parquet.filter2.predicate.FilterApi.not;
 import static org.apache.parquet.filter2.predicate.FilterApi.notEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.notIn;
 import static org.apache.parquet.filter2.predicate.FilterApi.or;
 import static org.apache.parquet.filter2.predicate.FilterApi.userDefined;
 import static org.apache.parquet.filter2.predicate.Operators.NotEq;
@@ -124,6 +134,44 @@ public class TestFilterApiMethods {
     assertEquals(p, read);
   }
 
+  @Test
+  public void testInNotIn() throws Exception {
+    Set<Long> values = new HashSet<Long>(Arrays.asList(7L, 17L));
+    In<Long> in = in(longColumn, values);
+    values.add(27L);
+    assertEquals("Should copy the values", 2, in.getValues().size());
+    assertEquals(in(longColumn, new HashSet<Long>(Arrays.asList(17L, 7L))), in);
+    assertFalse(in.equals(notIn(longColumn, in.getValues())));
+    assertEquals("in(a.b.l, [7, 17])", in(longColumn, new TreeSet<Long>(in.getValues())).toString());
+
+    try {
+      in(longColumn, Collections.<Long>emptySet());
+      fail("Should reject an empty set");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+
+    try {
+      notIn(longColumn, new HashSet<Long>(Arrays.asList(7L, null)));
+      fail("Should reject null values");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    ObjectOutputStream oos = new ObjectOutputStream(baos);
+    assertTrue(in.getValueSet().contains(7L));
+    oos.writeObject(in);
+    oos.close();
+
+    ObjectInputStream is = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+    @SuppressWarnings("unchecked")
+    In<Long> read = (In<Long>) is.readObject();
+    assertEquals(in, read);
+    assertTrue(read.getValueSet().contains(17L));
+    assertFalse(read.getValueSet().contains(27L));
+  }
+
   public static class IsMultipleOf extends UserDefinedPredicate<Long> implements Serializable {
 
     private long of; 
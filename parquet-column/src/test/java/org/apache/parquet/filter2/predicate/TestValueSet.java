@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.filter2.predicate;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import org.apache.parquet.io.api.Binary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestValueSet {
+
+  private static <T extends Comparable<T>> ValueSet<T> valueSet(Class<T> type, T... values) {
+    return new ValueSet<T>(type, new HashSet<T>(Arrays.asList(values)));
+  }
+
+  @Test
+  public void testIntAndLong() {
+    Random random = new Random(42);
+    Set<Long> expected = new HashSet<Long>();
+    for (int i = 0; i < 1000; i += 1) {
+      expected.add((long) random.nextInt(10000) - 5000);
+    }
+    expected.add(0L);
+    ValueSet<Long> longs = new ValueSet<Long>(Long.class, expected);
+    assertEquals(expected.size(), longs.size());
+    for (long value = -6000; value < 6000; value += 1) {
+      assertEquals(expected.contains(value), longs.contains(value));
+    }
+
+    ValueSet<Integer> ints = valueSet(Integer.class, Integer.MIN_VALUE, -1, 7, Integer.MAX_VALUE);
+    assertTrue(ints.contains(Integer.MIN_VALUE));
+    assertTrue(ints.contains(-1));
+    assertTrue(ints.contains(7));
+    assertTrue(ints.contains(Integer.MAX_VALUE));
+    assertFalse(ints.contains(0));
+    assertFalse(ints.contains(8));
+  }
+
+  @Test
+  public void testFloatingPoint() {
+    ValueSet<Double> doubles = valueSet(Double.class, -0.0, 1.5, Double.NaN);
+    assertTrue("0.0 == -0.0", doubles.contains(0.0));
+    assertTrue(doubles.contains(-0.0));
+    assertTrue(doubles.contains(1.5));
+    assertFalse("NaN is never equal", doubles.contains(Double.NaN));
+    assertFalse(doubles.contains(-1.5));
+
+    ValueSet<Float> floats = valueSet(Float.class, 0.0f, 2.5f);
+    assertTrue(floats.contains(-0.0f));
+    assertTrue(floats.contains(2.5f));
+    assertFalse(floats.contains(Float.NaN));
+    assertFalse(floats.contains(2.25f));
+  }
+
+  @Test
+  public void testBinaryAndBoolean() {
+    ValueSet<Binary> binaries = valueSet(Binary.class, Binary.fromString("a"), Binary.fromString("abc"));
+    assertTrue(binaries.contains(Binary.fromString("abc")));
+    assertTrue(binaries.contains(Binary.fromConstantByteArray("xabc".getBytes(), 1, 3)));
+    assertFalse(binaries.contains(Binary.fromString("ab")));
+
+    ValueSet<Boolean> booleans = valueSet(Boolean.class, true);
+    assertTrue(booleans.contains(true));
+    assertFalse(booleans.contains(false));
+  }
+
+  @Test
+  public void testContainsValueBetween() {
+    ValueSet<Integer> ints = valueSet(Integer.class, 50, 10, 30);
+    assertTrue(ints.containsValueBetween(10, 10));
+    assertTrue(ints.containsValueBetween(0, 10));
+    assertTrue(ints.containsValueBetween(11, 30));
+    assertTrue(ints.containsValueBetween(45, 100));
+    assertFalse(ints.containsValueBetween(0, 9));
+    assertFalse(ints.containsValueBetween(11, 29));
+    assertFalse(ints.containsValueBetween(51, 100));
+
+    ValueSet<Binary> binaries = valueSet(Binary.class, Binary.fromString("b"), Binary.fromString("d"));
+    assertTrue(binaries.containsValueBetween(Binary.fromString("a"), Binary.fromString("c")));
+    assertFalse(binaries.containsValueBetween(Binary.fromString("ba"), Binary.fromString("c")));
+  }
+
+  @Test
+  public void testContainsValueBetweenSignedZeros() {
+    ValueSet<Double> negativeZero = valueSet(Double.class, -0.0);
+    assertTrue(negativeZero.containsValueBetween(0.0, 5.0));
+    assertTrue(negativeZero.containsValueBetween(-5.0, -0.0));
+
+    ValueSet<Float> positiveZero = valueSet(Float.class, 0.0f, Float.NaN);
+    assertTrue(positiveZero.containsValueBetween(-0.0f, -0.0f));
+    assertTrue(positiveZero.containsValueBetween(-5.0f, -0.0f));
+    assertFalse("NaN is never equal", positiveZero.containsValueBetween(Float.NaN, Float.NaN));
+  }
+}
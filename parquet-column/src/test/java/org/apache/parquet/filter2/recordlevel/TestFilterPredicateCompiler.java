@@ -0,0 +1,324 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.filter2.recordlevel;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators.BinaryColumn;
+import org.apache.parquet.filter2.predicate.Operators.BooleanColumn;
+import org.apache.parquet.filter2.predicate.Operators.DoubleColumn;
+import org.apache.parquet.filter2.predicate.Operators.FloatColumn;
+import org.apache.parquet.filter2.predicate.Operators.IntColumn;
+import org.apache.parquet.filter2.predicate.Operators.LongColumn;
+import org.apache.parquet.filter2.predicate.Statistics;
+import org.apache.parquet.filter2.predicate.UserDefinedPredicate;
+import org.apache.parquet.filter2.recordlevel.IncrementallyUpdatedFilterPredicate.ValueInspector;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
+
+import static org.apache.parquet.filter2.predicate.FilterApi.and;
+import static org.apache.parquet.filter2.predicate.FilterApi.binaryColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.booleanColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.doubleColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.eq;
+import static org.apache.parquet.filter2.predicate.FilterApi.floatColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.gt;
+import static org.apache.parquet.filter2.predicate.FilterApi.gtEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.in;
+import static org.apache.parquet.filter2.predicate.FilterApi.intColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.longColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.lt;
+import static org.apache.parquet.filter2.predicate.FilterApi.ltEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.not;
+import static org.apache.parquet.filter2.predicate.FilterApi.notEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.notIn;
+import static org.apache.parquet.filter2.predicate.FilterApi.or;
+import static org.apache.parquet.filter2.predicate.FilterApi.userDefined;
+import static org.apache.parquet.filter2.predicate.LogicalInverseRewriter.rewrite;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestFilterPredicateCompiler {
+
+  private static final MessageType SCHEMA = MessageTypeParser.parseMessageType(
+      "message test { "
+          + "optional int32 a; "
+          + "optional int64 b; "
+          + "optional float c; "
+          + "optional double d; "
+          + "optional boolean e; "
+          + "optional binary f; "
+          + "} ");
+
+  private static final IntColumn a = intColumn("a");
+  private static final LongColumn b = longColumn("b");
+  private static final FloatColumn c = floatColumn("c");
+  private static final DoubleColumn d = doubleColumn("d");
+  private static final BooleanColumn e = booleanColumn("e");
+  private static final BinaryColumn f = binaryColumn("f");
+  private static final IntColumn missing = intColumn("missing");
+
+  public static class IsOddOrNull extends UserDefinedPredicate<Integer> {
+    @Override
+    public boolean keep(Integer value) {
+      return value == null || value % 2 != 0;
+    }
+
+    @Override
+    public boolean canDrop(Statistics<Integer> statistics) {
+      return false;
+    }
+
+    @Override
+    public boolean inverseCanDrop(Statistics<Integer> statistics) {
+      return false;
+    }
+  }
+
+  private static final Object[] INTS = { null, Integer.MIN_VALUE, -1, 0, 1, 7, 8, Integer.MAX_VALUE };
+  private static final Object[] LONGS = { null, Long.MIN_VALUE, -1L, 0L, 7L, Long.MAX_VALUE };
+  private static final Object[] FLOATS = { null, Float.NaN, -0.0f, 0.0f, 1.5f, Float.NEGATIVE_INFINITY };
+  private static final Object[] DOUBLES = { null, Double.NaN, -0.0, 0.0, 1.5, Double.POSITIVE_INFINITY };
+  private static final Object[] BOOLEANS = { null, true, false };
+  private static final Object[] BINARIES = {
+      null, Binary.fromString(""), Binary.fromString("a"), Binary.fromString("abc"), Binary.fromString("b") };
+
+  private static void update(ValueInspector inspector, Object value) {
+    if (value instanceof Integer) {
+      inspector.update((Integer) value);
+    } else if (value instanceof Long) {
+      inspector.update((Long) value);
+    } else if (value instanceof Float) {
+      inspector.update((Float) value);
+    } else if (value instanceof Double) {
+      inspector.update((Double) value);
+    } else if (value instanceof Boolean) {
+      inspector.update((Boolean) value);
+    } else {
+      inspector.update((Binary) value);
+    }
+  }
+
+  private static void update(Map<ColumnPath, List<ValueInspector>> inspectors, Map<ColumnPath, Object> record) {
+    for (Map.Entry<ColumnPath, Object> entry : record.entrySet()) {
+      List<ValueInspector> columnInspectors = inspectors.get(entry.getKey());
+      if (columnInspectors != null && entry.getValue() != null) {
+        for (ValueInspector inspector : columnInspectors) {
+          update(inspector, entry.getValue());
+        }
+      }
+    }
+  }
+
+  private static boolean evaluate(FilterPredicate pred, Map<ColumnPath, Object> record) {
+    IncrementallyUpdatedFilterPredicateBuilder builder = new IncrementallyUpdatedFilterPredicateBuilder();
+    IncrementallyUpdatedFilterPredicate expected = builder.build(pred);
+    update(builder.getValueInspectorsByColumn(), record);
+    return IncrementallyUpdatedFilterPredicateEvaluator.evaluate(expected);
+  }
+
+  /**
+   * Checks that the compiled predicate matches the evaluator for each value of the column,
+   * reusing one instance across the values.
+   */
+  private static void assertSameResults(FilterPredicate pred, String column, Object[] values) {
+    CompiledFilterPredicate compiled = FilterPredicateCompiler.compile(pred, SCHEMA);
+    Map<ColumnPath, List<ValueInspector>> inspectors = compiled.getValueInspectorsByColumn();
+    for (Object value : values) {
+      Map<ColumnPath, Object> record = new HashMap<ColumnPath, Object>();
+      record.put(ColumnPath.get(column), value);
+      update(inspectors, record);
+      assertEquals(pred + " for " + value, evaluate(pred, record), compiled.keep());
+      compiled.reset();
+    }
+  }
+
+  @Test
+  public void testComparisons() {
+    for (int value : new int[] { -1, 0, 7 }) {
+      assertSameResults(eq(a, value), "a", INTS);
+      assertSameResults(notEq(a, value), "a", INTS);
+      assertSameResults(lt(a, value), "a", INTS);
+      assertSameResults(ltEq(a, value), "a", INTS);
+      assertSameResults(gt(a, value), "a", INTS);
+      assertSameResults(gtEq(a, value), "a", INTS);
+    }
+    for (long value : new long[] { Long.MIN_VALUE, 0L, 7L }) {
+      assertSameResults(eq(b, value), "b", LONGS);
+      assertSameResults(notEq(b, value), "b", LONGS);
+      assertSameResults(lt(b, value), "b", LONGS);
+      assertSameResults(gtEq(b, value), "b", LONGS);
+    }
+    for (Object value : BINARIES) {
+      if (value != null) {
+        assertSameResults(eq(f, (Binary) value), "f", BINARIES);
+        assertSameResults(ltEq(f, (Binary) value), "f", BINARIES);
+        assertSameResults(gt(f, (Binary) value), "f", BINARIES);
+      }
+    }
+    assertSameResults(eq(e, true), "e", BOOLEANS);
+    assertSameResults(notEq(e, false), "e", BOOLEANS);
+  }
+
+  @Test
+  public void testFloatingPoint() {
+    for (float value : new float[] { Float.NaN, 0.0f, -0.0f, 1.5f }) {
+      assertSameResults(eq(c, value), "c", FLOATS);
+      assertSameResults(notEq(c, value), "c", FLOATS);
+      assertSameResults(lt(c, value), "c", FLOATS);
+      assertSameResults(ltEq(c, value), "c", FLOATS);
+      assertSameResults(gt(c, value), "c", FLOATS);
+      assertSameResults(gtEq(c, value), "c", FLOATS);
+    }
+    for (double value : new double[] { Double.NaN, 0.0, -0.0, 1.5 }) {
+      assertSameResults(eq(d, value), "d", DOUBLES);
+      assertSameResults(notEq(d, value), "d", DOUBLES);
+      assertSameResults(lt(d, value), "d", DOUBLES);
+      assertSameResults(ltEq(d, value), "d", DOUBLES);
+      assertSameResults(gt(d, value), "d", DOUBLES);
+      assertSameResults(gtEq(d, value), "d", DOUBLES);
+    }
+  }
+
+  @Test
+  public void testNullsAndMissingColumns() {
+    assertSameResults(eq(a, (Integer) null), "a", INTS);
+    assertSameResults(notEq(a, (Integer) null), "a", INTS);
+    assertSameResults(eq(f, (Binary) null), "f", BINARIES);
+    assertSameResults(notEq(f, (Binary) null), "f", BINARIES);
+
+    assertFalse(FilterPredicateCompiler.compile(eq(missing, 1), SCHEMA).keep());
+    assertTrue(FilterPredicateCompiler.compile(notEq(missing, 1), SCHEMA).keep());
+    assertTrue(FilterPredicateCompiler.compile(eq(missing, (Integer) null), SCHEMA).keep());
+    assertTrue(FilterPredicateCompiler.compile(userDefined(missing, IsOddOrNull.class), SCHEMA).keep());
+    assertSameResults(or(eq(missing, 1), gt(a, 0)), "a", INTS);
+    assertTrue(FilterPredicateCompiler.compile(lt(missing, 1), SCHEMA).getValueInspectorsByColumn().isEmpty());
+  }
+
+  @Test
+  public void testInAndUserDefined() {
+    assertSameResults(in(a, new HashSet<Integer>(Arrays.asList(-1, 7))), "a", INTS);
+    assertSameResults(notIn(a, new HashSet<Integer>(Arrays.asList(-1, 7))), "a", INTS);
+    assertSameResults(in(c, new HashSet<Float>(Arrays.asList(0.0f, Float.NaN))), "c", FLOATS);
+    assertSameResults(notIn(d, new HashSet<Double>(Arrays.asList(-0.0, 1.5))), "d", DOUBLES);
+    assertSameResults(in(e, new HashSet<Boolean>(Arrays.asList(false))), "e", BOOLEANS);
+    assertSameResults(in(f, new HashSet<Binary>(Arrays.asList(Binary.fromString("a")))), "f", BINARIES);
+    assertSameResults(notIn(f, new HashSet<Binary>(Arrays.asList(Binary.fromString("a")))), "f", BINARIES);
+
+    assertSameResults(userDefined(a, IsOddOrNull.class), "a", INTS);
+    assertSameResults(rewrite(not(userDefined(a, IsOddOrNull.class))), "a", INTS);
+  }
+
+  @Test
+  public void testAndOr() {
+    FilterPredicate pred = or(
+        and(gt(a, 0), notEq(f, Binary.fromString("abc"))),
+        and(or(eq(b, 7L), lt(d, 0.0)), notEq(e, (Boolean) null)));
+
+    CompiledFilterPredicate compiled = FilterPredicateCompiler.compile(pred, SCHEMA);
+    Map<ColumnPath, List<ValueInspector>> inspectors = compiled.getValueInspectorsByColumn();
+    for (Object aValue : INTS) {
+      for (Object bValue : LONGS) {
+        for (Object dValue : DOUBLES) {
+          for (Object eValue : BOOLEANS) {
+            for (Object fValue : BINARIES) {
+              Map<ColumnPath, Object> record = new HashMap<ColumnPath, Object>();
+              record.put(ColumnPath.get("a"), aValue);
+              record.put(ColumnPath.get("b"), bValue);
+              record.put(ColumnPath.get("d"), dValue);
+              record.put(ColumnPath.get("e"), eValue);
+              record.put(ColumnPath.get("f"), fValue);
+              update(inspectors, record);
+              assertEquals(record.toString(), evaluate(pred, record), compiled.keep());
+              compiled.reset();
+            }
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testGeneratedClassesAreShared() {
+    CompiledFilterPredicate first = FilterPredicateCompiler.compile(gt(a, 10), SCHEMA);
+    CompiledFilterPredicate second = FilterPredicateCompiler.compile(gt(a, 10), SCHEMA);
+    assertNotSame(first, second);
+    assertSame(first.getClass(), second.getClass());
+
+    // the instances do not share state
+    first.getValueInspectorsByColumn().get(ColumnPath.get("a")).get(0).update(11);
+    assertTrue(first.keep());
+    assertFalse(second.keep());
+
+    // predicates that only differ by their values share a class
+    CompiledFilterPredicate other = FilterPredicateCompiler.compile(gt(a, 11), SCHEMA);
+    assertSame(first.getClass(), other.getClass());
+    other.getValueInspectorsByColumn().get(ColumnPath.get("a")).get(0).update(11);
+    assertFalse(other.keep());
+    other.reset();
+    other.getValueInspectorsByColumn().get(ColumnPath.get("a")).get(0).update(12);
+    assertTrue(other.keep());
+
+    // but not predicates of a different shape
+    assertNotSame(first.getClass(), FilterPredicateCompiler.compile(lt(a, 10), SCHEMA).getClass());
+    assertNotSame(first.getClass(), FilterPredicateCompiler.compile(gt(b, 10L), SCHEMA).getClass());
+    assertNotSame(FilterPredicateCompiler.compile(eq(a, 10), SCHEMA).getClass(),
+        FilterPredicateCompiler.compile(eq(a, (Integer) null), SCHEMA).getClass());
+  }
+
+  @Test
+  public void testUnsupportedUpdate() {
+    CompiledFilterPredicate compiled = FilterPredicateCompiler.compile(gt(a, 10), SCHEMA);
+    try {
+      compiled.update(0, 1L);
+      fail("this should throw");
+    } catch (UnsupportedOperationException e) {
+      // expected
+    }
+    try {
+      compiled.update(1, 1);
+      fail("this should throw");
+    } catch (UnsupportedOperationException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testNotIsNotSupported() {
+    try {
+      FilterPredicateCompiler.compile(not(gt(a, 10)), SCHEMA);
+      fail("this should throw");
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getMessage().startsWith("This predicate contains a not! "));
+    }
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.bytes;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An InputStream over a list of ByteBuffers that are read in order as if they
+ * were a single buffer. This allows large ranges to be held in fixed-size
+ * segments instead of a single contiguous allocation.
+ *
+ * Like {@link ByteBufferInputStream}, this does not consume the buffers passed
+ * in. Slices returned by {@link #sliceBuffers(long)} share content with them.
+ */
+public class MultiBufferInputStream extends InputStream {
+
+  private final List<ByteBuffer> buffers;
+  private final long length;
+
+  private int index = 0;
+  private ByteBuffer current;
+  private long position = 0;
+  private long mark = 0;
+
+  /**
+   * @param buffers the buffers to read, from their position to their limit
+   */
+  public MultiBufferInputStream(List<ByteBuffer> buffers) {
+    this.buffers = new ArrayList<ByteBuffer>(buffers.size());
+    long totalLength = 0;
+    for (ByteBuffer buffer : buffers) {
+      ByteBuffer slice = buffer.slice();
+      if (slice.hasRemaining()) {
+        this.buffers.add(slice);
+        totalLength += slice.remaining();
+      }
+    }
+    this.length = totalLength;
+    this.current = this.buffers.isEmpty() ? null : this.buffers.get(0);
+  }
+
+  /**
+   * @return the number of bytes read so far
+   */
+  public long position() {
+    return position;
+  }
+
+  /**
+   * @return the total number of bytes in this stream
+   */
+  public long length() {
+    return length;
+  }
+
+  /**
+   * @return the number of bytes left to read
+   */
+  public long remaining() {
+    return length - position;
+  }
+
+  /**
+   * Returns the next {@code length} bytes as a list of buffers that share
+   * content with the underlying buffers. No bytes are copied.
+   *
+   * @param length the number of bytes to return
+   * @return buffers holding the next {@code length} bytes, in order
+   * @throws EOFException if fewer than {@code length} bytes are left
+   */
+  public List<ByteBuffer> sliceBuffers(long length) throws EOFException {
+    if (length > remaining()) {
+      throw new EOFException("Cannot slice " + length + " bytes, only " + remaining() + " remaining");
+    }
+    List<ByteBuffer> slices = new ArrayList<ByteBuffer>();
+    long bytesLeft = length;
+    while (bytesLeft > 0) {
+      nextBufferIfEmpty();
+      int bytesToSlice = (int) Math.min(current.remaining(), bytesLeft);
+      ByteBuffer slice = current.duplicate();
+      slice.limit(slice.position() + bytesToSlice);
+      slices.add(slice.slice());
+      current.position(current.position() + bytesToSlice);
+      position += bytesToSlice;
+      bytesLeft -= bytesToSlice;
+    }
+    return slices;
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (remaining() <= 0) {
+      return -1;
+    }
+    nextBufferIfEmpty();
+    position += 1;
+    return current.get() & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] bytes, int offset, int len) throws IOException {
+    if (len <= 0) {
+      return 0;
+    }
+    if (remaining() <= 0) {
+      return -1;
+    }
+    int bytesRead = 0;
+    while (bytesRead < len && remaining() > 0) {
+      nextBufferIfEmpty();
+      int bytesToRead = Math.min(current.remaining(), len - bytesRead);
+      current.get(bytes, offset + bytesRead, bytesToRead);
+      bytesRead += bytesToRead;
+      position += bytesToRead;
+    }
+    return bytesRead;
+  }
+
+  @Override
+  public long skip(long n) {
+    if (n <= 0) {
+      return 0;
+    }
+    long bytesToSkip = Math.min(n, remaining());
+    long bytesLeft = bytesToSkip;
+    while (bytesLeft > 0) {
+      nextBufferIfEmpty();
+      int bytesInBuffer = (int) Math.min(current.remaining(), bytesLeft);
+      current.position(current.position() + bytesInBuffer);
+      bytesLeft -= bytesInBuffer;
+    }
+    position += bytesToSkip;
+    return bytesToSkip;
+  }
+
+  @Override
+  public int available() {
+    return (int) Math.min(remaining(), Integer.MAX_VALUE);
+  }
+
+  @Override
+  public boolean markSupported() {
+    return true;
+  }
+
+  @Override
+  public void mark(int readlimit) {
+    this.mark = position;
+  }
+
+  @Override
+  public void reset() {
+    for (ByteBuffer buffer : buffers) {
+      buffer.position(0);
+    }
+    this.index = 0;
+    this.current = buffers.isEmpty() ? null : buffers.get(0);
+    this.position = 0;
+    skip(mark);
+  }
+
+  private void nextBufferIfEmpty() {
+    while (!current.hasRemaining()) {
+      index += 1;
+      current = buffers.get(index);
+    }
+  }
+}
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.bytes;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link ByteBufferAllocator} that recycles released buffers.
+ *
+ * Requests are rounded up to a power-of-two size class between 4KB and 64MB.
+ * A request is served from the calling thread's cache, then from a pool shared
+ * by all threads, and only then by the delegate allocator. Released buffers go
+ * back to the releasing thread's cache, which holds a few small buffers per
+ * size class, or to the shared pool while it holds less than maxPooledBytes.
+ * Other buffers, and requests larger than the largest size class, are passed
+ * to the delegate.
+ *
+ * Returned buffers have a limit of the requested size and a capacity of their
+ * size class. Only buffers returned by {@link #allocate(int)} may be released,
+ * and a buffer must not be used after it is released.
+ */
+public class PooledByteBufferAllocator implements ByteBufferAllocator {
+
+  private static final int MIN_CLASS_SHIFT = 12; // 4KB
+  private static final int MAX_CLASS_SHIFT = 26; // 64MB
+  private static final int THREAD_CACHE_MAX_SHIFT = 20; // 1MB
+  private static final int THREAD_CACHE_SIZE = 4;
+  private static final int CLASS_COUNT = MAX_CLASS_SHIFT - MIN_CLASS_SHIFT + 1;
+  private static final int THREAD_CACHE_CLASS_COUNT = THREAD_CACHE_MAX_SHIFT - MIN_CLASS_SHIFT + 1;
+
+  public static final long DEFAULT_MAX_POOLED_BYTES = 256 * 1024 * 1024;
+
+  private static PooledByteBufferAllocator heapInstance = null;
+  private static PooledByteBufferAllocator directInstance = null;
+
+  /**
+   * @return a JVM-wide allocator of heap buffers
+   */
+  public static synchronized PooledByteBufferAllocator getHeapInstance() {
+    if (heapInstance == null) {
+      heapInstance = new PooledByteBufferAllocator(new HeapByteBufferAllocator(), DEFAULT_MAX_POOLED_BYTES);
+    }
+    return heapInstance;
+  }
+
+  /**
+   * @return a JVM-wide allocator of direct buffers
+   */
+  public static synchronized PooledByteBufferAllocator getDirectInstance() {
+    if (directInstance == null) {
+      directInstance = new PooledByteBufferAllocator(new DirectByteBufferAllocator(), DEFAULT_MAX_POOLED_BYTES);
+    }
+    return directInstance;
+  }
+
+  private final ByteBufferAllocator delegate;
+  private final long maxPooledBytes;
+  private final List<ConcurrentLinkedQueue<ByteBuffer>> pools;
+  private final AtomicLong pooledBytes = new AtomicLong();
+  private final AtomicLong allocationCount = new AtomicLong();
+  private final AtomicLong reuseCount = new AtomicLong();
+  private final ThreadLocal<List<ArrayDeque<ByteBuffer>>> threadCaches =
+      new ThreadLocal<List<ArrayDeque<ByteBuffer>>>() {
+        @Override
+        protected List<ArrayDeque<ByteBuffer>> initialValue() {
+          List<ArrayDeque<ByteBuffer>> caches = new ArrayList<ArrayDeque<ByteBuffer>>(THREAD_CACHE_CLASS_COUNT);
+          for (int i = 0; i < THREAD_CACHE_CLASS_COUNT; i += 1) {
+            caches.add(new ArrayDeque<ByteBuffer>(THREAD_CACHE_SIZE));
+          }
+          return caches;
+        }
+      };
+
+  /**
+   * @param delegate allocates new buffers and releases buffers that are not pooled
+   * @param maxPooledBytes the maximum capacity of the buffers in the shared pool
+   */
+  public PooledByteBufferAllocator(ByteBufferAllocator delegate, long maxPooledBytes) {
+    this.delegate = delegate;
+    this.maxPooledBytes = maxPooledBytes;
+    this.pools = new ArrayList<ConcurrentLinkedQueue<ByteBuffer>>(CLASS_COUNT);
+    for (int i = 0; i < CLASS_COUNT; i += 1) {
+      pools.add(new ConcurrentLinkedQueue<ByteBuffer>());
+    }
+  }
+
+  @Override
+  public ByteBuffer allocate(int size) {
+    if (size > (1 << MAX_CLASS_SHIFT)) {
+      allocationCount.incrementAndGet();
+      return delegate.allocate(size);
+    }
+    int sizeClass = sizeClass(size);
+    ByteBuffer buffer = null;
+    if (sizeClass < THREAD_CACHE_CLASS_COUNT) {
+      buffer = threadCaches.get().get(sizeClass).pollFirst();
+    }
+    if (buffer == null) {
+      buffer = pools.get(sizeClass).poll();
+      if (buffer != null) {
+        pooledBytes.addAndGet(-buffer.capacity());
+      }
+    }
+    if (buffer == null) {
+      allocationCount.incrementAndGet();
+      buffer = delegate.allocate(1 << (sizeClass + MIN_CLASS_SHIFT));
+    } else {
+      reuseCount.incrementAndGet();
+      buffer.clear();
+      buffer.order(ByteOrder.BIG_ENDIAN);
+    }
+    buffer.limit(size);
+    return buffer;
+  }
+
+  @Override
+  public void release(ByteBuffer b) {
+    int capacity = b.capacity();
+    if (b.isDirect() != delegate.isDirect() || Integer.bitCount(capacity) != 1
+        || capacity < (1 << MIN_CLASS_SHIFT) || capacity > (1 << MAX_CLASS_SHIFT)) {
+      delegate.release(b);
+      return;
+    }
+    int sizeClass = sizeClass(capacity);
+    if (sizeClass < THREAD_CACHE_CLASS_COUNT) {
+      ArrayDeque<ByteBuffer> cache = threadCaches.get().get(sizeClass);
+      if (cache.size() < THREAD_CACHE_SIZE) {
+        cache.addFirst(b);
+        return;
+      }
+    }
+    if (pooledBytes.addAndGet(capacity) <= maxPooledBytes) {
+      pools.get(sizeClass).offer(b);
+    } else {
+      pooledBytes.addAndGet(-capacity);
+      delegate.release(b);
+    }
+  }
+
+  @Override
+  public boolean isDirect() {
+    return delegate.isDirect();
+  }
+
+  /**
+   * @return the capacity of the buffers held by the shared pool, not counting thread caches
+   */
+  public long getPooledBytes() {
+    return pooledBytes.get();
+  }
+
+  /**
+   * @return the number of buffers allocated by the delegate
+   */
+  public long getAllocationCount() {
+    return allocationCount.get();
+  }
+
+  /**
+   * @return the number of requests served with a recycled buffer
+   */
+  public long getReuseCount() {
+    return reuseCount.get();
+  }
+
+  private static int sizeClass(int size) {
+    if (size <= (1 << MIN_CLASS_SHIFT)) {
+      return 0;
+    }
+    return 32 - Integer.numberOfLeadingZeros(size - 1) - MIN_CLASS_SHIFT;
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An {@link InputFile} for local files that does not depend on Hadoop.
+ *
+ * The file is memory-mapped the first time it is opened and the mapping is
+ * shared by all streams opened from this InputFile. Streams are
+ * {@link MappedSeekableInputStream} instances, which can return file contents
+ * as slices of the mapping instead of copying them.
+ *
+ * Mappings are released when they are garbage collected.
+ */
+public class MappedInputFile implements InputFile {
+
+  // FileChannel.map is limited to Integer.MAX_VALUE bytes per mapping
+  private static final int DEFAULT_REGION_SIZE = 1 << 30;
+
+  private final File file;
+  private final int regionSize;
+  private List<ByteBuffer> regions = null;
+  private long length = -1;
+
+  /**
+   * @param file a local file
+   */
+  public MappedInputFile(File file) {
+    this(file, DEFAULT_REGION_SIZE);
+  }
+
+  /**
+   * @param file a local file
+   * @param regionSize the size of each mapped region
+   */
+  MappedInputFile(File file, int regionSize) {
+    this.file = file;
+    this.regionSize = regionSize;
+  }
+
+  @Override
+  public long getLength() throws IOException {
+    map();
+    return length;
+  }
+
+  @Override
+  public SeekableInputStream newStream() throws IOException {
+    map();
+    return new MappedSeekableInputStream(regions, regionSize, length);
+  }
+
+  private synchronized void map() throws IOException {
+    if (regions != null) {
+      return;
+    }
+    RandomAccessFile raf = new RandomAccessFile(file, "r");
+    try {
+      FileChannel channel = raf.getChannel();
+      long size = channel.size();
+      List<ByteBuffer> mapped = new ArrayList<ByteBuffer>();
+      for (long offset = 0; offset < size; offset += regionSize) {
+        mapped.add(channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(regionSize, size - offset)));
+      }
+      // the mapping stays valid after the channel is closed
+      this.length = size;
+      this.regions = Collections.unmodifiableList(mapped);
+    } finally {
+      raf.close();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return file.toString();
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link SeekableInputStream} over the memory-mapped regions of a
+ * {@link MappedInputFile}.
+ *
+ * In addition to the copying read methods, {@link #sliceBuffers(long)} returns
+ * the next bytes as slices of the mapped regions so that callers can use file
+ * contents without copying them to the heap.
+ */
+public class MappedSeekableInputStream extends SeekableInputStream {
+
+  private final List<ByteBuffer> regions;
+  private final long regionSize;
+  private final long length;
+  private long pos = 0;
+
+  /**
+   * @param regions the mapped regions, all of regionSize bytes except the last
+   * @param regionSize the size of each region
+   * @param length the total length
+   */
+  MappedSeekableInputStream(List<ByteBuffer> regions, long regionSize, long length) {
+    this.regions = regions;
+    this.regionSize = regionSize;
+    this.length = length;
+  }
+
+  @Override
+  public long getPos() {
+    return pos;
+  }
+
+  @Override
+  public void seek(long newPos) throws IOException {
+    if (newPos < 0 || newPos > length) {
+      throw new EOFException("Cannot seek to " + newPos + ", length is " + length);
+    }
+    this.pos = newPos;
+  }
+
+  /**
+   * Returns the next {@code len} bytes as slices of the mapped regions and
+   * advances the stream past them. No bytes are copied.
+   *
+   * @param len the number of bytes to return
+   * @return buffers holding the next {@code len} bytes, in order
+   * @throws EOFException if fewer than {@code len} bytes are left
+   */
+  public List<ByteBuffer> sliceBuffers(long len) throws EOFException {
+    checkRemaining(len);
+    List<ByteBuffer> slices = new ArrayList<ByteBuffer>();
+    long bytesLeft = len;
+    while (bytesLeft > 0) {
+      ByteBuffer slice = sliceAtPos(bytesLeft);
+      slices.add(slice);
+      pos += slice.remaining();
+      bytesLeft -= slice.remaining();
+    }
+    return slices;
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (pos >= length) {
+      return -1;
+    }
+    int value = sliceAtPos(1).get() & 0xFF;
+    pos += 1;
+    return value;
+  }
+
+  @Override
+  public int read(byte[] bytes, int start, int len) throws IOException {
+    if (len <= 0) {
+      return 0;
+    }
+    if (pos >= length) {
+      return -1;
+    }
+    int bytesToRead = (int) Math.min(len, length - pos);
+    copyTo(bytes, start, bytesToRead);
+    return bytesToRead;
+  }
+
+  @Override
+  public void readFully(byte[] bytes) throws IOException {
+    readFully(bytes, 0, bytes.length);
+  }
+
+  @Override
+  public void readFully(byte[] bytes, int start, int len) throws IOException {
+    checkRemaining(len);
+    copyTo(bytes, start, len);
+  }
+
+  @Override
+  public int read(ByteBuffer buf) throws IOException {
+    if (!buf.hasRemaining()) {
+      return 0;
+    }
+    if (pos >= length) {
+      return -1;
+    }
+    int bytesToRead = (int) Math.min(buf.remaining(), length - pos);
+    copyTo(buf, bytesToRead);
+    return bytesToRead;
+  }
+
+  @Override
+  public void readFully(ByteBuffer buf) throws IOException {
+    checkRemaining(buf.remaining());
+    copyTo(buf, buf.remaining());
+  }
+
+  @Override
+  public long skip(long n) {
+    if (n <= 0) {
+      return 0;
+    }
+    long bytesToSkip = Math.min(n, length - pos);
+    pos += bytesToSkip;
+    return bytesToSkip;
+  }
+
+  @Override
+  public int available() {
+    return (int) Math.min(length - pos, Integer.MAX_VALUE);
+  }
+
+  private void checkRemaining(long len) throws EOFException {
+    if (len > length - pos) {
+      throw new EOFException("Reached the end of stream with " + (length - pos) + " bytes left to read " + len);
+    }
+  }
+
+  private void copyTo(byte[] bytes, int start, int len) {
+    int copied = 0;
+    while (copied < len) {
+      ByteBuffer slice = sliceAtPos(len - copied);
+      int sliceLength = slice.remaining();
+      slice.get(bytes, start + copied, sliceLength);
+      pos += sliceLength;
+      copied += sliceLength;
+    }
+  }
+
+  private void copyTo(ByteBuffer buf, int len) {
+    int copied = 0;
+    while (copied < len) {
+      ByteBuffer slice = sliceAtPos(len - copied);
+      int sliceLength = slice.remaining();
+      buf.put(slice);
+      pos += sliceLength;
+      copied += sliceLength;
+    }
+  }
+
+  /**
+   * @param maxLength the maximum number of bytes to return
+   * @return a slice of the region containing pos, ending at the end of the region or after maxLength bytes
+   */
+  private ByteBuffer sliceAtPos(long maxLength) {
+    int index = (int) (pos / regionSize);
+    int offset = (int) (pos % regionSize);
+    ByteBuffer region = regions.get(index).duplicate();
+    int sliceLength = (int) Math.min(region.limit() - offset, maxLength);
+    region.position(offset);
+    region.limit(offset + sliceLength);
+    return region.slice();
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.bytes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class TestMultiBufferInputStream {
+
+  // 35 bytes in segments of 10, 0, 15 and 10
+  private static MultiBufferInputStream newStream() {
+    List<ByteBuffer> buffers = new ArrayList<ByteBuffer>();
+    int value = 0;
+    for (int size : Arrays.asList(10, 0, 15, 10)) {
+      ByteBuffer buffer = ByteBuffer.allocate(size);
+      for (int i = 0; i < size; i += 1) {
+        buffer.put((byte) value++);
+      }
+      buffer.flip();
+      buffers.add(buffer);
+    }
+    return new MultiBufferInputStream(buffers);
+  }
+
+  @Test
+  public void testReadAcrossSegments() throws Exception {
+    MultiBufferInputStream stream = newStream();
+    assertEquals(35, stream.length());
+
+    byte[] bytes = new byte[20];
+    assertEquals(5, stream.read(bytes, 0, 5));
+    assertEquals(15, stream.read(bytes, 5, 15));
+    for (int i = 0; i < bytes.length; i += 1) {
+      assertEquals(i, bytes[i]);
+    }
+    assertEquals(20, stream.position());
+    assertEquals(20, stream.read());
+    assertEquals(14, stream.read(new byte[20], 0, 20));
+    assertEquals(-1, stream.read());
+    assertEquals(-1, stream.read(bytes, 0, 1));
+  }
+
+  @Test
+  public void testSkipAndSlice() throws Exception {
+    MultiBufferInputStream stream = newStream();
+    assertEquals(8, stream.skip(8));
+
+    List<ByteBuffer> slices = stream.sliceBuffers(20);
+    assertEquals("Should span three segments", 3, slices.size());
+    int expected = 8;
+    for (ByteBuffer slice : slices) {
+      while (slice.hasRemaining()) {
+        assertEquals(expected++, slice.get());
+      }
+    }
+    assertEquals(28, expected);
+    assertEquals(28, stream.position());
+    assertEquals(28, stream.read());
+
+    assertEquals(6, stream.skip(100));
+    assertEquals(0, stream.remaining());
+  }
+
+  @Test
+  public void testSliceBeyondEnd() throws Exception {
+    MultiBufferInputStream stream = newStream();
+    stream.skip(30);
+    try {
+      stream.sliceBuffers(6);
+      fail("Should not slice past the end of the stream");
+    } catch (EOFException e) {
+      // expected
+    }
+    assertEquals(30, stream.position());
+  }
+
+  @Test
+  public void testMarkAndReset() throws Exception {
+    MultiBufferInputStream stream = newStream();
+    stream.skip(12);
+    stream.mark(100);
+    assertEquals(12, stream.read());
+    stream.skip(15);
+    stream.reset();
+    assertEquals(12, stream.position());
+    assertEquals(12, stream.read());
+  }
+}
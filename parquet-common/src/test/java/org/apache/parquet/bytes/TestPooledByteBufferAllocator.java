@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.bytes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class TestPooledByteBufferAllocator {
+
+  @Test
+  public void testSizeClasses() {
+    PooledByteBufferAllocator allocator = new PooledByteBufferAllocator(new HeapByteBufferAllocator(), 1 << 20);
+    ByteBuffer small = allocator.allocate(10);
+    assertEquals(10, small.limit());
+    assertEquals(4096, small.capacity());
+    ByteBuffer medium = allocator.allocate(5000);
+    assertEquals(5000, medium.remaining());
+    assertEquals(8192, medium.capacity());
+    ByteBuffer exact = allocator.allocate(65536);
+    assertEquals(65536, exact.capacity());
+    ByteBuffer huge = allocator.allocate((64 << 20) + 1);
+    assertEquals((64 << 20) + 1, huge.capacity());
+  }
+
+  @Test
+  public void testReuseOnSameThread() {
+    PooledByteBufferAllocator allocator = new PooledByteBufferAllocator(new HeapByteBufferAllocator(), 1 << 20);
+    ByteBuffer first = allocator.allocate(3000);
+    first.order(ByteOrder.LITTLE_ENDIAN);
+    first.putInt(1);
+    allocator.release(first);
+
+    ByteBuffer second = allocator.allocate(4000);
+    assertSame("Should reuse a buffer of the same size class", first, second);
+    assertEquals(0, second.position());
+    assertEquals(4000, second.limit());
+    assertEquals(ByteOrder.BIG_ENDIAN, second.order());
+    assertNotSame(second, allocator.allocate(100));
+    assertEquals(2, allocator.getAllocationCount());
+    assertEquals(1, allocator.getReuseCount());
+  }
+
+  @Test
+  public void testSharedPoolAcrossThreads() throws Exception {
+    final PooledByteBufferAllocator allocator = new PooledByteBufferAllocator(new HeapByteBufferAllocator(), 1 << 24);
+    // larger than the thread cache size class limit, so it goes to the shared pool
+    final ByteBuffer buffer = allocator.allocate(2 << 20);
+    Thread releaser = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        allocator.release(buffer);
+      }
+    });
+    releaser.start();
+    releaser.join();
+    assertEquals(2 << 20, allocator.getPooledBytes());
+    assertSame(buffer, allocator.allocate(2 << 20));
+    assertEquals(0, allocator.getPooledBytes());
+  }
+
+  @Test
+  public void testPoolCap() {
+    PooledByteBufferAllocator allocator = new PooledByteBufferAllocator(new HeapByteBufferAllocator(), 3 << 20);
+    List<ByteBuffer> buffers = new ArrayList<ByteBuffer>();
+    for (int i = 0; i < 5; i += 1) {
+      buffers.add(allocator.allocate(1 << 21));
+    }
+    for (ByteBuffer buffer : buffers) {
+      allocator.release(buffer);
+    }
+    assertEquals("Should only pool up to the cap", 2 << 20, allocator.getPooledBytes());
+  }
+
+  @Test
+  public void testForeignBuffersAreNotPooled() {
+    PooledByteBufferAllocator allocator = new PooledByteBufferAllocator(new HeapByteBufferAllocator(), 1 << 24);
+    allocator.release(ByteBuffer.allocate(3000));
+    allocator.release(ByteBuffer.allocateDirect(2 << 20));
+    allocator.release(ByteBuffer.allocate(128 << 20));
+    assertEquals(0, allocator.getPooledBytes());
+    allocator.allocate(3000);
+    assertEquals(0, allocator.getReuseCount());
+  }
+}
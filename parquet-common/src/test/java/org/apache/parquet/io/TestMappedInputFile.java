@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestMappedInputFile {
+
+  private static final int LENGTH = 100;
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private File file;
+
+  @Before
+  public void writeFile() throws IOException {
+    this.file = temp.newFile("mapped.bin");
+    byte[] bytes = new byte[LENGTH];
+    for (int i = 0; i < LENGTH; i += 1) {
+      bytes[i] = (byte) i;
+    }
+    FileOutputStream out = new FileOutputStream(file);
+    try {
+      out.write(bytes);
+    } finally {
+      out.close();
+    }
+  }
+
+  @Test
+  public void testReadAcrossRegions() throws IOException {
+    // regions of 32 bytes: 0-31, 32-63, 64-95, 96-99
+    InputFile input = new MappedInputFile(file, 32);
+    assertEquals(LENGTH, input.getLength());
+
+    SeekableInputStream stream = input.newStream();
+    stream.seek(30);
+    assertEquals(30, stream.read());
+
+    byte[] bytes = new byte[40];
+    stream.readFully(bytes);
+    for (int i = 0; i < bytes.length; i += 1) {
+      assertEquals(31 + i, bytes[i]);
+    }
+    assertEquals(71, stream.getPos());
+
+    ByteBuffer buffer = ByteBuffer.allocate(50);
+    assertEquals(29, stream.read(buffer));
+    assertEquals(-1, stream.read());
+    stream.close();
+  }
+
+  @Test
+  public void testSliceBuffers() throws IOException {
+    MappedSeekableInputStream stream = (MappedSeekableInputStream) new MappedInputFile(file, 32).newStream();
+    stream.seek(20);
+    List<ByteBuffer> slices = stream.sliceBuffers(60);
+    assertEquals("Should span three regions", 3, slices.size());
+    int expected = 20;
+    for (ByteBuffer slice : slices) {
+      while (slice.hasRemaining()) {
+        assertEquals(expected++, slice.get());
+      }
+    }
+    assertEquals(80, stream.getPos());
+
+    try {
+      stream.sliceBuffers(21);
+      fail("Should not slice past the end of the file");
+    } catch (EOFException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testReadFullyPastEnd() throws IOException {
+    SeekableInputStream stream = new MappedInputFile(file).newStream();
+    stream.seek(90);
+    try {
+      stream.readFully(new byte[11]);
+      fail("Should not read past the end of the file");
+    } catch (EOFException e) {
+      // expected
+    }
+    assertEquals(90, stream.getPos());
+  }
+}
@@ -22,6 +22,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Random;
 
 import org.junit.Assert;
@@ -66,6 +67,52 @@ public class TestByteBitPacking {
     }
   }
 
+  @Test
+  public void testUnpack32ValuesFromWords() {
+    Random random = new Random(42);
+    for (Packer packer : Packer.values()) {
+      for (int bitWidth = 0; bitWidth <= 32; bitWidth++) {
+        BytePacker bytePacker = packer.newBytePacker(bitWidth);
+        byte[] packed = randomBytes(random, bitWidth * 4 + 3);
+        int[] expected = new int[32];
+        for (int i = 0; i < 4; i++) {
+          bytePacker.unpack8Values(packed, 3 + bitWidth * i, expected, 8 * i);
+        }
+        // both byte orders of the buffer, and an input that does not start at 0
+        for (ByteOrder order : new ByteOrder[] { ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN }) {
+          int[] unpacked = new int[32];
+          bytePacker.unpack32Values(ByteBuffer.wrap(packed).order(order), 3, unpacked, 0);
+          Assert.assertArrayEquals(packer + " width " + bitWidth, expected, unpacked);
+        }
+        int[] unpacked = new int[32];
+        bytePacker.unpack32Values(packed, 3, unpacked, 0);
+        Assert.assertArrayEquals(packer + " width " + bitWidth, expected, unpacked);
+      }
+      for (int bitWidth = 0; bitWidth <= 64; bitWidth++) {
+        BytePackerForLong bytePacker = packer.newBytePackerForLong(bitWidth);
+        byte[] packed = randomBytes(random, bitWidth * 4 + 3);
+        long[] expected = new long[32];
+        for (int i = 0; i < 4; i++) {
+          bytePacker.unpack8Values(packed, 3 + bitWidth * i, expected, 8 * i);
+        }
+        for (ByteOrder order : new ByteOrder[] { ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN }) {
+          long[] unpacked = new long[32];
+          bytePacker.unpack32Values(ByteBuffer.wrap(packed).order(order), 3, unpacked, 0);
+          Assert.assertArrayEquals(packer + " width " + bitWidth, expected, unpacked);
+        }
+        long[] unpacked = new long[32];
+        bytePacker.unpack32Values(packed, 3, unpacked, 0);
+        Assert.assertArrayEquals(packer + " width " + bitWidth, expected, unpacked);
+      }
+    }
+  }
+
+  private static byte[] randomBytes(Random random, int length) {
+    byte[] bytes = new byte[length];
+    random.nextBytes(bytes);
+    return bytes;
+  }
+
   private void packUnpack(BytePacker packer, int[] values, int[] unpacked) {
     byte[] packed = new byte[packer.getBitWidth() * 4];
     packer.pack32Values(values, 0, packed, 0);
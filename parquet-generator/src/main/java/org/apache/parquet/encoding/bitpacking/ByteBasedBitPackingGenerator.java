@@ -68,6 +68,7 @@ public class ByteBasedBitPackingGenerator {
     try (FileWriter fw = new FileWriter(file)) {
       fw.append("package org.apache.parquet.column.values.bitpacking;\n");
       fw.append("import java.nio.ByteBuffer;\n");
+      fw.append("import java.nio.ByteOrder;\n");
       fw.append("\n");
       fw.append("/**\n");
       if (msbFirst) {
@@ -95,6 +96,7 @@ public class ByteBasedBitPackingGenerator {
       fw.append("    }\n");
       fw.append("  };\n");
       fw.append("\n");
+      generateWordReaders(fw, msbFirst);
       for (int i = 0; i <= maxBits; i++) {
         generateClass(fw, i, isLong, msbFirst);
         fw.append("\n");
@@ -118,8 +120,8 @@ public class ByteBasedBitPackingGenerator {
     // Unpacking
     generateUnpack(fw, bitWidth, 1, isLong, msbFirst, true);
     generateUnpack(fw, bitWidth, 1, isLong, msbFirst, false);
-    generateUnpack(fw, bitWidth, 4, isLong, msbFirst, true);
-    generateUnpack(fw, bitWidth, 4, isLong, msbFirst, false);
+    generateWordUnpack(fw, bitWidth, isLong, msbFirst, true);
+    generateWordUnpack(fw, bitWidth, isLong, msbFirst, false);
 
     fw.append("  }\n");
   }
@@ -290,6 +292,102 @@ public class ByteBasedBitPackingGenerator {
     fw.append("    }\n");
   }
 
+  /**
+   * The 64 bit words are read in the byte order of the bit stream: when the
+   * least significant bit is first, bit i of the stream is bit i of the little
+   * endian word, otherwise it is bit 63 - i of the big endian word.
+   */
+  private static void generateWordReaders(FileWriter fw, boolean msbFirst) throws IOException {
+    String order = msbFirst ? "BIG_ENDIAN" : "LITTLE_ENDIAN";
+    fw.append("  private static boolean needsSwap(ByteBuffer in) {\n");
+    fw.append("    return in.order() != ByteOrder." + order + ";\n");
+    fw.append("  }\n");
+    fw.append("\n");
+    fw.append("  private static long readWord(ByteBuffer in, int index, boolean swap) {\n");
+    fw.append("    long word = in.getLong(index);\n");
+    fw.append("    return swap ? Long.reverseBytes(word) : word;\n");
+    fw.append("  }\n");
+    fw.append("\n");
+    fw.append("  private static long readHalfWord(ByteBuffer in, int index, boolean swap) {\n");
+    fw.append("    int word = in.getInt(index);\n");
+    if (msbFirst) {
+      fw.append("    return ((long) (swap ? Integer.reverseBytes(word) : word)) << 32;\n");
+    } else {
+      fw.append("    return (swap ? Integer.reverseBytes(word) : word) & 0xFFFFFFFFL;\n");
+    }
+    fw.append("  }\n");
+    fw.append("\n");
+    generateByteArrayWordReader(fw, "readWord", 8, msbFirst);
+    generateByteArrayWordReader(fw, "readHalfWord", 4, msbFirst);
+  }
+
+  /**
+   * Assembles a word from byteCount bytes of the array in the order of the bit
+   * stream. Half words are in the bits that would be read first from a word.
+   */
+  private static void generateByteArrayWordReader(FileWriter fw, String name, int byteCount, boolean msbFirst)
+      throws IOException {
+    fw.append("  private static long " + name + "(byte[] in, int index) {\n");
+    for (int i = 0; i < byteCount; i++) {
+      int shift = msbFirst ? 56 - 8 * i : 8 * i;
+      String bits = shift == 56 ? "((long) in[index + " + i + "])" : "(in[index + " + i + "] & 0xFFL)";
+      fw.append(i == 0 ? "    return " : "        | ");
+      fw.append(shift == 0 ? bits : bits + " << " + shift);
+      fw.append(i == byteCount - 1 ? ";\n" : "\n");
+    }
+    fw.append("  }\n");
+    fw.append("\n");
+  }
+
+  /**
+   * Unpacks 32 values from bitWidth * 4 bytes read as bitWidth / 2 longs, and
+   * an int for odd widths, instead of one byte at a time. Words of a byte[] are
+   * assembled from 8 bytes with shifts.
+   */
+  private static void generateWordUnpack(FileWriter fw, int bitWidth, boolean isLong, boolean msbFirst,
+      boolean useByteArray) throws IOException {
+    final String variableType = isLong ? VARIABLE_TYPE_FOR_LONG : VARIABLE_TYPE_FOR_INT;
+    final String bufferDataType = useByteArray ? "byte[]" : "ByteBuffer";
+    fw.append("    public final void unpack32Values(final " + bufferDataType + " in, "
+        + "final int inPos, final " + variableType + "[] out, final int outPos) {\n");
+    if (bitWidth > 0) {
+      int words = bitWidth / 2;
+      String swap = useByteArray ? "" : ", swap";
+      if (!useByteArray) {
+        fw.append("      final boolean swap = needsSwap(in);\n");
+      }
+      for (int w = 0; w < words; w++) {
+        fw.append("      final long w" + w + " = readWord(in, " + align(w * 8, 3) + " + inPos" + swap + ");\n");
+      }
+      if (bitWidth % 2 != 0) {
+        fw.append("      final long w" + words + " = readHalfWord(in, " + align(words * 8, 3) + " + inPos" + swap + ");\n");
+      }
+      long mask = genMask(bitWidth, true);
+      for (int valueIndex = 0; valueIndex < 32; valueIndex++) {
+        int start = valueIndex * bitWidth;
+        int word = start / 64;
+        int bit = start % 64;
+        String bits;
+        if (bit + bitWidth <= 64) {
+          // the value is in one word
+          int shift = msbFirst ? 64 - bit - bitWidth : bit;
+          bits = shift == 0 ? "w" + word : "(w" + word + " >>> " + shift + ")";
+        } else {
+          // the value starts in a word and ends in the next one
+          int highBits = bit + bitWidth - 64;
+          if (msbFirst) {
+            bits = "((w" + word + " << " + highBits + ") | (w" + (word + 1) + " >>> " + (64 - highBits) + "))";
+          } else {
+            bits = "((w" + word + " >>> " + bit + ") | (w" + (word + 1) + " << " + (64 - bit) + "))";
+          }
+        }
+        String value = mask == -1 ? bits : "(" + bits + " & " + mask + "L)";
+        fw.append("      out[" + align(valueIndex, 2) + " + outPos] = " + (isLong ? "" : "(int) ") + value + ";\n");
+      }
+    }
+    fw.append("    }\n");
+  }
+
   private static long genMask(int bitWidth, boolean isLong) {
     int maxBitWidth = isLong ? MAX_BITS_FOR_LONG : MAX_BITS_FOR_INT;
     if (bitWidth >= maxBitWidth) {
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.filter2.columnindex;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators.And;
+import org.apache.parquet.filter2.predicate.Operators.Column;
+import org.apache.parquet.filter2.predicate.Operators.Eq;
+import org.apache.parquet.filter2.predicate.Operators.Gt;
+import org.apache.parquet.filter2.predicate.Operators.GtEq;
+import org.apache.parquet.filter2.predicate.Operators.In;
+import org.apache.parquet.filter2.predicate.Operators.LogicalNotUserDefined;
+import org.apache.parquet.filter2.predicate.Operators.Lt;
+import org.apache.parquet.filter2.predicate.Operators.LtEq;
+import org.apache.parquet.filter2.predicate.Operators.Not;
+import org.apache.parquet.filter2.predicate.Operators.NotEq;
+import org.apache.parquet.filter2.predicate.Operators.NotIn;
+import org.apache.parquet.filter2.predicate.Operators.Or;
+import org.apache.parquet.filter2.predicate.Operators.UserDefined;
+import org.apache.parquet.filter2.predicate.UserDefinedPredicate;
+import org.apache.parquet.filter2.statisticslevel.StatisticsFilter;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnIndex;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.hadoop.metadata.OffsetIndex;
+
+import static org.apache.parquet.Preconditions.checkNotNull;
+
+/**
+ * Applies a {@link org.apache.parquet.filter2.predicate.FilterPredicate} to the page indexes of a row group
+ * to find the rows that might match it.
+ *
+ * Each predicate on a column is evaluated against the statistics of every page of the column with
+ * {@link StatisticsFilter}, and the rows of the pages that might match are selected. Rows selected
+ * for the predicates of an and() are intersected and those of an or() are combined.
+ *
+ * Like {@link StatisticsFilter}, the supplied predicate should first be run through
+ * {@link org.apache.parquet.filter2.predicate.LogicalInverseRewriter}. A not() that is still present
+ * selects all rows.
+ *
+ * Columns of the row group without page indexes select all rows.
+ */
+public class ColumnIndexFilter implements FilterPredicate.Visitor<RowRanges> {
+
+  /**
+   * @param pred a filter predicate
+   * @param block the row group
+   * @param pageIndexes the page indexes of the row group's column chunks
+   * @return the rows of the row group that might match the predicate
+   */
+  public static RowRanges calculateRowRanges(FilterPredicate pred, BlockMetaData block,
+                                             PageIndexReadStore pageIndexes) {
+    checkNotNull(pred, "pred");
+    checkNotNull(block, "block");
+    checkNotNull(pageIndexes, "pageIndexes");
+    return pred.accept(new ColumnIndexFilter(block, pageIndexes));
+  }
+
+  private final BlockMetaData block;
+  private final PageIndexReadStore pageIndexes;
+
+  private ColumnIndexFilter(BlockMetaData block, PageIndexReadStore pageIndexes) {
+    this.block = block;
+    this.pageIndexes = pageIndexes;
+  }
+
+  private ColumnChunkMetaData getColumnChunk(ColumnPath columnPath) {
+    for (ColumnChunkMetaData chunk : block.getColumns()) {
+      if (chunk.getPath().equals(columnPath)) {
+        return chunk;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @param column the column of a predicate
+   * @param leaf a predicate on a single column
+   * @return the rows of the pages of the column that might match the predicate
+   */
+  private RowRanges applyPredicate(Column<?> column, FilterPredicate leaf) {
+    ColumnPath path = column.getColumnPath();
+    ColumnChunkMetaData chunk = getColumnChunk(path);
+    long rowCount = block.getRowCount();
+
+    if (chunk == null) {
+      // the column isn't in this file so all values are null, which the row group statistics handle
+      return StatisticsFilter.canDrop(leaf, Collections.<ColumnChunkMetaData>emptyList()) ?
+          RowRanges.empty() : RowRanges.all(rowCount);
+    }
+
+    ColumnIndex columnIndex = pageIndexes.getColumnIndex(path);
+    OffsetIndex offsetIndex = pageIndexes.getOffsetIndex(path);
+    if (columnIndex == null || offsetIndex == null) {
+      // without page indexes, any row might match
+      return RowRanges.all(rowCount);
+    }
+
+    RowRanges ranges = RowRanges.empty();
+    Set<Encoding> encodings = chunk.getEncodings();
+    for (int page = 0; page < offsetIndex.getPageCount(); page += 1) {
+      // statistics of a single page, in the form the statistics filter uses
+      ColumnChunkMetaData pageMetaData = ColumnChunkMetaData.get(
+          path, chunk.getType(), chunk.getCodec(), encodings, columnIndex.getStatistics(page),
+          0, 0, columnIndex.getValueCount(page), 0, 0);
+      if (!StatisticsFilter.canDrop(leaf, Collections.singletonList(pageMetaData))) {
+        ranges.add(offsetIndex.getFirstRowIndex(page), offsetIndex.getLastRowIndex(page, rowCount));
+      }
+    }
+    return ranges;
+  }
+
+  @Override
+  public <T extends Comparable<T>> RowRanges visit(Eq<T> eq) {
+    return applyPredicate(eq.getColumn(), eq);
+  }
+
+  @Override
+  public <T extends Comparable<T>> RowRanges visit(NotEq<T> notEq) {
+    return applyPredicate(notEq.getColumn(), notEq);
+  }
+
+  @Override
+  public <T extends Comparable<T>> RowRanges visit(Lt<T> lt) {
+    return applyPredicate(lt.getColumn(), lt);
+  }
+
+  @Override
+  public <T extends Comparable<T>> RowRanges visit(LtEq<T> ltEq) {
+    return applyPredicate(ltEq.getColumn(), ltEq);
+  }
+
+  @Override
+  public <T extends Comparable<T>> RowRanges visit(Gt<T> gt) {
+    return applyPredicate(gt.getColumn(), gt);
+  }
+
+  @Override
+  public <T extends Comparable<T>> RowRanges visit(GtEq<T> gtEq) {
+    return applyPredicate(gtEq.getColumn(), gtEq);
+  }
+
+  @Override
+  public <T extends Comparable<T>> RowRanges visit(In<T> in) {
+    return applyPredicate(in.getColumn(), in);
+  }
+
+  @Override
+  public <T extends Comparable<T>> RowRanges visit(NotIn<T> notIn) {
+    return applyPredicate(notIn.getColumn(), notIn);
+  }
+
+  @Override
+  public RowRanges visit(And and) {
+    return RowRanges.intersection(and.getLeft().accept(this), and.getRight().accept(this));
+  }
+
+  @Override
+  public RowRanges visit(Or or) {
+    return RowRanges.union(or.getLeft().accept(this), or.getRight().accept(this));
+  }
+
+  @Override
+  public RowRanges visit(Not not) {
+    // the rows of pages that can't match a predicate may still match its inverse
+    return RowRanges.all(block.getRowCount());
+  }
+
+  @Override
+  public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> RowRanges visit(UserDefined<T, U> udp) {
+    return applyPredicate(udp.getColumn(), udp);
+  }
+
+  @Override
+  public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> RowRanges visit(LogicalNotUserDefined<T, U> udp) {
+    return applyPredicate(udp.getUserDefined().getColumn(), udp);
+  }
+}
@@ -25,6 +25,7 @@ import java.util.List;
 import org.apache.parquet.filter2.compat.FilterCompat.Filter;
 import org.apache.parquet.filter2.compat.FilterCompat.NoOpFilter;
 import org.apache.parquet.filter2.compat.FilterCompat.Visitor;
+import org.apache.parquet.filter2.bloomfilterlevel.BloomFilterFilter;
 import org.apache.parquet.filter2.dictionarylevel.DictionaryFilter;
 import org.apache.parquet.filter2.predicate.FilterPredicate;
 import org.apache.parquet.filter2.predicate.SchemaCompatibilityValidator;
@@ -48,7 +49,8 @@ public class RowGroupFilter implements Visitor<List<BlockMetaData>> {
 
   public enum FilterLevel {
     STATISTICS,
-    DICTIONARY
+    DICTIONARY,
+    BLOOMFILTER
   }
 
   public static List<BlockMetaData> filterRowGroups(Filter filter, List<BlockMetaData> blocks, MessageType schema) {
@@ -90,14 +92,31 @@ public class RowGroupFilter implements Visitor<List<BlockMetaData>> {
 
       if(levels.contains(FilterLevel.STATISTICS)) {
         drop = StatisticsFilter.canDrop(filterPredicate, block.getColumns());
+        if (drop && reader != null) {
+          reader.getMetrics().rowGroupPruned(FilterLevel.STATISTICS);
+        }
       }
 
       if(!drop && levels.contains(FilterLevel.DICTIONARY)) {
-        drop = DictionaryFilter.canDrop(filterPredicate, block.getColumns(), reader.getDictionaryReader(block));
+        drop = DictionaryFilter.canDrop(filterPredicate, schema, block.getColumns(),
+            reader.getDictionaryReader(block));
+        if (drop) {
+          reader.getMetrics().rowGroupPruned(FilterLevel.DICTIONARY);
+        }
+      }
+
+      if(!drop && levels.contains(FilterLevel.BLOOMFILTER)) {
+        drop = BloomFilterFilter.canDrop(filterPredicate, block.getColumns(), reader.getBloomFilterReader());
+        if (drop) {
+          reader.getMetrics().rowGroupPruned(FilterLevel.BLOOMFILTER);
+        }
       }
 
       if(!drop) {
         filteredBlocks.add(block);
+      } else if (levels.contains(FilterLevel.DICTIONARY)) {
+        // the dictionaries read for a dropped row group are not reused
+        reader.releaseDictionaryReader(block);
       }
     }
 
@@ -27,8 +27,12 @@ import org.apache.parquet.column.page.DictionaryPageReadStore;
 import org.apache.parquet.filter2.predicate.FilterPredicate;
 import org.apache.parquet.filter2.predicate.Operators.*;
 import org.apache.parquet.filter2.predicate.UserDefinedPredicate;
+import org.apache.parquet.filter2.predicate.ValueSet;
 import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
 import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,16 +56,35 @@ public class DictionaryFilter implements FilterPredicate.Visitor<Boolean> {
   private static final boolean BLOCK_MIGHT_MATCH = false;
   private static final boolean BLOCK_CANNOT_MATCH = true;
 
+  /**
+   * Fixed-length byte array columns are not evaluated by this method because
+   * their type length is not known without the file schema.
+   *
+   * @see #canDrop(FilterPredicate, MessageType, List, DictionaryPageReadStore)
+   */
   public static boolean canDrop(FilterPredicate pred, List<ColumnChunkMetaData> columns, DictionaryPageReadStore dictionaries) {
     checkNotNull(pred, "pred");
     checkNotNull(columns, "columns");
-    return pred.accept(new DictionaryFilter(columns, dictionaries));
+    return pred.accept(new DictionaryFilter(null, columns, dictionaries));
   }
 
+  public static boolean canDrop(FilterPredicate pred, MessageType schema, List<ColumnChunkMetaData> columns,
+                                DictionaryPageReadStore dictionaries) {
+    checkNotNull(pred, "pred");
+    checkNotNull(schema, "schema");
+    checkNotNull(columns, "columns");
+    return pred.accept(new DictionaryFilter(schema, columns, dictionaries));
+  }
+
+  private final MessageType schema;
   private final Map<ColumnPath, ColumnChunkMetaData> columns = new HashMap<ColumnPath, ColumnChunkMetaData>();
   private final DictionaryPageReadStore dictionaries;
+  // decoded dictionaries, shared by the predicates on the same column
+  private final Map<ColumnPath, ColumnDictionary> dictionaryCache = new HashMap<ColumnPath, ColumnDictionary>();
 
-  private DictionaryFilter(List<ColumnChunkMetaData> columnsList, DictionaryPageReadStore dictionaries) {
+  private DictionaryFilter(MessageType schema, List<ColumnChunkMetaData> columnsList,
+                           DictionaryPageReadStore dictionaries) {
+    this.schema = schema;
     for (ColumnChunkMetaData chunk : columnsList) {
       columns.put(chunk.getPath(), chunk);
     }
@@ -73,38 +96,45 @@ public class DictionaryFilter implements FilterPredicate.Visitor<Boolean> {
     return columns.get(columnPath);
   }
 
-  @SuppressWarnings("unchecked")
-  private <T extends Comparable<T>> Set<T> expandDictionary(ColumnChunkMetaData meta) throws IOException {
-    ColumnDescriptor col = new ColumnDescriptor(meta.getPath().toArray(), meta.getType(), -1, -1);
-    DictionaryPage page = dictionaries.readDictionaryPage(col);
-
-    // the chunk may not be dictionary-encoded
-    if (page == null) {
-      return null;
+  private ColumnDictionary getDictionary(ColumnChunkMetaData meta) throws IOException {
+    if (dictionaryCache.containsKey(meta.getPath())) {
+      return dictionaryCache.get(meta.getPath());
     }
 
-    Dictionary dict = page.getEncoding().initDictionary(col, page);
+    ColumnDescriptor col = getColumnDescriptor(meta);
+    // the type length of fixed-length columns is needed to decode the dictionary
+    DictionaryPage page = col == null ? null : dictionaries.readDictionaryPage(col);
 
-    Set dictSet = new HashSet<T>();
-
-    for (int i=0; i<=dict.getMaxId(); i++) {
-      switch(meta.getType()) {
-        case BINARY: dictSet.add(dict.decodeToBinary(i));
-          break;
-        case INT32: dictSet.add(dict.decodeToInt(i));
-          break;
-        case INT64: dictSet.add(dict.decodeToLong(i));
-          break;
-        case FLOAT: dictSet.add(dict.decodeToFloat(i));
-          break;
-        case DOUBLE: dictSet.add(dict.decodeToDouble(i));
+    ColumnDictionary dict = null;
+    // the chunk may not be dictionary-encoded
+    if (page != null) {
+      switch (meta.getType()) {
+        case BINARY:
+        case FIXED_LEN_BYTE_ARRAY:
+        case INT96:
+        case INT32:
+        case INT64:
+        case FLOAT:
+        case DOUBLE:
+          dict = new ColumnDictionary(meta.getType(), page.decode(col));
           break;
         default:
           LOG.warn("Unknown dictionary type{}", meta.getType());
       }
     }
 
-    return (Set<T>) dictSet;
+    dictionaryCache.put(meta.getPath(), dict);
+    return dict;
+  }
+
+  private ColumnDescriptor getColumnDescriptor(ColumnChunkMetaData meta) {
+    String[] path = meta.getPath().toArray();
+    if (schema != null && schema.containsPath(path)) {
+      return schema.getColumnDescription(path);
+    } else if (meta.getType() == PrimitiveTypeName.FIXED_LEN_BYTE_ARRAY) {
+      return null;
+    }
+    return new ColumnDescriptor(path, meta.getType(), -1, -1);
   }
 
   @Override
@@ -133,8 +163,8 @@ public class DictionaryFilter implements FilterPredicate.Visitor<Boolean> {
     }
 
     try {
-      Set<T> dictSet = expandDictionary(meta);
-      if (dictSet != null && !dictSet.contains(value)) {
+      ColumnDictionary dict = getDictionary(meta);
+      if (dict != null && !dict.contains(value)) {
         return BLOCK_CANNOT_MATCH;
       }
     } catch (IOException e) {
@@ -176,8 +206,8 @@ public class DictionaryFilter implements FilterPredicate.Visitor<Boolean> {
     }
 
     try {
-      Set<T> dictSet = expandDictionary(meta);
-      if (dictSet != null && dictSet.size() == 1 && dictSet.contains(value)) {
+      ColumnDictionary dict = getDictionary(meta);
+      if (dict != null && dict.size() == 1 && dict.contains(value)) {
         return BLOCK_CANNOT_MATCH;
       }
     } catch (IOException e) {
@@ -207,18 +237,14 @@ public class DictionaryFilter implements FilterPredicate.Visitor<Boolean> {
     T value = lt.getValue();
 
     try {
-      Set<T> dictSet = expandDictionary(meta);
-      if (dictSet == null) {
+      ColumnDictionary dict = getDictionary(meta);
+      if (dict == null) {
         return BLOCK_MIGHT_MATCH;
       }
 
-      for (T entry : dictSet) {
-        if (value.compareTo(entry) > 0) {
-          return BLOCK_MIGHT_MATCH;
-        }
+      if (!dict.hasValueLessThan(value)) {
+        return BLOCK_CANNOT_MATCH;
       }
-
-      return BLOCK_CANNOT_MATCH;
     } catch (IOException e) {
       LOG.warn("Failed to process dictionary for filter evaluation.", e);
     }
@@ -245,21 +271,15 @@ public class DictionaryFilter implements FilterPredicate.Visitor<Boolean> {
 
     T value = ltEq.getValue();
 
-    filterColumn.getColumnPath();
-
     try {
-      Set<T> dictSet = expandDictionary(meta);
-      if (dictSet == null) {
+      ColumnDictionary dict = getDictionary(meta);
+      if (dict == null) {
         return BLOCK_MIGHT_MATCH;
       }
 
-      for (T entry : dictSet) {
-        if (value.compareTo(entry) >= 0) {
-          return BLOCK_MIGHT_MATCH;
-        }
+      if (!dict.hasValueLessThanOrEqual(value)) {
+        return BLOCK_CANNOT_MATCH;
       }
-
-      return BLOCK_CANNOT_MATCH;
     } catch (IOException e) {
       LOG.warn("Failed to process dictionary for filter evaluation.", e);
     }
@@ -287,18 +307,14 @@ public class DictionaryFilter implements FilterPredicate.Visitor<Boolean> {
     T value = gt.getValue();
 
     try {
-      Set<T> dictSet = expandDictionary(meta);
-      if (dictSet == null) {
+      ColumnDictionary dict = getDictionary(meta);
+      if (dict == null) {
         return BLOCK_MIGHT_MATCH;
       }
 
-      for (T entry : dictSet) {
-        if (value.compareTo(entry) < 0) {
-          return BLOCK_MIGHT_MATCH;
-        }
+      if (!dict.hasValueGreaterThan(value)) {
+        return BLOCK_CANNOT_MATCH;
       }
-
-      return BLOCK_CANNOT_MATCH;
     } catch (IOException e) {
       LOG.warn("Failed to process dictionary for filter evaluation.", e);
     }
@@ -325,21 +341,79 @@ public class DictionaryFilter implements FilterPredicate.Visitor<Boolean> {
 
     T value = gtEq.getValue();
 
-    filterColumn.getColumnPath();
-
     try {
-      Set<T> dictSet = expandDictionary(meta);
-      if (dictSet == null) {
+      ColumnDictionary dict = getDictionary(meta);
+      if (dict == null) {
         return BLOCK_MIGHT_MATCH;
       }
 
-      for (T entry : dictSet) {
-        if (value.compareTo(entry) <= 0) {
-          return BLOCK_MIGHT_MATCH;
-        }
+      if (!dict.hasValueGreaterThanOrEqual(value)) {
+        return BLOCK_CANNOT_MATCH;
       }
+    } catch (IOException e) {
+      LOG.warn("Failed to process dictionary for filter evaluation.", e);
+    }
+
+    return BLOCK_MIGHT_MATCH;
+  }
+
+  @Override
+  public <T extends Comparable<T>> Boolean visit(In<T> in) {
+    Column<T> filterColumn = in.getColumn();
+    ColumnChunkMetaData meta = getColumnChunk(filterColumn.getColumnPath());
 
+    if (meta == null) {
+      // the column isn't in this file so all values are null, and the values
+      // of in() are never null
       return BLOCK_CANNOT_MATCH;
+    }
+
+    // if the chunk has non-dictionary pages, don't bother decoding the
+    // dictionary because the row group can't be eliminated.
+    if (hasNonDictionaryPages(meta)) {
+      return BLOCK_MIGHT_MATCH;
+    }
+
+    try {
+      ColumnDictionary dict = getDictionary(meta);
+      if (dict != null && !dict.containsAny(in.getValueSet())) {
+        return BLOCK_CANNOT_MATCH;
+      }
+    } catch (IOException e) {
+      LOG.warn("Failed to process dictionary for filter evaluation.", e);
+    }
+
+    return BLOCK_MIGHT_MATCH;
+  }
+
+  @Override
+  public <T extends Comparable<T>> Boolean visit(NotIn<T> notIn) {
+    Column<T> filterColumn = notIn.getColumn();
+    ColumnChunkMetaData meta = getColumnChunk(filterColumn.getColumnPath());
+
+    if (meta == null) {
+      // column is missing from this file and is always null, which is never
+      // in the values, so the predicate is true for all rows
+      return BLOCK_MIGHT_MATCH;
+    }
+
+    // nulls are kept by notIn() and are not in the dictionary, so the row
+    // group can only be dropped if the statistics show there are none
+    if (meta.getStatistics().isEmpty() || meta.getStatistics().getNumNulls() > 0) {
+      return BLOCK_MIGHT_MATCH;
+    }
+
+    // if the chunk has non-dictionary pages, don't bother decoding the
+    // dictionary because the row group can't be eliminated.
+    if (hasNonDictionaryPages(meta)) {
+      return BLOCK_MIGHT_MATCH;
+    }
+
+    try {
+      ColumnDictionary dict = getDictionary(meta);
+      if (dict != null && dict.size() > 0 && dict.containsOnly(notIn.getValueSet())) {
+        return BLOCK_CANNOT_MATCH;
+      }
     } catch (IOException e) {
       LOG.warn("Failed to process dictionary for filter evaluation.", e);
     }
@@ -382,13 +456,13 @@ public class DictionaryFilter implements FilterPredicate.Visitor<Boolean> {
     }
 
     try {
-      Set<T> dictSet = expandDictionary(meta);
-      if (dictSet == null) {
+      ColumnDictionary dict = getDictionary(meta);
+      if (dict == null) {
         return BLOCK_MIGHT_MATCH;
       }
 
-      for (T entry : dictSet) {
-        boolean keep = udp.keep(entry);
+      for (int id = 0; id < dict.size(); id++) {
+        boolean keep = udp.keep(dict.<T>get(id));
         if ((keep && !inverted) || (!keep && inverted)) return BLOCK_MIGHT_MATCH;
       }
       return BLOCK_CANNOT_MATCH;
@@ -409,6 +483,203 @@ public class DictionaryFilter implements FilterPredicate.Visitor<Boolean> {
     return visit(udp.getUserDefined(), true);
   }
 
+  /**
+   * The values of a column chunk's dictionary, compared without boxing them.
+   * Equality and ordering match the boxed values' equals and compareTo.
+   */
+  private static class ColumnDictionary {
+    private final PrimitiveTypeName type;
+    private final Dictionary dictionary;
+    private final int size;
+    private int minId = -1;
+    private int maxId = -1;
+
+    private ColumnDictionary(PrimitiveTypeName type, Dictionary dictionary) {
+      this.type = type;
+      this.dictionary = dictionary;
+      this.size = dictionary.getMaxId() + 1;
+    }
+
+    int size() {
+      return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T extends Comparable<T>> T get(int id) {
+      switch (type) {
+        case INT32:
+          return (T) (Integer) dictionary.decodeToInt(id);
+        case INT64:
+          return (T) (Long) dictionary.decodeToLong(id);
+        case FLOAT:
+          return (T) (Float) dictionary.decodeToFloat(id);
+        case DOUBLE:
+          return (T) (Double) dictionary.decodeToDouble(id);
+        default:
+          return (T) dictionary.decodeToBinary(id);
+      }
+    }
+
+    boolean contains(Object value) {
+      switch (type) {
+        case INT32:
+          int intValue = (Integer) value;
+          for (int id = 0; id < size; id++) {
+            if (dictionary.decodeToInt(id) == intValue) {
+              return true;
+            }
+          }
+          return false;
+        case INT64:
+          long longValue = (Long) value;
+          for (int id = 0; id < size; id++) {
+            if (dictionary.decodeToLong(id) == longValue) {
+              return true;
+            }
+          }
+          return false;
+        case FLOAT:
+          int floatBits = Float.floatToIntBits((Float) value);
+          for (int id = 0; id < size; id++) {
+            if (Float.floatToIntBits(dictionary.decodeToFloat(id)) == floatBits) {
+              return true;
+            }
+          }
+          return false;
+        case DOUBLE:
+          long doubleBits = Double.doubleToLongBits((Double) value);
+          for (int id = 0; id < size; id++) {
+            if (Double.doubleToLongBits(dictionary.decodeToDouble(id)) == doubleBits) {
+              return true;
+            }
+          }
+          return false;
+        default:
+          for (int id = 0; id < size; id++) {
+            if (value.equals(dictionary.decodeToBinary(id))) {
+              return true;
+            }
+          }
+          return false;
+      }
+    }
+
+    /**
+     * @return whether a value of the dictionary is in the set
+     */
+    boolean containsAny(ValueSet<?> values) {
+      for (int id = 0; id < size; id++) {
+        if (isIn(values, id)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * @return whether all values of the dictionary are in the set
+     */
+    boolean containsOnly(ValueSet<?> values) {
+      for (int id = 0; id < size; id++) {
+        if (!isIn(values, id)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private boolean isIn(ValueSet<?> values, int id) {
+      switch (type) {
+        case INT32:
+          return values.contains(dictionary.decodeToInt(id));
+        case INT64:
+          return values.contains(dictionary.decodeToLong(id));
+        case FLOAT:
+          return values.contains(dictionary.decodeToFloat(id));
+        case DOUBLE:
+          return values.contains(dictionary.decodeToDouble(id));
+        default:
+          return values.contains(dictionary.decodeToBinary(id));
+      }
+    }
+
+    <T extends Comparable<T>> boolean hasValueLessThan(T value) {
+      return size > 0 && compareTo(value, minId()) > 0;
+    }
+
+    <T extends Comparable<T>> boolean hasValueLessThanOrEqual(T value) {
+      return size > 0 && compareTo(value, minId()) >= 0;
+    }
+
+    <T extends Comparable<T>> boolean hasValueGreaterThan(T value) {
+      return size > 0 && compareTo(value, maxId()) < 0;
+    }
+
+    <T extends Comparable<T>> boolean hasValueGreaterThanOrEqual(T value) {
+      return size > 0 && compareTo(value, maxId()) <= 0;
+    }
+
+    private int minId() {
+      findMinAndMax();
+      return minId;
+    }
+
+    private int maxId() {
+      findMinAndMax();
+      return maxId;
+    }
+
+    /**
+     * @return value.compareTo(the dictionary value with the given id)
+     */
+    private int compareTo(Object value, int id) {
+      switch (type) {
+        case INT32:
+          return Integer.compare((Integer) value, dictionary.decodeToInt(id));
+        case INT64:
+          return Long.compare((Long) value, dictionary.decodeToLong(id));
+        case FLOAT:
+          return Float.compare((Float) value, dictionary.decodeToFloat(id));
+        case DOUBLE:
+          return Double.compare((Double) value, dictionary.decodeToDouble(id));
+        default:
+          return ((Binary) value).compareTo(dictionary.decodeToBinary(id));
+      }
+    }
+
+    private void findMinAndMax() {
+      if (minId >= 0) {
+        return;
+      }
+      int min = 0;
+      int max = 0;
+      for (int id = 1; id < size; id++) {
+        if (compare(id, min) < 0) {
+          min = id;
+        } else if (compare(id, max) > 0) {
+          max = id;
+        }
+      }
+      this.minId = min;
+      this.maxId = max;
+    }
+
+    private int compare(int left, int right) {
+      switch (type) {
+        case INT32:
+          return Integer.compare(dictionary.decodeToInt(left), dictionary.decodeToInt(right));
+        case INT64:
+          return Long.compare(dictionary.decodeToLong(left), dictionary.decodeToLong(right));
+        case FLOAT:
+          return Float.compare(dictionary.decodeToFloat(left), dictionary.decodeToFloat(right));
+        case DOUBLE:
+          return Double.compare(dictionary.decodeToDouble(left), dictionary.decodeToDouble(right));
+        default:
+          return dictionary.decodeToBinary(left).compareTo(dictionary.decodeToBinary(right));
+      }
+    }
+  }
+
   @SuppressWarnings("deprecation")
   private static boolean hasNonDictionaryPages(ColumnChunkMetaData meta) {
     EncodingStats stats = meta.getEncodingStats();
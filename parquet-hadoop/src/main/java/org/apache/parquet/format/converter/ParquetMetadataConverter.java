@@ -21,6 +21,7 @@ package org.apache.parquet.format.converter;
 import static org.apache.parquet.format.Util.readFileMetaData;
 import static org.apache.parquet.format.Util.writePageHeader;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -38,6 +39,7 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.hadoop.conf.Configuration;
 import org.apache.parquet.CorruptStatistics;
+import org.apache.parquet.bytes.BytesUtils;
 import org.apache.parquet.format.PageEncodingStats;
 import org.apache.parquet.hadoop.metadata.ColumnPath;
 import org.apache.parquet.format.ColumnChunk;
@@ -56,9 +58,13 @@ import org.apache.parquet.format.RowGroup;
 import org.apache.parquet.format.SchemaElement;
 import org.apache.parquet.format.Statistics;
 import org.apache.parquet.format.Type;
+import org.apache.parquet.format.Util;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnIndex;
 import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.metadata.IndexReference;
+import org.apache.parquet.hadoop.metadata.OffsetIndex;
 import org.apache.parquet.column.EncodingStats;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
 import org.apache.parquet.io.ParquetDecodingException;
@@ -81,6 +87,15 @@ public class ParquetMetadataConverter {
   public static final MetadataFilter SKIP_ROW_GROUPS = new SkipMetadataFilter();
   public static final long MAX_STATS_SIZE = 4096; // limit stats to 4k
 
+  // parquet-format has no fields for page indexes yet, so their location is
+  // stored in the key/value metadata of each column chunk
+  private static final String COLUMN_INDEX_KEY = "parquet.page.column-index";
+  private static final String OFFSET_INDEX_KEY = "parquet.page.offset-index";
+  private static final String BLOOM_FILTER_KEY = "parquet.bloom-filter";
+
+  private static final int NULL_COUNT_SET = 1;
+  private static final int MIN_MAX_SET = 2;
+
   private static final Logger LOG = LoggerFactory.getLogger(ParquetMetadataConverter.class);
 
   private final boolean useSignedStringMinMax;
@@ -206,7 +221,18 @@ public class ParquetMetadataConverter {
         columnChunk.meta_data.setEncoding_stats(convertEncodingStats(columnMetaData.getEncodingStats()));
       }
 //      columnChunk.meta_data.index_page_offset = ;
-//      columnChunk.meta_data.key_value_metadata = ; // nothing yet
+      if (columnMetaData.getColumnIndexReference() != null) {
+        columnChunk.meta_data.addToKey_value_metadata(
+            toKeyValue(COLUMN_INDEX_KEY, columnMetaData.getColumnIndexReference()));
+      }
+      if (columnMetaData.getOffsetIndexReference() != null) {
+        columnChunk.meta_data.addToKey_value_metadata(
+            toKeyValue(OFFSET_INDEX_KEY, columnMetaData.getOffsetIndexReference()));
+      }
+      if (columnMetaData.getBloomFilterReference() != null) {
+        columnChunk.meta_data.addToKey_value_metadata(
+            toKeyValue(BLOOM_FILTER_KEY, columnMetaData.getBloomFilterReference()));
+      }
 
       parquetColumns.add(columnChunk);
     }
@@ -214,6 +240,20 @@ public class ParquetMetadataConverter {
     rowGroups.add(rowGroup);
   }
 
+  private static KeyValue toKeyValue(String key, IndexReference reference) {
+    KeyValue keyValue = new KeyValue(key);
+    keyValue.setValue(reference.getOffset() + "," + reference.getLength());
+    return keyValue;
+  }
+
+  private static IndexReference fromKeyValue(KeyValue keyValue) {
+    String[] parts = keyValue.getValue().split(",");
+    if (parts.length != 2) {
+      throw new ParquetDecodingException("Invalid index reference " + keyValue);
+    }
+    return new IndexReference(Long.parseLong(parts[0]), Integer.parseInt(parts[1]));
+  }
+
   private List<Encoding> toFormatEncodings(Set<org.apache.parquet.column.Encoding> encodings) {
     List<Encoding> converted = new ArrayList<Encoding>(encodings.size());
     for (org.apache.parquet.column.Encoding encoding : encodings) {
@@ -647,6 +687,33 @@ public class ParquetMetadataConverter {
     return new OffsetMetadataFilter(set);
   }
 
+  /**
+   * Chooses the columns whose meta data is converted when a footer is read.
+   * The choice can depend on the file's schema and key-value meta data, which
+   * are only known once the footer is read.
+   */
+  public interface ColumnProjection {
+    /**
+     * @param fileSchema the schema of the file
+     * @param keyValueMetaData the key-value meta data of the file
+     * @return the columns to convert, or null to convert all columns
+     */
+    MessageType getRequestedSchema(MessageType fileSchema, Map<String, String> keyValueMetaData);
+  }
+
+  /**
+   * @param requestedSchema the columns to convert
+   * @return a projection on the given columns, whatever the file
+   */
+  public static ColumnProjection projection(final MessageType requestedSchema) {
+    return new ColumnProjection() {
+      @Override
+      public MessageType getRequestedSchema(MessageType fileSchema, Map<String, String> keyValueMetaData) {
+        return requestedSchema;
+      }
+    };
+  }
+
   private static final class NoFilter extends MetadataFilter {
     private NoFilter() {}
     @Override
@@ -796,6 +863,230 @@ public class ParquetMetadataConverter {
     return parquetMetadata;
   }
 
+  /**
+   * Reads the footer and converts the metadata of only the requested columns.
+   *
+   * Row groups are filtered and pruned to the requested columns as they are
+   * read, so the other column chunks are not converted and the thrift metadata
+   * of all the columns is not held at once. The schema is not projected.
+   *
+   * The blocks of the returned metadata only contain the requested columns, so
+   * they must include the columns used by filters applied to them.
+   *
+   * @param from the stream to read the footer from
+   * @param filter the filter to apply to row groups
+   * @param requestedSchema the columns to convert, or null to convert all columns
+   * @return the metadata with row groups filtered and columns projected
+   * @throws IOException if an error occurs while reading the footer
+   */
+  public ParquetMetadata readParquetMetadata(InputStream from, MetadataFilter filter,
+                                             MessageType requestedSchema) throws IOException {
+    if (requestedSchema == null) {
+      return readParquetMetadata(from, filter);
+    }
+    return readProjectedMetadata(from, filter, requestedSchema, null);
+  }
+
+  /**
+   * Reads the footer and converts the metadata of only the columns the
+   * projection requests.
+   *
+   * The projection is given the file's schema and key-value meta data, which
+   * are only known once the whole footer is read. Row groups are filtered as
+   * they are read and pruned to the requested columns before they are
+   * converted, so the other column chunks are not converted.
+   *
+   * @param from the stream to read the footer from
+   * @param filter the filter to apply to row groups
+   * @param projection the projection, or null to convert all columns
+   * @return the metadata with row groups filtered and columns projected
+   * @throws IOException if an error occurs while reading the footer
+   */
+  public ParquetMetadata readParquetMetadata(InputStream from, MetadataFilter filter,
+                                             ColumnProjection projection) throws IOException {
+    if (projection == null) {
+      return readParquetMetadata(from, filter);
+    }
+    return readProjectedMetadata(from, filter, null, projection);
+  }
+
+  /**
+   * @param requestedSchema the columns to keep while row groups are read, or null
+   * @param projection the projection to apply once the footer is read, or null
+   */
+  private ParquetMetadata readProjectedMetadata(InputStream from, final MetadataFilter filter,
+                                                final MessageType requestedSchema,
+                                                ColumnProjection projection) throws IOException {
+    final FileMetaData fileMetaData = new FileMetaData();
+    fileMetaData.setRow_groups(new ArrayList<RowGroup>());
+    boolean skipRowGroups = filter instanceof SkipMetadataFilter;
+    readFileMetaData(from, new Util.FileMetaDataConsumer() {
+      @Override
+      public void setVersion(int version) {
+        fileMetaData.setVersion(version);
+      }
+
+      @Override
+      public void setSchema(List<SchemaElement> schema) {
+        fileMetaData.setSchema(schema);
+      }
+
+      @Override
+      public void setNumRows(long numRows) {
+        fileMetaData.setNum_rows(numRows);
+      }
+
+      @Override
+      public void addRowGroup(RowGroup rowGroup) {
+        if (isSelected(rowGroup, filter)) {
+          if (requestedSchema != null) {
+            project(rowGroup, requestedSchema);
+          }
+          fileMetaData.addToRow_groups(rowGroup);
+        }
+      }
+
+      @Override
+      public void addKeyValueMetaData(KeyValue kv) {
+        fileMetaData.addToKey_value_metadata(kv);
+      }
+
+      @Override
+      public void setCreatedBy(String createdBy) {
+        fileMetaData.setCreated_by(createdBy);
+      }
+    }, skipRowGroups);
+    if (projection != null) {
+      MessageType requested = projection.getRequestedSchema(
+          fromParquetSchema(fileMetaData.getSchema()), keyValueMetaData(fileMetaData.getKey_value_metadata()));
+      if (requested != null) {
+        for (RowGroup rowGroup : fileMetaData.getRow_groups()) {
+          project(rowGroup, requested);
+        }
+      }
+    }
+    ParquetMetadata parquetMetadata = fromParquetMetadata(fileMetaData);
+    if (LOG.isDebugEnabled()) LOG.debug(ParquetMetadata.toPrettyJSON(parquetMetadata));
+    return parquetMetadata;
+  }
+
+  /**
+   * Removes the column chunks of the columns that are not requested from a row group.
+   */
+  private static void project(RowGroup rowGroup, MessageType requestedSchema) {
+    List<ColumnChunk> projected = new ArrayList<ColumnChunk>();
+    for (ColumnChunk columnChunk : rowGroup.getColumns()) {
+      if (requestedSchema.containsPath(getPath(columnChunk.meta_data).toArray())) {
+        projected.add(columnChunk);
+      }
+    }
+    rowGroup.setColumns(projected);
+  }
+
+  /**
+   * @return whether the row group is selected by the filter, the same way as
+   *         {@link #filterFileMetaDataByStart} and {@link #filterFileMetaDataByMidpoint}
+   */
+  private static boolean isSelected(final RowGroup rowGroup, MetadataFilter filter) {
+    return filter.accept(new MetadataFilterVisitor<Boolean, RuntimeException>() {
+      @Override
+      public Boolean visit(NoFilter filter) {
+        return true;
+      }
+
+      @Override
+      public Boolean visit(SkipMetadataFilter filter) {
+        return false;
+      }
+
+      @Override
+      public Boolean visit(RangeMetadataFilter filter) {
+        long totalSize = 0;
+        for (ColumnChunk col : rowGroup.getColumns()) {
+          totalSize += col.getMeta_data().getTotal_compressed_size();
+        }
+        return filter.contains(getOffset(rowGroup) + totalSize / 2);
+      }
+
+      @Override
+      public Boolean visit(OffsetMetadataFilter filter) {
+        return filter.contains(getOffset(rowGroup));
+      }
+    });
+  }
+
+  /**
+   * Applies a metadata filter and a projection to footer meta data that was
+   * already read, selecting the same row groups and columns that
+   * {@link #readParquetMetadata(InputStream, MetadataFilter, ColumnProjection)}
+   * would. The returned blocks are copies; column meta data is shared.
+   *
+   * @param metadata the complete meta data of a file
+   * @param filter the filter to apply to row groups
+   * @param projection the projection to apply, or null for all columns
+   * @return the selected meta data
+   */
+  public static ParquetMetadata filterParquetMetadata(ParquetMetadata metadata, MetadataFilter filter, ColumnProjection projection) {
+    org.apache.parquet.hadoop.metadata.FileMetaData fileMetaData = metadata.getFileMetaData();
+    MessageType requestedSchema = (projection == null) ? null
+        : projection.getRequestedSchema(fileMetaData.getSchema(), fileMetaData.getKeyValueMetaData());
+    return filterParquetMetadata(metadata, filter, requestedSchema);
+  }
+
+  /**
+   * Applies a metadata filter and a projection to footer meta data that was
+   * already read, selecting the same row groups and columns that
+   * {@link #readParquetMetadata(InputStream, MetadataFilter, MessageType)}
+   * would. The returned blocks are copies; column meta data is shared.
+   *
+   * @param metadata the complete meta data of a file
+   * @param filter the filter to apply to row groups
+   * @param requestedSchema the columns to keep, or null for all columns
+   * @return the selected meta data
+   */
+  public static ParquetMetadata filterParquetMetadata(ParquetMetadata metadata, MetadataFilter filter, MessageType requestedSchema) {
+    List<BlockMetaData> blocks = new ArrayList<BlockMetaData>();
+    for (BlockMetaData block : metadata.getBlocks()) {
+      if (isSelected(block, filter)) {
+        BlockMetaData copy = new BlockMetaData();
+        copy.setPath(block.getPath());
+        copy.setRowCount(block.getRowCount());
+        copy.setTotalByteSize(block.getTotalByteSize());
+        for (ColumnChunkMetaData column : block.getColumns()) {
+          if (requestedSchema == null || requestedSchema.containsPath(column.getPath().toArray())) {
+            copy.addColumn(column);
+          }
+        }
+        blocks.add(copy);
+      }
+    }
+    return new ParquetMetadata(metadata.getFileMetaData(), blocks);
+  }
+
+  private static boolean isSelected(final BlockMetaData block, MetadataFilter filter) {
+    return filter.accept(new MetadataFilterVisitor<Boolean, RuntimeException>() {
+      @Override
+      public Boolean visit(NoFilter filter) {
+        return true;
+      }
+
+      @Override
+      public Boolean visit(SkipMetadataFilter filter) {
+        return false;
+      }
+
+      @Override
+      public Boolean visit(RangeMetadataFilter filter) {
+        return filter.contains(block.getStartingPos() + block.getCompressedSize() / 2);
+      }
+
+      @Override
+      public Boolean visit(OffsetMetadataFilter filter) {
+        return filter.contains(block.getStartingPos());
+      }
+    });
+  }
+
   public ParquetMetadata fromParquetMetadata(FileMetaData parquetMetadata) throws IOException {
     MessageType messageType = fromParquetSchema(parquetMetadata.getSchema());
     List<BlockMetaData> blocks = new ArrayList<BlockMetaData>();
@@ -806,7 +1097,7 @@ public class ParquetMetadataConverter {
         blockMetaData.setRowCount(rowGroup.getNum_rows());
         blockMetaData.setTotalByteSize(rowGroup.getTotal_byte_size());
         List<ColumnChunk> columns = rowGroup.getColumns();
-        String filePath = columns.get(0).getFile_path();
+        String filePath = columns.isEmpty() ? null : columns.get(0).getFile_path();
         for (ColumnChunk columnChunk : columns) {
           if ((filePath == null && columnChunk.getFile_path() != null)
               || (filePath != null && !filePath.equals(columnChunk.getFile_path()))) {
@@ -831,23 +1122,37 @@ public class ParquetMetadataConverter {
               metaData.total_uncompressed_size);
           // TODO
           // index_page_offset
-          // key_value_metadata
+          if (metaData.isSetKey_value_metadata()) {
+            for (KeyValue keyValue : metaData.getKey_value_metadata()) {
+              if (COLUMN_INDEX_KEY.equals(keyValue.getKey())) {
+                column.setColumnIndexReference(fromKeyValue(keyValue));
+              } else if (OFFSET_INDEX_KEY.equals(keyValue.getKey())) {
+                column.setOffsetIndexReference(fromKeyValue(keyValue));
+              } else if (BLOOM_FILTER_KEY.equals(keyValue.getKey())) {
+                column.setBloomFilterReference(fromKeyValue(keyValue));
+              }
+            }
+          }
           blockMetaData.addColumn(column);
         }
         blockMetaData.setPath(filePath);
         blocks.add(blockMetaData);
       }
     }
+    return new ParquetMetadata(
+        new org.apache.parquet.hadoop.metadata.FileMetaData(messageType,
+            keyValueMetaData(parquetMetadata.getKey_value_metadata()), parquetMetadata.getCreated_by()),
+        blocks);
+  }
+
+  private static Map<String, String> keyValueMetaData(List<KeyValue> key_value_metadata) {
     Map<String, String> keyValueMetaData = new HashMap<String, String>();
-    List<KeyValue> key_value_metadata = parquetMetadata.getKey_value_metadata();
     if (key_value_metadata != null) {
       for (KeyValue keyValue : key_value_metadata) {
         keyValueMetaData.put(keyValue.key, keyValue.value);
       }
     }
-    return new ParquetMetadata(
-        new org.apache.parquet.hadoop.metadata.FileMetaData(messageType, keyValueMetaData, parquetMetadata.getCreated_by()),
-        blocks);
+    return keyValueMetaData;
   }
 
   private static ColumnPath getPath(ColumnMetaData metaData) {
@@ -1011,4 +1316,94 @@ public class ParquetMetadataConverter {
     writePageHeader(pageHeader, to);
   }
 
+  /**
+   * Writes the page statistics of a column chunk.
+   * Min and max values larger than {@link #MAX_STATS_SIZE} are not written.
+   */
+  public void writeColumnIndex(ColumnIndex columnIndex, OutputStream to) throws IOException {
+    BytesUtils.writeUnsignedVarInt(columnIndex.getPageCount(), to);
+    for (int i = 0; i < columnIndex.getPageCount(); i += 1) {
+      BytesUtils.writeUnsignedVarLong(columnIndex.getValueCount(i), to);
+      Statistics stats = toParquetStatistics(columnIndex.getStatistics(i));
+      int flags = (stats.isSetNull_count() ? NULL_COUNT_SET : 0)
+          | (stats.isSetMin() && stats.isSetMax() ? MIN_MAX_SET : 0);
+      to.write(flags);
+      if (stats.isSetNull_count()) {
+        BytesUtils.writeUnsignedVarLong(stats.getNull_count(), to);
+      }
+      if ((flags & MIN_MAX_SET) != 0) {
+        writeBytes(stats.getMin(), to);
+        writeBytes(stats.getMax(), to);
+      }
+    }
+  }
+
+  /**
+   * Reads the page statistics of a column chunk. Statistics that would be
+   * ignored in the footer, like min and max for unsigned types, are ignored.
+   */
+  public ColumnIndex readColumnIndex(InputStream from, String createdBy, PrimitiveType type) throws IOException {
+    int pageCount = BytesUtils.readUnsignedVarInt(from);
+    List<org.apache.parquet.column.statistics.Statistics> pageStatistics =
+        new ArrayList<org.apache.parquet.column.statistics.Statistics>(pageCount);
+    List<Long> pageValueCounts = new ArrayList<Long>(pageCount);
+    for (int i = 0; i < pageCount; i += 1) {
+      pageValueCounts.add(BytesUtils.readUnsignedVarLong(from));
+      int flags = from.read();
+      if (flags < 0) {
+        throw new EOFException("Unexpected end of column index");
+      }
+      Statistics stats = new Statistics();
+      if ((flags & NULL_COUNT_SET) != 0) {
+        stats.setNull_count(BytesUtils.readUnsignedVarLong(from));
+      }
+      if ((flags & MIN_MAX_SET) != 0) {
+        stats.setMin(readBytes(from));
+        stats.setMax(readBytes(from));
+      }
+      pageStatistics.add(fromParquetStatistics(createdBy, stats, type));
+    }
+    return new ColumnIndex(pageStatistics, pageValueCounts);
+  }
+
+  public void writeOffsetIndex(OffsetIndex offsetIndex, OutputStream to) throws IOException {
+    BytesUtils.writeUnsignedVarInt(offsetIndex.getPageCount(), to);
+    for (int i = 0; i < offsetIndex.getPageCount(); i += 1) {
+      BytesUtils.writeUnsignedVarLong(offsetIndex.getOffset(i), to);
+      BytesUtils.writeUnsignedVarInt(offsetIndex.getCompressedPageSize(i), to);
+      BytesUtils.writeUnsignedVarLong(offsetIndex.getFirstRowIndex(i), to);
+    }
+  }
+
+  public OffsetIndex readOffsetIndex(InputStream from) throws IOException {
+    int pageCount = BytesUtils.readUnsignedVarInt(from);
+    List<Long> offsets = new ArrayList<Long>(pageCount);
+    List<Integer> sizes = new ArrayList<Integer>(pageCount);
+    List<Long> firstRowIndexes = new ArrayList<Long>(pageCount);
+    for (int i = 0; i < pageCount; i += 1) {
+      offsets.add(BytesUtils.readUnsignedVarLong(from));
+      sizes.add(BytesUtils.readUnsignedVarInt(from));
+      firstRowIndexes.add(BytesUtils.readUnsignedVarLong(from));
+    }
+    return new OffsetIndex(offsets, sizes, firstRowIndexes);
+  }
+
+  private static void writeBytes(byte[] bytes, OutputStream to) throws IOException {
+    BytesUtils.writeUnsignedVarInt(bytes.length, to);
+    to.write(bytes);
+  }
+
+  private static byte[] readBytes(InputStream from) throws IOException {
+    byte[] bytes = new byte[BytesUtils.readUnsignedVarInt(from)];
+    int read = 0;
+    while (read < bytes.length) {
+      int n = from.read(bytes, read, bytes.length - read);
+      if (n < 0) {
+        throw new EOFException("Unexpected end of column index");
+      }
+      read += n;
+    }
+    return bytes;
+  }
+
 }
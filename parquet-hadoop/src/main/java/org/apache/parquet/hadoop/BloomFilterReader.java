@@ -0,0 +1,54 @@
+/* 
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.apache.parquet.column.values.bloomfilter.BlockSplitBloomFilter;
+import org.apache.parquet.filter2.bloomfilterlevel.BloomFilterReadStore;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+
+/**
+ * A {@link BloomFilterReadStore} implementation that reads the Bloom filters
+ * of column chunks from an open {@link ParquetFileReader}.
+ *
+ * Each filter is read at most once, even if several predicates use it.
+ */
+class BloomFilterReader implements BloomFilterReadStore {
+
+  private final ParquetFileReader reader;
+  private final Map<ColumnChunkMetaData, BlockSplitBloomFilter> cache =
+      new IdentityHashMap<ColumnChunkMetaData, BlockSplitBloomFilter>();
+
+  BloomFilterReader(ParquetFileReader reader) {
+    this.reader = reader;
+  }
+
+  @Override
+  public BlockSplitBloomFilter readBloomFilter(ColumnChunkMetaData meta) throws IOException {
+    if (cache.containsKey(meta)) {
+      return cache.get(meta);
+    }
+    BlockSplitBloomFilter bloomFilter = reader.readBloomFilter(meta);
+    cache.put(meta, bloomFilter);
+    return bloomFilter;
+  }
+}
@@ -201,6 +201,15 @@ public class CodecFactory {
     return decomp;
   }
 
+  /**
+   * @param codecName the requested codec
+   * @return a new decompressor that is not shared with other callers and not
+   *         released by {@link #release()}
+   */
+  BytesDecompressor newDecompressor(CompressionCodecName codecName) {
+    return createDecompressor(codecName);
+  }
+
   protected BytesCompressor createCompressor(CompressionCodecName codecName) {
     return new HeapBytesCompressor(codecName);
   }
@@ -19,21 +19,32 @@
 package org.apache.parquet.hadoop;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 import org.apache.parquet.Ints;
+import org.apache.parquet.bytes.ByteBufferAllocator;
+import org.apache.parquet.bytes.BytesInput;
 import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.page.DataPage;
 import org.apache.parquet.column.page.DataPageV1;
 import org.apache.parquet.column.page.DataPageV2;
 import org.apache.parquet.column.page.DictionaryPage;
 import org.apache.parquet.column.page.DictionaryPageReadStore;
-import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.column.page.FilteredPageReadStore;
 import org.apache.parquet.column.page.PageReader;
+import org.apache.parquet.column.page.SkippablePageReader;
+import org.apache.parquet.filter2.columnindex.RowRanges;
 import org.apache.parquet.hadoop.CodecFactory.BytesDecompressor;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.metrics.ParquetMetrics;
 import org.apache.parquet.io.ParquetDecodingException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,7 +55,7 @@ import org.slf4j.LoggerFactory;
  * in our format: columns, chunks, and pages
  *
  */
-class ColumnChunkPageReadStore implements PageReadStore, DictionaryPageReadStore {
+class ColumnChunkPageReadStore implements FilteredPageReadStore, DictionaryPageReadStore {
   private static final Logger LOG = LoggerFactory.getLogger(ColumnChunkPageReadStore.class);
 
   /**
@@ -54,7 +65,7 @@ class ColumnChunkPageReadStore implements PageReadStore, DictionaryPageReadStore
    * This implementation is provided with a list of pages, each of which
    * is decompressed and passed through.
    */
-  static final class ColumnChunkPageReader implements PageReader {
+  static final class ColumnChunkPageReader implements SkippablePageReader {
 
     private final BytesDecompressor decompressor;
     private final long valueCount;
@@ -82,7 +93,32 @@ class ColumnChunkPageReadStore implements PageReadStore, DictionaryPageReadStore
       if (compressedPages.isEmpty()) {
         return null;
       }
-      DataPage compressedPage = compressedPages.remove(0);
+      return decompress(decompressor, compressedPages.remove(0));
+    }
+
+    @Override
+    public int getNextPageValueCount() {
+      return compressedPages.isEmpty() ? -1 : compressedPages.get(0).getValueCount();
+    }
+
+    @Override
+    public void skipPage() {
+      if (!compressedPages.isEmpty()) {
+        compressedPages.remove(0);
+      }
+    }
+
+    @Override
+    public DictionaryPage readDictionaryPage() {
+      return decompress(decompressor, compressedDictionaryPage);
+    }
+
+    /**
+     * @param decompressor the decompressor for the page's column chunk
+     * @param compressedPage a page as stored in the file
+     * @return the decompressed page
+     */
+    static DataPage decompress(final BytesDecompressor decompressor, DataPage compressedPage) {
       return compressedPage.accept(new DataPage.Visitor<DataPage>() {
         @Override
         public DataPage visit(DataPageV1 dataPageV1) {
@@ -94,7 +130,8 @@ class ColumnChunkPageReadStore implements PageReadStore, DictionaryPageReadStore
                 dataPageV1.getStatistics(),
                 dataPageV1.getRlEncoding(),
                 dataPageV1.getDlEncoding(),
-                dataPageV1.getValueEncoding());
+                dataPageV1.getValueEncoding(),
+                dataPageV1.getFirstRowIndex());
           } catch (IOException e) {
             throw new ParquetDecodingException("could not decompress page", e);
           }
@@ -110,15 +147,19 @@ class ColumnChunkPageReadStore implements PageReadStore, DictionaryPageReadStore
                 dataPageV2.getUncompressedSize()
                 - dataPageV2.getDefinitionLevels().size()
                 - dataPageV2.getRepetitionLevels().size());
-            return DataPageV2.uncompressed(
+            BytesInput data = decompressor.decompress(dataPageV2.getData(), uncompressedSize);
+            return new DataPageV2(
                 dataPageV2.getRowCount(),
                 dataPageV2.getNullCount(),
                 dataPageV2.getValueCount(),
                 dataPageV2.getRepetitionLevels(),
                 dataPageV2.getDefinitionLevels(),
                 dataPageV2.getDataEncoding(),
-                decompressor.decompress(dataPageV2.getData(), uncompressedSize),
-                dataPageV2.getStatistics()
+                data,
+                Ints.checkedCast(dataPageV2.getRepetitionLevels().size() + dataPageV2.getDefinitionLevels().size() + data.size()),
+                dataPageV2.getStatistics(),
+                false,
+                dataPageV2.getFirstRowIndex()
                 );
           } catch (IOException e) {
             throw new ParquetDecodingException("could not decompress page", e);
@@ -127,10 +168,16 @@ class ColumnChunkPageReadStore implements PageReadStore, DictionaryPageReadStore
       });
     }
 
-    @Override
-    public DictionaryPage readDictionaryPage() {
-      if (compressedDictionaryPage == null) {
-        return null;
+    /**
+     * @param decompressor the decompressor for the page's column chunk
+     * @param compressedDictionaryPage a dictionary page as stored in the file, or
+     *        already decoded by the dictionary filter, may be null
+     * @return the decompressed dictionary page or null
+     */
+    static DictionaryPage decompress(BytesDecompressor decompressor, DictionaryPage compressedDictionaryPage) {
+      if (compressedDictionaryPage == null || compressedDictionaryPage.isDecoded()) {
+        // a decoded page is uncompressed, and is returned with its decoded values
+        return compressedDictionaryPage;
       }
       try {
         return new DictionaryPage(
@@ -143,11 +190,405 @@ class ColumnChunkPageReadStore implements PageReadStore, DictionaryPageReadStore
     }
   }
 
-  private final Map<ColumnDescriptor, ColumnChunkPageReader> readers = new HashMap<ColumnDescriptor, ColumnChunkPageReader>();
+  /**
+   * PageReader for a single column chunk that decompresses its pages ahead of
+   * the reading thread on a shared executor, so that the pages of different
+   * columns are decompressed in parallel.
+   *
+   * Decompression runs as one task at a time per column, using a decompressor
+   * owned by this reader. The task stops when the decompressed pages that have
+   * not been read reach maxBufferedBytes and is scheduled again as pages are
+   * read, so at most about maxBufferedBytes plus one page are held per column.
+   *
+   * The decompressor is returned to the codec pool as soon as no page is left
+   * to decompress, when decompression fails, or when the reader is closed.
+   */
+  static final class ParallelColumnChunkPageReader implements SkippablePageReader {
+
+    private final BytesDecompressor decompressor;
+    private final Executor executor;
+    private final long maxBufferedBytes;
+    private final long valueCount;
+    private final LinkedList<DataPage> compressedPages;
+    private final LinkedList<DataPage> decompressedPages = new LinkedList<DataPage>();
+    private DictionaryPage compressedDictionaryPage;
+    private DictionaryPage dictionaryPage = null;
+    private boolean dictionaryDecompressed = false;
+    private int pagesLeft;
+    private long bufferedBytes = 0;
+    private boolean running = false;
+    private RuntimeException failure = null;
+    private boolean closed = false;
+    private boolean decompressorReleased = false;
+
+    private final Runnable decompressTask = new Runnable() {
+      @Override
+      public void run() {
+        decompressPages();
+      }
+    };
+
+    /**
+     * @param decompressor a decompressor used only by this reader, released when it is no longer needed
+     * @param compressedPages the pages of the chunk
+     * @param compressedDictionaryPage the dictionary page of the chunk, may be null
+     * @param executor runs the decompression tasks
+     * @param maxBufferedBytes the size of decompressed pages to hold ahead of the reader
+     */
+    ParallelColumnChunkPageReader(BytesDecompressor decompressor, List<DataPage> compressedPages,
+                                  DictionaryPage compressedDictionaryPage, Executor executor, long maxBufferedBytes) {
+      this.decompressor = decompressor;
+      this.compressedPages = new LinkedList<DataPage>(compressedPages);
+      this.compressedDictionaryPage = compressedDictionaryPage;
+      this.executor = executor;
+      this.maxBufferedBytes = maxBufferedBytes;
+      this.pagesLeft = compressedPages.size();
+      long count = 0;
+      for (DataPage p : compressedPages) {
+        count += p.getValueCount();
+      }
+      this.valueCount = count;
+      synchronized (this) {
+        schedule();
+      }
+    }
+
+    @Override
+    public long getTotalValueCount() {
+      return valueCount;
+    }
+
+    @Override
+    public synchronized DataPage readPage() {
+      if (pagesLeft == 0) {
+        return null;
+      }
+      while (decompressedPages.isEmpty()) {
+        await();
+      }
+      DataPage page = decompressedPages.removeFirst();
+      bufferedBytes -= page.getUncompressedSize();
+      pagesLeft -= 1;
+      schedule();
+      return page;
+    }
+
+    @Override
+    public synchronized int getNextPageValueCount() {
+      DataPage next = nextPage();
+      return next == null ? -1 : next.getValueCount();
+    }
+
+    @Override
+    public synchronized void skipPage() {
+      DataPage next = nextPage();
+      if (next == null) {
+        return;
+      }
+      if (!decompressedPages.isEmpty()) {
+        decompressedPages.removeFirst();
+        bufferedBytes -= next.getUncompressedSize();
+      } else {
+        compressedPages.removeFirst();
+      }
+      pagesLeft -= 1;
+      schedule();
+    }
+
+    /**
+     * Must be called while holding the lock.
+     * @return the next page, decompressed or not, or null if after the last page
+     */
+    private DataPage nextPage() {
+      // a running task may be decompressing the next page
+      while (decompressedPages.isEmpty() && running) {
+        if (failure != null) {
+          throw failure;
+        }
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new ParquetDecodingException("interrupted while waiting for pages to be decompressed", e);
+        }
+      }
+      if (failure != null) {
+        throw failure;
+      }
+      if (!decompressedPages.isEmpty()) {
+        return decompressedPages.getFirst();
+      }
+      return compressedPages.isEmpty() ? null : compressedPages.getFirst();
+    }
+
+    /**
+     * Stops decompressing pages and waits for a running task to finish, so that
+     * the buffers holding the compressed pages can be reused.
+     */
+    synchronized void close() {
+      this.closed = true;
+      compressedPages.clear();
+      boolean interrupted = false;
+      while (running) {
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+      releaseDecompressor();
+    }
+
+    /**
+     * Must be called while holding the lock.
+     */
+    private void releaseDecompressor() {
+      if (!decompressorReleased) {
+        decompressorReleased = true;
+        decompressor.release();
+      }
+    }
+
+    @Override
+    public synchronized DictionaryPage readDictionaryPage() {
+      while (!dictionaryDecompressed) {
+        await();
+      }
+      return dictionaryPage;
+    }
+
+    /**
+     * Waits for the decompression task, rethrowing its failure.
+     * Must be called while holding the lock.
+     */
+    private void await() {
+      if (failure != null) {
+        throw failure;
+      }
+      if (closed) {
+        throw new ParquetDecodingException("the pages of this column chunk were released");
+      }
+      schedule();
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new ParquetDecodingException("interrupted while waiting for pages to be decompressed", e);
+      }
+      if (failure != null) {
+        throw failure;
+      }
+    }
+
+    /**
+     * Starts the decompression task if it is not running and there is work to do,
+     * and releases the decompressor if there is no work left.
+     * Must be called while holding the lock.
+     */
+    private void schedule() {
+      if (running || failure != null) {
+        return;
+      }
+      if (!closed && (!dictionaryDecompressed || !compressedPages.isEmpty())) {
+        running = true;
+        executor.execute(decompressTask);
+      } else {
+        releaseDecompressor();
+      }
+    }
+
+    private void decompressPages() {
+      try {
+        DictionaryPage dictionary;
+        boolean decompressDictionary;
+        synchronized (this) {
+          dictionary = compressedDictionaryPage;
+          decompressDictionary = !dictionaryDecompressed;
+        }
+        if (decompressDictionary) {
+          // the dictionary is decompressed here because the decompressor is not thread-safe
+          DictionaryPage decompressed = ColumnChunkPageReader.decompress(decompressor, dictionary);
+          synchronized (this) {
+            this.compressedDictionaryPage = null;
+            this.dictionaryPage = decompressed;
+            this.dictionaryDecompressed = true;
+            notifyAll();
+          }
+        }
+        while (true) {
+          DataPage next;
+          synchronized (this) {
+            if (compressedPages.isEmpty()
+                || (bufferedBytes >= maxBufferedBytes && !decompressedPages.isEmpty())) {
+              if (compressedPages.isEmpty()) {
+                releaseDecompressor();
+              }
+              running = false;
+              notifyAll();
+              return;
+            }
+            next = compressedPages.removeFirst();
+          }
+          DataPage decompressed = ColumnChunkPageReader.decompress(decompressor, next);
+          synchronized (this) {
+            decompressedPages.addLast(decompressed);
+            bufferedBytes += decompressed.getUncompressedSize();
+            notifyAll();
+          }
+        }
+      } catch (RuntimeException e) {
+        synchronized (this) {
+          this.failure = e;
+          this.running = false;
+          // no task is started after a failure
+          releaseDecompressor();
+          notifyAll();
+        }
+      }
+    }
+  }
+
+  /**
+   * Decompresses eagerly so that pages decompressed on another thread do not
+   * depend on the state of the decompressor when they are read.
+   */
+  static final class EagerDecompressor extends BytesDecompressor {
+    private final BytesDecompressor delegate;
+
+    EagerDecompressor(BytesDecompressor delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public BytesInput decompress(BytesInput bytes, int uncompressedSize) throws IOException {
+      return BytesInput.copy(delegate.decompress(bytes, uncompressedSize));
+    }
+
+    @Override
+    public void decompress(ByteBuffer input, int compressedSize, ByteBuffer output, int uncompressedSize) throws IOException {
+      delegate.decompress(input, compressedSize, output, uncompressedSize);
+    }
+
+    @Override
+    protected void release() {
+      delegate.release();
+    }
+  }
+
+  /**
+   * Reports the time spent decompressing to {@link ParquetMetrics}. Pages that are decompressed
+   * lazily are timed when their bytes are first read, without copying them.
+   */
+  static final class MeasuredDecompressor extends BytesDecompressor {
+    private final BytesDecompressor delegate;
+    private final ParquetMetrics metrics;
+    private final ColumnPath path;
+    private final CompressionCodecName codec;
+
+    MeasuredDecompressor(BytesDecompressor delegate, ParquetMetrics metrics,
+                         ColumnPath path, CompressionCodecName codec) {
+      this.delegate = delegate;
+      this.metrics = metrics;
+      this.path = path;
+      this.codec = codec;
+    }
+
+    @Override
+    public BytesInput decompress(BytesInput bytes, int uncompressedSize) throws IOException {
+      long start = System.nanoTime();
+      BytesInput decompressed = delegate.decompress(bytes, uncompressedSize);
+      return new MeasuredBytesInput(decompressed, bytes.size(), System.nanoTime() - start);
+    }
+
+    @Override
+    public void decompress(ByteBuffer input, int compressedSize, ByteBuffer output, int uncompressedSize) throws IOException {
+      long start = System.nanoTime();
+      delegate.decompress(input, compressedSize, output, uncompressedSize);
+      metrics.pageDecompressed(path, codec, compressedSize, uncompressedSize, System.nanoTime() - start);
+    }
+
+    @Override
+    protected void release() {
+      delegate.release();
+    }
+
+    /**
+     * Adds the time of the first read of the decompressed bytes, when the codec decompresses
+     * while they are read, and reports it once.
+     */
+    private final class MeasuredBytesInput extends BytesInput {
+      private final BytesInput decompressed;
+      private final long compressedSize;
+      private final long nanos;
+      private boolean reported = false;
+
+      private MeasuredBytesInput(BytesInput decompressed, long compressedSize, long nanos) {
+        this.decompressed = decompressed;
+        this.compressedSize = compressedSize;
+        this.nanos = nanos;
+      }
+
+      private long start() {
+        return reported ? 0 : System.nanoTime();
+      }
+
+      private void report(long start) {
+        if (!reported) {
+          this.reported = true;
+          metrics.pageDecompressed(path, codec, compressedSize, decompressed.size(),
+              nanos + System.nanoTime() - start);
+        }
+      }
+
+      @Override
+      public void writeAllTo(OutputStream out) throws IOException {
+        long start = start();
+        decompressed.writeAllTo(out);
+        report(start);
+      }
+
+      @Override
+      public byte[] toByteArray() throws IOException {
+        long start = start();
+        byte[] bytes = decompressed.toByteArray();
+        report(start);
+        return bytes;
+      }
+
+      @Override
+      public ByteBuffer toByteBuffer() throws IOException {
+        long start = start();
+        ByteBuffer buffer = decompressed.toByteBuffer();
+        report(start);
+        return buffer;
+      }
+
+      @Override
+      public long size() {
+        return decompressed.size();
+      }
+    }
+  }
+
+  private final Map<ColumnDescriptor, PageReader> readers = new HashMap<ColumnDescriptor, PageReader>();
+  private final List<ByteBuffer> buffers = new ArrayList<ByteBuffer>();
   private final long rowCount;
+  private final RowRanges rowRanges;
 
   public ColumnChunkPageReadStore(long rowCount) {
+    this(rowCount, null);
+  }
+
+  /**
+   * @param rowCount the number of rows in rowRanges, or in the row group if rowRanges is null
+   * @param rowRanges the rows that overlap the pages of this store, or null if it has all pages
+   */
+  ColumnChunkPageReadStore(long rowCount, RowRanges rowRanges) {
     this.rowCount = rowCount;
+    this.rowRanges = rowRanges;
   }
 
   @Override
@@ -155,6 +596,11 @@ class ColumnChunkPageReadStore implements PageReadStore, DictionaryPageReadStore
     return rowCount;
   }
 
+  @Override
+  public RowRanges getRowRanges() {
+    return rowRanges;
+  }
+
   @Override
   public PageReader getPageReader(ColumnDescriptor path) {
     if (!readers.containsKey(path)) {
@@ -168,7 +614,41 @@ class ColumnChunkPageReadStore implements PageReadStore, DictionaryPageReadStore
     return readers.get(descriptor).readDictionaryPage();
   }
 
-  void addColumn(ColumnDescriptor path, ColumnChunkPageReader reader) {
+  /**
+   * @param buffers buffers holding pages of this row group, to return to the
+   *                allocator in {@link #release(ByteBufferAllocator)}
+   */
+  void addBuffers(List<ByteBuffer> buffers) {
+    this.buffers.addAll(buffers);
+  }
+
+  /**
+   * Stops background decompression and returns the decompressors of the
+   * parallel page readers to the codec pool. Pages that were not read yet
+   * cannot be read afterwards.
+   */
+  void close() {
+    for (PageReader reader : readers.values()) {
+      if (reader instanceof ParallelColumnChunkPageReader) {
+        ((ParallelColumnChunkPageReader) reader).close();
+      }
+    }
+  }
+
+  /**
+   * Closes this store and returns the buffers of this row group to the
+   * allocator. Pages read from this store must not be used afterwards.
+   * @param allocator the allocator of the buffers
+   */
+  void release(ByteBufferAllocator allocator) {
+    close();
+    for (ByteBuffer buffer : buffers) {
+      allocator.release(buffer);
+    }
+    buffers.clear();
+  }
+
+  void addColumn(ColumnDescriptor path, PageReader reader) {
     if (readers.put(path, reader) != null) {
       throw new RuntimeException(path+ " was added twice");
     }
@@ -33,12 +33,20 @@ import org.apache.parquet.bytes.BytesInput;
 import org.apache.parquet.bytes.ConcatenatingByteArrayCollector;
 import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.page.BloomFilterPageWriter;
 import org.apache.parquet.column.page.DictionaryPage;
 import org.apache.parquet.column.page.PageWriteStore;
 import org.apache.parquet.column.page.PageWriter;
 import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.column.values.bloomfilter.BlockSplitBloomFilter;
 import org.apache.parquet.format.converter.ParquetMetadataConverter;
 import org.apache.parquet.hadoop.CodecFactory.BytesCompressor;
+import org.apache.parquet.hadoop.metadata.ColumnIndex;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.metadata.OffsetIndex;
+import org.apache.parquet.hadoop.metrics.NoOpParquetMetrics;
+import org.apache.parquet.hadoop.metrics.ParquetMetrics;
 import org.apache.parquet.io.ParquetEncodingException;
 import org.apache.parquet.schema.MessageType;
 import org.apache.parquet.bytes.ByteBufferAllocator;
@@ -50,10 +58,12 @@ class ColumnChunkPageWriteStore implements PageWriteStore {
 
   private static ParquetMetadataConverter parquetMetadataConverter = new ParquetMetadataConverter();
 
-  private static final class ColumnChunkPageWriter implements PageWriter {
+  private static final class ColumnChunkPageWriter implements BloomFilterPageWriter {
 
     private final ColumnDescriptor path;
     private final BytesCompressor compressor;
+    private final ParquetMetrics metrics;
+    private final ColumnPath columnPath;
 
     private final ByteArrayOutputStream tempOutputStream = new ByteArrayOutputStream();
     private final ConcatenatingByteArrayCollector buf;
@@ -72,11 +82,29 @@ class ColumnChunkPageWriteStore implements PageWriteStore {
     private Statistics totalStatistics;
     private final ByteBufferAllocator allocator;
 
+    private BlockSplitBloomFilter bloomFilter;
+
+    // page index entries, with offsets relative to the first data page
+    private final boolean pageIndexEnabled;
+    private final List<Statistics> pageStatistics = new ArrayList<Statistics>();
+    private final List<Long> pageValueCounts = new ArrayList<Long>();
+    private final List<Long> pageOffsets = new ArrayList<Long>();
+    private final List<Integer> pageSizes = new ArrayList<Integer>();
+    private final List<Long> pageFirstRowIndexes = new ArrayList<Long>();
+    private long chunkRowCount;
+    // v1 pages of repeated columns don't have a row count
+    private boolean pageRowCountsKnown = true;
+
     private ColumnChunkPageWriter(ColumnDescriptor path,
                                   BytesCompressor compressor,
-                                  ByteBufferAllocator allocator) {
+                                  ByteBufferAllocator allocator,
+                                  ParquetMetrics metrics,
+                                  boolean pageIndexEnabled) {
       this.path = path;
+      this.pageIndexEnabled = pageIndexEnabled;
       this.compressor = compressor;
+      this.metrics = metrics;
+      this.columnPath = ColumnPath.get(path.getPath());
       this.allocator = allocator;
       this.buf = new ConcatenatingByteArrayCollector();
       this.totalStatistics = getStatsBasedOnType(this.path.getType());
@@ -95,7 +123,7 @@ class ColumnChunkPageWriteStore implements PageWriteStore {
             "Cannot write page larger than Integer.MAX_VALUE bytes: " +
                 uncompressedSize);
       }
-      BytesInput compressedBytes = compressor.compress(bytes);
+      BytesInput compressedBytes = compress(bytes);
       long compressedSize = compressedBytes.size();
       if (compressedSize > Integer.MAX_VALUE) {
         throw new ParquetEncodingException(
@@ -117,6 +145,10 @@ class ColumnChunkPageWriteStore implements PageWriteStore {
       this.totalValueCount += valueCount;
       this.pageCount += 1;
       this.totalStatistics.mergeStatistics(statistics);
+      if (path.getMaxRepetitionLevel() > 0) {
+        this.pageRowCountsKnown = false;
+      }
+      addPageIndexEntry(statistics, valueCount, valueCount, tempOutputStream.size() + compressedSize);
       // by concatenating before collecting instead of collecting twice,
       // we only allocate one buffer to copy into instead of multiple.
       buf.collect(BytesInput.concat(BytesInput.from(tempOutputStream), compressedBytes));
@@ -137,7 +169,7 @@ class ColumnChunkPageWriteStore implements PageWriteStore {
           data.size() + repetitionLevels.size() + definitionLevels.size()
       );
       // TODO: decide if we compress
-      BytesInput compressedData = compressor.compress(data);
+      BytesInput compressedData = compress(data);
       int compressedSize = toIntWithCheck(
           compressedData.size() + repetitionLevels.size() + definitionLevels.size()
       );
@@ -155,6 +187,7 @@ class ColumnChunkPageWriteStore implements PageWriteStore {
       this.totalValueCount += valueCount;
       this.pageCount += 1;
       this.totalStatistics.mergeStatistics(statistics);
+      addPageIndexEntry(statistics, valueCount, rowCount, tempOutputStream.size() + compressedSize);
 
       // by concatenating before collecting instead of collecting twice,
       // we only allocate one buffer to copy into instead of multiple.
@@ -168,6 +201,18 @@ class ColumnChunkPageWriteStore implements PageWriteStore {
       dataEncodings.add(dataEncoding);
     }
 
+    private void addPageIndexEntry(Statistics statistics, int valueCount, int pageRowCount, long pageSize) {
+      if (!pageIndexEnabled) {
+        return;
+      }
+      pageStatistics.add(statistics);
+      pageValueCounts.add((long) valueCount);
+      pageOffsets.add(buf.size());
+      pageSizes.add(toIntWithCheck(pageSize));
+      pageFirstRowIndexes.add(chunkRowCount);
+      this.chunkRowCount += pageRowCount;
+    }
+
     private int toIntWithCheck(long size) {
       if (size > Integer.MAX_VALUE) {
         throw new ParquetEncodingException(
@@ -188,8 +233,18 @@ class ColumnChunkPageWriteStore implements PageWriteStore {
         writer.writeDictionaryPage(dictionaryPage);
         // tracking the dictionary encoding is handled in writeDictionaryPage
       }
+      ColumnIndex columnIndex = null;
+      OffsetIndex offsetIndex = null;
+      if (pageRowCountsKnown && !pageOffsets.isEmpty()) {
+        columnIndex = new ColumnIndex(pageStatistics, pageValueCounts);
+        offsetIndex = new OffsetIndex(pageOffsets, pageSizes, pageFirstRowIndexes);
+      }
       writer.writeDataPages(buf, uncompressedLength, compressedLength, totalStatistics,
-          rlEncodings, dlEncodings, dataEncodings);
+          rlEncodings, dlEncodings, dataEncodings, columnIndex, offsetIndex);
+      if (bloomFilter != null) {
+        writer.writeBloomFilter(bloomFilter);
+        this.bloomFilter = null;
+      }
       writer.endColumn();
       if (LOG.isDebugEnabled()) {
         LOG.debug(
@@ -205,6 +260,18 @@ class ColumnChunkPageWriteStore implements PageWriteStore {
       dlEncodings.clear();
       dataEncodings.clear();
       pageCount = 0;
+      pageStatistics.clear();
+      pageValueCounts.clear();
+      pageOffsets.clear();
+      pageSizes.clear();
+      pageFirstRowIndexes.clear();
+      chunkRowCount = 0;
+      pageRowCountsKnown = true;
+    }
+
+    @Override
+    public void writeBloomFilter(BlockSplitBloomFilter bloomFilter) {
+      this.bloomFilter = bloomFilter;
     }
 
     @Override
@@ -219,7 +286,7 @@ class ColumnChunkPageWriteStore implements PageWriteStore {
       }
       BytesInput dictionaryBytes = dictionaryPage.getBytes();
       int uncompressedSize = (int)dictionaryBytes.size();
-      BytesInput compressedBytes = compressor.compress(dictionaryBytes);
+      BytesInput compressedBytes = compress(dictionaryBytes);
       this.dictionaryPage = new DictionaryPage(BytesInput.copy(compressedBytes), uncompressedSize, dictionaryPage.getDictionarySize(), dictionaryPage.getEncoding());
     }
 
@@ -228,15 +295,39 @@ class ColumnChunkPageWriteStore implements PageWriteStore {
       return buf.memUsageString(prefix + " ColumnChunkPageWriter");
     }
 
+    private BytesInput compress(BytesInput bytes) throws IOException {
+      if (metrics == NoOpParquetMetrics.INSTANCE
+          || compressor.getCodecName() == CompressionCodecName.UNCOMPRESSED) {
+        return compressor.compress(bytes);
+      }
+      long start = System.nanoTime();
+      BytesInput compressedBytes = compressor.compress(bytes);
+      metrics.pageCompressed(columnPath, compressor.getCodecName(),
+          bytes.size(), compressedBytes.size(), System.nanoTime() - start);
+      return compressedBytes;
+    }
+
   }
 
   private final Map<ColumnDescriptor, ColumnChunkPageWriter> writers = new HashMap<ColumnDescriptor, ColumnChunkPageWriter>();
   private final MessageType schema;
 
   public ColumnChunkPageWriteStore(BytesCompressor compressor, MessageType schema, ByteBufferAllocator allocator) {
+    this(compressor, schema, allocator, NoOpParquetMetrics.INSTANCE, false);
+  }
+
+  /**
+   * @param compressor the compressor of the pages
+   * @param schema the schema of the row groups
+   * @param allocator the allocator of the page buffers
+   * @param metrics the metrics that receive the compression events
+   * @param pageIndexEnabled whether column and offset indexes are built for the column chunks
+   */
+  public ColumnChunkPageWriteStore(BytesCompressor compressor, MessageType schema, ByteBufferAllocator allocator,
+                                   ParquetMetrics metrics, boolean pageIndexEnabled) {
     this.schema = schema;
     for (ColumnDescriptor path : schema.getColumns()) {
-      writers.put(path,  new ColumnChunkPageWriter(path, compressor, allocator));
+      writers.put(path,  new ColumnChunkPageWriter(path, compressor, allocator, metrics, pageIndexEnabled));
     }
   }
 
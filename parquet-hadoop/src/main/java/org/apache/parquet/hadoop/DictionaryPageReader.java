@@ -25,11 +25,20 @@ import org.apache.parquet.column.Encoding;
 import org.apache.parquet.column.EncodingStats;
 import org.apache.parquet.column.page.DictionaryPage;
 import org.apache.parquet.column.page.DictionaryPageReadStore;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators;
+import org.apache.parquet.filter2.predicate.UserDefinedPredicate;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
 import org.apache.parquet.io.ParquetDecodingException;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -43,16 +52,37 @@ import static org.apache.parquet.column.Encoding.RLE_DICTIONARY;
  * This implementation will delegate dictionary reads to a
  * {@link ColumnChunkPageReadStore} to avoid extra reads after a row group has
  * been loaded into memory.
+ *
+ * The dictionaries of the columns a filter uses are read together with the
+ * first dictionary requested, in as few reads as the file reader's gap and
+ * merge limits allow. The pages read this way are kept so that the row group
+ * read can use them instead of reading the dictionary bytes again: the page
+ * readers return the pages the filter decoded, with their decoded values, and
+ * decompress the other ones. The file reader keeps the readers of the row
+ * groups to read while their pages fit in its prefetch byte budget.
  */
 class DictionaryPageReader implements DictionaryPageReadStore {
 
   private final ParquetFileReader reader;
   private final Map<String, ColumnChunkMetaData> columns;
   private final Map<String, DictionaryPage> cache = new HashMap<String, DictionaryPage>();
+  private final Map<ColumnPath, CompressedDictionary> compressedPages = new HashMap<ColumnPath, CompressedDictionary>();
+  private final Set<ColumnPath> prefetchColumns;
+  private boolean prefetched = false;
   private ColumnChunkPageReadStore rowGroup = null;
 
   DictionaryPageReader(ParquetFileReader reader, BlockMetaData block) {
+    this(reader, block, Collections.<ColumnPath>emptySet());
+  }
+
+  /**
+   * @param reader the file reader
+   * @param block the row group to read dictionaries from
+   * @param prefetchColumns columns whose dictionaries are read with the first one requested
+   */
+  DictionaryPageReader(ParquetFileReader reader, BlockMetaData block, Set<ColumnPath> prefetchColumns) {
     this.reader = reader;
+    this.prefetchColumns = prefetchColumns;
     this.columns = new HashMap<String, ColumnChunkMetaData>();
     for (ColumnChunkMetaData column : block.getColumns()) {
       columns.put(column.getPath().toDotString(), column);
@@ -93,7 +123,14 @@ class DictionaryPageReader implements DictionaryPageReadStore {
       synchronized (cache) {
         // check the cache again in case this thread waited on another reading the same page
         if (!cache.containsKey(dotPath)) {
-          DictionaryPage dict = hasDictionaryPage(column) ? reader.readDictionary(column) : null;
+          DictionaryPage dict = null;
+          if (hasDictionaryPage(column)) {
+            readCompressedPages(column);
+            CompressedDictionary compressed = compressedPages.get(column.getPath());
+            if (compressed != null) {
+              dict = reader.decompressDictionary(column, compressed.getPage());
+            }
+          }
           // copy the dictionary to ensure it can be reused if it is returned
           // more than once. this can happen when a DictionaryFilter has two or
           // more predicates for the same column.
@@ -108,6 +145,203 @@ class DictionaryPageReader implements DictionaryPageReadStore {
     }
   }
 
+  /**
+   * Reads the compressed dictionary page of the given column, and of the
+   * prefetch columns if this is the first read.
+   * Must be called while holding the cache lock.
+   */
+  private void readCompressedPages(ColumnChunkMetaData column) throws IOException {
+    if (compressedPages.containsKey(column.getPath())) {
+      return;
+    }
+    List<ColumnChunkMetaData> toRead = new ArrayList<ColumnChunkMetaData>();
+    toRead.add(column);
+    if (!prefetched) {
+      this.prefetched = true;
+      for (ColumnChunkMetaData other : columns.values()) {
+        if (other != column && prefetchColumns.contains(other.getPath())
+            && !cache.containsKey(other.getPath().toDotString()) && hasDictionaryPage(other)) {
+          toRead.add(other);
+        }
+      }
+    }
+    compressedPages.putAll(reader.readCompressedDictionaries(toRead));
+  }
+
+  /**
+   * @return the size of the dictionary pages this reader holds, compressed and decompressed
+   */
+  long getRetainedSize() {
+    synchronized (cache) {
+      long size = 0;
+      for (CompressedDictionary compressed : compressedPages.values()) {
+        size += compressed.getPage().getCompressedSize();
+      }
+      for (DictionaryPage page : cache.values()) {
+        if (page != null) {
+          size += page.getUncompressedSize();
+        }
+      }
+      return size;
+    }
+  }
+
+  /**
+   * Returns the dictionary page of a column that was decoded for the filter.
+   * The page readers of the row group return it instead of decoding the
+   * dictionary again.
+   *
+   * @param column a column of this reader's row group
+   * @return the decoded dictionary page, or null if it was not decoded
+   */
+  DictionaryPage getDecodedDictionary(ColumnPath column) {
+    synchronized (cache) {
+      DictionaryPage page = cache.get(column.toDotString());
+      return page != null && page.isDecoded() ? page : null;
+    }
+  }
+
+  /**
+   * Returns the dictionary page of a column as stored in the file, if it was
+   * already read for this reader. A row group read can start at the page that
+   * follows it and use this page instead.
+   *
+   * @param column a column of this reader's row group
+   * @return the compressed dictionary page, or null if it was not read
+   */
+  CompressedDictionary getCompressedDictionary(ColumnPath column) {
+    synchronized (cache) {
+      return compressedPages.get(column);
+    }
+  }
+
+  /**
+   * @param filter a filter
+   * @return the columns used by the filter's predicate, if it has one
+   */
+  static Set<ColumnPath> filterColumns(FilterCompat.Filter filter) {
+    return filter.accept(new FilterCompat.Visitor<Set<ColumnPath>>() {
+      @Override
+      public Set<ColumnPath> visit(FilterCompat.FilterPredicateCompat filterPredicateCompat) {
+        Set<ColumnPath> columns = new HashSet<ColumnPath>();
+        filterPredicateCompat.getFilterPredicate().accept(new ColumnCollector(columns));
+        return columns;
+      }
+
+      @Override
+      public Set<ColumnPath> visit(FilterCompat.UnboundRecordFilterCompat unboundRecordFilterCompat) {
+        return Collections.emptySet();
+      }
+
+      @Override
+      public Set<ColumnPath> visit(FilterCompat.NoOpFilter noOpFilter) {
+        return Collections.emptySet();
+      }
+    });
+  }
+
+  private static class ColumnCollector implements FilterPredicate.Visitor<Void> {
+    private final Set<ColumnPath> columns;
+
+    private ColumnCollector(Set<ColumnPath> columns) {
+      this.columns = columns;
+    }
+
+    private Void add(Operators.Column<?> column) {
+      columns.add(column.getColumnPath());
+      return null;
+    }
+
+    @Override
+    public <T extends Comparable<T>> Void visit(Operators.Eq<T> eq) {
+      return add(eq.getColumn());
+    }
+
+    @Override
+    public <T extends Comparable<T>> Void visit(Operators.NotEq<T> notEq) {
+      return add(notEq.getColumn());
+    }
+
+    @Override
+    public <T extends Comparable<T>> Void visit(Operators.Lt<T> lt) {
+      return add(lt.getColumn());
+    }
+
+    @Override
+    public <T extends Comparable<T>> Void visit(Operators.LtEq<T> ltEq) {
+      return add(ltEq.getColumn());
+    }
+
+    @Override
+    public <T extends Comparable<T>> Void visit(Operators.Gt<T> gt) {
+      return add(gt.getColumn());
+    }
+
+    @Override
+    public <T extends Comparable<T>> Void visit(Operators.GtEq<T> gtEq) {
+      return add(gtEq.getColumn());
+    }
+
+    @Override
+    public <T extends Comparable<T>> Void visit(Operators.In<T> in) {
+      return add(in.getColumn());
+    }
+
+    @Override
+    public <T extends Comparable<T>> Void visit(Operators.NotIn<T> notIn) {
+      return add(notIn.getColumn());
+    }
+
+    @Override
+    public Void visit(Operators.And and) {
+      and.getLeft().accept(this);
+      return and.getRight().accept(this);
+    }
+
+    @Override
+    public Void visit(Operators.Or or) {
+      or.getLeft().accept(this);
+      return or.getRight().accept(this);
+    }
+
+    @Override
+    public Void visit(Operators.Not not) {
+      return not.getPredicate().accept(this);
+    }
+
+    @Override
+    public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> Void visit(Operators.UserDefined<T, U> udp) {
+      return add(udp.getColumn());
+    }
+
+    @Override
+    public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> Void visit(Operators.LogicalNotUserDefined<T, U> udp) {
+      return add(udp.getUserDefined().getColumn());
+    }
+  }
+
+  /**
+   * A dictionary page as stored in the file and the offset of the page that
+   * follows it in its column chunk.
+   */
+  static class CompressedDictionary {
+    private final DictionaryPage page;
+    private final long dataOffset;
+
+    CompressedDictionary(DictionaryPage page, long dataOffset) {
+      this.page = page;
+      this.dataOffset = dataOffset;
+    }
+
+    DictionaryPage getPage() {
+      return page;
+    }
+
+    long getDataOffset() {
+      return dataOffset;
+    }
+  }
+
   private static DictionaryPage reusableCopy(DictionaryPage dict) {
     if (dict == null) {
       return null;
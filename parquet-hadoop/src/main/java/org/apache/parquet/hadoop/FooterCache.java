@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.parquet.column.statistics.BinaryStatistics;
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A JVM-wide cache of file footers, shared by all {@link ParquetFileReader}
+ * instances and footer reads when {@link ParquetInputFormat#FOOTER_CACHE_ENABLED}
+ * is set.
+ *
+ * Footers are keyed by path, length and modification time, so a file that is
+ * replaced gets a new entry and the old one is eventually evicted. Entries are
+ * weighed by the estimated heap size of the decoded footer and the least
+ * recently used entries are evicted when the total exceeds the byte budget.
+ *
+ * Cached footers hold every row group and column; callers apply their own
+ * metadata filter and projection to copies of the blocks.
+ */
+public final class FooterCache {
+  private static final Logger LOG = LoggerFactory.getLogger(FooterCache.class);
+
+  // rough heap sizes of the decoded meta data objects
+  private static final long FOOTER_OVERHEAD = 1024;
+  private static final long BLOCK_OVERHEAD = 96;
+  private static final long COLUMN_OVERHEAD = 320;
+
+  private static FooterCache instance = null;
+
+  /**
+   * Returns the shared cache, creating it with the given budget if it does not
+   * exist yet.
+   *
+   * @param maxBytes the byte budget used if the cache is created
+   * @return the JVM-wide footer cache
+   */
+  static synchronized FooterCache getInstance(long maxBytes) {
+    if (instance == null) {
+      instance = new FooterCache(maxBytes);
+    }
+    return instance;
+  }
+
+  /**
+   * @return the JVM-wide footer cache, or null if no reader has enabled it
+   */
+  public static synchronized FooterCache getInstance() {
+    return instance;
+  }
+
+  private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true);
+  private long maxBytes;
+  private long currentBytes = 0;
+  private long hitCount = 0;
+  private long missCount = 0;
+  private long evictionCount = 0;
+
+  FooterCache(long maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * @param status the status of a file
+   * @return the cached footer of the file, or null if it is not cached
+   */
+  public synchronized ParquetMetadata get(FileStatus status) {
+    Entry entry = entries.get(new Key(status));
+    if (entry == null) {
+      missCount += 1;
+      return null;
+    }
+    hitCount += 1;
+    return entry.footer;
+  }
+
+  /**
+   * Adds the complete footer of a file. Footers larger than the whole budget
+   * are not cached.
+   *
+   * @param status the status of the file the footer was read from
+   * @param footer the footer, with all row groups and columns
+   */
+  public synchronized void put(FileStatus status, ParquetMetadata footer) {
+    long weight = estimateSize(footer);
+    if (weight > maxBytes) {
+      LOG.debug("Not caching footer of {}: {} bytes is larger than the cache", status.getPath(), weight);
+      return;
+    }
+    Entry previous = entries.put(new Key(status), new Entry(footer, weight));
+    if (previous != null) {
+      currentBytes -= previous.weight;
+    }
+    currentBytes += weight;
+    evict();
+  }
+
+  /**
+   * Changes the byte budget, evicting entries if the cache is now too large.
+   *
+   * @param maxBytes the maximum estimated size of all cached footers
+   */
+  public synchronized void setMaxBytes(long maxBytes) {
+    this.maxBytes = maxBytes;
+    evict();
+  }
+
+  /**
+   * Removes all footers. Metrics are not reset.
+   */
+  public synchronized void clear() {
+    entries.clear();
+    currentBytes = 0;
+  }
+
+  public synchronized long getMaxBytes() {
+    return maxBytes;
+  }
+
+  /**
+   * @return the estimated size of all cached footers
+   */
+  public synchronized long getCurrentBytes() {
+    return currentBytes;
+  }
+
+  /**
+   * @return the number of cached footers
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  public synchronized long getMissCount() {
+    return missCount;
+  }
+
+  public synchronized long getEvictionCount() {
+    return evictionCount;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "FooterCache{entries=" + entries.size() + ", bytes=" + currentBytes + "/" + maxBytes
+        + ", hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount + "}";
+  }
+
+  private void evict() {
+    Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+    while (currentBytes > maxBytes && iterator.hasNext()) {
+      Map.Entry<Key, Entry> eldest = iterator.next();
+      LOG.debug("Evicting footer of {}", eldest.getKey().path);
+      currentBytes -= eldest.getValue().weight;
+      evictionCount += 1;
+      iterator.remove();
+    }
+  }
+
+  /**
+   * @param footer a footer
+   * @return an estimate of the heap used by the footer
+   */
+  static long estimateSize(ParquetMetadata footer) {
+    long size = FOOTER_OVERHEAD;
+    Map<String, String> keyValueMetaData = footer.getFileMetaData().getKeyValueMetaData();
+    for (Map.Entry<String, String> kv : keyValueMetaData.entrySet()) {
+      size += 2 * (kv.getKey().length() + kv.getValue().length());
+    }
+    size += COLUMN_OVERHEAD * footer.getFileMetaData().getSchema().getColumns().size();
+    for (BlockMetaData block : footer.getBlocks()) {
+      size += BLOCK_OVERHEAD;
+      for (ColumnChunkMetaData column : block.getColumns()) {
+        size += COLUMN_OVERHEAD;
+        Statistics stats = column.getStatistics();
+        if (stats instanceof BinaryStatistics && stats.hasNonNullValue()) {
+          BinaryStatistics binaryStats = (BinaryStatistics) stats;
+          size += binaryStats.genericGetMin().length() + binaryStats.genericGetMax().length();
+        }
+      }
+    }
+    return size;
+  }
+
+  private static final class Key {
+    private final String path;
+    private final long length;
+    private final long modificationTime;
+
+    private Key(FileStatus status) {
+      this.path = status.getPath().toString();
+      this.length = status.getLen();
+      this.modificationTime = status.getModificationTime();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof Key)) {
+        return false;
+      }
+      Key that = (Key) other;
+      return length == that.length
+          && modificationTime == that.modificationTime
+          && path.equals(that.path);
+    }
+
+    @Override
+    public int hashCode() {
+      int result = path.hashCode();
+      result = 31 * result + (int) (length ^ (length >>> 32));
+      result = 31 * result + (int) (modificationTime ^ (modificationTime >>> 32));
+      return result;
+    }
+  }
+
+  private static final class Entry {
+    private final ParquetMetadata footer;
+    private final long weight;
+
+    private Entry(ParquetMetadata footer, long weight) {
+      this.footer = footer;
+      this.weight = weight;
+    }
+  }
+}
@@ -31,10 +31,12 @@ import org.apache.parquet.column.page.PageReadStore;
 import org.apache.parquet.filter.UnboundRecordFilter;
 import org.apache.parquet.filter2.compat.FilterCompat;
 import org.apache.parquet.filter2.compat.FilterCompat.Filter;
+import org.apache.parquet.format.converter.ParquetMetadataConverter.ColumnProjection;
 import org.apache.parquet.hadoop.api.InitContext;
 import org.apache.parquet.hadoop.api.ReadSupport;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
 import org.apache.parquet.hadoop.metadata.FileMetaData;
-import org.apache.parquet.hadoop.util.counters.BenchmarkCounter;
+import org.apache.parquet.hadoop.metrics.NoOpParquetMetrics;
 import org.apache.parquet.io.ColumnIOFactory;
 import org.apache.parquet.io.MessageColumnIO;
 import org.apache.parquet.io.ParquetDecodingException;
@@ -46,6 +48,8 @@ import org.slf4j.LoggerFactory;
 
 import static java.lang.String.format;
 import static org.apache.parquet.Preconditions.checkNotNull;
+import static org.apache.parquet.hadoop.ParquetInputFormat.RECORD_FILTERING_COMPILED;
+import static org.apache.parquet.hadoop.ParquetInputFormat.RECORD_FILTERING_COMPILED_DEFAULT;
 import static org.apache.parquet.hadoop.ParquetInputFormat.RECORD_FILTERING_ENABLED;
 import static org.apache.parquet.hadoop.ParquetInputFormat.RECORD_FILTERING_ENABLED_DEFAULT;
 import static org.apache.parquet.hadoop.ParquetInputFormat.STRICT_TYPE_CHECKING;
@@ -56,6 +60,7 @@ class InternalParquetRecordReader<T> {
   private ColumnIOFactory columnIOFactory = null;
   private final Filter filter;
   private boolean filterRecords = true;
+  private boolean compileFilter = false;
 
   private MessageType requestedSchema;
   private MessageType fileSchema;
@@ -78,8 +83,17 @@ class InternalParquetRecordReader<T> {
 
   private long totalCountLoadedSoFar = 0;
 
+  // reported to the file reader's metrics once per row group
+  private boolean measureRecords = false;
+  private long currentRowGroupStart = 0;
+  private long currentRowGroupStartNanos = 0;
+
   private UnmaterializableRecordCounter unmaterializableRecordCounter;
 
+  // the read context of the file schema it was initialized with, if it was initialized before the file was opened
+  private ReadSupport.ReadContext readContext = null;
+  private MessageType readContextSchema = null;
+
   /**
    * @param readSupport Object which helps reads files of the given type, e.g. Thrift, Avro.
    * @param filter for filtering individual records
@@ -108,6 +122,7 @@ class InternalParquetRecordReader<T> {
 
   private void checkRead() throws IOException {
     if (current == totalCountLoadedSoFar) {
+      reportRecordsRead();
       if (current != 0) {
         totalTimeSpentProcessingRecords += (System.currentTimeMillis() - startedAssemblingCurrentBlockAt);
         if (LOG.isInfoEnabled()) {
@@ -129,13 +144,16 @@ class InternalParquetRecordReader<T> {
       }
       long timeSpentReading = System.currentTimeMillis() - t0;
       totalTimeSpentReadingBytes += timeSpentReading;
-      BenchmarkCounter.incrementTime(timeSpentReading);
       if (LOG.isInfoEnabled()) LOG.info("block read in memory in {} ms. row count = {}", timeSpentReading, pages.getRowCount());
       LOG.debug("initializing Record assembly with requested schema {}", requestedSchema);
       MessageColumnIO columnIO = columnIOFactory.getColumnIO(requestedSchema, fileSchema, strictTypeChecking);
       recordReader = columnIO.getRecordReader(pages, recordConverter,
-          filterRecords ? filter : FilterCompat.NOOP);
+          filterRecords ? filter : FilterCompat.NOOP, compileFilter);
       startedAssemblingCurrentBlockAt = System.currentTimeMillis();
+      if (measureRecords) {
+        currentRowGroupStartNanos = System.nanoTime();
+      }
+      currentRowGroupStart = totalCountLoadedSoFar;
       totalCountLoadedSoFar += pages.getRowCount();
       ++ currentBlock;
     }
@@ -143,10 +161,18 @@ class InternalParquetRecordReader<T> {
 
   public void close() throws IOException {
     if (reader != null) {
+      reportRecordsRead();
       reader.close();
     }
   }
 
+  private void reportRecordsRead() {
+    if (measureRecords && current > currentRowGroupStart) {
+      reader.getMetrics().recordsRead(current - currentRowGroupStart, System.nanoTime() - currentRowGroupStartNanos);
+      this.currentRowGroupStart = current;
+    }
+  }
+
   public Void getCurrentKey() throws IOException, InterruptedException {
     return null;
   }
@@ -167,19 +193,22 @@ class InternalParquetRecordReader<T> {
     FileMetaData parquetFileMetadata = reader.getFooter().getFileMetaData();
     this.fileSchema = parquetFileMetadata.getSchema();
     Map<String, String> fileMetadata = parquetFileMetadata.getKeyValueMetaData();
-    ReadSupport.ReadContext readContext = readSupport.init(new InitContext(
-        configuration, toSetMultiMap(fileMetadata), fileSchema));
+    ReadSupport.ReadContext readContext = initReadContext(configuration, fileSchema, fileMetadata);
     this.columnIOFactory = new ColumnIOFactory(parquetFileMetadata.getCreatedBy());
     this.requestedSchema = readContext.getRequestedSchema();
     this.columnCount = requestedSchema.getPaths().size();
     this.recordConverter = readSupport.prepareForRead(
         configuration, fileMetadata, fileSchema, readContext);
     this.strictTypeChecking = configuration.getBoolean(STRICT_TYPE_CHECKING, true);
-    this.total = reader.getRecordCount();
+    reader.setRequestedSchema(requestedSchema);
+    this.measureRecords = reader.getMetrics() != NoOpParquetMetrics.INSTANCE;
+    // rows in pages skipped using the page indexes are not read
+    this.total = reader.getFilteredRecordCount();
     this.unmaterializableRecordCounter = new UnmaterializableRecordCounter(configuration, total);
     this.filterRecords = configuration.getBoolean(
         RECORD_FILTERING_ENABLED, RECORD_FILTERING_ENABLED_DEFAULT);
-    reader.setRequestedSchema(requestedSchema);
+    this.compileFilter = configuration.getBoolean(
+        RECORD_FILTERING_COMPILED, RECORD_FILTERING_COMPILED_DEFAULT);
     LOG.info("RecordReader initialized will read a total of {} records.", total);
   }
 
@@ -226,6 +255,42 @@ class InternalParquetRecordReader<T> {
     return true;
   }
 
+  /**
+   * Returns a projection of a file's footer on the columns the read support
+   * requests, so that the meta data of the other columns is not decoded. The
+   * read support is initialized when the footer is read.
+   *
+   * @param configuration the configuration of the read
+   * @param filterColumns the columns row groups are filtered on
+   * @return a projection on the requested columns, which reads the meta data of
+   *         all the columns if row groups are filtered on columns that are not requested
+   */
+  ColumnProjection getFooterProjection(final Configuration configuration, final Set<ColumnPath> filterColumns) {
+    return new ColumnProjection() {
+      @Override
+      public MessageType getRequestedSchema(MessageType fileSchema, Map<String, String> keyValueMetaData) {
+        MessageType requested = initReadContext(configuration, fileSchema, keyValueMetaData).getRequestedSchema();
+        for (ColumnPath column : filterColumns) {
+          if (!requested.containsPath(column.toArray())) {
+            // row groups are filtered with the meta data of all the filter's columns
+            return null;
+          }
+        }
+        return requested;
+      }
+    };
+  }
+
+  private ReadSupport.ReadContext initReadContext(Configuration configuration, MessageType fileSchema,
+                                                  Map<String, String> fileMetadata) {
+    if (readContext == null || !fileSchema.equals(readContextSchema)) {
+      this.readContext = readSupport.init(new InitContext(
+          configuration, toSetMultiMap(fileMetadata), fileSchema));
+      this.readContextSchema = fileSchema;
+    }
+    return readContext;
+  }
+
   private static <K, V> Map<K, Set<V>> toSetMultiMap(Map<K, V> map) {
     Map<K, Set<V>> setMultiMap = new HashMap<K, Set<V>>();
     for (Map.Entry<K, V> entry : map.entrySet()) {
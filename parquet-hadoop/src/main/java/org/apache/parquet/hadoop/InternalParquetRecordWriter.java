@@ -32,6 +32,8 @@ import org.apache.parquet.column.ParquetProperties;
 import org.apache.parquet.hadoop.CodecFactory.BytesCompressor;
 import org.apache.parquet.hadoop.api.WriteSupport;
 import org.apache.parquet.hadoop.api.WriteSupport.FinalizedWriteContext;
+import org.apache.parquet.hadoop.metrics.NoOpParquetMetrics;
+import org.apache.parquet.hadoop.metrics.ParquetMetrics;
 import org.apache.parquet.io.ColumnIOFactory;
 import org.apache.parquet.io.MessageColumnIO;
 import org.apache.parquet.io.api.RecordConsumer;
@@ -55,6 +57,7 @@ class InternalParquetRecordWriter<T> {
   private final BytesCompressor compressor;
   private final boolean validating;
   private final ParquetProperties props;
+  private final ParquetMetrics metrics;
 
   private boolean closed;
 
@@ -83,6 +86,29 @@ class InternalParquetRecordWriter<T> {
       BytesCompressor compressor,
       boolean validating,
       ParquetProperties props) {
+    this(parquetFileWriter, writeSupport, schema, extraMetaData, rowGroupSize,
+        compressor, validating, props, NoOpParquetMetrics.INSTANCE);
+  }
+
+  /**
+   * @param parquetFileWriter the file to write to
+   * @param writeSupport the class to convert incoming records
+   * @param schema the schema of the records
+   * @param extraMetaData extra meta data to write in the footer of the file
+   * @param rowGroupSize the size of a block in the file (this will be approximate)
+   * @param compressor the codec used to compress
+   * @param metrics receives the page compression and row group events
+   */
+  public InternalParquetRecordWriter(
+      ParquetFileWriter parquetFileWriter,
+      WriteSupport<T> writeSupport,
+      MessageType schema,
+      Map<String, String> extraMetaData,
+      long rowGroupSize,
+      BytesCompressor compressor,
+      boolean validating,
+      ParquetProperties props,
+      ParquetMetrics metrics) {
     this.parquetFileWriter = parquetFileWriter;
     this.writeSupport = checkNotNull(writeSupport, "writeSupport");
     this.schema = schema;
@@ -93,11 +119,13 @@ class InternalParquetRecordWriter<T> {
     this.compressor = compressor;
     this.validating = validating;
     this.props = props;
+    this.metrics = checkNotNull(metrics, "metrics");
     initStore();
   }
 
   private void initStore() {
-    pageStore = new ColumnChunkPageWriteStore(compressor, schema, props.getAllocator());
+    pageStore = new ColumnChunkPageWriteStore(compressor, schema, props.getAllocator(), metrics,
+        props.isPageIndexEnabled());
     columnStore = props.newColumnWriteStore(schema, pageStore);
     MessageColumnIO columnIO = new ColumnIOFactory(validating).getColumnIO(schema);
     this.recordConsumer = columnIO.getRecordWriter(columnStore);
@@ -164,10 +192,12 @@ class InternalParquetRecordWriter<T> {
 
     if (recordCount > 0) {
       parquetFileWriter.startBlock(recordCount);
+      long startPos = parquetFileWriter.getPos();
       columnStore.flush();
       pageStore.flushToFileWriter(parquetFileWriter);
-      recordCount = 0;
       parquetFileWriter.endBlock();
+      metrics.rowGroupWritten(recordCount, parquetFileWriter.getPos() - startPos);
+      recordCount = 0;
       this.nextRowGroupSize = Math.min(
           parquetFileWriter.getNextRowGroupSize(),
           rowGroupSizeThreshold);
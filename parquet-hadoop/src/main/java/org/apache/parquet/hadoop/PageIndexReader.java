@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.parquet.filter2.columnindex.PageIndexReadStore;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnIndex;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.hadoop.metadata.OffsetIndex;
+import org.apache.parquet.io.ParquetDecodingException;
+
+/**
+ * A {@link PageIndexReadStore} implementation that reads the page indexes of a
+ * row group from an open {@link ParquetFileReader} the first time they are
+ * requested.
+ */
+class PageIndexReader implements PageIndexReadStore {
+
+  private final ParquetFileReader reader;
+  private final Map<ColumnPath, ColumnChunkMetaData> columns = new HashMap<ColumnPath, ColumnChunkMetaData>();
+  private final Map<ColumnPath, ColumnIndex> columnIndexCache = new HashMap<ColumnPath, ColumnIndex>();
+  private final Map<ColumnPath, OffsetIndex> offsetIndexCache = new HashMap<ColumnPath, OffsetIndex>();
+
+  PageIndexReader(ParquetFileReader reader, BlockMetaData block) {
+    this.reader = reader;
+    for (ColumnChunkMetaData column : block.getColumns()) {
+      columns.put(column.getPath(), column);
+    }
+  }
+
+  @Override
+  public ColumnIndex getColumnIndex(ColumnPath path) {
+    if (!columnIndexCache.containsKey(path)) {
+      ColumnChunkMetaData column = getColumn(path);
+      try {
+        columnIndexCache.put(path, reader.readColumnIndex(column));
+      } catch (IOException e) {
+        throw new ParquetDecodingException("Failed to read the column index of " + path, e);
+      }
+    }
+    return columnIndexCache.get(path);
+  }
+
+  @Override
+  public OffsetIndex getOffsetIndex(ColumnPath path) {
+    if (!offsetIndexCache.containsKey(path)) {
+      ColumnChunkMetaData column = getColumn(path);
+      try {
+        offsetIndexCache.put(path, reader.readOffsetIndex(column));
+      } catch (IOException e) {
+        throw new ParquetDecodingException("Failed to read the offset index of " + path, e);
+      }
+    }
+    return offsetIndexCache.get(path);
+  }
+
+  private ColumnChunkMetaData getColumn(ColumnPath path) {
+    ColumnChunkMetaData column = columns.get(path);
+    if (column == null) {
+      throw new ParquetDecodingException("Cannot load page indexes, unknown column: " + path.toDotString());
+    }
+    return column;
+  }
+}
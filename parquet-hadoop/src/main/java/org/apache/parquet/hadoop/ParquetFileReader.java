@@ -18,29 +18,68 @@
  */
 package org.apache.parquet.hadoop;
 
+import static org.apache.parquet.Preconditions.checkNotNull;
 import static org.apache.parquet.bytes.BytesUtils.readIntLittleEndian;
+import static org.apache.parquet.filter2.compat.RowGroupFilter.FilterLevel.BLOOMFILTER;
 import static org.apache.parquet.filter2.compat.RowGroupFilter.FilterLevel.DICTIONARY;
 import static org.apache.parquet.filter2.compat.RowGroupFilter.FilterLevel.STATISTICS;
 import static org.apache.parquet.format.converter.ParquetMetadataConverter.NO_FILTER;
 import static org.apache.parquet.format.converter.ParquetMetadataConverter.SKIP_ROW_GROUPS;
+import static org.apache.parquet.format.converter.ParquetMetadataConverter.filterParquetMetadata;
 import static org.apache.parquet.hadoop.ParquetFileWriter.MAGIC;
 import static org.apache.parquet.hadoop.ParquetFileWriter.PARQUET_COMMON_METADATA_FILE;
 import static org.apache.parquet.hadoop.ParquetFileWriter.PARQUET_METADATA_FILE;
+import static org.apache.parquet.hadoop.ParquetInputFormat.BLOOM_FILTERING_ENABLED;
+import static org.apache.parquet.hadoop.ParquetInputFormat.BLOOM_FILTERING_ENABLED_DEFAULT;
+import static org.apache.parquet.hadoop.ParquetInputFormat.COLUMN_INDEX_FILTERING_ENABLED;
+import static org.apache.parquet.hadoop.ParquetInputFormat.COLUMN_INDEX_FILTERING_ENABLED_DEFAULT;
 import static org.apache.parquet.hadoop.ParquetInputFormat.DICTIONARY_FILTERING_ENABLED;
 import static org.apache.parquet.hadoop.ParquetInputFormat.DICTIONARY_FILTERING_ENABLED_DEFAULT;
+import static org.apache.parquet.hadoop.ParquetInputFormat.FOOTER_CACHE_ENABLED;
+import static org.apache.parquet.hadoop.ParquetInputFormat.FOOTER_CACHE_ENABLED_DEFAULT;
+import static org.apache.parquet.hadoop.ParquetInputFormat.FOOTER_CACHE_MAX_BYTES;
+import static org.apache.parquet.hadoop.ParquetInputFormat.FOOTER_CACHE_MAX_BYTES_DEFAULT;
+import static org.apache.parquet.hadoop.ParquetInputFormat.FOOTER_READ_SIZE;
+import static org.apache.parquet.hadoop.ParquetInputFormat.FOOTER_READ_SIZE_DEFAULT;
+import static org.apache.parquet.hadoop.ParquetInputFormat.PAGE_STREAMING_ENABLED;
+import static org.apache.parquet.hadoop.ParquetInputFormat.PAGE_STREAMING_ENABLED_DEFAULT;
+import static org.apache.parquet.hadoop.ParquetInputFormat.PARALLEL_DECOMPRESSION_BUFFER_SIZE;
+import static org.apache.parquet.hadoop.ParquetInputFormat.PARALLEL_DECOMPRESSION_BUFFER_SIZE_DEFAULT;
+import static org.apache.parquet.hadoop.ParquetInputFormat.PARALLEL_DECOMPRESSION_ENABLED;
+import static org.apache.parquet.hadoop.ParquetInputFormat.PARALLEL_DECOMPRESSION_ENABLED_DEFAULT;
+import static org.apache.parquet.hadoop.ParquetInputFormat.PREFETCH_DEPTH;
+import static org.apache.parquet.hadoop.ParquetInputFormat.PREFETCH_DEPTH_DEFAULT;
+import static org.apache.parquet.hadoop.ParquetInputFormat.PREFETCH_ENABLED;
+import static org.apache.parquet.hadoop.ParquetInputFormat.PREFETCH_ENABLED_DEFAULT;
+import static org.apache.parquet.hadoop.ParquetInputFormat.PREFETCH_MAX_BYTES;
+import static org.apache.parquet.hadoop.ParquetInputFormat.PREFETCH_MAX_BYTES_DEFAULT;
+import static org.apache.parquet.hadoop.ParquetInputFormat.READ_BUFFER_POOLING_ENABLED;
+import static org.apache.parquet.hadoop.ParquetInputFormat.READ_BUFFER_POOLING_ENABLED_DEFAULT;
+import static org.apache.parquet.hadoop.ParquetInputFormat.READ_BUFFER_SEGMENT_SIZE;
+import static org.apache.parquet.hadoop.ParquetInputFormat.READ_BUFFER_SEGMENT_SIZE_DEFAULT;
+import static org.apache.parquet.hadoop.ParquetInputFormat.READ_MAX_GAP;
+import static org.apache.parquet.hadoop.ParquetInputFormat.READ_MAX_GAP_DEFAULT;
+import static org.apache.parquet.hadoop.ParquetInputFormat.READ_MAX_MERGED_SIZE;
+import static org.apache.parquet.hadoop.ParquetInputFormat.READ_MAX_MERGED_SIZE_DEFAULT;
 import static org.apache.parquet.hadoop.ParquetInputFormat.STATS_FILTERING_ENABLED;
 import static org.apache.parquet.hadoop.ParquetInputFormat.STATS_FILTERING_ENABLED_DEFAULT;
 
+import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.SequenceInputStream;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -49,7 +88,11 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.hadoop.conf.Configurable;
 import org.apache.hadoop.conf.Configuration;
@@ -57,13 +100,18 @@ import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 
+import org.apache.parquet.Ints;
 import org.apache.parquet.bytes.ByteBufferAllocator;
-import org.apache.parquet.bytes.ByteBufferInputStream;
 import org.apache.parquet.bytes.HeapByteBufferAllocator;
-import org.apache.parquet.column.Encoding;
+import org.apache.parquet.bytes.PooledByteBufferAllocator;
+import org.apache.parquet.bytes.MultiBufferInputStream;
 import org.apache.parquet.column.page.DictionaryPageReadStore;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.columnindex.ColumnIndexFilter;
+import org.apache.parquet.filter2.columnindex.RowRanges;
 import org.apache.parquet.filter2.compat.FilterCompat;
 import org.apache.parquet.filter2.compat.RowGroupFilter;
+import org.apache.parquet.filter2.bloomfilterlevel.BloomFilterReadStore;
 
 import org.apache.parquet.bytes.BytesInput;
 import org.apache.parquet.column.ColumnDescriptor;
@@ -71,7 +119,11 @@ import org.apache.parquet.column.page.DataPage;
 import org.apache.parquet.column.page.DataPageV1;
 import org.apache.parquet.column.page.DataPageV2;
 import org.apache.parquet.column.page.DictionaryPage;
+import org.apache.parquet.column.page.Page;
 import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.column.page.PageReader;
+import org.apache.parquet.column.page.SkippablePageReader;
+import org.apache.parquet.column.values.bloomfilter.BlockSplitBloomFilter;
 import org.apache.parquet.hadoop.metadata.ColumnPath;
 import org.apache.parquet.format.DataPageHeader;
 import org.apache.parquet.format.DataPageHeaderV2;
@@ -79,18 +131,27 @@ import org.apache.parquet.format.DictionaryPageHeader;
 import org.apache.parquet.format.PageHeader;
 import org.apache.parquet.format.Util;
 import org.apache.parquet.format.converter.ParquetMetadataConverter;
+import org.apache.parquet.format.converter.ParquetMetadataConverter.ColumnProjection;
 import org.apache.parquet.format.converter.ParquetMetadataConverter.MetadataFilter;
 import org.apache.parquet.hadoop.CodecFactory.BytesDecompressor;
 import org.apache.parquet.hadoop.ColumnChunkPageReadStore.ColumnChunkPageReader;
+import org.apache.parquet.hadoop.ColumnChunkPageReadStore.EagerDecompressor;
+import org.apache.parquet.hadoop.ColumnChunkPageReadStore.MeasuredDecompressor;
+import org.apache.parquet.hadoop.ColumnChunkPageReadStore.ParallelColumnChunkPageReader;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnIndex;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
 import org.apache.parquet.hadoop.metadata.FileMetaData;
+import org.apache.parquet.hadoop.metadata.IndexReference;
+import org.apache.parquet.hadoop.metadata.OffsetIndex;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.hadoop.metrics.NoOpParquetMetrics;
+import org.apache.parquet.hadoop.metrics.ParquetMetrics;
 import org.apache.parquet.hadoop.util.HadoopInputFile;
 import org.apache.parquet.hadoop.util.HiddenFileFilter;
-import org.apache.parquet.hadoop.util.HadoopStreams;
+import org.apache.parquet.io.MappedSeekableInputStream;
 import org.apache.parquet.io.SeekableInputStream;
-import org.apache.parquet.hadoop.util.counters.BenchmarkCounter;
 import org.apache.parquet.io.ParquetDecodingException;
 import org.apache.parquet.io.InputFile;
 import org.apache.parquet.schema.MessageType;
@@ -108,8 +169,34 @@ public class ParquetFileReader implements Closeable {
 
   private static final Logger LOG = LoggerFactory.getLogger(ParquetFileReader.class);
 
+  private static final int FOOTER_LENGTH_SIZE = 4;
+
   public static String PARQUET_READ_PARALLELISM = "parquet.metadata.read.parallelism";
 
+  /**
+   * shared by all readers to load row groups in the background when prefetching is enabled.
+   * threads are daemons so that an unclosed reader does not prevent the JVM from exiting.
+   */
+  private static final ExecutorService PREFETCH_EXECUTOR = Executors.newCachedThreadPool(new ThreadFactory() {
+    private final AtomicInteger threadCount = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "parquet-prefetch-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  });
+
+  /**
+   * shared by all readers to decompress the pages of columns in parallel when
+   * parallel decompression is enabled. fork-join worker threads are daemons.
+   */
+  private static final ForkJoinPool DECOMPRESSION_POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+  // allocates the buffers that are not returned to the allocator
+  private static final ByteBufferAllocator HEAP_ALLOCATOR = new HeapByteBufferAllocator();
+
   private final ParquetMetadataConverter converter;
 
   /**
@@ -442,44 +529,129 @@ public class ParquetFileReader implements Closeable {
    */
   public static final ParquetMetadata readFooter(
       InputFile file, MetadataFilter filter) throws IOException {
+    return readFooter(file, filter, null);
+  }
+
+  /**
+   * Reads the meta data block in the footer of the file, with the column chunk
+   * meta data of only the requested columns.
+   * @param file a {@link InputFile} to read
+   * @param filter the filter to apply to row groups
+   * @param projection the columns to read the meta data of, or null for all columns
+   * @return the metadata blocks in the footer
+   * @throws IOException if an error occurs while reading the file
+   * @see ParquetMetadataConverter#readParquetMetadata(InputStream, MetadataFilter, MessageType)
+   */
+  public static final ParquetMetadata readFooter(
+      InputFile file, MetadataFilter filter, MessageType projection) throws IOException {
+    ColumnProjection columns = (projection == null) ? null : ParquetMetadataConverter.projection(projection);
     ParquetMetadataConverter converter;
     // TODO: remove this temporary work-around.
     // this is necessary to pass the Configuration to ParquetMetadataConverter
     // and should be removed when there is a non-Hadoop configuration.
+    int footerReadSize = FOOTER_READ_SIZE_DEFAULT;
+    FooterCache cache = null;
     if (file instanceof HadoopInputFile) {
-      converter = new ParquetMetadataConverter(
-          ((HadoopInputFile) file).getConfiguration());
+      Configuration conf = ((HadoopInputFile) file).getConfiguration();
+      converter = new ParquetMetadataConverter(conf);
+      footerReadSize = conf.getInt(FOOTER_READ_SIZE, FOOTER_READ_SIZE_DEFAULT);
+      cache = footerCache(conf);
     } else {
       converter = new ParquetMetadataConverter();
     }
+    if (cache != null) {
+      FileStatus status = ((HadoopInputFile) file).getFileStatus();
+      ParquetMetadata cached = cache.get(status);
+      if (cached != null) {
+        return filterParquetMetadata(cached, filter, columns);
+      }
+    }
     try (SeekableInputStream in = file.newStream()) {
+      long fileLen = file.getLength();
+      FileTail tail = readTail(fileLen, file.toString(), in, footerReadSize);
+      if (cache != null) {
+        return readAndCacheFooter(cache, (HadoopInputFile) file, converter, in, filter, columns, tail);
+      }
+      return readFooter(converter, fileLen, file.toString(), in, filter, columns, tail);
+    }
+  }
 
-      return readFooter(converter, file.getLength(), file.toString(), in, filter);
+  /**
+   * @param conf a configuration
+   * @return the JVM-wide footer cache, or null if it is not enabled
+   */
+  private static FooterCache footerCache(Configuration conf) {
+    if (!conf.getBoolean(FOOTER_CACHE_ENABLED, FOOTER_CACHE_ENABLED_DEFAULT)) {
+      return null;
     }
+    return FooterCache.getInstance(conf.getLong(FOOTER_CACHE_MAX_BYTES, FOOTER_CACHE_MAX_BYTES_DEFAULT));
   }
 
   /**
-   * Reads the meta data block in the footer of the file using provided input stream
+   * Reads the complete footer of a file into the cache and returns the
+   * requested row groups and columns.
+   */
+  private static ParquetMetadata readAndCacheFooter(FooterCache cache, HadoopInputFile file, ParquetMetadataConverter converter, SeekableInputStream f, MetadataFilter filter, ColumnProjection projection, FileTail tail) throws IOException {
+    ParquetMetadata footer = readFooter(converter, file.getLength(), file.toString(), f, NO_FILTER, null, tail);
+    cache.put(file.getFileStatus(), footer);
+    return filterParquetMetadata(footer, filter, projection);
+  }
+
+  /**
+   * Reads the last bytes of the file, which hold the footer length and magic
+   * and, unless the footer is larger than the read size, the footer.
    * @param fileLen length of the file
    * @param filePath file location
    * @param f input stream for the file
-   * @param filter the filter to apply to row groups
-   * @return the metadata blocks in the footer
+   * @param footerReadSize the number of bytes to read
+   * @return the tail of the file
    * @throws IOException if an error occurs while reading the file
    */
-  private static final ParquetMetadata readFooter(ParquetMetadataConverter converter, long fileLen, String filePath, SeekableInputStream f, MetadataFilter filter) throws IOException {
+  private static FileTail readTail(long fileLen, String filePath, SeekableInputStream f, int footerReadSize) throws IOException {
     LOG.debug("File length {}", fileLen);
-    int FOOTER_LENGTH_SIZE = 4;
     if (fileLen < MAGIC.length + FOOTER_LENGTH_SIZE + MAGIC.length) { // MAGIC + data + footer + footerIndex + MAGIC
       throw new RuntimeException(filePath + " is not a Parquet file (too small)");
     }
+    int tailLength = (int) Math.min(fileLen, Math.max(footerReadSize, FOOTER_LENGTH_SIZE + MAGIC.length));
+    long tailOffset = fileLen - tailLength;
+    LOG.debug("reading {} tail bytes at {}", tailLength, tailOffset);
+    byte[] bytes = new byte[tailLength];
+    f.seek(tailOffset);
+    f.readFully(bytes);
+    return new FileTail(tailOffset, bytes);
+  }
+
+  /**
+   * Reads the meta data block in the footer of the file using provided input stream
+   * @param fileLen length of the file
+   * @param filePath file location
+   * @param f input stream for the file
+   * @param filter the filter to apply to row groups
+   * @return the metadata blocks in the footer
+   * @throws IOException if an error occurs while reading the file
+   */
+  private static final ParquetMetadata readFooter(ParquetMetadataConverter converter, long fileLen, String filePath, SeekableInputStream f, MetadataFilter filter) throws IOException {
+    return readFooter(converter, fileLen, filePath, f, filter, null, readTail(fileLen, filePath, f, FOOTER_READ_SIZE_DEFAULT));
+  }
+
+  /**
+   * Reads the meta data block in the footer of the file, using the tail of
+   * the file when it contains the footer.
+   * @param fileLen length of the file
+   * @param filePath file location
+   * @param f input stream for the file
+   * @param filter the filter to apply to row groups
+   * @param projection the projection on the columns to read the meta data of, or null for all columns
+   * @param tail the last bytes of the file
+   * @return the metadata blocks in the footer
+   * @throws IOException if an error occurs while reading the file
+   */
+  private static final ParquetMetadata readFooter(ParquetMetadataConverter converter, long fileLen, String filePath, SeekableInputStream f, MetadataFilter filter, ColumnProjection projection, FileTail tail) throws IOException {
     long footerLengthIndex = fileLen - FOOTER_LENGTH_SIZE - MAGIC.length;
     LOG.debug("reading footer index at {}", footerLengthIndex);
 
-    f.seek(footerLengthIndex);
-    int footerLength = readIntLittleEndian(f);
-    byte[] magic = new byte[MAGIC.length];
-    f.readFully(magic);
+    int footerLength = readIntLittleEndian(tail.bytes, (int) (footerLengthIndex - tail.offset));
+    byte[] magic = Arrays.copyOfRange(tail.bytes, tail.bytes.length - MAGIC.length, tail.bytes.length);
     if (!Arrays.equals(MAGIC, magic)) {
       throw new RuntimeException(filePath + " is not a Parquet file. expected magic number at tail " + Arrays.toString(MAGIC) + " but found " + Arrays.toString(magic));
     }
@@ -488,8 +660,20 @@ public class ParquetFileReader implements Closeable {
     if (footerIndex < MAGIC.length || footerIndex >= footerLengthIndex) {
       throw new RuntimeException("corrupted file: the footer index is not within the file");
     }
-    f.seek(footerIndex);
-    return converter.readParquetMetadata(f, filter);
+    InputStream footerStream;
+    if (tail.contains(footerIndex, footerLength)) {
+      footerStream = tail.stream(footerIndex, footerLength);
+    } else {
+      // the footer is larger than the tail, read the rest of it
+      LOG.debug("footer of {} bytes is larger than the {} tail bytes read", footerLength, tail.bytes.length);
+      byte[] head = new byte[(int) (tail.offset - footerIndex)];
+      f.seek(footerIndex);
+      f.readFully(head);
+      footerStream = new SequenceInputStream(
+          new ByteArrayInputStream(head),
+          tail.stream(tail.offset, (int) (footerLengthIndex - tail.offset)));
+    }
+    return converter.readParquetMetadata(footerStream, filter, projection);
   }
 
   public static ParquetFileReader open(Configuration conf, Path file) throws IOException {
@@ -500,17 +684,45 @@ public class ParquetFileReader implements Closeable {
     return new ParquetFileReader(conf, file, filter);
   }
 
+  /**
+   * Opens a reader that only decodes the footer meta data of the columns the
+   * projection requests, which must include the columns used by filters.
+   * @param conf the Hadoop Configuration
+   * @param file Path to a parquet file
+   * @param filter a {@link MetadataFilter} for selecting row groups
+   * @param projection the projection on the columns to read, or null for all columns
+   * @return a reader for the file
+   * @throws IOException if the file can not be opened
+   */
+  public static ParquetFileReader open(Configuration conf, Path file, MetadataFilter filter,
+                                       ColumnProjection projection) throws IOException {
+    return new ParquetFileReader(conf, HadoopInputFile.fromPath(file, conf), filter, projection);
+  }
+
   public static ParquetFileReader open(Configuration conf, Path file, ParquetMetadata footer) throws IOException {
     return new ParquetFileReader(conf, file, footer);
   }
 
+  public static ParquetFileReader open(Configuration conf, InputFile file) throws IOException {
+    return new ParquetFileReader(conf, file, NO_FILTER);
+  }
+
   private final CodecFactory codecFactory;
   private final SeekableInputStream f;
-  private final FileStatus fileStatus;
+  private final InputFile file;
   private final Map<ColumnPath, ColumnDescriptor> paths = new HashMap<ColumnPath, ColumnDescriptor>();
   private final FileMetaData fileMetaData; // may be null
-  private final ByteBufferAllocator allocator;
+  private final FileTail tail; // the last bytes of the file, if they were read with the footer, may be null
+  private ByteBufferAllocator allocator;
+  private boolean recycleBuffers;
   private final Configuration conf;
+  private int maxReadGap;
+  private long maxMergedReadSize;
+  private int readSegmentSize;
+  private boolean pageStreaming;
+  private boolean parallelDecompression;
+  private long decompressionBufferSize;
+  private volatile ParquetMetrics metrics;
 
   // not final. in some cases, this may be lazily loaded for backward-compat.
   private ParquetMetadata footer;
@@ -520,6 +732,25 @@ public class ParquetFileReader implements Closeable {
   private int currentBlock = 0;
   private ColumnChunkPageReadStore currentRowGroup = null;
   private DictionaryPageReader nextDictionaryReader = null;
+  // columns used by the dictionary filter, whose dictionaries are read together
+  private Set<ColumnPath> dictionaryFilterColumns = Collections.emptySet();
+  // dictionary readers of row groups that have not been read, to reuse the dictionary pages they read.
+  // readers are kept while the size of their pages is within the prefetch byte budget.
+  private final Map<BlockMetaData, DictionaryPageReader> dictionaryReaders =
+      new IdentityHashMap<BlockMetaData, DictionaryPageReader>();
+
+  // selects the pages to read with the page indexes, null if pages are not filtered
+  private FilterPredicate pageFilter = null;
+  // page indexes and rows to read of the blocks, by block index. null rows means all rows.
+  private final Map<Integer, PageIndexReader> blockPageIndexes = new HashMap<Integer, PageIndexReader>();
+  private final Map<Integer, RowRanges> blockRowRanges = new HashMap<Integer, RowRanges>();
+
+  // row groups being read in the background, in block order. only used by the reading thread.
+  private int prefetchDepth;
+  private long prefetchMaxBytes;
+  private final LinkedList<PrefetchedRowGroup> prefetchedRowGroups = new LinkedList<PrefetchedRowGroup>();
+  private long prefetchedBytes = 0;
+  private long prefetchWaitNanos = 0;
 
   /**
    * @deprecated use @link{ParquetFileReader(Configuration configuration, FileMetaData fileMetaData,
@@ -543,9 +774,9 @@ public class ParquetFileReader implements Closeable {
     this.converter = new ParquetMetadataConverter(configuration);
     this.conf = configuration;
     this.fileMetaData = fileMetaData;
-    FileSystem fs = filePath.getFileSystem(configuration);
-    this.f = HadoopStreams.wrap(fs.open(filePath));
-    this.fileStatus = fs.getFileStatus(filePath);
+    this.file = HadoopInputFile.fromPath(filePath, configuration);
+    this.f = file.newStream();
+    this.tail = null;
     this.blocks = blocks;
     for (ColumnDescriptor col : columns) {
       paths.put(ColumnPath.get(col.getPath()), col);
@@ -553,7 +784,7 @@ public class ParquetFileReader implements Closeable {
     // the page size parameter isn't meaningful when only using
     // the codec factory to get decompressors
     this.codecFactory = new CodecFactory(configuration, 0);
-    this.allocator = new HeapByteBufferAllocator();
+    initReadOptions(configuration);
   }
 
   /**
@@ -572,21 +803,71 @@ public class ParquetFileReader implements Closeable {
    * @throws IOException if the file can not be opened
    */
   public ParquetFileReader(Configuration conf, Path file, MetadataFilter filter) throws IOException {
+    this(conf, HadoopInputFile.fromPath(file, conf), filter);
+  }
+
+  /**
+   * @param conf the Hadoop Configuration
+   * @param file an {@link InputFile} for a parquet file
+   * @param filter a {@link MetadataFilter} for selecting row groups
+   * @throws IOException if the file can not be opened
+   */
+  public ParquetFileReader(Configuration conf, InputFile file, MetadataFilter filter) throws IOException {
+    this(conf, file, filter, (ColumnProjection) null);
+  }
+
+  /**
+   * Opens a reader that only decodes the footer meta data of the given columns,
+   * which must include the columns used by filters and the requested schema.
+   * @param conf the Hadoop Configuration
+   * @param file an {@link InputFile} for a parquet file
+   * @param filter a {@link MetadataFilter} for selecting row groups
+   * @param projection the columns to read, or null for all columns
+   * @throws IOException if the file can not be opened
+   */
+  public ParquetFileReader(Configuration conf, InputFile file, MetadataFilter filter, MessageType projection) throws IOException {
+    this(conf, file, filter, (projection == null) ? null : ParquetMetadataConverter.projection(projection));
+  }
+
+  /**
+   * Opens a reader that only decodes the footer meta data of the columns the
+   * projection requests, which must include the columns used by filters and
+   * the requested schema.
+   * @param conf the Hadoop Configuration
+   * @param file an {@link InputFile} for a parquet file
+   * @param filter a {@link MetadataFilter} for selecting row groups
+   * @param projection the projection on the columns to read, or null for all columns
+   * @throws IOException if the file can not be opened
+   */
+  public ParquetFileReader(Configuration conf, InputFile file, MetadataFilter filter, ColumnProjection projection) throws IOException {
     this.converter = new ParquetMetadataConverter(conf);
     this.conf = conf;
-    FileSystem fs = file.getFileSystem(conf);
-    this.fileStatus = fs.getFileStatus(file);
-    this.f = HadoopStreams.wrap(fs.open(file));
-    this.footer = readFooter(converter, fileStatus.getLen(), fileStatus.getPath().toString(), f, filter);
+    this.file = file;
+    this.f = file.newStream();
+    long fileLen = file.getLength();
+    FooterCache cache = (file instanceof HadoopInputFile) ? footerCache(conf) : null;
+    ParquetMetadata cached = (cache != null) ? cache.get(((HadoopInputFile) file).getFileStatus()) : null;
+    if (cached != null) {
+      this.tail = null;
+      this.footer = filterParquetMetadata(cached, filter, projection);
+    } else {
+      this.tail = readTail(fileLen, file.toString(), f, conf.getInt(FOOTER_READ_SIZE, FOOTER_READ_SIZE_DEFAULT));
+      if (cache != null) {
+        this.footer = readAndCacheFooter(cache, (HadoopInputFile) file, converter, f, filter, projection, tail);
+      } else {
+        this.footer = readFooter(converter, fileLen, file.toString(), f, filter, projection, tail);
+      }
+    }
     this.fileMetaData = footer.getFileMetaData();
     this.blocks = footer.getBlocks();
+    // the blocks only have the chunks of the projected columns
     for (ColumnDescriptor col : footer.getFileMetaData().getSchema().getColumns()) {
       paths.put(ColumnPath.get(col.getPath()), col);
     }
     // the page size parameter isn't meaningful when only using
     // the codec factory to get decompressors
     this.codecFactory = new CodecFactory(conf, 0);
-    this.allocator = new HeapByteBufferAllocator();
+    initReadOptions(conf);
   }
 
   /**
@@ -596,11 +877,21 @@ public class ParquetFileReader implements Closeable {
    * @throws IOException if the file can not be opened
    */
   public ParquetFileReader(Configuration conf, Path file, ParquetMetadata footer) throws IOException {
+    this(conf, HadoopInputFile.fromPath(file, conf), footer);
+  }
+
+  /**
+   * @param conf the Hadoop Configuration
+   * @param file an {@link InputFile} for a parquet file
+   * @param footer a {@link ParquetMetadata} footer already read from the file
+   * @throws IOException if the file can not be opened
+   */
+  public ParquetFileReader(Configuration conf, InputFile file, ParquetMetadata footer) throws IOException {
     this.converter = new ParquetMetadataConverter(conf);
     this.conf = conf;
-    FileSystem fs = file.getFileSystem(conf);
-    this.fileStatus = fs.getFileStatus(file);
-    this.f = HadoopStreams.wrap(fs.open(file));
+    this.file = file;
+    this.f = file.newStream();
+    this.tail = null;
     this.footer = footer;
     this.fileMetaData = footer.getFileMetaData();
     this.blocks = footer.getBlocks();
@@ -610,14 +901,48 @@ public class ParquetFileReader implements Closeable {
     // the page size parameter isn't meaningful when only using
     // the codec factory to get decompressors
     this.codecFactory = new CodecFactory(conf, 0);
-    this.allocator = new HeapByteBufferAllocator();
+    initReadOptions(conf);
+  }
+
+  /**
+   * Sets the options of the reads from the configuration.
+   * @param conf the Hadoop Configuration
+   */
+  private void initReadOptions(Configuration conf) {
+    this.recycleBuffers = conf.getBoolean(READ_BUFFER_POOLING_ENABLED, READ_BUFFER_POOLING_ENABLED_DEFAULT);
+    this.allocator = recycleBuffers ? PooledByteBufferAllocator.getHeapInstance() : new HeapByteBufferAllocator();
+    this.prefetchDepth = prefetchDepth(conf);
+    if (conf.getBoolean(PREFETCH_ENABLED, PREFETCH_ENABLED_DEFAULT)
+        && conf.getBoolean(PAGE_STREAMING_ENABLED, PAGE_STREAMING_ENABLED_DEFAULT)) {
+      LOG.warn("{} is ignored: row groups are not read in the background when {} is set",
+          PREFETCH_ENABLED, PAGE_STREAMING_ENABLED);
+    }
+    this.prefetchMaxBytes = conf.getLong(PREFETCH_MAX_BYTES, PREFETCH_MAX_BYTES_DEFAULT);
+    this.maxReadGap = conf.getInt(READ_MAX_GAP, READ_MAX_GAP_DEFAULT);
+    this.maxMergedReadSize = conf.getLong(READ_MAX_MERGED_SIZE, READ_MAX_MERGED_SIZE_DEFAULT);
+    this.readSegmentSize = conf.getInt(READ_BUFFER_SEGMENT_SIZE, READ_BUFFER_SEGMENT_SIZE_DEFAULT);
+    this.pageStreaming = conf.getBoolean(PAGE_STREAMING_ENABLED, PAGE_STREAMING_ENABLED_DEFAULT);
+    this.parallelDecompression = conf.getBoolean(PARALLEL_DECOMPRESSION_ENABLED, PARALLEL_DECOMPRESSION_ENABLED_DEFAULT);
+    this.decompressionBufferSize = conf.getLong(PARALLEL_DECOMPRESSION_BUFFER_SIZE, PARALLEL_DECOMPRESSION_BUFFER_SIZE_DEFAULT);
+    this.metrics = ParquetInputFormat.getMetrics(conf);
+  }
+
+  private static int prefetchDepth(Configuration conf) {
+    // streamed row groups are not read ahead of time
+    if (conf.getBoolean(PREFETCH_ENABLED, PREFETCH_ENABLED_DEFAULT)
+        && !conf.getBoolean(PAGE_STREAMING_ENABLED, PAGE_STREAMING_ENABLED_DEFAULT)) {
+      return Math.max(0, conf.getInt(PREFETCH_DEPTH, PREFETCH_DEPTH_DEFAULT));
+    }
+    return 0;
   }
 
   public ParquetMetadata getFooter() {
     if (footer == null) {
       try {
         // don't read the row groups because this.blocks is always set
-        this.footer = readFooter(converter, fileStatus.getLen(), fileStatus.getPath().toString(), f, SKIP_ROW_GROUPS);
+        synchronized (f) {
+          this.footer = readFooter(converter, file.getLength(), file.toString(), f, SKIP_ROW_GROUPS);
+        }
       } catch (IOException e) {
         throw new ParquetDecodingException("Unable to read file footer", e);
       }
@@ -640,11 +965,26 @@ public class ParquetFileReader implements Closeable {
     return total;
   }
 
+  /**
+   * @return the number of rows that will be read from the row groups, which
+   *         is less than {@link #getRecordCount()} when pages are filtered
+   */
+  public long getFilteredRecordCount() {
+    long total = 0;
+    for (int i = 0; i < blocks.size(); i += 1) {
+      RowRanges ranges = getRowRanges(i);
+      total += (ranges == null) ? blocks.get(i).getRowCount() : ranges.rowCount();
+    }
+    return total;
+  }
+
   public Path getPath() {
-    return fileStatus.getPath();
+    return new Path(file.toString());
   }
 
   void filterRowGroups(FilterCompat.Filter filter) throws IOException {
+    checkFilterColumns(filter);
+
     // set up data filters based on configured levels
     List<RowGroupFilter.FilterLevel> levels = new ArrayList<RowGroupFilter.FilterLevel>();
 
@@ -656,9 +996,49 @@ public class ParquetFileReader implements Closeable {
     if (conf.getBoolean(
         DICTIONARY_FILTERING_ENABLED, DICTIONARY_FILTERING_ENABLED_DEFAULT)) {
       levels.add(DICTIONARY);
+      this.dictionaryFilterColumns = DictionaryPageReader.filterColumns(filter);
+    }
+
+    if (conf.getBoolean(
+        BLOOM_FILTERING_ENABLED, BLOOM_FILTERING_ENABLED_DEFAULT)) {
+      levels.add(BLOOMFILTER);
     }
 
+    discardPrefetchedRowGroups();
     this.blocks = RowGroupFilter.filterRowGroups(levels, filter, blocks, this);
+    // keep the dictionaries read by the filter for the row groups that will be read
+    synchronized (dictionaryReaders) {
+      dictionaryReaders.keySet().retainAll(blocks);
+    }
+
+    // the pages of the remaining row groups are filtered when they are read
+    blockPageIndexes.clear();
+    blockRowRanges.clear();
+    if (filter instanceof FilterCompat.FilterPredicateCompat && conf.getBoolean(
+        COLUMN_INDEX_FILTERING_ENABLED, COLUMN_INDEX_FILTERING_ENABLED_DEFAULT)) {
+      this.pageFilter = ((FilterCompat.FilterPredicateCompat) filter).getFilterPredicate();
+    }
+  }
+
+  /**
+   * Row groups are filtered with the meta data of the filter's columns, which
+   * is not read for the columns outside of a footer projection.
+   */
+  private void checkFilterColumns(FilterCompat.Filter filter) {
+    if (blocks.isEmpty()) {
+      return;
+    }
+    Set<ColumnPath> chunks = new HashSet<ColumnPath>();
+    for (ColumnChunkMetaData column : blocks.get(0).getColumns()) {
+      chunks.add(column.getPath());
+    }
+    MessageType schema = getFileMetaData().getSchema();
+    for (ColumnPath column : DictionaryPageReader.filterColumns(filter)) {
+      if (!chunks.contains(column) && schema.containsPath(column.toArray())) {
+        throw new IllegalArgumentException("Cannot filter row groups on column "
+            + column.toDotString() + ", which is not in the footer projection");
+      }
+    }
   }
 
   public List<BlockMetaData> getRowGroups() {
@@ -666,6 +1046,9 @@ public class ParquetFileReader implements Closeable {
   }
 
   public void setRequestedSchema(MessageType projection) {
+    discardPrefetchedRowGroups();
+    // whether pages can be filtered depends on the requested columns
+    blockRowRanges.clear();
     paths.clear();
     for (ColumnDescriptor col : projection.getColumns()) {
       paths.put(ColumnPath.get(col.getPath()), col);
@@ -678,121 +1061,744 @@ public class ParquetFileReader implements Closeable {
 
   /**
    * Reads all the columns requested from the row group at the current file position.
+   * <p>
+   * The PageReadStore returned by the previous call is released: its page
+   * readers must not be used after this call, and pages they did not return
+   * yet can no longer be read. With parallel decompression, reading them
+   * throws a ParquetDecodingException. When buffer pooling is enabled, the
+   * pages they returned must not be used either.
+   *
    * @throws IOException if an error occurs while reading
    * @return the PageReadStore which can provide PageReaders for each column.
    */
   public PageReadStore readNextRowGroup() throws IOException {
+    // skip row groups without any rows that can match the page filter
+    while (currentBlock < blocks.size()
+        && getRowRanges(currentBlock) != null && getRowRanges(currentBlock).isEmpty()) {
+      advanceToNextBlock();
+    }
+    releaseCurrentRowGroup();
     if (currentBlock == blocks.size()) {
       return null;
     }
+    long start = System.nanoTime();
     BlockMetaData block = blocks.get(currentBlock);
+    PrefetchedRowGroup prefetched = prefetchedRowGroups.peekFirst();
+    RowRanges rowRanges = getRowRanges(currentBlock);
+    if (prefetched != null && prefetched.blockIndex == currentBlock) {
+      prefetchedRowGroups.removeFirst();
+      this.currentRowGroup = prefetched.get();
+    } else if (rowRanges != null) {
+      this.currentRowGroup = readFilteredRowGroup(
+          block, blockPageIndexes.get(currentBlock), rowRanges);
+    } else if (pageStreaming) {
+      this.currentRowGroup = streamRowGroup(block);
+    } else {
+      this.currentRowGroup = readRowGroup(block, planRowGroupRead(block));
+    }
+    metrics.rowGroupRead(currentRowGroup.getRowCount(), block.getCompressedSize(), System.nanoTime() - start);
+
+    // avoid re-reading bytes the dictionary reader is used after this call
+    if (nextDictionaryReader != null) {
+      nextDictionaryReader.setRowGroup(currentRowGroup);
+    }
+
+    advanceToNextBlock();
+    prefetchNextRowGroups();
+
+    return currentRowGroup;
+  }
+
+  /**
+   * closes the last row group, and returns its buffers to the allocator when they are recycled.
+   */
+  private void releaseCurrentRowGroup() {
+    if (currentRowGroup != null) {
+      releaseRowGroup(currentRowGroup);
+      this.currentRowGroup = null;
+    }
+  }
+
+  private void releaseRowGroup(ColumnChunkPageReadStore rowGroup) {
+    if (recycleBuffers) {
+      rowGroup.release(allocator);
+    } else {
+      rowGroup.close();
+    }
+  }
+
+  /**
+   * @param block a row group
+   * @return the lists of consecutive chunks to read for the requested columns
+   */
+  private List<ConsecutiveChunkList> planRowGroupRead(BlockMetaData block) {
     if (block.getRowCount() == 0) {
       throw new RuntimeException("Illegal row group of 0 rows");
     }
-    this.currentRowGroup = new ColumnChunkPageReadStore(block.getRowCount());
     // prepare the list of consecutive chunks to read them in one scan
     List<ConsecutiveChunkList> allChunks = new ArrayList<ConsecutiveChunkList>();
     ConsecutiveChunkList currentChunks = null;
     for (ColumnChunkMetaData mc : block.getColumns()) {
       ColumnPath pathKey = mc.getPath();
-      BenchmarkCounter.incrementTotalBytes(mc.getTotalSize());
       ColumnDescriptor columnDescriptor = paths.get(pathKey);
       if (columnDescriptor != null) {
-        long startingPos = mc.getStartingPos();
-        // first chunk or not consecutive => new list
-        if (currentChunks == null || currentChunks.endPos() != startingPos) {
-          currentChunks = new ConsecutiveChunkList(startingPos);
+        ChunkDescriptor descriptor = newChunkDescriptor(block, columnDescriptor, mc);
+        // first chunk, too far from the previous chunk or too large to merge => new list
+        if (currentChunks == null || !currentChunks.canAppend(descriptor.fileOffset, descriptor.size)) {
+          currentChunks = new ConsecutiveChunkList(descriptor.fileOffset);
           allChunks.add(currentChunks);
         }
-        currentChunks.addChunk(new ChunkDescriptor(columnDescriptor, mc, startingPos, (int)mc.getTotalSize()));
+        currentChunks.addChunk(descriptor);
       }
     }
-    // actually read all the chunks
-    for (ConsecutiveChunkList consecutiveChunks : allChunks) {
-      final List<Chunk> chunks = consecutiveChunks.readAll(f);
-      for (Chunk chunk : chunks) {
-        currentRowGroup.addColumn(chunk.descriptor.col, chunk.readAllPages());
+    return allChunks;
+  }
+
+  /**
+   * Reads all the chunks planned for the given row group.
+   * This may be called from a prefetch thread so access to the stream is synchronized.
+   */
+  private ColumnChunkPageReadStore readRowGroup(BlockMetaData block, List<ConsecutiveChunkList> allChunks) throws IOException {
+    ColumnChunkPageReadStore rowGroup = new ColumnChunkPageReadStore(block.getRowCount());
+    synchronized (f) {
+      for (ConsecutiveChunkList consecutiveChunks : allChunks) {
+        final List<Chunk> chunks = consecutiveChunks.readAll(f);
+        for (Chunk chunk : chunks) {
+          rowGroup.addColumn(chunk.descriptor.col, chunk.readAllPages());
+        }
+        if (recycleBuffers) {
+          rowGroup.addBuffers(consecutiveChunks.getRecyclableBuffers());
+        }
       }
     }
+    return rowGroup;
+  }
 
-    // avoid re-reading bytes the dictionary reader is used after this call
-    if (nextDictionaryReader != null) {
-      nextDictionaryReader.setRowGroup(currentRowGroup);
+  /**
+   * @param blockIndex the index of a row group in blocks
+   * @return the rows to read from the row group, or null to read all of its rows
+   */
+  private RowRanges getRowRanges(int blockIndex) {
+    if (pageFilter == null) {
+      return null;
     }
-
-    advanceToNextBlock();
-
-    return currentRowGroup;
+    if (!blockRowRanges.containsKey(blockIndex)) {
+      BlockMetaData block = blocks.get(blockIndex);
+      if (!blockPageIndexes.containsKey(blockIndex)) {
+        blockPageIndexes.put(blockIndex, new PageIndexReader(this, block));
+      }
+      blockRowRanges.put(blockIndex, calculateRowRanges(block, blockPageIndexes.get(blockIndex)));
+    }
+    return blockRowRanges.get(blockIndex);
   }
 
-  public boolean skipNextRowGroup() {
-    return advanceToNextBlock();
+  /**
+   * @return the rows of the block that might match the page filter, or null
+   *         if all rows must be read
+   */
+  private RowRanges calculateRowRanges(BlockMetaData block, PageIndexReader pageIndexes) {
+    for (ColumnChunkMetaData mc : block.getColumns()) {
+      // reading some pages of a column needs their location
+      if (paths.containsKey(mc.getPath()) && pageIndexes.getOffsetIndex(mc.getPath()) == null) {
+        return null;
+      }
+    }
+    RowRanges ranges = ColumnIndexFilter.calculateRowRanges(pageFilter, block, pageIndexes);
+    if (ranges.rowCount() == block.getRowCount()) {
+      return null;
+    }
+    LOG.debug("reading rows {} of {} in row group", ranges, block.getRowCount());
+    return ranges;
   }
 
-  private boolean advanceToNextBlock() {
-    if (currentBlock == blocks.size()) {
-      return false;
+  /**
+   * Reads the pages of the requested columns of the given row group that
+   * contain some of the given rows, and their dictionary pages.
+   */
+  private ColumnChunkPageReadStore readFilteredRowGroup(
+      BlockMetaData block, PageIndexReader pageIndexes, RowRanges rowRanges) throws IOException {
+    // each dictionary page and run of consecutive pages to read, with the first rows of the pages
+    Map<ChunkDescriptor, List<Long>> pageRuns = new HashMap<ChunkDescriptor, List<Long>>();
+    Map<ColumnDescriptor, DictionaryPage> dictionaryPages = new HashMap<ColumnDescriptor, DictionaryPage>();
+    List<ConsecutiveChunkList> allChunks = new ArrayList<ConsecutiveChunkList>();
+    ConsecutiveChunkList currentChunks = null;
+    for (ColumnChunkMetaData mc : block.getColumns()) {
+      ColumnDescriptor columnDescriptor = paths.get(mc.getPath());
+      if (columnDescriptor == null) {
+        continue;
+      }
+      OffsetIndex offsetIndex = pageIndexes.getOffsetIndex(mc.getPath());
+      List<ChunkDescriptor> runs = new ArrayList<ChunkDescriptor>();
+
+      // the dictionary page is before the first data page
+      long startingPos = mc.getStartingPos();
+      DictionaryPageReader.CompressedDictionary compressedDictionary = getFilterDictionary(block, mc);
+      if (compressedDictionary != null) {
+        dictionaryPages.put(columnDescriptor, getFilterDictionaryPage(block, mc, compressedDictionary));
+      } else if (offsetIndex.getOffset(0) > startingPos) {
+        ChunkDescriptor dictionary = new ChunkDescriptor(
+            columnDescriptor, mc, startingPos, offsetIndex.getOffset(0) - startingPos);
+        runs.add(dictionary);
+        pageRuns.put(dictionary, Collections.<Long>emptyList());
+      }
+
+      int page = 0;
+      int pagesToRead = 0;
+      while (page < offsetIndex.getPageCount()) {
+        if (!rowRanges.isOverlapping(offsetIndex.getFirstRowIndex(page),
+            offsetIndex.getLastRowIndex(page, block.getRowCount()))) {
+          page += 1;
+          continue;
+        }
+        List<Long> firstRowIndexes = new ArrayList<Long>();
+        long runStart = offsetIndex.getOffset(page);
+        long runEnd = runStart;
+        while (page < offsetIndex.getPageCount() && offsetIndex.getOffset(page) == runEnd
+            && rowRanges.isOverlapping(offsetIndex.getFirstRowIndex(page),
+                offsetIndex.getLastRowIndex(page, block.getRowCount()))) {
+          firstRowIndexes.add(offsetIndex.getFirstRowIndex(page));
+          runEnd += offsetIndex.getCompressedPageSize(page);
+          page += 1;
+        }
+        ChunkDescriptor run = new ChunkDescriptor(columnDescriptor, mc, runStart, runEnd - runStart);
+        runs.add(run);
+        pageRuns.put(run, firstRowIndexes);
+        pagesToRead += firstRowIndexes.size();
+      }
+      metrics.pagesRead(mc.getPath(), pagesToRead);
+      metrics.pagesSkipped(mc.getPath(), offsetIndex.getPageCount() - pagesToRead);
+
+      for (ChunkDescriptor run : runs) {
+        if (currentChunks == null || !currentChunks.canAppend(run.fileOffset, run.size)) {
+          currentChunks = new ConsecutiveChunkList(run.fileOffset);
+          allChunks.add(currentChunks);
+        }
+        currentChunks.addChunk(run);
+      }
     }
 
-    // update the current block and instantiate a dictionary reader for it
-    ++currentBlock;
-    this.nextDictionaryReader = null;
+    Map<ColumnDescriptor, List<DataPage>> pages = new LinkedHashMap<ColumnDescriptor, List<DataPage>>();
+    List<ByteBuffer> buffers = new ArrayList<ByteBuffer>();
+    synchronized (f) {
+      for (ConsecutiveChunkList consecutiveChunks : allChunks) {
+        for (Chunk chunk : consecutiveChunks.readAll(f)) {
+          ColumnDescriptor col = chunk.descriptor.col;
+          PrimitiveType type = getFileMetaData().getSchema().getType(col.getPath()).asPrimitiveType();
+          if (!pages.containsKey(col)) {
+            pages.put(col, new ArrayList<DataPage>());
+          }
+          List<Long> firstRowIndexes = pageRuns.get(chunk.descriptor);
+          if (firstRowIndexes.isEmpty()) {
+            Page page = chunk.readPage(chunk.readPageHeader(), type);
+            if (page instanceof DictionaryPage) {
+              dictionaryPages.put(col, (DictionaryPage) page);
+            }
+          }
+          for (long firstRowIndex : firstRowIndexes) {
+            Page page = chunk.readPage(chunk.readPageHeader(), type, firstRowIndex);
+            if (!(page instanceof DataPage)) {
+              throw new ParquetDecodingException("expected a data page at row " + firstRowIndex
+                  + " in column " + col + " of " + getPath());
+            }
+            pages.get(col).add((DataPage) page);
+          }
+        }
+        if (recycleBuffers) {
+          buffers.addAll(consecutiveChunks.getRecyclableBuffers());
+        }
+      }
+    }
 
-    return true;
+    ColumnChunkPageReadStore rowGroup = new ColumnChunkPageReadStore(rowRanges.rowCount(), rowRanges);
+    rowGroup.addBuffers(buffers);
+    for (Map.Entry<ColumnDescriptor, List<DataPage>> entry : pages.entrySet()) {
+      ColumnDescriptor col = entry.getKey();
+      ColumnPath path = ColumnPath.get(col.getPath());
+      CompressionCodecName codec = null;
+      for (ColumnChunkMetaData mc : block.getColumns()) {
+        if (mc.getPath().equals(path)) {
+          codec = mc.getCodec();
+        }
+      }
+      rowGroup.addColumn(col, newPageReader(path, codec, entry.getValue(), dictionaryPages.get(col)));
+    }
+    return rowGroup;
   }
 
   /**
-   * Returns a {@link DictionaryPageReadStore} for the row group that would be
-   * returned by calling {@link #readNextRowGroup()} or skipped by calling
-   * {@link #skipNextRowGroup()}.
-   *
-   * @return a DictionaryPageReadStore for the next row group
+   * @param path the path of a column
+   * @param codec the compression codec of the column's chunk
+   * @param pages the compressed data pages of the chunk
+   * @param dictionaryPage the dictionary page of the chunk, compressed or decoded, may be null
+   * @return a reader for the pages, which decompresses them on the shared pool
+   *         when parallel decompression is enabled
    */
-  public DictionaryPageReadStore getNextDictionaryReader() {
-    if (nextDictionaryReader == null && currentBlock < blocks.size()) {
-      this.nextDictionaryReader = getDictionaryReader(blocks.get(currentBlock));
+  private PageReader newPageReader(ColumnPath path, CompressionCodecName codec,
+                                   List<DataPage> pages, DictionaryPage dictionaryPage) {
+    if (parallelDecompression && codec != CompressionCodecName.UNCOMPRESSED) {
+      BytesDecompressor decompressor = codecFactory.newDecompressor(codec);
+      if (isMeasured()) {
+        decompressor = new MeasuredDecompressor(decompressor, metrics, path, codec);
+      }
+      return new ParallelColumnChunkPageReader(
+          new EagerDecompressor(decompressor),
+          pages, dictionaryPage, DECOMPRESSION_POOL, decompressionBufferSize);
     }
-    return nextDictionaryReader;
+    return new ColumnChunkPageReader(getDecompressor(path, codec), pages, dictionaryPage);
   }
 
-  public DictionaryPageReader getDictionaryReader(BlockMetaData block) {
-    return new DictionaryPageReader(this, block);
+  /**
+   * @return a decompressor for the column that reports to the metrics, if they are set
+   */
+  private BytesDecompressor getDecompressor(ColumnPath path, CompressionCodecName codec) {
+    BytesDecompressor decompressor = codecFactory.getDecompressor(codec);
+    if (isMeasured() && codec != CompressionCodecName.UNCOMPRESSED) {
+      return new MeasuredDecompressor(decompressor, metrics, path, codec);
+    }
+    return decompressor;
+  }
+
+  private boolean isMeasured() {
+    return metrics != NoOpParquetMetrics.INSTANCE;
   }
 
   /**
-   * Reads and decompresses a dictionary page for the given column chunk.
-   *
-   * Returns null if the given column chunk has no dictionary page.
+   * @return the metrics that receive this reader's events
+   */
+  public ParquetMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * Sets the metrics that receive the events of row groups read after this call.
    *
-   * @param meta a column's ColumnChunkMetaData to read the dictionary from
-   * @return an uncompressed DictionaryPage or null
-   * @throws IOException
+   * @param metrics a {@link ParquetMetrics}
    */
-  DictionaryPage readDictionary(ColumnChunkMetaData meta) throws IOException {
-    if (!meta.getEncodings().contains(Encoding.PLAIN_DICTIONARY) &&
-        !meta.getEncodings().contains(Encoding.RLE_DICTIONARY)) {
-      return null;
-    }
+  public void setMetrics(ParquetMetrics metrics) {
+    this.metrics = checkNotNull(metrics, "metrics");
+  }
 
-    // TODO: this should use getDictionaryPageOffset() but it isn't reliable.
-    if (f.getPos() != meta.getStartingPos()) {
-      f.seek(meta.getStartingPos());
+  /**
+   * Creates page readers that read the requested columns of the given row group
+   * one page at a time, when pages are requested.
+   */
+  private ColumnChunkPageReadStore streamRowGroup(BlockMetaData block) {
+    if (block.getRowCount() == 0) {
+      throw new RuntimeException("Illegal row group of 0 rows");
     }
-
-    PageHeader pageHeader = Util.readPageHeader(f);
-    if (!pageHeader.isSetDictionary_page_header()) {
-      return null; // TODO: should this complain?
+    ColumnChunkPageReadStore rowGroup = new ColumnChunkPageReadStore(block.getRowCount());
+    for (ColumnChunkMetaData mc : block.getColumns()) {
+      ColumnDescriptor columnDescriptor = paths.get(mc.getPath());
+      if (columnDescriptor != null) {
+        ChunkDescriptor descriptor = newChunkDescriptor(block, columnDescriptor, mc);
+        rowGroup.addColumn(columnDescriptor, new StreamingChunkPageReader(descriptor));
+      }
     }
+    return rowGroup;
+  }
+
+  public boolean skipNextRowGroup() {
+    return advanceToNextBlock();
+  }
+
+  private boolean advanceToNextBlock() {
+    if (currentBlock == blocks.size()) {
+      return false;
+    }
+
+    // update the current block and instantiate a dictionary reader for it
+    synchronized (dictionaryReaders) {
+      dictionaryReaders.remove(blocks.get(currentBlock));
+    }
+    ++currentBlock;
+    this.nextDictionaryReader = null;
+
+    // drop row groups that were prefetched but skipped
+    while (!prefetchedRowGroups.isEmpty() && prefetchedRowGroups.peekFirst().blockIndex < currentBlock) {
+      prefetchedRowGroups.removeFirst().discard();
+    }
+
+    return true;
+  }
+
+  /**
+   * Starts reading the row groups following the current one in the background,
+   * up to the configured depth and without exceeding the configured byte budget.
+   * Prefetching stops at the first row group that is read page by page because
+   * of the page filter, and row groups without matching rows are not prefetched.
+   */
+  private void prefetchNextRowGroups() {
+    int next = prefetchedRowGroups.isEmpty() ? currentBlock : prefetchedRowGroups.peekLast().blockIndex + 1;
+    while (prefetchedRowGroups.size() < prefetchDepth && next < blocks.size()) {
+      RowRanges rowRanges = getRowRanges(next);
+      if (rowRanges != null) {
+        if (!rowRanges.isEmpty()) {
+          // the pages to read are only known when the row group is read
+          return;
+        }
+        next += 1;
+        continue;
+      }
+      final BlockMetaData block = blocks.get(next);
+      final List<ConsecutiveChunkList> allChunks = planRowGroupRead(block);
+      long size = 0;
+      for (ConsecutiveChunkList consecutiveChunks : allChunks) {
+        size += consecutiveChunks.length;
+      }
+      if (prefetchedBytes + size > prefetchMaxBytes) {
+        LOG.debug("not prefetching row group {}: {} bytes would exceed the budget of {} bytes", next, size, prefetchMaxBytes);
+        return;
+      }
+      final PrefetchedRowGroup prefetched = new PrefetchedRowGroup(next, size);
+      prefetched.future = PREFETCH_EXECUTOR.submit(new Callable<ColumnChunkPageReadStore>() {
+        @Override
+        public ColumnChunkPageReadStore call() throws Exception {
+          return prefetched.complete(readRowGroup(block, allChunks));
+        }
+      });
+      prefetchedRowGroups.addLast(prefetched);
+      prefetchedBytes += size;
+      next += 1;
+    }
+  }
+
+  private void discardPrefetchedRowGroups() {
+    while (!prefetchedRowGroups.isEmpty()) {
+      prefetchedRowGroups.removeFirst().discard();
+    }
+  }
+
+  /**
+   * @return the time in milliseconds spent by the caller waiting on row groups
+   *         that were being read in the background
+   */
+  public long getPrefetchWaitTime() {
+    return TimeUnit.NANOSECONDS.toMillis(prefetchWaitNanos);
+  }
+
+  /**
+   * Reads the column index of the given column chunk.
+   *
+   * Returns null if the given column chunk has no column index.
+   *
+   * @param meta a column's ColumnChunkMetaData
+   * @return the column index or null
+   * @throws IOException
+   */
+  ColumnIndex readColumnIndex(ColumnChunkMetaData meta) throws IOException {
+    IndexReference ref = meta.getColumnIndexReference();
+    if (ref == null) {
+      return null;
+    }
+    PrimitiveType type = getFileMetaData().getSchema().getType(meta.getPath().toArray()).asPrimitiveType();
+    return converter.readColumnIndex(
+        new ByteArrayInputStream(readIndex(ref)), getFileMetaData().getCreatedBy(), type);
+  }
+
+  /**
+   * Reads the offset index of the given column chunk.
+   *
+   * Returns null if the given column chunk has no offset index.
+   *
+   * @param meta a column's ColumnChunkMetaData
+   * @return the offset index or null
+   * @throws IOException
+   */
+  OffsetIndex readOffsetIndex(ColumnChunkMetaData meta) throws IOException {
+    IndexReference ref = meta.getOffsetIndexReference();
+    if (ref == null) {
+      return null;
+    }
+    return converter.readOffsetIndex(new ByteArrayInputStream(readIndex(ref)));
+  }
+
+  /**
+   * Reads the Bloom filter of the given column chunk.
+   *
+   * Returns null if the given column chunk has no Bloom filter.
+   *
+   * @param meta a column's ColumnChunkMetaData
+   * @return the Bloom filter or null
+   * @throws IOException
+   */
+  public BlockSplitBloomFilter readBloomFilter(ColumnChunkMetaData meta) throws IOException {
+    IndexReference ref = meta.getBloomFilterReference();
+    if (ref == null) {
+      return null;
+    }
+    return new BlockSplitBloomFilter(readIndex(ref));
+  }
+
+  /**
+   * Returns a new {@link BloomFilterReadStore} for the Bloom filters of this
+   * file, that reads each filter once.
+   *
+   * @return a BloomFilterReadStore
+   */
+  public BloomFilterReadStore getBloomFilterReader() {
+    return new BloomFilterReader(this);
+  }
+
+  private byte[] readIndex(IndexReference ref) throws IOException {
+    byte[] bytes = new byte[ref.getLength()];
+    if (tail != null && tail.contains(ref.getOffset(), ref.getLength())) {
+      // page indexes are written just before the footer
+      System.arraycopy(tail.bytes, (int) (ref.getOffset() - tail.offset), bytes, 0, bytes.length);
+      return bytes;
+    }
+    synchronized (f) {
+      f.seek(ref.getOffset());
+      f.readFully(bytes);
+    }
+    return bytes;
+  }
+
+  /**
+   * Returns a {@link DictionaryPageReadStore} for the row group that would be
+   * returned by calling {@link #readNextRowGroup()} or skipped by calling
+   * {@link #skipNextRowGroup()}.
+   *
+   * @return a DictionaryPageReadStore for the next row group
+   */
+  public DictionaryPageReadStore getNextDictionaryReader() {
+    if (nextDictionaryReader == null && currentBlock < blocks.size()) {
+      this.nextDictionaryReader = getDictionaryReader(blocks.get(currentBlock));
+    }
+    return nextDictionaryReader;
+  }
+
+  public DictionaryPageReader getDictionaryReader(BlockMetaData block) {
+    synchronized (dictionaryReaders) {
+      DictionaryPageReader dictionaryReader = dictionaryReaders.get(block);
+      if (dictionaryReader == null) {
+        dictionaryReader = new DictionaryPageReader(this, block, dictionaryFilterColumns);
+        // the pages read by the filter are reused when the row group is read,
+        // if those kept so far are within the budget
+        if (!dictionaryFilterColumns.isEmpty() && getRetainedDictionarySize() < prefetchMaxBytes) {
+          dictionaryReaders.put(block, dictionaryReader);
+        }
+      }
+      return dictionaryReader;
+    }
+  }
+
+  /**
+   * Releases the dictionary pages read for a row group that the filter dropped.
+   *
+   * @param block a row group that will not be read
+   */
+  public void releaseDictionaryReader(BlockMetaData block) {
+    synchronized (dictionaryReaders) {
+      dictionaryReaders.remove(block);
+    }
+  }
+
+  /**
+   * Must be called while holding the dictionaryReaders lock.
+   */
+  private long getRetainedDictionarySize() {
+    long size = 0;
+    for (DictionaryPageReader dictionaryReader : dictionaryReaders.values()) {
+      size += dictionaryReader.getRetainedSize();
+    }
+    return size;
+  }
+
+  /**
+   * @param block a row group
+   * @param mc a column chunk of the row group
+   * @return the compressed dictionary page of the chunk if it was already read
+   *         for the dictionary filter, or null
+   */
+  private DictionaryPageReader.CompressedDictionary getFilterDictionary(BlockMetaData block, ColumnChunkMetaData mc) {
+    DictionaryPageReader dictionaryReader;
+    synchronized (dictionaryReaders) {
+      dictionaryReader = dictionaryReaders.get(block);
+    }
+    return dictionaryReader == null ? null : dictionaryReader.getCompressedDictionary(mc.getPath());
+  }
+
+  /**
+   * @param block a row group
+   * @param mc a column chunk of the row group
+   * @param compressedDictionary the chunk's dictionary page read for the filter
+   * @return the page the filter decoded, so that the page readers share its
+   *         values, or else the compressed page
+   */
+  private DictionaryPage getFilterDictionaryPage(BlockMetaData block, ColumnChunkMetaData mc,
+                                                 DictionaryPageReader.CompressedDictionary compressedDictionary) {
+    DictionaryPageReader dictionaryReader;
+    synchronized (dictionaryReaders) {
+      dictionaryReader = dictionaryReaders.get(block);
+    }
+    DictionaryPage decoded = dictionaryReader == null ? null : dictionaryReader.getDecodedDictionary(mc.getPath());
+    return decoded != null ? decoded : compressedDictionary.getPage();
+  }
+
+  /**
+   * @param block a row group
+   * @param col a requested column
+   * @param mc the column's chunk in the row group
+   * @return a descriptor of the whole chunk, or of its data pages when its
+   *         dictionary page was already read
+   */
+  private ChunkDescriptor newChunkDescriptor(BlockMetaData block, ColumnDescriptor col, ColumnChunkMetaData mc) {
+    DictionaryPageReader.CompressedDictionary dictionary = getFilterDictionary(block, mc);
+    if (dictionary != null) {
+      long dictionarySize = dictionary.getDataOffset() - mc.getStartingPos();
+      return new ChunkDescriptor(col, mc, dictionary.getDataOffset(), mc.getTotalSize() - dictionarySize,
+          getFilterDictionaryPage(block, mc, dictionary));
+    }
+    return new ChunkDescriptor(col, mc, mc.getStartingPos(), mc.getTotalSize());
+  }
+
+  /**
+   * @param meta the column chunk of the dictionary page
+   * @param compressedPage a dictionary page as stored in the file
+   * @return the uncompressed dictionary page
+   * @throws IOException
+   */
+  DictionaryPage decompressDictionary(ColumnChunkMetaData meta, DictionaryPage compressedPage) throws IOException {
+    BytesDecompressor decompressor = codecFactory.getDecompressor(meta.getCodec());
 
-    DictionaryPage compressedPage = readCompressedDictionary(pageHeader, f);
-    BytesDecompressor decompressor = codecFactory.getDecompressor(meta.getCodec());
-
     return new DictionaryPage(
         decompressor.decompress(compressedPage.getBytes(), compressedPage.getUncompressedSize()),
         compressedPage.getDictionarySize(),
         compressedPage.getEncoding());
   }
 
+  /**
+   * Reads the compressed dictionary pages of the given column chunks, reading
+   * the pages that are close to each other with one seek and read.
+   *
+   * The end of a dictionary page is known without reading it when the
+   * chunk's dictionary page offset is before its first data page offset, or
+   * when the chunk's offset index is in the tail read with the footer. Other
+   * dictionary pages are read one at a time.
+   *
+   * @param columns column chunks of a row group that have a dictionary page
+   * @return the compressed dictionary pages that were read, by column
+   * @throws IOException
+   */
+  Map<ColumnPath, DictionaryPageReader.CompressedDictionary> readCompressedDictionaries(
+      List<ColumnChunkMetaData> columns) throws IOException {
+    Map<ColumnPath, DictionaryPageReader.CompressedDictionary> dictionaries =
+        new HashMap<ColumnPath, DictionaryPageReader.CompressedDictionary>();
+    final Map<ColumnChunkMetaData, Long> dataOffsets = new IdentityHashMap<ColumnChunkMetaData, Long>();
+    List<ColumnChunkMetaData> chunks = new ArrayList<ColumnChunkMetaData>();
+    for (ColumnChunkMetaData mc : columns) {
+      long dataOffset = getFirstDataPageOffset(mc);
+      if (dataOffset > mc.getStartingPos()) {
+        dataOffsets.put(mc, dataOffset);
+        chunks.add(mc);
+      } else {
+        DictionaryPageReader.CompressedDictionary dictionary = readCompressedDictionary(mc);
+        if (dictionary != null) {
+          dictionaries.put(mc.getPath(), dictionary);
+        }
+      }
+    }
+    Collections.sort(chunks, new Comparator<ColumnChunkMetaData>() {
+      @Override
+      public int compare(ColumnChunkMetaData a, ColumnChunkMetaData b) {
+        return Long.compare(a.getStartingPos(), b.getStartingPos());
+      }
+    });
+
+    int first = 0;
+    while (first < chunks.size()) {
+      // merge the following dictionaries with the same limits as column chunks
+      long offset = chunks.get(first).getStartingPos();
+      long end = dataOffsets.get(chunks.get(first));
+      int last = first + 1;
+      while (last < chunks.size()) {
+        ColumnChunkMetaData next = chunks.get(last);
+        long gap = next.getStartingPos() - end;
+        if (gap < 0 || gap > maxReadGap || dataOffsets.get(next) - offset > maxMergedReadSize) {
+          break;
+        }
+        end = dataOffsets.get(next);
+        last += 1;
+      }
+
+      byte[] bytes = new byte[Ints.checkedCast(end - offset)];
+      long start = System.nanoTime();
+      synchronized (f) {
+        f.seek(offset);
+        f.readFully(bytes);
+      }
+      metrics.fileRead(bytes.length, System.nanoTime() - start);
+
+      for (int i = first; i < last; i += 1) {
+        ColumnChunkMetaData mc = chunks.get(i);
+        long dataOffset = dataOffsets.get(mc);
+        int pageOffset = (int) (mc.getStartingPos() - offset);
+        int length = (int) (dataOffset - mc.getStartingPos());
+        ByteArrayInputStream in = new ByteArrayInputStream(bytes, pageOffset, length);
+        PageHeader pageHeader = Util.readPageHeader(in);
+        if (pageHeader.isSetDictionary_page_header()
+            && pageHeader.getCompressed_page_size() == in.available()) {
+          DictionaryPageHeader dictHeader = pageHeader.getDictionary_page_header();
+          DictionaryPage page = new DictionaryPage(
+              BytesInput.from(bytes, (int) (dataOffset - offset) - in.available(), in.available()),
+              pageHeader.getUncompressed_page_size(), dictHeader.getNum_values(),
+              converter.getEncoding(dictHeader.getEncoding()));
+          dictionaries.put(mc.getPath(), new DictionaryPageReader.CompressedDictionary(page, dataOffset));
+        } else {
+          DictionaryPageReader.CompressedDictionary dictionary = readCompressedDictionary(mc);
+          if (dictionary != null) {
+            dictionaries.put(mc.getPath(), dictionary);
+          }
+        }
+      }
+      first = last;
+    }
+    return dictionaries;
+  }
+
+  /**
+   * @param mc a column chunk
+   * @return the offset of the chunk's first data page if it is known without
+   *         reading the chunk, or the chunk's starting position
+   */
+  private long getFirstDataPageOffset(ColumnChunkMetaData mc) throws IOException {
+    if (mc.getStartingPos() < mc.getFirstDataPageOffset()) {
+      return mc.getFirstDataPageOffset();
+    }
+    // the first data page offset written by older versions is the chunk's start
+    IndexReference ref = mc.getOffsetIndexReference();
+    if (ref != null && tail != null && tail.contains(ref.getOffset(), ref.getLength())) {
+      OffsetIndex offsetIndex = readOffsetIndex(mc);
+      if (offsetIndex.getPageCount() > 0) {
+        return offsetIndex.getOffset(0);
+      }
+    }
+    return mc.getStartingPos();
+  }
+
+  /**
+   * Reads the compressed dictionary page at the start of the given column chunk.
+   *
+   * @param mc a column chunk
+   * @return the dictionary page and the offset of the page that follows it, or
+   *         null if the chunk does not start with a dictionary page
+   * @throws IOException
+   */
+  private DictionaryPageReader.CompressedDictionary readCompressedDictionary(ColumnChunkMetaData mc) throws IOException {
+    synchronized (f) {
+      long start = System.nanoTime();
+      f.seek(mc.getStartingPos());
+      PageHeader pageHeader = Util.readPageHeader(f);
+      if (!pageHeader.isSetDictionary_page_header()) {
+        metrics.fileRead(f.getPos() - mc.getStartingPos(), System.nanoTime() - start);
+        return null;
+      }
+      DictionaryPage page = readCompressedDictionary(pageHeader, f);
+      metrics.fileRead(f.getPos() - mc.getStartingPos(), System.nanoTime() - start);
+      return new DictionaryPageReader.CompressedDictionary(page, f.getPos());
+    }
+  }
+
   private DictionaryPage readCompressedDictionary(
       PageHeader pageHeader, SeekableInputStream fin) throws IOException {
     DictionaryPageHeader dictHeader = pageHeader.getDictionary_page_header();
@@ -813,8 +1819,13 @@ public class ParquetFileReader implements Closeable {
   @Override
   public void close() throws IOException {
     try {
+      discardPrefetchedRowGroups();
+      releaseCurrentRowGroup();
       if (f != null) {
-        f.close();
+        // wait for a background read that is already running
+        synchronized (f) {
+          f.close();
+        }
       }
     } finally {
       if (codecFactory != null) {
@@ -823,24 +1834,207 @@ public class ParquetFileReader implements Closeable {
     }
   }
 
+  /**
+   * PageReader for a column chunk that reads, decompresses and returns one page
+   * at a time from the file, so that only the current page of each column is
+   * held in memory.
+   *
+   * The file stream is shared with the other columns, so each page read seeks
+   * to this chunk's next page.
+   */
+  private class StreamingChunkPageReader implements SkippablePageReader {
+
+    private final ChunkDescriptor descriptor;
+    private final PrimitiveType type;
+    private final BytesDecompressor decompressor;
+    private long nextPageOffset;
+    private long valuesCountReadSoFar = 0;
+    private boolean dictionaryChecked = false;
+    private DictionaryPage compressedDictionaryPage = null;
+    // the first data page, read while looking for the dictionary page
+    private DataPage pendingPage = null;
+    // the header of the next page, when it was read to find the page's value count
+    private PageHeader nextHeader = null;
+    private long nextDataOffset;
+
+    StreamingChunkPageReader(ChunkDescriptor descriptor) {
+      this.descriptor = descriptor;
+      this.type = getFileMetaData().getSchema()
+          .getType(descriptor.col.getPath()).asPrimitiveType();
+      this.decompressor = getDecompressor(descriptor.metadata.getPath(), descriptor.metadata.getCodec());
+      this.nextPageOffset = descriptor.fileOffset;
+      if (descriptor.dictionaryPage != null) {
+        this.compressedDictionaryPage = descriptor.dictionaryPage;
+        this.dictionaryChecked = true;
+      }
+    }
+
+    @Override
+    public long getTotalValueCount() {
+      return descriptor.metadata.getValueCount();
+    }
+
+    @Override
+    public DictionaryPage readDictionaryPage() {
+      checkDictionary();
+      return ColumnChunkPageReader.decompress(decompressor, compressedDictionaryPage);
+    }
+
+    @Override
+    public DataPage readPage() {
+      checkDictionary();
+      DataPage compressedPage = pendingPage;
+      pendingPage = null;
+      while (compressedPage == null && valuesCountReadSoFar < descriptor.metadata.getValueCount()) {
+        Page page = readNextPage();
+        if (page instanceof DictionaryPage) {
+          throw new ParquetDecodingException("more than one dictionary page in column " + descriptor.col);
+        }
+        compressedPage = (DataPage) page;
+      }
+      if (compressedPage == null) {
+        return null;
+      }
+      return ColumnChunkPageReader.decompress(decompressor, compressedPage);
+    }
+
+    @Override
+    public int getNextPageValueCount() {
+      checkDictionary();
+      if (pendingPage != null) {
+        return pendingPage.getValueCount();
+      }
+      while (valuesCountReadSoFar < descriptor.metadata.getValueCount()) {
+        PageHeader header = peekHeader();
+        switch (header.getType()) {
+          case DATA_PAGE:
+            return header.getData_page_header().getNum_values();
+          case DATA_PAGE_V2:
+            return header.getData_page_header_v2().getNum_values();
+          case DICTIONARY_PAGE:
+            throw new ParquetDecodingException("more than one dictionary page in column " + descriptor.col);
+          default:
+            skipPeekedPage();
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    public void skipPage() {
+      int valueCount = getNextPageValueCount();
+      if (valueCount < 0) {
+        return;
+      }
+      if (pendingPage != null) {
+        pendingPage = null;
+      } else {
+        valuesCountReadSoFar += valueCount;
+        skipPeekedPage();
+      }
+      metrics.pagesSkipped(descriptor.metadata.getPath(), 1);
+    }
+
+    private PageHeader peekHeader() {
+      if (nextHeader == null) {
+        try {
+          synchronized (f) {
+            f.seek(nextPageOffset);
+            this.nextHeader = Util.readPageHeader(f);
+            this.nextDataOffset = f.getPos();
+          }
+        } catch (IOException e) {
+          throw new ParquetDecodingException("could not read page header in column " + descriptor.col
+              + " at offset " + nextPageOffset + " in " + getPath(), e);
+        }
+      }
+      return nextHeader;
+    }
+
+    /**
+     * Moves past the page of the peeked header without reading its data.
+     */
+    private void skipPeekedPage() {
+      this.nextPageOffset = nextDataOffset + nextHeader.getCompressed_page_size();
+      this.nextHeader = null;
+    }
+
+    /**
+     * The dictionary page, if any, is the first page of the chunk.
+     */
+    private void checkDictionary() {
+      if (dictionaryChecked) {
+        return;
+      }
+      dictionaryChecked = true;
+      Page page = null;
+      while (page == null && valuesCountReadSoFar < descriptor.metadata.getValueCount()) {
+        page = readNextPage();
+      }
+      if (page instanceof DictionaryPage) {
+        this.compressedDictionaryPage = (DictionaryPage) page;
+      } else {
+        this.pendingPage = (DataPage) page;
+      }
+    }
+
+    /**
+     * @return the next compressed page, or null if it was skipped
+     */
+    private Page readNextPage() {
+      try {
+        PageHeader pageHeader;
+        ByteBuffer pageBytes;
+        long pageOffset = nextPageOffset;
+        long start = System.nanoTime();
+        synchronized (f) {
+          if (nextHeader != null) {
+            pageHeader = nextHeader;
+            this.nextHeader = null;
+            f.seek(nextDataOffset);
+          } else {
+            f.seek(pageOffset);
+            pageHeader = Util.readPageHeader(f);
+          }
+          // streamed pages are not released, so they are not taken from the pool
+          pageBytes = HEAP_ALLOCATOR.allocate(pageHeader.getCompressed_page_size());
+          f.readFully(pageBytes);
+          this.nextPageOffset = f.getPos();
+        }
+        pageBytes.flip();
+        metrics.fileRead(nextPageOffset - pageOffset, System.nanoTime() - start);
+        metrics.columnBytesRead(descriptor.metadata.getPath(), nextPageOffset - pageOffset);
+
+        Page page = new Chunk(descriptor, Collections.singletonList(pageBytes)).readPage(pageHeader, type);
+        if (page instanceof DataPage) {
+          valuesCountReadSoFar += ((DataPage) page).getValueCount();
+          metrics.pagesRead(descriptor.metadata.getPath(), 1);
+        }
+        return page;
+      } catch (IOException e) {
+        throw new ParquetDecodingException("could not read page in column " + descriptor.col
+            + " at offset " + nextPageOffset + " in " + getPath(), e);
+      }
+    }
+  }
+
   /**
    * The data for a column chunk
    *
    * @author Julien Le Dem
    *
    */
-  private class Chunk extends ByteBufferInputStream {
+  private class Chunk extends MultiBufferInputStream {
 
     private final ChunkDescriptor descriptor;
 
     /**
      *
      * @param descriptor descriptor for the chunk
-     * @param data contains the chunk data at offset
-     * @param offset where the chunk starts in offset
+     * @param buffers contain the chunk data, in order
      */
-    public Chunk(ChunkDescriptor descriptor, ByteBuffer data, int offset) {
-      super(data, offset, descriptor.size);
+    public Chunk(ChunkDescriptor descriptor, List<ByteBuffer> buffers) {
+      super(buffers);
       this.descriptor = descriptor;
     }
 
@@ -852,73 +2046,24 @@ public class ParquetFileReader implements Closeable {
      * Read all of the pages in a given column chunk.
      * @return the list of pages
      */
-    public ColumnChunkPageReader readAllPages() throws IOException {
+    public PageReader readAllPages() throws IOException {
       List<DataPage> pagesInChunk = new ArrayList<DataPage>();
-      DictionaryPage dictionaryPage = null;
+      DictionaryPage dictionaryPage = descriptor.dictionaryPage;
       PrimitiveType type = getFileMetaData().getSchema()
           .getType(descriptor.col.getPath()).asPrimitiveType();
       long valuesCountReadSoFar = 0;
       while (valuesCountReadSoFar < descriptor.metadata.getValueCount()) {
-        PageHeader pageHeader = readPageHeader();
-        int uncompressedPageSize = pageHeader.getUncompressed_page_size();
-        int compressedPageSize = pageHeader.getCompressed_page_size();
-        switch (pageHeader.type) {
-          case DICTIONARY_PAGE:
-            // there is only one dictionary page per column chunk
-            if (dictionaryPage != null) {
-              throw new ParquetDecodingException("more than one dictionary page in column " + descriptor.col);
-            }
-          DictionaryPageHeader dicHeader = pageHeader.getDictionary_page_header();
-          dictionaryPage =
-                new DictionaryPage(
-                    this.readAsBytesInput(compressedPageSize),
-                    uncompressedPageSize,
-                    dicHeader.getNum_values(),
-                    converter.getEncoding(dicHeader.getEncoding())
-                    );
-            break;
-          case DATA_PAGE:
-            DataPageHeader dataHeaderV1 = pageHeader.getData_page_header();
-            pagesInChunk.add(
-                new DataPageV1(
-                    this.readAsBytesInput(compressedPageSize),
-                    dataHeaderV1.getNum_values(),
-                    uncompressedPageSize,
-                    converter.fromParquetStatistics(
-                        getFileMetaData().getCreatedBy(),
-                        dataHeaderV1.getStatistics(),
-                        type),
-                    converter.getEncoding(dataHeaderV1.getRepetition_level_encoding()),
-                    converter.getEncoding(dataHeaderV1.getDefinition_level_encoding()),
-                    converter.getEncoding(dataHeaderV1.getEncoding())
-                    ));
-            valuesCountReadSoFar += dataHeaderV1.getNum_values();
-            break;
-          case DATA_PAGE_V2:
-            DataPageHeaderV2 dataHeaderV2 = pageHeader.getData_page_header_v2();
-            int dataSize = compressedPageSize - dataHeaderV2.getRepetition_levels_byte_length() - dataHeaderV2.getDefinition_levels_byte_length();
-            pagesInChunk.add(
-                new DataPageV2(
-                    dataHeaderV2.getNum_rows(),
-                    dataHeaderV2.getNum_nulls(),
-                    dataHeaderV2.getNum_values(),
-                    this.readAsBytesInput(dataHeaderV2.getRepetition_levels_byte_length()),
-                    this.readAsBytesInput(dataHeaderV2.getDefinition_levels_byte_length()),
-                    converter.getEncoding(dataHeaderV2.getEncoding()),
-                    this.readAsBytesInput(dataSize),
-                    uncompressedPageSize,
-                    converter.fromParquetStatistics(
-                        getFileMetaData().getCreatedBy(),
-                        dataHeaderV2.getStatistics(),
-                        type),
-                    dataHeaderV2.isIs_compressed()
-                    ));
-            valuesCountReadSoFar += dataHeaderV2.getNum_values();
-            break;
-          default:
-            LOG.debug("skipping page of type {} of size {}", pageHeader.getType(), compressedPageSize);
-            this.skip(compressedPageSize);
-            break;
+        Page page = readPage(readPageHeader(), type);
+        if (page instanceof DictionaryPage) {
+          // there is only one dictionary page per column chunk
+          if (dictionaryPage != null) {
+            throw new ParquetDecodingException("more than one dictionary page in column " + descriptor.col);
+          }
+          dictionaryPage = (DictionaryPage) page;
+        } else if (page != null) {
+          DataPage dataPage = (DataPage) page;
+          pagesInChunk.add(dataPage);
+          valuesCountReadSoFar += dataPage.getValueCount();
         }
       }
       if (valuesCountReadSoFar != descriptor.metadata.getValueCount()) {
@@ -929,15 +2074,94 @@ public class ParquetFileReader implements Closeable {
             " but got " + valuesCountReadSoFar + " values instead over " + pagesInChunk.size()
             + " pages ending at file offset " + (descriptor.fileOffset + pos()));
       }
-      BytesDecompressor decompressor = codecFactory.getDecompressor(descriptor.metadata.getCodec());
-      return new ColumnChunkPageReader(decompressor, pagesInChunk, dictionaryPage);
+      metrics.pagesRead(descriptor.metadata.getPath(), pagesInChunk.size());
+      return newPageReader(descriptor.metadata.getPath(), descriptor.metadata.getCodec(), pagesInChunk, dictionaryPage);
+    }
+
+    /**
+     * Reads the compressed page that follows the given header.
+     * @param pageHeader the header of the page, already read
+     * @param type the type of the chunk's column
+     * @return a DictionaryPage, a DataPage, or null if the page was skipped
+     * @throws IOException
+     */
+    public Page readPage(PageHeader pageHeader, PrimitiveType type) throws IOException {
+      return readPage(pageHeader, type, -1);
+    }
+
+    /**
+     * Reads the compressed page that follows the given header.
+     * @param pageHeader the header of the page, already read
+     * @param type the type of the chunk's column
+     * @param firstRowIndex the index in the row group of the first row of a data page, or -1 if unknown
+     * @return a DictionaryPage, a DataPage, or null if the page was skipped
+     * @throws IOException
+     */
+    public Page readPage(PageHeader pageHeader, PrimitiveType type, long firstRowIndex) throws IOException {
+      int uncompressedPageSize = pageHeader.getUncompressed_page_size();
+      int compressedPageSize = pageHeader.getCompressed_page_size();
+      switch (pageHeader.type) {
+        case DICTIONARY_PAGE:
+          DictionaryPageHeader dicHeader = pageHeader.getDictionary_page_header();
+          return new DictionaryPage(
+              this.readAsBytesInput(compressedPageSize),
+              uncompressedPageSize,
+              dicHeader.getNum_values(),
+              converter.getEncoding(dicHeader.getEncoding())
+              );
+        case DATA_PAGE:
+          DataPageHeader dataHeaderV1 = pageHeader.getData_page_header();
+          return new DataPageV1(
+              this.readAsBytesInput(compressedPageSize),
+              dataHeaderV1.getNum_values(),
+              uncompressedPageSize,
+              converter.fromParquetStatistics(
+                  getFileMetaData().getCreatedBy(),
+                  dataHeaderV1.getStatistics(),
+                  type),
+              converter.getEncoding(dataHeaderV1.getRepetition_level_encoding()),
+              converter.getEncoding(dataHeaderV1.getDefinition_level_encoding()),
+              converter.getEncoding(dataHeaderV1.getEncoding()),
+              firstRowIndex
+              );
+        case DATA_PAGE_V2:
+          DataPageHeaderV2 dataHeaderV2 = pageHeader.getData_page_header_v2();
+          int dataSize = compressedPageSize - dataHeaderV2.getRepetition_levels_byte_length() - dataHeaderV2.getDefinition_levels_byte_length();
+          BytesInput repetitionLevels = this.readAsBytesInput(dataHeaderV2.getRepetition_levels_byte_length());
+          BytesInput definitionLevels = this.readAsBytesInput(dataHeaderV2.getDefinition_levels_byte_length());
+          BytesInput data = this.readAsBytesInput(dataSize);
+          if (recycleBuffers && !dataHeaderV2.isIs_compressed()) {
+            // values may be views of the data, which must not be in a recycled buffer
+            data = BytesInput.copy(data);
+          }
+          return new DataPageV2(
+              dataHeaderV2.getNum_rows(),
+              dataHeaderV2.getNum_nulls(),
+              dataHeaderV2.getNum_values(),
+              repetitionLevels,
+              definitionLevels,
+              converter.getEncoding(dataHeaderV2.getEncoding()),
+              data,
+              uncompressedPageSize,
+              converter.fromParquetStatistics(
+                  getFileMetaData().getCreatedBy(),
+                  dataHeaderV2.getStatistics(),
+                  type),
+              dataHeaderV2.isIs_compressed(),
+              firstRowIndex
+              );
+        default:
+          LOG.debug("skipping page of type {} of size {}", pageHeader.getType(), compressedPageSize);
+          this.skip(compressedPageSize);
+          return null;
+      }
     }
 
     /**
      * @return the current position in the chunk
      */
-    public int pos() {
-      return this.byteBuf.position();
+    public long pos() {
+      return position();
     }
 
     /**
@@ -946,10 +2170,16 @@ public class ParquetFileReader implements Closeable {
      * @throws IOException
      */
     public BytesInput readAsBytesInput(int size) throws IOException {
-      int pos = this.byteBuf.position();
-      final BytesInput r = BytesInput.from(this.byteBuf, pos, size);
-      this.byteBuf.position(pos + size);
-      return r;
+      List<ByteBuffer> buffers = sliceBuffers(size);
+      if (buffers.size() == 1) {
+        return BytesInput.from(buffers.get(0), 0, size);
+      }
+      // the page spans several buffer segments
+      List<BytesInput> inputs = new ArrayList<BytesInput>(buffers.size());
+      for (ByteBuffer buffer : buffers) {
+        inputs.add(BytesInput.from(buffer, 0, buffer.remaining()));
+      }
+      return BytesInput.concat(inputs);
     }
 
   }
@@ -966,18 +2196,17 @@ public class ParquetFileReader implements Closeable {
 
     /**
      * @param descriptor the descriptor of the chunk
-     * @param byteBuf contains the data of the chunk at offset
-     * @param offset where the chunk starts in data
+     * @param buffers contain the data of the chunk, in order
      * @param f the file stream positioned at the end of this chunk
      */
-    private WorkaroundChunk(ChunkDescriptor descriptor, ByteBuffer byteBuf, int offset, SeekableInputStream f) {
-      super(descriptor, byteBuf, offset);
+    private WorkaroundChunk(ChunkDescriptor descriptor, List<ByteBuffer> buffers, SeekableInputStream f) {
+      super(descriptor, buffers);
       this.f = f;
     }
 
     protected PageHeader readPageHeader() throws IOException {
       PageHeader pageHeader;
-      int initialPos = pos();
+      mark(0);
       try {
         pageHeader = Util.readPageHeader(this);
       } catch (IOException e) {
@@ -986,7 +2215,7 @@ public class ParquetFileReader implements Closeable {
         // to allow reading older files (using dictionary) we need this.
         // usually 13 to 19 bytes are missing
         // if the last page is smaller than this, the page header itself is truncated in the buffer.
-        this.byteBuf.position(initialPos); // resetting the buffer to the position before we got the error
+        reset(); // resetting the buffer to the position before we got the error
         LOG.info("completing the column chunk to read the page header");
         pageHeader = Util.readPageHeader(new SequenceInputStream(this, f)); // trying again from the buffer + remainder of the stream.
       }
@@ -994,12 +2223,12 @@ public class ParquetFileReader implements Closeable {
     }
 
     public BytesInput readAsBytesInput(int size) throws IOException {
-      if (pos() + size > initPos + count) {
+      if (pos() + size > length()) {
         // this is to workaround a bug where the compressedLength
         // of the chunk is missing the size of the header of the dictionary
         // to allow reading older files (using dictionary) we need this.
         // usually 13 to 19 bytes are missing
-        int l1 = initPos + count - pos();
+        int l1 = (int) (length() - pos());
         int l2 = size - l1;
         LOG.info("completed the column chunk with {} bytes", l2);
         return BytesInput.concat(super.readAsBytesInput(l1), BytesInput.copy(BytesInput.from(f, l2)));
@@ -1010,6 +2239,125 @@ public class ParquetFileReader implements Closeable {
   }
 
 
+  /**
+   * the last bytes of a file, read at once to get the footer and its length
+   */
+  private static class FileTail {
+
+    private final long offset;
+    private final byte[] bytes;
+
+    /**
+     * @param offset the position of the first byte in the file
+     * @param bytes the bytes at the end of the file
+     */
+    private FileTail(long offset, byte[] bytes) {
+      this.offset = offset;
+      this.bytes = bytes;
+    }
+
+    /**
+     * @return whether the tail holds the bytes from pos to pos + length
+     */
+    public boolean contains(long pos, int length) {
+      return pos >= offset && pos + length <= offset + bytes.length;
+    }
+
+    /**
+     * @return a stream of the bytes from pos to pos + length, which must be in the tail
+     */
+    public InputStream stream(long pos, int length) {
+      return new ByteArrayInputStream(bytes, (int) (pos - offset), length);
+    }
+  }
+
+  /**
+   * a row group that is being read in the background
+   */
+  private class PrefetchedRowGroup {
+
+    private final int blockIndex;
+    private final long size;
+    // the background read, set when it is submitted
+    private Future<ColumnChunkPageReadStore> future;
+    // the row group read in the background, guarded by this
+    private ColumnChunkPageReadStore rowGroup = null;
+    private boolean discarded = false;
+
+    /**
+     * @param blockIndex the index of the row group in blocks
+     * @param size the number of bytes that will be read
+     */
+    private PrefetchedRowGroup(int blockIndex, long size) {
+      this.blockIndex = blockIndex;
+      this.size = size;
+    }
+
+    /**
+     * called by the background read when the row group is read.
+     * A row group that was discarded in the meantime is released.
+     * @param rowGroup the row group
+     * @return the row group
+     */
+    private ColumnChunkPageReadStore complete(ColumnChunkPageReadStore rowGroup) {
+      synchronized (this) {
+        if (!discarded) {
+          this.rowGroup = rowGroup;
+          return rowGroup;
+        }
+      }
+      releaseRowGroup(rowGroup);
+      return rowGroup;
+    }
+
+    /**
+     * waits for the background read to complete
+     * @return the row group
+     * @throws IOException if the background read failed
+     */
+    public ColumnChunkPageReadStore get() throws IOException {
+      long start = System.nanoTime();
+      try {
+        return future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while waiting for row group " + blockIndex + " of " + getPath(), e);
+      } catch (ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof IOException) {
+          throw (IOException) cause;
+        } else if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        throw new IOException("Could not read row group " + blockIndex + " of " + getPath(), cause);
+      } finally {
+        long waitNanos = System.nanoTime() - start;
+        prefetchWaitNanos += waitNanos;
+        prefetchedBytes -= size;
+        metrics.prefetchWaited(waitNanos);
+      }
+    }
+
+    /**
+     * the result of the read is not needed anymore.
+     * A read that already started is not interrupted because the stream is shared,
+     * its row group is released when it completes.
+     */
+    public void discard() {
+      future.cancel(false);
+      prefetchedBytes -= size;
+      ColumnChunkPageReadStore toRelease;
+      synchronized (this) {
+        this.discarded = true;
+        toRelease = rowGroup;
+        this.rowGroup = null;
+      }
+      if (toRelease != null) {
+        releaseRowGroup(toRelease);
+      }
+    }
+  }
+
   /**
    * information needed to read a column chunk
    */
@@ -1018,7 +2366,9 @@ public class ParquetFileReader implements Closeable {
     private final ColumnDescriptor col;
     private final ColumnChunkMetaData metadata;
     private final long fileOffset;
-    private final int size;
+    private final long size;
+    // the compressed dictionary page, when it was read before the chunk
+    private final DictionaryPage dictionaryPage;
 
     /**
      * @param col column this chunk is part of
@@ -1030,25 +2380,44 @@ public class ParquetFileReader implements Closeable {
         ColumnDescriptor col,
         ColumnChunkMetaData metadata,
         long fileOffset,
-        int size) {
+        long size) {
+      this(col, metadata, fileOffset, size, null);
+    }
+
+    /**
+     * @param col column this chunk is part of
+     * @param metadata metadata for the column
+     * @param fileOffset offset in the file where the data pages of this chunk start
+     * @param size size of the data pages of the chunk
+     * @param dictionaryPage the dictionary page of the chunk, already read, compressed or decoded
+     */
+    private ChunkDescriptor(
+        ColumnDescriptor col,
+        ColumnChunkMetaData metadata,
+        long fileOffset,
+        long size,
+        DictionaryPage dictionaryPage) {
       super();
       this.col = col;
       this.metadata = metadata;
       this.fileOffset = fileOffset;
       this.size = size;
+      this.dictionaryPage = dictionaryPage;
     }
   }
 
   /**
    * describes a list of consecutive column chunks to be read at once.
+   * The chunks may be separated by gaps of unrequested bytes that are read and discarded.
    *
    * @author Julien Le Dem
    */
   private class ConsecutiveChunkList {
 
     private final long offset;
-    private int length;
+    private long length;
     private final List<ChunkDescriptor> chunks = new ArrayList<ChunkDescriptor>();
+    private List<ByteBuffer> allocatedSegments = Collections.emptyList();
 
     /**
      * @param offset where the first chunk starts
@@ -1057,14 +2426,24 @@ public class ParquetFileReader implements Closeable {
       this.offset = offset;
     }
 
+    /**
+     * @param startingPos where the chunk starts
+     * @param size the size of the chunk
+     * @return whether the chunk is close enough to the end of this list to be read with it
+     */
+    public boolean canAppend(long startingPos, long size) {
+      long gap = startingPos - endPos();
+      return gap >= 0 && gap <= maxReadGap && startingPos + size - offset <= maxMergedReadSize;
+    }
+
     /**
      * adds a chunk to the list.
-     * It must be consecutive to the previous chunk
+     * It must start after the previous chunk
      * @param descriptor
      */
     public void addChunk(ChunkDescriptor descriptor) {
       chunks.add(descriptor);
-      length += descriptor.size;
+      length = descriptor.fileOffset + descriptor.size - offset;
     }
 
     /**
@@ -1074,28 +2453,77 @@ public class ParquetFileReader implements Closeable {
      */
     public List<Chunk> readAll(SeekableInputStream f) throws IOException {
       List<Chunk> result = new ArrayList<Chunk>(chunks.size());
+      long start = System.nanoTime();
       f.seek(offset);
 
-      // Allocate the bytebuffer based on whether the FS can support it.
-      ByteBuffer chunksByteBuffer = allocator.allocate(length);
-      f.readFully(chunksByteBuffer);
+      List<ByteBuffer> segments;
+      if (f instanceof MappedSeekableInputStream) {
+        // use the mapped file contents without copying them
+        segments = ((MappedSeekableInputStream) f).sliceBuffers(length);
+      } else {
+        segments = readSegments(f);
+        this.allocatedSegments = segments;
+      }
 
-      // report in a counter the data we just scanned
-      BenchmarkCounter.incrementBytesRead(length);
-      int currentChunkOffset = 0;
+      // report the data we just scanned
+      metrics.fileRead(length, System.nanoTime() - start);
+      MultiBufferInputStream stream = new MultiBufferInputStream(segments);
       for (int i = 0; i < chunks.size(); i++) {
         ChunkDescriptor descriptor = chunks.get(i);
+        metrics.columnBytesRead(descriptor.metadata.getPath(), descriptor.size);
+        // skip the gap before this chunk
+        stream.skip(descriptor.fileOffset - offset - stream.position());
         if (i < chunks.size() - 1) {
-          result.add(new Chunk(descriptor, chunksByteBuffer, currentChunkOffset));
+          // because of a bug, a chunk might be larger than descriptor.size
+          // so the bytes up to the next chunk are made available
+          long available = chunks.get(i + 1).fileOffset - descriptor.fileOffset;
+          result.add(new Chunk(descriptor, stream.sliceBuffers(available)));
         } else {
           // because of a bug, the last chunk might be larger than descriptor.size
-          result.add(new WorkaroundChunk(descriptor, chunksByteBuffer, currentChunkOffset, f));
+          result.add(new WorkaroundChunk(descriptor, stream.sliceBuffers(descriptor.size), f));
         }
-        currentChunkOffset += descriptor.size;
       }
       return result ;
     }
 
+    /**
+     * reads into fixed-size segments to avoid one large contiguous allocation.
+     * @param f file positioned at the start of the chunks
+     * @return the buffers holding the chunks
+     * @throws IOException
+     */
+    private List<ByteBuffer> readSegments(SeekableInputStream f) throws IOException {
+      List<ByteBuffer> segments = new ArrayList<ByteBuffer>();
+      long remaining = length;
+      while (remaining > 0) {
+        int segmentSize = (int) Math.min(remaining, readSegmentSize);
+        // Allocate the bytebuffer based on whether the FS can support it.
+        ByteBuffer segment = allocator.allocate(segmentSize);
+        f.readFully(segment);
+        segment.flip();
+        segments.add(segment);
+        remaining -= segmentSize;
+      }
+      return segments;
+    }
+
+    /**
+     * Values of uncompressed chunks may be views of the buffers they were read
+     * into, so those buffers must not be reused while the values are in use.
+     * The data of uncompressed V2 pages in compressed chunks is copied out of
+     * the buffers when the pages are read.
+     * @return the allocated buffers that can be recycled once the pages read
+     *         from these chunks are no longer used
+     */
+    public List<ByteBuffer> getRecyclableBuffers() {
+      for (ChunkDescriptor chunk : chunks) {
+        if (chunk.metadata.getCodec() == CompressionCodecName.UNCOMPRESSED) {
+          return Collections.emptyList();
+        }
+      }
+      return allocatedSegments;
+    }
+
     /**
      * @return the position following the last byte of these chunks
      */
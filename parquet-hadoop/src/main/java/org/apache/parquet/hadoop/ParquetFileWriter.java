@@ -22,6 +22,7 @@ import static org.apache.parquet.format.Util.writeFileMetaData;
 import static org.apache.parquet.hadoop.ParquetWriter.DEFAULT_BLOCK_SIZE;
 import static org.apache.parquet.hadoop.ParquetWriter.MAX_PADDING_SIZE_DEFAULT;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
@@ -50,14 +51,18 @@ import org.apache.parquet.column.Encoding;
 import org.apache.parquet.column.EncodingStats;
 import org.apache.parquet.column.page.DictionaryPage;
 import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.column.values.bloomfilter.BlockSplitBloomFilter;
 import org.apache.parquet.hadoop.ParquetOutputFormat.JobSummaryLevel;
 import org.apache.parquet.hadoop.metadata.ColumnPath;
 import org.apache.parquet.format.converter.ParquetMetadataConverter;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
 import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.metadata.ColumnIndex;
 import org.apache.parquet.hadoop.metadata.FileMetaData;
 import org.apache.parquet.hadoop.metadata.GlobalMetaData;
+import org.apache.parquet.hadoop.metadata.IndexReference;
+import org.apache.parquet.hadoop.metadata.OffsetIndex;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
 import org.apache.parquet.hadoop.util.HadoopStreams;
 import org.apache.parquet.io.SeekableInputStream;
@@ -134,6 +139,18 @@ public class ParquetFileWriter {
   private long currentChunkValueCount;            // set in startColumn
   private long currentChunkFirstDataPage;         // set in startColumn (out.pos())
   private long currentChunkDictionaryPageOffset;  // set in writeDictionaryPage
+  private ColumnIndex currentColumnIndex;         // set in writeDataPages
+  private OffsetIndex currentOffsetIndex;         // set in writeDataPages
+  private BlockSplitBloomFilter currentBloomFilter; // set in writeBloomFilter
+
+  // page indexes of the column chunks written so far, written before the footer
+  private final List<ColumnChunkMetaData> indexedChunks = new ArrayList<ColumnChunkMetaData>();
+  private final List<ColumnIndex> columnIndexes = new ArrayList<ColumnIndex>();
+  private final List<OffsetIndex> offsetIndexes = new ArrayList<OffsetIndex>();
+
+  // Bloom filters of the column chunks written so far, written before the page indexes
+  private final List<ColumnChunkMetaData> bloomFilterChunks = new ArrayList<ColumnChunkMetaData>();
+  private final List<BlockSplitBloomFilter> bloomFilters = new ArrayList<BlockSplitBloomFilter>();
 
   /**
    * Captures the order in which methods should be called
@@ -312,6 +329,9 @@ public class ParquetFileWriter {
     currentChunkCodec = compressionCodecName;
     currentChunkValueCount = valueCount;
     currentChunkFirstDataPage = out.getPos();
+    currentColumnIndex = null;
+    currentOffsetIndex = null;
+    currentBloomFilter = null;
     compressedLength = 0;
     uncompressedLength = 0;
     // need to know what type of stats to initialize to
@@ -437,8 +457,34 @@ public class ParquetFileWriter {
                       Set<Encoding> rlEncodings,
                       Set<Encoding> dlEncodings,
                       List<Encoding> dataEncodings) throws IOException {
+    writeDataPages(bytes, uncompressedTotalPageSize, compressedTotalPageSize, totalStats,
+        rlEncodings, dlEncodings, dataEncodings, null, null);
+  }
+
+  /**
+   * writes a number of pages at once, with their page indexes
+   * @param bytes bytes to be written including page headers
+   * @param uncompressedTotalPageSize total uncompressed size (without page headers)
+   * @param compressedTotalPageSize total compressed size (without page headers)
+   * @param columnIndex the statistics of the pages, or null
+   * @param offsetIndex the location of the pages relative to the start of bytes, or null
+   * @throws IOException
+   */
+  void writeDataPages(BytesInput bytes,
+                      long uncompressedTotalPageSize,
+                      long compressedTotalPageSize,
+                      Statistics totalStats,
+                      Set<Encoding> rlEncodings,
+                      Set<Encoding> dlEncodings,
+                      List<Encoding> dataEncodings,
+                      ColumnIndex columnIndex,
+                      OffsetIndex offsetIndex) throws IOException {
     state = state.write();
     LOG.debug("{}: write data pages", out.getPos());
+    if (columnIndex != null && offsetIndex != null) {
+      this.currentColumnIndex = columnIndex;
+      this.currentOffsetIndex = offsetIndex.shift(out.getPos());
+    }
     long headersSize = bytes.size() - compressedTotalPageSize;
     this.uncompressedLength += uncompressedTotalPageSize + headersSize;
     this.compressedLength += compressedTotalPageSize + headersSize;
@@ -454,6 +500,15 @@ public class ParquetFileWriter {
     currentStatistics = totalStats;
   }
 
+  /**
+   * sets the Bloom filter of the current column chunk, it is written with the
+   * page indexes when the file ends
+   * @param bloomFilter the Bloom filter of the values of the column chunk
+   */
+  void writeBloomFilter(BlockSplitBloomFilter bloomFilter) {
+    this.currentBloomFilter = bloomFilter;
+  }
+
   /**
    * end a column (once all rep, def and data have been written)
    * @throws IOException
@@ -461,7 +516,7 @@ public class ParquetFileWriter {
   public void endColumn() throws IOException {
     state = state.endColumn();
     LOG.debug("{}: end column", out.getPos());
-    currentBlock.addColumn(ColumnChunkMetaData.get(
+    ColumnChunkMetaData chunk = ColumnChunkMetaData.get(
         currentChunkPath,
         currentChunkType,
         currentChunkCodec,
@@ -472,7 +527,17 @@ public class ParquetFileWriter {
         currentChunkDictionaryPageOffset,
         currentChunkValueCount,
         compressedLength,
-        uncompressedLength));
+        uncompressedLength);
+    currentBlock.addColumn(chunk);
+    if (currentColumnIndex != null) {
+      indexedChunks.add(chunk);
+      columnIndexes.add(currentColumnIndex);
+      offsetIndexes.add(currentOffsetIndex);
+    }
+    if (currentBloomFilter != null) {
+      bloomFilterChunks.add(chunk);
+      bloomFilters.add(currentBloomFilter);
+    }
     this.currentBlock.setTotalByteSize(currentBlock.getTotalByteSize() + uncompressedLength);
     this.uncompressedLength = 0;
     this.compressedLength = 0;
@@ -637,11 +702,45 @@ public class ParquetFileWriter {
   public void end(Map<String, String> extraMetaData) throws IOException {
     state = state.end();
     LOG.debug("{}: end", out.getPos());
+    serializeBloomFilters();
+    serializePageIndexes();
     ParquetMetadata footer = new ParquetMetadata(new FileMetaData(schema, extraMetaData, Version.FULL_VERSION), blocks);
     serializeFooter(footer, out);
     out.close();
   }
 
+  /**
+   * writes the Bloom filters after the row groups and sets their location in the column chunks
+   */
+  private void serializeBloomFilters() throws IOException {
+    for (int i = 0; i < bloomFilterChunks.size(); i += 1) {
+      BlockSplitBloomFilter bloomFilter = bloomFilters.get(i);
+      bloomFilterChunks.get(i).setBloomFilterReference(
+          new IndexReference(out.getPos(), bloomFilter.getBitsetSize()));
+      bloomFilter.writeTo(out);
+    }
+    LOG.debug("{}: wrote Bloom filters for {} column chunks", out.getPos(), bloomFilterChunks.size());
+  }
+
+  /**
+   * writes the page indexes after the row groups and sets their location in the column chunks
+   */
+  private void serializePageIndexes() throws IOException {
+    ByteArrayOutputStream index = new ByteArrayOutputStream();
+    for (int i = 0; i < indexedChunks.size(); i += 1) {
+      index.reset();
+      metadataConverter.writeColumnIndex(columnIndexes.get(i), index);
+      indexedChunks.get(i).setColumnIndexReference(new IndexReference(out.getPos(), index.size()));
+      index.writeTo(out);
+
+      index.reset();
+      metadataConverter.writeOffsetIndex(offsetIndexes.get(i), index);
+      indexedChunks.get(i).setOffsetIndexReference(new IndexReference(out.getPos(), index.size()));
+      index.writeTo(out);
+    }
+    LOG.debug("{}: wrote page indexes for {} column chunks", out.getPos(), indexedChunks.size());
+  }
+
   private static void serializeFooter(ParquetMetadata footer, FSDataOutputStream out) throws IOException {
     long footerIndex = out.getPos();
     org.apache.parquet.format.FileMetaData parquetMetadata = metadataConverter.toParquetMetadata(CURRENT_VERSION, footer);
@@ -64,6 +64,8 @@ import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
 import org.apache.parquet.hadoop.metadata.GlobalMetaData;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.hadoop.metrics.MetricsUtil;
+import org.apache.parquet.hadoop.metrics.ParquetMetrics;
 import org.apache.parquet.hadoop.util.ConfigurationUtil;
 import org.apache.parquet.hadoop.util.ContextUtil;
 import org.apache.parquet.hadoop.util.HiddenFileFilter;
@@ -122,6 +124,12 @@ public class ParquetInputFormat<T> extends FileInputFormat<Void, T> {
   public static final String RECORD_FILTERING_ENABLED = "parquet.filter.record-level.enabled";
   static final boolean RECORD_FILTERING_ENABLED_DEFAULT = true;
 
+  /**
+   * key to configure whether record-level filter predicates are compiled into bytecode (default: false)
+   */
+  public static final String RECORD_FILTERING_COMPILED = "parquet.filter.record-level.compiled";
+  static final boolean RECORD_FILTERING_COMPILED_DEFAULT = false;
+
   /**
    * key to configure whether row group stats filtering is enabled
    */
@@ -134,6 +142,134 @@ public class ParquetInputFormat<T> extends FileInputFormat<Void, T> {
   public static final String DICTIONARY_FILTERING_ENABLED = "parquet.filter.dictionary.enabled";
   static final boolean DICTIONARY_FILTERING_ENABLED_DEFAULT = false;
 
+  /**
+   * key to configure whether row group Bloom filter filtering is enabled
+   */
+  public static final String BLOOM_FILTERING_ENABLED = "parquet.filter.bloom.enabled";
+  static final boolean BLOOM_FILTERING_ENABLED_DEFAULT = true;
+
+  /**
+   * key to configure whether pages are filtered using the page indexes of column chunks
+   */
+  public static final String COLUMN_INDEX_FILTERING_ENABLED = "parquet.filter.columnindex.enabled";
+  static final boolean COLUMN_INDEX_FILTERING_ENABLED_DEFAULT = true;
+
+  /**
+   * key to configure whether the next row groups are read in the background
+   * while the current one is being processed (default false)
+   */
+  public static final String PREFETCH_ENABLED = "parquet.read.prefetch.enabled";
+  static final boolean PREFETCH_ENABLED_DEFAULT = false;
+
+  /**
+   * key to configure how many row groups are read ahead when prefetching is enabled
+   */
+  public static final String PREFETCH_DEPTH = "parquet.read.prefetch.depth";
+  static final int PREFETCH_DEPTH_DEFAULT = 1;
+
+  /**
+   * key to configure the maximum number of bytes held by row groups that have
+   * been prefetched but not yet returned to the reader
+   */
+  public static final String PREFETCH_MAX_BYTES = "parquet.read.prefetch.max-bytes";
+  static final long PREFETCH_MAX_BYTES_DEFAULT = 256 * 1024 * 1024;
+
+  /**
+   * key to configure the largest number of unrequested bytes between two
+   * column chunks that are read with a single request instead of two (default 0)
+   */
+  public static final String READ_MAX_GAP = "parquet.read.coalesce.max-gap";
+  static final int READ_MAX_GAP_DEFAULT = 0;
+
+  /**
+   * key to configure the largest number of bytes read with a single request
+   * when column chunks are coalesced. Larger runs are split on chunk boundaries.
+   */
+  public static final String READ_MAX_MERGED_SIZE = "parquet.read.coalesce.max-size";
+  static final long READ_MAX_MERGED_SIZE_DEFAULT = Long.MAX_VALUE;
+
+  /**
+   * key to configure the size of the buffers column chunks are read into.
+   * Reads larger than this are held in several buffers instead of a single allocation.
+   */
+  public static final String READ_BUFFER_SEGMENT_SIZE = "parquet.read.buffer.segment-size";
+  static final int READ_BUFFER_SEGMENT_SIZE_DEFAULT = 8 * 1024 * 1024;
+
+  /**
+   * key to turn on or off recycling the buffers that column chunks are read
+   * into (default false). When enabled, buffers come from the JVM-wide
+   * {@link org.apache.parquet.bytes.PooledByteBufferAllocator} and are returned
+   * to it when the next row group is read or the reader is closed, so pages
+   * and values of a row group must not be used after that. Buffers holding
+   * uncompressed column chunks are not recycled because values may reference
+   * them directly.
+   */
+  public static final String READ_BUFFER_POOLING_ENABLED = "parquet.read.buffer.pooling.enabled";
+  static final boolean READ_BUFFER_POOLING_ENABLED_DEFAULT = false;
+
+  /**
+   * key to configure the {@link ParquetMetrics} class instantiated for each
+   * file reader, which must have a no-arg constructor. By default, events are
+   * not reported.
+   */
+  public static final String METRICS_CLASS = "parquet.read.metrics.class";
+
+  /**
+   * key to configure the number of bytes read from the end of a file to get
+   * its footer in one read. Larger footers need a second read.
+   */
+  public static final String FOOTER_READ_SIZE = "parquet.read.footer.speculative-size";
+  static final int FOOTER_READ_SIZE_DEFAULT = 64 * 1024;
+
+  /**
+   * key to turn on or off the JVM-wide {@link FooterCache} (default false).
+   * Footers are cached by path, length and modification time and shared by all
+   * readers in the process.
+   */
+  public static final String FOOTER_CACHE_ENABLED = "parquet.read.footer.cache.enabled";
+  static final boolean FOOTER_CACHE_ENABLED_DEFAULT = false;
+
+  /**
+   * key to configure the estimated heap size of all footers held by the
+   * {@link FooterCache}. The value is used when the cache is created by the
+   * first reader that enables it.
+   */
+  public static final String FOOTER_CACHE_MAX_BYTES = "parquet.read.footer.cache.max-bytes";
+  static final long FOOTER_CACHE_MAX_BYTES_DEFAULT = 64 * 1024 * 1024;
+
+  /**
+   * key to turn on or off reading pages one at a time from the file instead of
+   * reading whole column chunks (default false). This keeps about one page per
+   * column in memory at the cost of a seek for each page. Prefetching is not
+   * used when this is enabled.
+   */
+  public static final String PAGE_STREAMING_ENABLED = "parquet.read.page-streaming.enabled";
+  static final boolean PAGE_STREAMING_ENABLED_DEFAULT = false;
+
+  /**
+   * key to turn on or off decompressing the pages of each column on a shared
+   * fork-join pool, ahead of the reading thread (default false). The pages of
+   * different columns are then decompressed in parallel.
+   */
+  public static final String PARALLEL_DECOMPRESSION_ENABLED = "parquet.read.decompression.parallel.enabled";
+  static final boolean PARALLEL_DECOMPRESSION_ENABLED_DEFAULT = false;
+
+  /**
+   * key to configure the size of decompressed pages that may be held ahead of
+   * the reading thread for each column when decompressing in parallel.
+   */
+  public static final String PARALLEL_DECOMPRESSION_BUFFER_SIZE = "parquet.read.decompression.parallel.buffer-size";
+  static final long PARALLEL_DECOMPRESSION_BUFFER_SIZE_DEFAULT = 4 * 1024 * 1024;
+
+  /**
+   * key to turn on or off returning the dictionary ids of dictionary encoded
+   * BINARY and FIXED_LEN_BYTE_ARRAY columns from a
+   * {@link org.apache.parquet.hadoop.vector.ColumnBatchReader} (default false).
+   * Values are then only decoded when a consumer asks for them.
+   */
+  public static final String BATCH_DICTIONARY_IDS_ENABLED = "parquet.read.batch.dictionary-ids.enabled";
+  public static final boolean BATCH_DICTIONARY_IDS_ENABLED_DEFAULT = false;
+
   /**
    * key to turn on or off task side metadata loading (default true)
    * if true then metadata is read on the task side and some tasks may finish immediately.
@@ -231,6 +367,15 @@ public class ParquetInputFormat<T> extends FileInputFormat<Void, T> {
     return FilterCompat.get(getFilterPredicate(conf), getUnboundRecordFilterInstance(conf));
   }
 
+  /**
+   * @param conf a configuration
+   * @return a new instance of the configured {@link #METRICS_CLASS}, or the no-op metrics
+   */
+  public static ParquetMetrics getMetrics(Configuration conf) {
+    return MetricsUtil.getMetrics(conf, METRICS_CLASS);
+  }
+
+
   private LruCache<FileStatusWrapper, FootersCacheValue> footersCache;
 
   private final Class<? extends ReadSupport<T>> readSupportClass;
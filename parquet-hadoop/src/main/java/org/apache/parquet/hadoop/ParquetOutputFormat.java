@@ -23,6 +23,8 @@ import static org.apache.parquet.hadoop.ParquetWriter.DEFAULT_BLOCK_SIZE;
 import static org.apache.parquet.hadoop.util.ContextUtil.getConfiguration;
 
 import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
@@ -34,6 +36,8 @@ import org.apache.hadoop.mapreduce.RecordWriter;
 import org.apache.hadoop.mapreduce.TaskAttemptContext;
 import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
 
+import org.apache.parquet.bytes.HeapByteBufferAllocator;
+import org.apache.parquet.bytes.PooledByteBufferAllocator;
 import org.apache.parquet.column.ParquetProperties;
 import org.apache.parquet.column.ParquetProperties.WriterVersion;
 import org.apache.parquet.hadoop.ParquetFileWriter.Mode;
@@ -41,6 +45,8 @@ import org.apache.parquet.hadoop.api.WriteSupport;
 import org.apache.parquet.hadoop.api.WriteSupport.WriteContext;
 import org.apache.parquet.hadoop.codec.CodecConfig;
 import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.metrics.MetricsUtil;
+import org.apache.parquet.hadoop.metrics.ParquetMetrics;
 import org.apache.parquet.hadoop.util.ConfigurationUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -144,6 +150,12 @@ public class ParquetOutputFormat<T> extends FileOutputFormat<Void, T> {
   public static final String MIN_ROW_COUNT_FOR_PAGE_SIZE_CHECK = "parquet.page.size.row.check.min";
   public static final String MAX_ROW_COUNT_FOR_PAGE_SIZE_CHECK = "parquet.page.size.row.check.max";
   public static final String ESTIMATE_PAGE_SIZE_CHECK = "parquet.page.size.check.estimate";
+  public static final String BUFFER_POOLING_ENABLED = "parquet.writer.buffer.pooling.enabled";
+  public static final String METRICS_CLASS        = "parquet.writer.metrics.class";
+  public static final String BLOOM_FILTER_COLUMNS = "parquet.bloom.filter.columns";
+  public static final String BLOOM_FILTER_EXPECTED_NDV = "parquet.bloom.filter.expected.ndv";
+  public static final String BLOOM_FILTER_FPP     = "parquet.bloom.filter.fpp";
+  public static final String PAGE_INDEX_ENABLED   = "parquet.page.index.enabled";
 
   public static JobSummaryLevel getJobSummaryLevel(Configuration conf) {
     String level = conf.get(JOB_SUMMARY_LEVEL);
@@ -252,6 +264,52 @@ public class ParquetOutputFormat<T> extends FileOutputFormat<Void, T> {
         ParquetProperties.DEFAULT_MAXIMUM_RECORD_COUNT_FOR_CHECK);
   }
 
+  /**
+   * @param configuration a configuration
+   * @return whether writers should recycle their page buffers through
+   *         {@link PooledByteBufferAllocator#getHeapInstance()}
+   */
+  public static boolean getBufferPoolingEnabled(Configuration configuration) {
+    return configuration.getBoolean(BUFFER_POOLING_ENABLED, false);
+  }
+
+  /**
+   * @param configuration a configuration
+   * @return a new instance of the configured {@link #METRICS_CLASS}, or the no-op metrics
+   */
+  public static ParquetMetrics getMetrics(Configuration configuration) {
+    return MetricsUtil.getMetrics(configuration, METRICS_CLASS);
+  }
+
+
+  /**
+   * @param configuration a configuration
+   * @return the dot separated paths of the columns that have Bloom filters,
+   *         from the comma separated {@link #BLOOM_FILTER_COLUMNS}
+   */
+  public static Set<String> getBloomFilterColumns(Configuration configuration) {
+    Set<String> columns = new HashSet<String>();
+    for (String column : configuration.getStringCollection(BLOOM_FILTER_COLUMNS)) {
+      if (!column.trim().isEmpty()) {
+        columns.add(column.trim());
+      }
+    }
+    return columns;
+  }
+
+  public static long getBloomFilterExpectedNDV(Configuration configuration) {
+    return configuration.getLong(BLOOM_FILTER_EXPECTED_NDV, ParquetProperties.DEFAULT_BLOOM_FILTER_NDV);
+  }
+
+  public static double getBloomFilterFPP(Configuration configuration) {
+    String fpp = configuration.get(BLOOM_FILTER_FPP);
+    return fpp == null ? ParquetProperties.DEFAULT_BLOOM_FILTER_FPP : Double.parseDouble(fpp.trim());
+  }
+
+  public static boolean getPageIndexEnabled(Configuration configuration) {
+    return configuration.getBoolean(PAGE_INDEX_ENABLED, ParquetProperties.DEFAULT_PAGE_INDEX_ENABLED);
+  }
+
   public static boolean getEstimatePageSizeCheck(Configuration configuration) {
     return configuration.getBoolean(ESTIMATE_PAGE_SIZE_CHECK,
         ParquetProperties.DEFAULT_ESTIMATE_ROW_COUNT_FOR_PAGE_SIZE_CHECK);
@@ -363,6 +421,12 @@ public class ParquetOutputFormat<T> extends FileOutputFormat<Void, T> {
         .estimateRowCountForPageSizeCheck(getEstimatePageSizeCheck(conf))
         .withMinRowCountForPageSizeCheck(getMinRowCountForPageSizeCheck(conf))
         .withMaxRowCountForPageSizeCheck(getMaxRowCountForPageSizeCheck(conf))
+        .withAllocator(getBufferPoolingEnabled(conf)
+            ? PooledByteBufferAllocator.getHeapInstance() : new HeapByteBufferAllocator())
+        .withBloomFilterColumns(getBloomFilterColumns(conf))
+        .withBloomFilterNDV(getBloomFilterExpectedNDV(conf))
+        .withBloomFilterFPP(getBloomFilterFPP(conf))
+        .withPageIndex(getPageIndexEnabled(conf))
         .build();
 
     long blockSize = getLongBlockSize(conf);
@@ -380,6 +444,11 @@ public class ParquetOutputFormat<T> extends FileOutputFormat<Void, T> {
       LOG.info("Page size checking is: {}", (props.estimateNextSizeCheck() ? "estimated" : "constant"));
       LOG.info("Min row count for page size check is: {}", props.getMinRowCountForPageSizeCheck());
       LOG.info("Max row count for page size check is: {}", props.getMaxRowCountForPageSizeCheck());
+      if (!props.getBloomFilterColumns().isEmpty()) {
+        LOG.info("Bloom filter columns are {}, expected NDV {}, FPP {}", props.getBloomFilterColumns(),
+            props.getBloomFilterNDV(), props.getBloomFilterFPP());
+      }
+      LOG.info("Page indexes are {}", (props.isPageIndexEnabled() ? "on" : "off"));
     }
 
     WriteContext init = writeSupport.init(conf);
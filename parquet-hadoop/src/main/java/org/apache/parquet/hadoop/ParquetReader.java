@@ -23,6 +23,7 @@ import static org.apache.parquet.Preconditions.checkNotNull;
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
@@ -37,6 +38,7 @@ import org.apache.parquet.filter2.compat.FilterCompat;
 import org.apache.parquet.filter2.compat.FilterCompat.Filter;
 import org.apache.parquet.hadoop.api.ReadSupport;
 import org.apache.parquet.hadoop.util.HiddenFileFilter;
+import org.apache.parquet.io.InputFile;
 
 /**
  * Read records from a Parquet file.
@@ -47,6 +49,7 @@ public class ParquetReader<T> implements Closeable {
   private final ReadSupport<T> readSupport;
   private final Configuration conf;
   private final Iterator<Footer> footersIterator;
+  private final Iterator<InputFile> filesIterator;
   private final Filter filter;
 
   private InternalParquetRecordReader<T> reader;
@@ -111,6 +114,18 @@ public class ParquetReader<T> implements Closeable {
     List<FileStatus> statuses = Arrays.asList(fs.listStatus(file, HiddenFileFilter.INSTANCE));
     List<Footer> footers = ParquetFileReader.readAllFootersInParallelUsingSummaryFiles(conf, statuses, false);
     this.footersIterator = footers.iterator();
+    this.filesIterator = Collections.<InputFile>emptyList().iterator();
+  }
+
+  private ParquetReader(Configuration conf,
+                       InputFile file,
+                       ReadSupport<T> readSupport,
+                       Filter filter) {
+    this.readSupport = readSupport;
+    this.filter = checkNotNull(filter, "filter");
+    this.conf = conf;
+    this.footersIterator = Collections.<Footer>emptyList().iterator();
+    this.filesIterator = Arrays.asList(file).iterator();
   }
 
   /**
@@ -135,12 +150,16 @@ public class ParquetReader<T> implements Closeable {
       reader.close();
       reader = null;
     }
+    ParquetFileReader fileReader = null;
     if (footersIterator.hasNext()) {
       Footer footer = footersIterator.next();
-
-      ParquetFileReader fileReader = ParquetFileReader.open(
+      fileReader = ParquetFileReader.open(
           conf, footer.getFile(), footer.getParquetMetadata());
+    } else if (filesIterator.hasNext()) {
+      fileReader = ParquetFileReader.open(conf, filesIterator.next());
+    }
 
+    if (fileReader != null) {
       // apply data filters
       fileReader.filterRowGroups(filter);
 
@@ -161,15 +180,35 @@ public class ParquetReader<T> implements Closeable {
     return new Builder<T>(readSupport, path);
   }
 
+  /**
+   * @param readSupport to materialize records
+   * @param file an {@link InputFile}, such as a
+   *             {@link org.apache.parquet.io.MappedInputFile} for a local file
+   * @return a builder for a reader of the given file
+   */
+  public static <T> Builder<T> builder(ReadSupport<T> readSupport, InputFile file) {
+    return new Builder<T>(readSupport, file);
+  }
+
   public static class Builder<T> {
     private final ReadSupport<T> readSupport;
     private final Path file;
+    private final InputFile inputFile;
     private Filter filter;
     protected Configuration conf;
 
     private Builder(ReadSupport<T> readSupport, Path path) {
       this.readSupport = checkNotNull(readSupport, "readSupport");
       this.file = checkNotNull(path, "path");
+      this.inputFile = null;
+      this.conf = new Configuration();
+      this.filter = FilterCompat.NOOP;
+    }
+
+    private Builder(ReadSupport<T> readSupport, InputFile file) {
+      this.readSupport = checkNotNull(readSupport, "readSupport");
+      this.file = null;
+      this.inputFile = checkNotNull(file, "file");
       this.conf = new Configuration();
       this.filter = FilterCompat.NOOP;
     }
@@ -177,6 +216,15 @@ public class ParquetReader<T> implements Closeable {
     protected Builder(Path path) {
       this.readSupport = null;
       this.file = checkNotNull(path, "path");
+      this.inputFile = null;
+      this.conf = new Configuration();
+      this.filter = FilterCompat.NOOP;
+    }
+
+    protected Builder(InputFile file) {
+      this.readSupport = null;
+      this.file = null;
+      this.inputFile = checkNotNull(file, "file");
       this.conf = new Configuration();
       this.filter = FilterCompat.NOOP;
     }
@@ -199,6 +247,9 @@ public class ParquetReader<T> implements Closeable {
     }
 
     public ParquetReader<T> build() throws IOException {
+      if (inputFile != null) {
+        return new ParquetReader<T>(conf, inputFile, getReadSupport(), filter);
+      }
       return new ParquetReader<T>(conf, file, getReadSupport(), filter);
     }
   }
@@ -27,6 +27,7 @@ import static org.apache.parquet.hadoop.ParquetInputFormat.getFilter;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -50,9 +51,11 @@ import org.apache.parquet.format.converter.ParquetMetadataConverter.MetadataFilt
 import org.apache.parquet.hadoop.api.ReadSupport;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
 import org.apache.parquet.hadoop.metadata.FileMetaData;
 import org.apache.parquet.hadoop.util.ContextUtil;
 import org.apache.parquet.hadoop.util.counters.BenchmarkCounter;
+import org.apache.parquet.hadoop.util.counters.BenchmarkCounterMetrics;
 import org.apache.parquet.io.ParquetDecodingException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -162,9 +165,17 @@ public class ParquetRecordReader<T> extends RecordReader<Void, T> {
         offsets(rowGroupOffsets) :
         range(split.getStart(), split.getEnd()));
 
-    // open a reader with the metadata filter
-    ParquetFileReader reader = ParquetFileReader.open(
-        configuration, path, metadataFilter);
+    // open a reader with the metadata filter, which only reads the footer
+    // meta data of the requested columns and of the columns to filter on
+    Set<ColumnPath> filterColumns = (rowGroupOffsets == null)
+        ? DictionaryPageReader.filterColumns(getFilter(configuration))
+        : Collections.<ColumnPath>emptySet();
+    ParquetFileReader reader = ParquetFileReader.open(configuration, path, metadataFilter,
+        internalReader.getFooterProjection(configuration, filterColumns));
+    if (BenchmarkCounter.isEnabled()) {
+      // the job counters are updated from the reader's events
+      reader.setMetrics(new BenchmarkCounterMetrics(reader.getMetrics()));
+    }
 
     if (rowGroupOffsets != null) {
       // verify a row group was found for each offset
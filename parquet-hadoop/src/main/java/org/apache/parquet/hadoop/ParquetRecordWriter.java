@@ -148,7 +148,7 @@ public class ParquetRecordWriter<T> extends RecordWriter<Void, T> {
     this.codecFactory = new CodecFactory(conf, props.getPageSizeThreshold());
     internalWriter = new InternalParquetRecordWriter<T>(w, writeSupport, schema,
         extraMetaData, blockSize, codecFactory.getCompressor(codec), validating,
-        props);
+        props, ParquetOutputFormat.getMetrics(conf));
     this.memoryManager = checkNotNull(memoryManager, "memoryManager");
     memoryManager.addWriter(internalWriter, blockSize);
   }
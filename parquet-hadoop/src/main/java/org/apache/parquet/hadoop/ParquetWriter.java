@@ -20,14 +20,18 @@ package org.apache.parquet.hadoop;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.Set;
 
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
 
+import org.apache.parquet.bytes.ByteBufferAllocator;
+import org.apache.parquet.bytes.PooledByteBufferAllocator;
 import org.apache.parquet.column.ParquetProperties;
 import org.apache.parquet.column.ParquetProperties.WriterVersion;
 import org.apache.parquet.hadoop.api.WriteSupport;
 import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.metrics.ParquetMetrics;
 import org.apache.parquet.schema.MessageType;
 
 /**
@@ -266,6 +270,21 @@ public class ParquetWriter<T> implements Closeable {
       Configuration conf,
       int maxPaddingSize,
       ParquetProperties encodingProps) throws IOException {
+    this(file, mode, writeSupport, compressionCodecName, blockSize, validating,
+        conf, maxPaddingSize, encodingProps, ParquetOutputFormat.getMetrics(conf));
+  }
+
+  ParquetWriter(
+      Path file,
+      ParquetFileWriter.Mode mode,
+      WriteSupport<T> writeSupport,
+      CompressionCodecName compressionCodecName,
+      int blockSize,
+      boolean validating,
+      Configuration conf,
+      int maxPaddingSize,
+      ParquetProperties encodingProps,
+      ParquetMetrics metrics) throws IOException {
 
     WriteSupport.WriteContext writeContext = writeSupport.init(conf);
     MessageType schema = writeContext.getSchema();
@@ -284,7 +303,8 @@ public class ParquetWriter<T> implements Closeable {
         blockSize,
         compressor,
         validating,
-        encodingProps);
+        encodingProps,
+        metrics);
   }
 
   public void write(T object) throws IOException {
@@ -333,6 +353,7 @@ public class ParquetWriter<T> implements Closeable {
     private boolean enableValidation = DEFAULT_IS_VALIDATING_ENABLED;
     private ParquetProperties.Builder encodingPropsBuilder =
         ParquetProperties.builder();
+    private ParquetMetrics metrics = null;
 
     protected Builder(Path file) {
       this.file = file;
@@ -484,6 +505,79 @@ public class ParquetWriter<T> implements Closeable {
       return self();
     }
 
+    /**
+     * Enable or disable writing column and offset indexes for the pages of
+     * each column chunk, which readers use to skip pages that cannot match a
+     * filter. The indexes are off by default.
+     *
+     * @param enablePageIndex whether the constructed writer writes page indexes
+     * @return this builder for method chaining.
+     */
+    public SELF withPageIndex(boolean enablePageIndex) {
+      encodingPropsBuilder.withPageIndex(enablePageIndex);
+      return self();
+    }
+
+    /**
+     * Set the columns that have a Bloom filter in each column chunk of the
+     * constructed writer.
+     *
+     * @param columns the dot separated paths of the columns
+     * @return this builder for method chaining.
+     */
+    public SELF withBloomFilterColumns(Set<String> columns) {
+      encodingPropsBuilder.withBloomFilterColumns(columns);
+      return self();
+    }
+
+    /**
+     * Set the number of distinct values expected in a column chunk, used to
+     * size the Bloom filters of the constructed writer.
+     *
+     * @param ndv the expected number of distinct values
+     * @return this builder for method chaining.
+     */
+    public SELF withBloomFilterNDV(long ndv) {
+      encodingPropsBuilder.withBloomFilterNDV(ndv);
+      return self();
+    }
+
+    /**
+     * Set the false positive probability of the Bloom filters of the
+     * constructed writer, for the expected number of distinct values.
+     *
+     * @param fpp a probability between 0 and 1
+     * @return this builder for method chaining.
+     */
+    public SELF withBloomFilterFPP(double fpp) {
+      encodingPropsBuilder.withBloomFilterFPP(fpp);
+      return self();
+    }
+
+    /**
+     * Set the {@link ByteBufferAllocator} used for page buffers, for example
+     * {@link PooledByteBufferAllocator#getHeapInstance()} to recycle them.
+     *
+     * @param allocator a {@code ByteBufferAllocator}
+     * @return this builder for method chaining.
+     */
+    public SELF withAllocator(ByteBufferAllocator allocator) {
+      encodingPropsBuilder.withAllocator(allocator);
+      return self();
+    }
+
+    /**
+     * Set the {@link ParquetMetrics} that receive the writer's events. By
+     * default, the class set in {@link ParquetOutputFormat#METRICS_CLASS} is used.
+     *
+     * @param metrics a {@code ParquetMetrics}
+     * @return this builder for method chaining.
+     */
+    public SELF withMetrics(ParquetMetrics metrics) {
+      this.metrics = metrics;
+      return self();
+    }
+
     /**
      * Build a {@link ParquetWriter} with the accumulated configuration.
      *
@@ -493,7 +587,8 @@ public class ParquetWriter<T> implements Closeable {
     public ParquetWriter<T> build() throws IOException {
       return new ParquetWriter<T>(file, mode, getWriteSupport(conf), codecName,
           rowGroupSize, enableValidation, conf, maxPaddingSize,
-          encodingPropsBuilder.build());
+          encodingPropsBuilder.build(),
+          metrics != null ? metrics : ParquetOutputFormat.getMetrics(conf));
     }
   }
 }
@@ -133,6 +133,11 @@ abstract public class ColumnChunkMetaData {
   // we save 3 references by storing together the column properties that have few distinct values
   private final ColumnChunkProperties properties;
 
+  // page indexes are written after the row groups, so these are set once they are known
+  private IndexReference columnIndexReference;
+  private IndexReference offsetIndexReference;
+  private IndexReference bloomFilterReference;
+
   protected ColumnChunkMetaData(ColumnChunkProperties columnChunkProperties) {
     this(null, columnChunkProperties);
   }
@@ -142,6 +147,39 @@ abstract public class ColumnChunkMetaData {
     this.properties = columnChunkProperties;
   }
 
+  /**
+   * @return the location of the column index of this chunk, or null if it has none
+   */
+  public IndexReference getColumnIndexReference() {
+    return columnIndexReference;
+  }
+
+  public void setColumnIndexReference(IndexReference columnIndexReference) {
+    this.columnIndexReference = columnIndexReference;
+  }
+
+  /**
+   * @return the location of the offset index of this chunk, or null if it has none
+   */
+  public IndexReference getOffsetIndexReference() {
+    return offsetIndexReference;
+  }
+
+  public void setOffsetIndexReference(IndexReference offsetIndexReference) {
+    this.offsetIndexReference = offsetIndexReference;
+  }
+
+  /**
+   * @return the location of the Bloom filter of this chunk, or null if it has none
+   */
+  public IndexReference getBloomFilterReference() {
+    return bloomFilterReference;
+  }
+
+  public void setBloomFilterReference(IndexReference bloomFilterReference) {
+    this.bloomFilterReference = bloomFilterReference;
+  }
+
   public CompressionCodecName getCodec() {
     return properties.getCodec();
   }
@@ -0,0 +1,78 @@
+/* 
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop.metadata;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.parquet.column.statistics.Statistics;
+
+/**
+ * Page-level statistics for the data pages of a column chunk, in page order.
+ *
+ * Used with the {@link OffsetIndex} of the same column chunk to select the
+ * pages that can match a filter.
+ */
+public class ColumnIndex {
+
+  private final List<Statistics> pageStatistics;
+  private final List<Long> pageValueCounts;
+
+  /**
+   * @param pageStatistics the statistics of each page, empty if not known
+   * @param pageValueCounts the number of values in each page
+   */
+  public ColumnIndex(List<Statistics> pageStatistics, List<Long> pageValueCounts) {
+    if (pageStatistics.size() != pageValueCounts.size()) {
+      throw new IllegalArgumentException("Expected as many statistics as value counts: "
+          + pageStatistics.size() + " != " + pageValueCounts.size());
+    }
+    this.pageStatistics = Collections.unmodifiableList(new ArrayList<Statistics>(pageStatistics));
+    this.pageValueCounts = Collections.unmodifiableList(new ArrayList<Long>(pageValueCounts));
+  }
+
+  /**
+   * @return the number of data pages
+   */
+  public int getPageCount() {
+    return pageStatistics.size();
+  }
+
+  /**
+   * @param page the index of a data page
+   * @return the statistics of the page, empty if not known
+   */
+  public Statistics getStatistics(int page) {
+    return pageStatistics.get(page);
+  }
+
+  /**
+   * @param page the index of a data page
+   * @return the number of values, including nulls, in the page
+   */
+  public long getValueCount(int page) {
+    return pageValueCounts.get(page);
+  }
+
+  @Override
+  public String toString() {
+    return "ColumnIndex{pages=" + pageStatistics.size() + "}";
+  }
+}
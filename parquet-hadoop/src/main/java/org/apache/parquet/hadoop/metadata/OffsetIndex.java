@@ -0,0 +1,108 @@
+/* 
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop.metadata;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The location and first row of each data page of a column chunk, in page order.
+ *
+ * Used to read only the pages of a column chunk that contain selected rows.
+ */
+public class OffsetIndex {
+
+  private final List<Long> offsets;
+  private final List<Integer> compressedPageSizes;
+  private final List<Long> firstRowIndexes;
+
+  /**
+   * @param offsets the offset of each page header
+   * @param compressedPageSizes the size of each page, including its header
+   * @param firstRowIndexes the index in the row group of the first row of each page
+   */
+  public OffsetIndex(List<Long> offsets, List<Integer> compressedPageSizes, List<Long> firstRowIndexes) {
+    if (offsets.size() != compressedPageSizes.size() || offsets.size() != firstRowIndexes.size()) {
+      throw new IllegalArgumentException("Expected the same number of offsets, sizes and first rows: "
+          + offsets.size() + ", " + compressedPageSizes.size() + ", " + firstRowIndexes.size());
+    }
+    this.offsets = Collections.unmodifiableList(new ArrayList<Long>(offsets));
+    this.compressedPageSizes = Collections.unmodifiableList(new ArrayList<Integer>(compressedPageSizes));
+    this.firstRowIndexes = Collections.unmodifiableList(new ArrayList<Long>(firstRowIndexes));
+  }
+
+  /**
+   * @return the number of data pages
+   */
+  public int getPageCount() {
+    return offsets.size();
+  }
+
+  /**
+   * @param page the index of a data page
+   * @return the offset of the page header
+   */
+  public long getOffset(int page) {
+    return offsets.get(page);
+  }
+
+  /**
+   * @param page the index of a data page
+   * @return the size of the page, including its header
+   */
+  public int getCompressedPageSize(int page) {
+    return compressedPageSizes.get(page);
+  }
+
+  /**
+   * @param page the index of a data page
+   * @return the index in the row group of the first row of the page
+   */
+  public long getFirstRowIndex(int page) {
+    return firstRowIndexes.get(page);
+  }
+
+  /**
+   * @param page the index of a data page
+   * @param rowGroupRowCount the number of rows in the row group
+   * @return the index in the row group of the last row of the page
+   */
+  public long getLastRowIndex(int page, long rowGroupRowCount) {
+    int next = page + 1;
+    return (next < getPageCount() ? getFirstRowIndex(next) : rowGroupRowCount) - 1;
+  }
+
+  /**
+   * @param delta the number of bytes to add to each offset
+   * @return an OffsetIndex for the same pages with their offsets moved by delta
+   */
+  public OffsetIndex shift(long delta) {
+    List<Long> shifted = new ArrayList<Long>(offsets.size());
+    for (long offset : offsets) {
+      shifted.add(offset + delta);
+    }
+    return new OffsetIndex(shifted, compressedPageSizes, firstRowIndexes);
+  }
+
+  @Override
+  public String toString() {
+    return "OffsetIndex{pages=" + offsets.size() + "}";
+  }
+}
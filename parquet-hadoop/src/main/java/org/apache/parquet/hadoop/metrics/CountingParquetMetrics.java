@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop.metrics;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.parquet.filter2.compat.RowGroupFilter.FilterLevel;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+
+/**
+ * {@link ParquetMetrics} that sums the reported events, to be polled by a
+ * metrics system or inspected after a job. One instance can be shared by
+ * several readers and writers.
+ */
+public class CountingParquetMetrics implements ParquetMetrics {
+
+  private final AtomicLong rowGroupsRead = new AtomicLong();
+  private final AtomicLong rowGroupReadNanos = new AtomicLong();
+  private final AtomicLong prefetchWaitNanos = new AtomicLong();
+  private final AtomicLong rowGroupsPrunedByStatistics = new AtomicLong();
+  private final AtomicLong rowGroupsPrunedByDictionary = new AtomicLong();
+  private final AtomicLong rowGroupsPrunedByBloomFilter = new AtomicLong();
+  private final AtomicLong fileReads = new AtomicLong();
+  private final AtomicLong bytesRead = new AtomicLong();
+  private final AtomicLong ioNanos = new AtomicLong();
+  private final AtomicLong pagesRead = new AtomicLong();
+  private final AtomicLong pagesSkipped = new AtomicLong();
+  private final AtomicLong decompressionNanos = new AtomicLong();
+  private final AtomicLong recordsRead = new AtomicLong();
+  private final AtomicLong recordNanos = new AtomicLong();
+  private final AtomicLong compressionNanos = new AtomicLong();
+  private final AtomicLong rowGroupsWritten = new AtomicLong();
+  private final AtomicLong bytesWritten = new AtomicLong();
+  private final ConcurrentMap<ColumnPath, AtomicLong> columnBytesRead =
+      new ConcurrentHashMap<ColumnPath, AtomicLong>();
+  private final ConcurrentMap<CompressionCodecName, AtomicLong> bytesDecompressed =
+      new ConcurrentHashMap<CompressionCodecName, AtomicLong>();
+  private final ConcurrentMap<CompressionCodecName, AtomicLong> bytesCompressed =
+      new ConcurrentHashMap<CompressionCodecName, AtomicLong>();
+
+  @Override
+  public void rowGroupRead(long rowCount, long totalSize, long nanos) {
+    rowGroupsRead.incrementAndGet();
+    rowGroupReadNanos.addAndGet(nanos);
+  }
+
+  @Override
+  public void prefetchWaited(long nanos) {
+    prefetchWaitNanos.addAndGet(nanos);
+  }
+
+  @Override
+  public void rowGroupPruned(FilterLevel level) {
+    switch (level) {
+      case STATISTICS:
+        rowGroupsPrunedByStatistics.incrementAndGet();
+        break;
+      case DICTIONARY:
+        rowGroupsPrunedByDictionary.incrementAndGet();
+        break;
+      case BLOOMFILTER:
+        rowGroupsPrunedByBloomFilter.incrementAndGet();
+        break;
+    }
+  }
+
+  @Override
+  public void fileRead(long length, long nanos) {
+    fileReads.incrementAndGet();
+    bytesRead.addAndGet(length);
+    ioNanos.addAndGet(nanos);
+  }
+
+  @Override
+  public void columnBytesRead(ColumnPath column, long bytes) {
+    counter(columnBytesRead, column).addAndGet(bytes);
+  }
+
+  @Override
+  public void pagesRead(ColumnPath column, int count) {
+    pagesRead.addAndGet(count);
+  }
+
+  @Override
+  public void pagesSkipped(ColumnPath column, int count) {
+    pagesSkipped.addAndGet(count);
+  }
+
+  @Override
+  public void pageDecompressed(ColumnPath column, CompressionCodecName codec,
+                               long compressedSize, long uncompressedSize, long nanos) {
+    counter(bytesDecompressed, codec).addAndGet(compressedSize);
+    decompressionNanos.addAndGet(nanos);
+  }
+
+  @Override
+  public void recordsRead(long count, long nanos) {
+    recordsRead.addAndGet(count);
+    recordNanos.addAndGet(nanos);
+  }
+
+  @Override
+  public void pageCompressed(ColumnPath column, CompressionCodecName codec,
+                             long uncompressedSize, long compressedSize, long nanos) {
+    counter(bytesCompressed, codec).addAndGet(uncompressedSize);
+    compressionNanos.addAndGet(nanos);
+  }
+
+  @Override
+  public void rowGroupWritten(long rowCount, long totalSize) {
+    rowGroupsWritten.incrementAndGet();
+    bytesWritten.addAndGet(totalSize);
+  }
+
+  private static <K> AtomicLong counter(ConcurrentMap<K, AtomicLong> counters, K key) {
+    AtomicLong counter = counters.get(key);
+    if (counter == null) {
+      AtomicLong newCounter = new AtomicLong();
+      counter = counters.putIfAbsent(key, newCounter);
+      if (counter == null) {
+        counter = newCounter;
+      }
+    }
+    return counter;
+  }
+
+  private static <K> Map<K, Long> snapshot(ConcurrentMap<K, AtomicLong> counters) {
+    Map<K, Long> values = new HashMap<K, Long>();
+    for (Map.Entry<K, AtomicLong> entry : counters.entrySet()) {
+      values.put(entry.getKey(), entry.getValue().get());
+    }
+    return Collections.unmodifiableMap(values);
+  }
+
+  public long getRowGroupsRead() {
+    return rowGroupsRead.get();
+  }
+
+  /**
+   * @return the time readers waited for row groups, in nanoseconds
+   */
+  public long getRowGroupReadNanos() {
+    return rowGroupReadNanos.get();
+  }
+
+  /**
+   * @return the time readers waited for row groups read in the background, in nanoseconds
+   */
+  public long getPrefetchWaitNanos() {
+    return prefetchWaitNanos.get();
+  }
+
+  public long getRowGroupsPruned(FilterLevel level) {
+    switch (level) {
+      case STATISTICS:
+        return rowGroupsPrunedByStatistics.get();
+      case DICTIONARY:
+        return rowGroupsPrunedByDictionary.get();
+      default:
+        return rowGroupsPrunedByBloomFilter.get();
+    }
+  }
+
+  /**
+   * @return the number of seeks followed by a contiguous read
+   */
+  public long getFileReads() {
+    return fileReads.get();
+  }
+
+  public long getBytesRead() {
+    return bytesRead.get();
+  }
+
+  public long getIONanos() {
+    return ioNanos.get();
+  }
+
+  /**
+   * @return the bytes read for each column
+   */
+  public Map<ColumnPath, Long> getColumnBytesRead() {
+    return snapshot(columnBytesRead);
+  }
+
+  public long getPagesRead() {
+    return pagesRead.get();
+  }
+
+  public long getPagesSkipped() {
+    return pagesSkipped.get();
+  }
+
+  /**
+   * @return the compressed bytes decompressed with each codec
+   */
+  public Map<CompressionCodecName, Long> getBytesDecompressed() {
+    return snapshot(bytesDecompressed);
+  }
+
+  public long getDecompressionNanos() {
+    return decompressionNanos.get();
+  }
+
+  public long getRecordsRead() {
+    return recordsRead.get();
+  }
+
+  /**
+   * @return the time spent decoding values and assembling records, in nanoseconds
+   */
+  public long getRecordNanos() {
+    return recordNanos.get();
+  }
+
+  /**
+   * @return the uncompressed bytes compressed with each codec
+   */
+  public Map<CompressionCodecName, Long> getBytesCompressed() {
+    return snapshot(bytesCompressed);
+  }
+
+  public long getCompressionNanos() {
+    return compressionNanos.get();
+  }
+
+  public long getRowGroupsWritten() {
+    return rowGroupsWritten.get();
+  }
+
+  public long getBytesWritten() {
+    return bytesWritten.get();
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop.metrics;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.hadoop.BadConfigurationException;
+import org.apache.parquet.hadoop.util.ConfigurationUtil;
+
+public class MetricsUtil {
+
+  private MetricsUtil() {
+  }
+
+  /**
+   * @param configuration a configuration
+   * @param configName the key of the {@link ParquetMetrics} class
+   * @return a new instance of the configured class, or the no-op metrics if none is set
+   */
+  public static ParquetMetrics getMetrics(Configuration configuration, String configName) {
+    Class<?> clazz = ConfigurationUtil.getClassFromConfig(configuration, configName, ParquetMetrics.class);
+    if (clazz == null) {
+      return NoOpParquetMetrics.INSTANCE;
+    }
+    try {
+      return (ParquetMetrics) clazz.newInstance();
+    } catch (InstantiationException e) {
+      throw new BadConfigurationException("could not instantiate metrics class " + clazz, e);
+    } catch (IllegalAccessException e) {
+      throw new BadConfigurationException("could not instantiate metrics class " + clazz, e);
+    }
+  }
+}
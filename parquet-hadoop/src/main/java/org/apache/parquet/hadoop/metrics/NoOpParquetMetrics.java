@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop.metrics;
+
+import org.apache.parquet.filter2.compat.RowGroupFilter.FilterLevel;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+
+/**
+ * {@link ParquetMetrics} that ignores all events. Readers and writers use
+ * {@link #INSTANCE} by default and skip measuring when it is used.
+ */
+public class NoOpParquetMetrics implements ParquetMetrics {
+
+  public static final NoOpParquetMetrics INSTANCE = new NoOpParquetMetrics();
+
+  @Override
+  public void rowGroupRead(long rowCount, long totalSize, long nanos) {
+  }
+
+  @Override
+  public void prefetchWaited(long nanos) {
+  }
+
+  @Override
+  public void rowGroupPruned(FilterLevel level) {
+  }
+
+  @Override
+  public void fileRead(long length, long nanos) {
+  }
+
+  @Override
+  public void columnBytesRead(ColumnPath column, long bytes) {
+  }
+
+  @Override
+  public void pagesRead(ColumnPath column, int count) {
+  }
+
+  @Override
+  public void pagesSkipped(ColumnPath column, int count) {
+  }
+
+  @Override
+  public void pageDecompressed(ColumnPath column, CompressionCodecName codec,
+                               long compressedSize, long uncompressedSize, long nanos) {
+  }
+
+  @Override
+  public void recordsRead(long count, long nanos) {
+  }
+
+  @Override
+  public void pageCompressed(ColumnPath column, CompressionCodecName codec,
+                             long uncompressedSize, long compressedSize, long nanos) {
+  }
+
+  @Override
+  public void rowGroupWritten(long rowCount, long totalSize) {
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop.metrics;
+
+import org.apache.parquet.filter2.compat.RowGroupFilter.FilterLevel;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+
+/**
+ * Receives the events of a file reader or writer, to export what the reader
+ * or writer does to a metrics system.
+ *
+ * A reader reports to the metrics set with
+ * {@link org.apache.parquet.hadoop.ParquetFileReader#setMetrics(ParquetMetrics)}
+ * or configured with {@link org.apache.parquet.hadoop.ParquetInputFormat#METRICS_CLASS},
+ * and a writer to the metrics set with
+ * {@link org.apache.parquet.hadoop.ParquetWriter.Builder#withMetrics(ParquetMetrics)}
+ * or configured with {@link org.apache.parquet.hadoop.ParquetOutputFormat#METRICS_CLASS}.
+ *
+ * Events may be reported by background threads that prefetch row groups or
+ * decompress pages, so implementations must be thread-safe. Implementations
+ * should extend {@link NoOpParquetMetrics} so that they keep compiling when
+ * events are added.
+ */
+public interface ParquetMetrics {
+
+  /**
+   * Called when a row group has been read and is returned to the caller.
+   *
+   * @param rowCount the number of rows that will be read from the row group
+   * @param totalSize the compressed size of all columns of the row group
+   * @param nanos the time the caller waited for the row group
+   */
+  void rowGroupRead(long rowCount, long totalSize, long nanos);
+
+  /**
+   * Called when a row group that was read in the background is returned to the caller.
+   *
+   * @param nanos the time the caller waited for the background read to complete
+   */
+  void prefetchWaited(long nanos);
+
+  /**
+   * Called for each row group that is not read because a filter can drop it.
+   *
+   * @param level the filter level that dropped the row group
+   */
+  void rowGroupPruned(FilterLevel level);
+
+  /**
+   * Called after each seek and contiguous read from the file. Consecutive
+   * column chunks are read together, so this reports coalesced reads.
+   *
+   * @param length the number of bytes read
+   * @param nanos the time spent seeking and reading
+   */
+  void fileRead(long length, long nanos);
+
+  /**
+   * @param column a column
+   * @param bytes the number of bytes of the column's chunk read from the file
+   */
+  void columnBytesRead(ColumnPath column, long bytes);
+
+  /**
+   * @param column a column
+   * @param count the number of data pages of the column read from the file
+   */
+  void pagesRead(ColumnPath column, int count);
+
+  /**
+   * @param column a column
+   * @param count the number of data pages of the column skipped using the page indexes
+   */
+  void pagesSkipped(ColumnPath column, int count);
+
+  /**
+   * Called for each decompressed page. Pages of uncompressed columns are not reported.
+   *
+   * @param column the column of the page
+   * @param codec the codec of the column
+   * @param compressedSize the size of the page in the file
+   * @param uncompressedSize the size of the page after decompression
+   * @param nanos the time spent decompressing
+   */
+  void pageDecompressed(ColumnPath column, CompressionCodecName codec,
+                        long compressedSize, long uncompressedSize, long nanos);
+
+  /**
+   * Called by record readers once per row group and when they are closed.
+   * Values are decoded while records are assembled, so the time includes both.
+   * Records are not timed individually: the time is measured from the start of
+   * the row group's assembly and includes the time the caller spent between records.
+   *
+   * @param count the number of records read
+   * @param nanos the time spent reading the records of the row group
+   */
+  void recordsRead(long count, long nanos);
+
+  /**
+   * Called for each compressed page, including dictionary pages.
+   *
+   * @param column the column of the page
+   * @param codec the codec of the column
+   * @param uncompressedSize the size of the page before compression
+   * @param compressedSize the size of the page after compression
+   * @param nanos the time spent compressing
+   */
+  void pageCompressed(ColumnPath column, CompressionCodecName codec,
+                      long uncompressedSize, long compressedSize, long nanos);
+
+  /**
+   * @param rowCount the number of rows in the row group
+   * @param totalSize the number of bytes written for the row group
+   */
+  void rowGroupWritten(long rowCount, long totalSize);
+}
@@ -55,6 +55,10 @@ public class HadoopInputFile implements InputFile {
     return conf;
   }
 
+  public FileStatus getFileStatus() {
+    return stat;
+  }
+
   @Override
   public long getLength() {
     return stat.getLen();
@@ -27,6 +27,9 @@ import org.apache.parquet.hadoop.util.counters.mapreduce.MapReduceCounterLoader;
 /**
  * Encapsulate counter operations, compatible with Hadoop1/2, mapred/mapreduce API
  *
+ * Readers report to {@link org.apache.parquet.hadoop.metrics.ParquetMetrics};
+ * these counters are updated by {@link BenchmarkCounterMetrics}.
+ *
  * @author Tianshuo Deng
  */
 public class BenchmarkCounter {
@@ -74,6 +77,15 @@ public class BenchmarkCounter {
     return counterLoader.getCounterByNameAndFlag(groupName, counterName, counterFlag);
   }
 
+  /**
+   * @return whether any of the counters was enabled by the last initialization
+   */
+  public static boolean isEnabled() {
+    return !(bytesReadCounter instanceof NullCounter
+        && totalBytesCounter instanceof NullCounter
+        && timeCounter instanceof NullCounter);
+  }
+
   public static void incrementTotalBytes(long val) {
     totalBytesCounter.increment(val);
   }
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop.util.counters;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.parquet.filter2.compat.RowGroupFilter.FilterLevel;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.metrics.ParquetMetrics;
+
+/**
+ * Updates the {@link BenchmarkCounter} counters from reader events and
+ * passes all events to another {@link ParquetMetrics}.
+ */
+public class BenchmarkCounterMetrics implements ParquetMetrics {
+
+  private final ParquetMetrics delegate;
+
+  /**
+   * @param delegate the metrics that also receive all events
+   */
+  public BenchmarkCounterMetrics(ParquetMetrics delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public void rowGroupRead(long rowCount, long totalSize, long nanos) {
+    BenchmarkCounter.incrementTotalBytes(totalSize);
+    BenchmarkCounter.incrementTime(TimeUnit.NANOSECONDS.toMillis(nanos));
+    delegate.rowGroupRead(rowCount, totalSize, nanos);
+  }
+
+  @Override
+  public void prefetchWaited(long nanos) {
+    delegate.prefetchWaited(nanos);
+  }
+
+  @Override
+  public void rowGroupPruned(FilterLevel level) {
+    delegate.rowGroupPruned(level);
+  }
+
+  @Override
+  public void fileRead(long length, long nanos) {
+    BenchmarkCounter.incrementBytesRead(length);
+    delegate.fileRead(length, nanos);
+  }
+
+  @Override
+  public void columnBytesRead(ColumnPath column, long bytes) {
+    delegate.columnBytesRead(column, bytes);
+  }
+
+  @Override
+  public void pagesRead(ColumnPath column, int count) {
+    delegate.pagesRead(column, count);
+  }
+
+  @Override
+  public void pagesSkipped(ColumnPath column, int count) {
+    delegate.pagesSkipped(column, count);
+  }
+
+  @Override
+  public void pageDecompressed(ColumnPath column, CompressionCodecName codec,
+                               long compressedSize, long uncompressedSize, long nanos) {
+    delegate.pageDecompressed(column, codec, compressedSize, uncompressedSize, nanos);
+  }
+
+  @Override
+  public void recordsRead(long count, long nanos) {
+    delegate.recordsRead(count, nanos);
+  }
+
+  @Override
+  public void pageCompressed(ColumnPath column, CompressionCodecName codec,
+                             long uncompressedSize, long compressedSize, long nanos) {
+    delegate.pageCompressed(column, codec, uncompressedSize, compressedSize, nanos);
+  }
+
+  @Override
+  public void rowGroupWritten(long rowCount, long totalSize) {
+    delegate.rowGroupWritten(rowCount, totalSize);
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop.vector;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.schema.MessageType;
+
+/**
+ * A batch of rows read by a {@link ColumnBatchReader}, with one
+ * {@link ColumnVector} for each column of the requested schema.
+ */
+public class ColumnBatch {
+
+  private final MessageType schema;
+  private final ColumnVector[] columns;
+  private int rowCount;
+
+  ColumnBatch(MessageType schema, int capacity) {
+    this.schema = schema;
+    List<ColumnDescriptor> descriptors = schema.getColumns();
+    this.columns = new ColumnVector[descriptors.size()];
+    for (int i = 0; i < columns.length; i += 1) {
+      columns[i] = new ColumnVector(descriptors.get(i), capacity);
+    }
+  }
+
+  public MessageType getSchema() {
+    return schema;
+  }
+
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  public int getColumnCount() {
+    return columns.length;
+  }
+
+  /**
+   * @param index the index of a column in {@link MessageType#getColumns()} of the schema
+   * @return the column's vector
+   */
+  public ColumnVector getColumn(int index) {
+    return columns[index];
+  }
+
+  /**
+   * @param path the path of a column of the schema
+   * @return the column's vector
+   * @throws IllegalArgumentException if the schema has no such column
+   */
+  public ColumnVector getColumn(String... path) {
+    for (ColumnVector column : columns) {
+      if (Arrays.equals(column.getDescriptor().getPath(), path)) {
+        return column;
+      }
+    }
+    throw new IllegalArgumentException("No column " + Arrays.toString(path) + " in " + schema);
+  }
+
+  void setRowCount(int rowCount) {
+    this.rowCount = rowCount;
+  }
+}
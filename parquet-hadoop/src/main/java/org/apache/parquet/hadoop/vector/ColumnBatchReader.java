@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop.vector;
+
+import static org.apache.parquet.Preconditions.checkArgument;
+import static org.apache.parquet.format.converter.ParquetMetadataConverter.NO_FILTER;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetInputFormat;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.schema.MessageType;
+
+/**
+ * Reads a file in batches of rows, with the values of each column decoded
+ * into primitive arrays instead of passed to converters one at a time.
+ *
+ * Only schemas without repeated fields are supported. Batches do not span
+ * row groups, so a batch can have fewer rows than the batch size. Filters
+ * are not applied, all rows of the file are returned.
+ *
+ * When {@link ParquetInputFormat#BATCH_DICTIONARY_IDS_ENABLED} is set,
+ * dictionary encoded BINARY and FIXED_LEN_BYTE_ARRAY columns are returned as
+ * dictionary ids and the row group's dictionary, see
+ * {@link ColumnVector#isDictionaryEncoded()}.
+ *
+ * <pre>
+ * ColumnBatchReader reader = new ColumnBatchReader(conf, file, projection);
+ * ColumnBatch batch;
+ * while ((batch = reader.nextBatch()) != null) {
+ *   long[] ids = batch.getColumn("id").getLongs();
+ *   ...
+ * }
+ * reader.close();
+ * </pre>
+ */
+public class ColumnBatchReader implements Closeable {
+
+  public static final int DEFAULT_BATCH_SIZE = 4096;
+
+  private final ParquetFileReader reader;
+  private final int batchSize;
+  private final List<ColumnDescriptor> columns;
+  private final ColumnVectorReader[] columnReaders;
+  private final ColumnBatch batch;
+  private long rowGroupRemaining = 0;
+
+  /**
+   * @param conf the Hadoop Configuration
+   * @param file a parquet file
+   * @param projection the columns to read, or null for all columns
+   * @throws IOException if the file can not be opened
+   */
+  public ColumnBatchReader(Configuration conf, InputFile file, MessageType projection) throws IOException {
+    this(conf, file, projection, DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * @param conf the Hadoop Configuration
+   * @param file a parquet file
+   * @param projection the columns to read, or null for all columns
+   * @param batchSize the maximum number of rows of a batch
+   * @throws IOException if the file can not be opened
+   */
+  public ColumnBatchReader(Configuration conf, InputFile file, MessageType projection, int batchSize)
+      throws IOException {
+    this(new ParquetFileReader(conf, file, NO_FILTER, projection), projection, batchSize,
+        conf.getBoolean(ParquetInputFormat.BATCH_DICTIONARY_IDS_ENABLED,
+            ParquetInputFormat.BATCH_DICTIONARY_IDS_ENABLED_DEFAULT));
+  }
+
+  /**
+   * @param reader a reader positioned before the row groups to read, which is
+   *               closed when this reader is closed
+   * @param projection the columns to read, or null for all columns
+   * @param batchSize the maximum number of rows of a batch
+   */
+  public ColumnBatchReader(ParquetFileReader reader, MessageType projection, int batchSize) {
+    this(reader, projection, batchSize, ParquetInputFormat.BATCH_DICTIONARY_IDS_ENABLED_DEFAULT);
+  }
+
+  /**
+   * @param reader a reader positioned before the row groups to read, which is
+   *               closed when this reader is closed
+   * @param projection the columns to read, or null for all columns
+   * @param batchSize the maximum number of rows of a batch
+   * @param dictionaryIds whether to return dictionary ids instead of the
+   *                      values of dictionary encoded binary columns
+   */
+  public ColumnBatchReader(ParquetFileReader reader, MessageType projection, int batchSize,
+                           boolean dictionaryIds) {
+    checkArgument(batchSize > 0, "Invalid batch size: " + batchSize);
+    MessageType schema = projection != null ? projection : reader.getFileMetaData().getSchema();
+    this.reader = reader;
+    this.batchSize = batchSize;
+    this.columns = schema.getColumns();
+    for (ColumnDescriptor column : columns) {
+      checkArgument(column.getMaxRepetitionLevel() == 0,
+          "Cannot read repeated column " + column + " into a column batch");
+    }
+    reader.setRequestedSchema(schema);
+    String createdBy = reader.getFileMetaData().getCreatedBy();
+    this.columnReaders = new ColumnVectorReader[columns.size()];
+    for (int i = 0; i < columnReaders.length; i += 1) {
+      columnReaders[i] = new ColumnVectorReader(columns.get(i), createdBy, batchSize, dictionaryIds);
+    }
+    this.batch = new ColumnBatch(schema, batchSize);
+  }
+
+  /**
+   * Reads the next batch of rows. The returned batch and its vectors are
+   * reused by the next call.
+   *
+   * @return the next batch, or null after the last row
+   * @throws IOException if an error occurs while reading
+   */
+  public ColumnBatch nextBatch() throws IOException {
+    while (rowGroupRemaining == 0) {
+      PageReadStore pages = reader.readNextRowGroup();
+      if (pages == null) {
+        return null;
+      }
+      for (int i = 0; i < columnReaders.length; i += 1) {
+        columnReaders[i].setPageReader(pages.getPageReader(columns.get(i)));
+      }
+      this.rowGroupRemaining = pages.getRowCount();
+    }
+
+    long start = System.nanoTime();
+    int count = (int) Math.min(batchSize, rowGroupRemaining);
+    for (int i = 0; i < columnReaders.length; i += 1) {
+      columnReaders[i].read(batch.getColumn(i), count);
+    }
+    batch.setRowCount(count);
+    rowGroupRemaining -= count;
+    reader.getMetrics().recordsRead(count, System.nanoTime() - start);
+    return batch;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
@@ -0,0 +1,305 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop.vector;
+
+import java.util.Arrays;
+
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.Dictionary;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+
+/**
+ * The values of one column for the rows of a {@link ColumnBatch}.
+ *
+ * Values are stored in a primitive array that matches the column type, at the
+ * index of their row. Null rows are marked in a validity bitmap and hold 0 or
+ * false. BINARY, FIXED_LEN_BYTE_ARRAY and INT96 values are stored back to back
+ * in a byte array, the value of row i is between offsets i and i + 1.
+ *
+ * When the reader returns dictionary ids, binary values of dictionary encoded
+ * batches are not decoded: {@link #isDictionaryEncoded()} is true and the
+ * dictionary id of each row is in {@link #getDictionaryIds()}. The same
+ * {@link Dictionary} is returned for all batches of a row group.
+ *
+ * The arrays are reused for the next batch, consumers must copy values they
+ * keep.
+ */
+public class ColumnVector {
+
+  private final ColumnDescriptor descriptor;
+  private final PrimitiveTypeName type;
+  private final boolean nullable;
+  private final long[] validity;
+  private boolean[] booleans;
+  private int[] ints;
+  private long[] longs;
+  private float[] floats;
+  private double[] doubles;
+  private byte[] bytes;
+  private int[] offsets;
+  private int[] dictionaryIds;
+  private Dictionary dictionary;
+  private int size;
+  private int nullCount;
+
+  ColumnVector(ColumnDescriptor descriptor, int capacity) {
+    this.descriptor = descriptor;
+    this.type = descriptor.getType();
+    this.nullable = descriptor.getMaxDefinitionLevel() > 0;
+    this.validity = nullable ? new long[(capacity + 63) / 64] : null;
+    switch (type) {
+      case BOOLEAN:
+        this.booleans = new boolean[capacity];
+        break;
+      case INT32:
+        this.ints = new int[capacity];
+        break;
+      case INT64:
+        this.longs = new long[capacity];
+        break;
+      case FLOAT:
+        this.floats = new float[capacity];
+        break;
+      case DOUBLE:
+        this.doubles = new double[capacity];
+        break;
+      case BINARY:
+      case FIXED_LEN_BYTE_ARRAY:
+      case INT96:
+        this.bytes = new byte[capacity * 8];
+        this.offsets = new int[capacity + 1];
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown primitive type: " + type);
+    }
+  }
+
+  public ColumnDescriptor getDescriptor() {
+    return descriptor;
+  }
+
+  public PrimitiveTypeName getType() {
+    return type;
+  }
+
+  /**
+   * @return the number of rows in this vector
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return whether the column is optional, which means this vector has a validity bitmap
+   */
+  public boolean isNullable() {
+    return nullable;
+  }
+
+  public int getNullCount() {
+    return nullCount;
+  }
+
+  public boolean isNull(int row) {
+    return nullable && (validity[row >> 6] & (1L << row)) == 0;
+  }
+
+  /**
+   * @return a bitmap with the bit of each non-null row set, bit i of the
+   *         bitmap is bit (i % 64) of word (i / 64); or null if the column is
+   *         required
+   */
+  public long[] getValidity() {
+    return validity;
+  }
+
+  /**
+   * @return the values of a BOOLEAN column, or null for other types
+   */
+  public boolean[] getBooleans() {
+    return booleans;
+  }
+
+  /**
+   * @return the values of an INT32 column, or null for other types
+   */
+  public int[] getInts() {
+    return ints;
+  }
+
+  /**
+   * @return the values of an INT64 column, or null for other types
+   */
+  public long[] getLongs() {
+    return longs;
+  }
+
+  /**
+   * @return the values of a FLOAT column, or null for other types
+   */
+  public float[] getFloats() {
+    return floats;
+  }
+
+  /**
+   * @return the values of a DOUBLE column, or null for other types
+   */
+  public double[] getDoubles() {
+    return doubles;
+  }
+
+  /**
+   * @return the bytes of all values of a binary column, or null for other types
+   */
+  public byte[] getBytes() {
+    return bytes;
+  }
+
+  /**
+   * @return size() + 1 offsets of the values of a binary column in
+   *         {@link #getBytes()}, or null for other types
+   */
+  public int[] getOffsets() {
+    return offsets;
+  }
+
+  /**
+   * @return whether the values of this batch are dictionary ids
+   */
+  public boolean isDictionaryEncoded() {
+    return dictionary != null;
+  }
+
+  /**
+   * @return the dictionary of the ids of this batch, or null if it is not dictionary encoded
+   */
+  public Dictionary getDictionary() {
+    return dictionary;
+  }
+
+  /**
+   * @return the dictionary ids of the values of this batch, or null if it is
+   *         not dictionary encoded. Null rows hold 0.
+   */
+  public int[] getDictionaryIds() {
+    return dictionary != null ? dictionaryIds : null;
+  }
+
+  /**
+   * @param row a row of this vector
+   * @return the value of a binary column, backed by this vector's bytes or the dictionary
+   */
+  public Binary getBinary(int row) {
+    if (dictionary != null) {
+      return dictionary.decodeToBinary(dictionaryIds[row]);
+    }
+    return Binary.fromReusedByteArray(bytes, offsets[row], offsets[row + 1] - offsets[row]);
+  }
+
+  void reset() {
+    this.size = 0;
+    this.nullCount = 0;
+    this.dictionary = null;
+  }
+
+  /**
+   * Stores dictionary ids for this batch instead of values.
+   * @return the array for the ids
+   */
+  int[] useDictionary(Dictionary dictionary, int capacity) {
+    if (dictionaryIds == null) {
+      this.dictionaryIds = new int[capacity];
+    }
+    this.dictionary = dictionary;
+    return dictionaryIds;
+  }
+
+  /**
+   * Replaces the dictionary ids of the first rows with their values, when the
+   * rest of the batch is not dictionary encoded.
+   */
+  void decodeDictionaryIds(int rows) {
+    Dictionary dictionary = this.dictionary;
+    this.dictionary = null;
+    int pos = 0;
+    offsets[0] = 0;
+    for (int row = 0; row < rows; row += 1) {
+      if (!isNull(row)) {
+        Binary value = dictionary.decodeToBinary(dictionaryIds[row]);
+        int length = value.length();
+        if (pos + length > bytes.length) {
+          bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, pos + length));
+        }
+        value.toByteBuffer().get(bytes, pos, length);
+        pos += length;
+      }
+      offsets[row + 1] = pos;
+    }
+  }
+
+  /**
+   * Sets the validity bits of rows from their definition levels.
+   *
+   * @return the number of non-null rows
+   */
+  int setValidity(int row, int count, int[] definitionLevels, int maxDefinitionLevel) {
+    int present = 0;
+    for (int i = 0; i < count; i += 1) {
+      int bit = row + i;
+      if (definitionLevels[i] == maxDefinitionLevel) {
+        validity[bit >> 6] |= (1L << bit);
+        present += 1;
+      } else {
+        validity[bit >> 6] &= ~(1L << bit);
+      }
+    }
+    nullCount += count - present;
+    return present;
+  }
+
+  /**
+   * Appends the non-null values of count rows, in row order.
+   *
+   * @param values the values of the non-null rows
+   * @param definitionLevels the definition levels of the rows, or null if all rows are non-null
+   */
+  void appendBinaries(int row, int count, Binary[] values, int[] definitionLevels, int maxDefinitionLevel) {
+    int pos = offsets[row];
+    int next = 0;
+    for (int i = 0; i < count; i += 1) {
+      if (definitionLevels == null || definitionLevels[i] == maxDefinitionLevel) {
+        Binary value = values[next];
+        values[next] = null;
+        next += 1;
+        int length = value.length();
+        if (pos + length > bytes.length) {
+          bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, pos + length));
+        }
+        value.toByteBuffer().get(bytes, pos, length);
+        pos += length;
+      }
+      offsets[row + i + 1] = pos;
+    }
+  }
+
+  void setSize(int size) {
+    this.size = size;
+  }
+}
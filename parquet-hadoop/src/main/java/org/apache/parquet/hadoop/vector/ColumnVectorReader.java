@@ -0,0 +1,274 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop.vector;
+
+import static org.apache.parquet.column.ValuesType.DEFINITION_LEVEL;
+import static org.apache.parquet.column.ValuesType.REPETITION_LEVEL;
+import static org.apache.parquet.column.ValuesType.VALUES;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.apache.parquet.CorruptDeltaByteArrays;
+import org.apache.parquet.bytes.BytesUtils;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.Dictionary;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.page.DataPage;
+import org.apache.parquet.column.page.DataPageV1;
+import org.apache.parquet.column.page.DataPageV2;
+import org.apache.parquet.column.page.DictionaryPage;
+import org.apache.parquet.column.page.PageReader;
+import org.apache.parquet.column.values.RequiresPreviousReader;
+import org.apache.parquet.column.values.ValuesReader;
+import org.apache.parquet.column.values.rle.RunLengthBitPackingHybridDecoder;
+import org.apache.parquet.io.ParquetDecodingException;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+
+/**
+ * Reads the pages of a non-repeated column into {@link ColumnVector}s, with
+ * the bulk methods of the definition level and value readers.
+ */
+class ColumnVectorReader {
+
+  private final ColumnDescriptor descriptor;
+  private final String createdBy;
+  private final int maxDefinitionLevel;
+  private final int[] definitionLevels;
+  private final Binary[] binaries;
+  private final int capacity;
+  private final boolean readDictionaryIds;
+
+  private PageReader pageReader;
+  private Dictionary dictionary;
+  private ValuesReader dataColumn;
+  // definition levels of v1 pages are read by a ValuesReader, of v2 pages by a decoder
+  private ValuesReader definitionLevelColumn;
+  private RunLengthBitPackingHybridDecoder definitionLevelDecoder;
+  private boolean pageUsesDictionary;
+  private int pageRemaining;
+
+  /**
+   * @param readDictionaryIds whether to return the dictionary ids of
+   *                          dictionary encoded BINARY and
+   *                          FIXED_LEN_BYTE_ARRAY values instead of the values
+   */
+  ColumnVectorReader(ColumnDescriptor descriptor, String createdBy, int capacity, boolean readDictionaryIds) {
+    this.descriptor = descriptor;
+    this.createdBy = createdBy;
+    this.capacity = capacity;
+    this.maxDefinitionLevel = descriptor.getMaxDefinitionLevel();
+    this.definitionLevels = maxDefinitionLevel > 0 ? new int[capacity] : null;
+    this.readDictionaryIds = readDictionaryIds &&
+        (descriptor.getType() == PrimitiveTypeName.BINARY ||
+         descriptor.getType() == PrimitiveTypeName.FIXED_LEN_BYTE_ARRAY);
+    switch (descriptor.getType()) {
+      case BINARY:
+      case FIXED_LEN_BYTE_ARRAY:
+      case INT96:
+        this.binaries = new Binary[capacity];
+        break;
+      default:
+        this.binaries = null;
+    }
+  }
+
+  /**
+   * Starts reading the column chunk of the next row group.
+   */
+  void setPageReader(PageReader pageReader) {
+    this.pageReader = pageReader;
+    this.dataColumn = null;
+    this.pageRemaining = 0;
+    DictionaryPage dictionaryPage = pageReader.readDictionaryPage();
+    if (dictionaryPage != null) {
+      try {
+        this.dictionary = dictionaryPage.decode(descriptor);
+      } catch (IOException e) {
+        throw new ParquetDecodingException("could not decode the dictionary for " + descriptor, e);
+      }
+    } else {
+      this.dictionary = null;
+    }
+  }
+
+  /**
+   * Reads the next rows of the column chunk into the vector.
+   *
+   * @param vector the vector to fill from its first row
+   * @param count the number of rows to read, which must be left in the column chunk
+   */
+  void read(ColumnVector vector, int count) {
+    vector.reset();
+    int row = 0;
+    try {
+      while (row < count) {
+        if (pageRemaining == 0) {
+          readPage();
+        }
+        int n = Math.min(count - row, pageRemaining);
+        readValues(vector, row, n);
+        pageRemaining -= n;
+        row += n;
+      }
+    } catch (IOException e) {
+      throw new ParquetDecodingException("could not read values of col " + descriptor, e);
+    }
+    vector.setSize(count);
+  }
+
+  private void readValues(ColumnVector vector, int row, int count) throws IOException {
+    int present = count;
+    if (maxDefinitionLevel > 0) {
+      if (definitionLevelDecoder != null) {
+        definitionLevelDecoder.readInts(definitionLevels, 0, count);
+      } else {
+        definitionLevelColumn.readIntegers(definitionLevels, 0, count);
+      }
+      present = vector.setValidity(row, count, definitionLevels, maxDefinitionLevel);
+    }
+    // values of non-null rows are read to the start of the range, then moved to their rows
+    switch (descriptor.getType()) {
+      case BOOLEAN:
+        boolean[] booleans = vector.getBooleans();
+        dataColumn.readBooleans(booleans, row, present);
+        for (int i = count - 1, next = row + present - 1; row + i > next; i -= 1) {
+          booleans[row + i] = definitionLevels[i] == maxDefinitionLevel && booleans[next--];
+        }
+        break;
+      case INT32:
+        int[] ints = vector.getInts();
+        dataColumn.readIntegers(ints, row, present);
+        for (int i = count - 1, next = row + present - 1; row + i > next; i -= 1) {
+          ints[row + i] = definitionLevels[i] == maxDefinitionLevel ? ints[next--] : 0;
+        }
+        break;
+      case INT64:
+        long[] longs = vector.getLongs();
+        dataColumn.readLongs(longs, row, present);
+        for (int i = count - 1, next = row + present - 1; row + i > next; i -= 1) {
+          longs[row + i] = definitionLevels[i] == maxDefinitionLevel ? longs[next--] : 0;
+        }
+        break;
+      case FLOAT:
+        float[] floats = vector.getFloats();
+        dataColumn.readFloats(floats, row, present);
+        for (int i = count - 1, next = row + present - 1; row + i > next; i -= 1) {
+          floats[row + i] = definitionLevels[i] == maxDefinitionLevel ? floats[next--] : 0;
+        }
+        break;
+      case DOUBLE:
+        double[] doubles = vector.getDoubles();
+        dataColumn.readDoubles(doubles, row, present);
+        for (int i = count - 1, next = row + present - 1; row + i > next; i -= 1) {
+          doubles[row + i] = definitionLevels[i] == maxDefinitionLevel ? doubles[next--] : 0;
+        }
+        break;
+      default:
+        if (readDictionaryIds && pageUsesDictionary && (row == 0 || vector.isDictionaryEncoded())) {
+          int[] ids = row == 0 ? vector.useDictionary(dictionary, capacity) : vector.getDictionaryIds();
+          dataColumn.readDictionaryIds(ids, row, present);
+          for (int i = count - 1, next = row + present - 1; row + i > next; i -= 1) {
+            ids[row + i] = definitionLevels[i] == maxDefinitionLevel ? ids[next--] : 0;
+          }
+          break;
+        }
+        if (vector.isDictionaryEncoded()) {
+          // the column chunk fell back to another encoding in this batch
+          vector.decodeDictionaryIds(row);
+        }
+        dataColumn.readBinaries(binaries, 0, present);
+        vector.appendBinaries(row, count, binaries,
+            present < count ? definitionLevels : null, maxDefinitionLevel);
+    }
+  }
+
+  private void readPage() throws IOException {
+    DataPage page = pageReader.readPage();
+    if (page == null) {
+      throw new ParquetDecodingException("not enough pages in col " + descriptor);
+    }
+    page.accept(new DataPage.Visitor<Void>() {
+      @Override
+      public Void visit(DataPageV1 dataPageV1) {
+        readPageV1(dataPageV1);
+        return null;
+      }
+      @Override
+      public Void visit(DataPageV2 dataPageV2) {
+        readPageV2(dataPageV2);
+        return null;
+      }
+    });
+    this.pageRemaining = page.getValueCount();
+  }
+
+  private void readPageV1(DataPageV1 page) {
+    ValuesReader rlReader = page.getRlEncoding().getValuesReader(descriptor, REPETITION_LEVEL);
+    ValuesReader dlReader = page.getDlEncoding().getValuesReader(descriptor, DEFINITION_LEVEL);
+    try {
+      ByteBuffer bytes = page.getBytes().toByteBuffer();
+      rlReader.initFromPage(page.getValueCount(), bytes, 0);
+      int next = rlReader.getNextOffset();
+      dlReader.initFromPage(page.getValueCount(), bytes, next);
+      next = dlReader.getNextOffset();
+      this.definitionLevelColumn = dlReader;
+      this.definitionLevelDecoder = null;
+      initDataReader(page.getValueEncoding(), bytes, next, page.getValueCount());
+    } catch (IOException e) {
+      throw new ParquetDecodingException("could not read page " + page + " in col " + descriptor, e);
+    }
+  }
+
+  private void readPageV2(DataPageV2 page) {
+    try {
+      this.definitionLevelColumn = null;
+      this.definitionLevelDecoder = maxDefinitionLevel == 0 ? null :
+          new RunLengthBitPackingHybridDecoder(
+              BytesUtils.getWidthFromMaxInt(maxDefinitionLevel),
+              page.getDefinitionLevels().toInputStream());
+      initDataReader(page.getDataEncoding(), page.getData().toByteBuffer(), 0, page.getValueCount());
+    } catch (IOException e) {
+      throw new ParquetDecodingException("could not read page " + page + " in col " + descriptor, e);
+    }
+  }
+
+  private void initDataReader(Encoding dataEncoding, ByteBuffer bytes, int offset, int valueCount)
+      throws IOException {
+    ValuesReader previousReader = this.dataColumn;
+    this.pageUsesDictionary = dataEncoding.usesDictionary();
+    if (pageUsesDictionary) {
+      if (dictionary == null) {
+        throw new ParquetDecodingException(
+            "could not read page in col " + descriptor + " as the dictionary was missing for encoding " + dataEncoding);
+      }
+      this.dataColumn = dataEncoding.getDictionaryBasedValuesReader(descriptor, VALUES, dictionary);
+    } else {
+      this.dataColumn = dataEncoding.getValuesReader(descriptor, VALUES);
+    }
+    dataColumn.initFromPage(valueCount, bytes, offset);
+
+    if (CorruptDeltaByteArrays.requiresSequentialReads(createdBy, dataEncoding) &&
+        previousReader instanceof RequiresPreviousReader) {
+      // previous reader can only be set if reading sequentially
+      ((RequiresPreviousReader) dataColumn).setPreviousReader(previousReader);
+    }
+  }
+}
@@ -25,10 +25,14 @@ import org.apache.commons.lang.ArrayUtils;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.page.DictionaryPage;
 import org.apache.parquet.column.page.DictionaryPageReadStore;
 import org.apache.parquet.example.data.Group;
 import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.compat.RowGroupFilter;
 import org.apache.parquet.filter2.predicate.FilterPredicate;
 import org.apache.parquet.filter2.predicate.LogicalInverseRewriter;
 import org.apache.parquet.filter2.predicate.Operators.BinaryColumn;
@@ -42,6 +46,7 @@ import org.apache.parquet.hadoop.ParquetFileReader;
 import org.apache.parquet.hadoop.ParquetWriter;
 import org.apache.parquet.hadoop.example.ExampleParquetWriter;
 import org.apache.parquet.hadoop.example.GroupWriteSupport;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
 import org.apache.parquet.io.api.Binary;
@@ -55,16 +60,19 @@ import org.junit.Test;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
 import static org.apache.parquet.column.ParquetProperties.WriterVersion.PARQUET_1_0;
+import static org.apache.parquet.column.ParquetProperties.WriterVersion.PARQUET_2_0;
 import static org.apache.parquet.filter2.dictionarylevel.DictionaryFilter.canDrop;
 import static org.apache.parquet.filter2.predicate.FilterApi.*;
 import static org.apache.parquet.hadoop.metadata.CompressionCodecName.GZIP;
 import static org.apache.parquet.schema.MessageTypeParser.parseMessageType;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -294,6 +302,122 @@ public class DictionaryFilterTest {
         canDrop(gtEq(d, Double.MIN_VALUE), ccmd, dictionaries));
   }
 
+  @Test
+  public void testEqPrimitives() throws Exception {
+    IntColumn i32 = intColumn("int32_field");
+    LongColumn i64 = longColumn("int64_field");
+    FloatColumn f = floatColumn("float_field");
+    DoubleColumn d = doubleColumn("double_field");
+
+    assertFalse("Should not drop: contains the value",
+        canDrop(eq(i32, intValues[3]), ccmd, dictionaries));
+    assertTrue("Should drop: does not contain the value",
+        canDrop(eq(i32, 1), ccmd, dictionaries));
+    assertFalse("Should not drop: contains the value",
+        canDrop(eq(i64, longValues[3]), ccmd, dictionaries));
+    assertTrue("Should drop: does not contain the value",
+        canDrop(eq(i64, 1L), ccmd, dictionaries));
+    assertFalse("Should not drop: contains the value",
+        canDrop(eq(f, toFloat(intValues[3])), ccmd, dictionaries));
+    assertTrue("Should drop: does not contain the value",
+        canDrop(eq(f, 1.0f), ccmd, dictionaries));
+    assertFalse("Should not drop: contains the value",
+        canDrop(eq(d, toDouble(intValues[3])), ccmd, dictionaries));
+    assertTrue("Should drop: does not contain the value",
+        canDrop(eq(d, 1.0), ccmd, dictionaries));
+  }
+
+  @Test
+  public void testInBinary() throws Exception {
+    BinaryColumn b = binaryColumn("binary_field");
+
+    assertFalse("Should not drop block with a matching value",
+        canDrop(in(b, ImmutableSet.of(Binary.fromString("A"), Binary.fromString("c"))), ccmd, dictionaries));
+
+    assertTrue("Should drop block for upper case letters",
+        canDrop(in(b, ImmutableSet.of(Binary.fromString("A"), Binary.fromString("B"))), ccmd, dictionaries));
+  }
+
+  @Test
+  public void testInPrimitives() throws Exception {
+    IntColumn i32 = intColumn("int32_field");
+    LongColumn i64 = longColumn("int64_field");
+    FloatColumn f = floatColumn("float_field");
+    DoubleColumn d = doubleColumn("double_field");
+
+    // 1 and 2 are within the range of the values, but not in the dictionary
+    assertFalse("Should not drop: contains a value",
+        canDrop(in(i32, ImmutableSet.of(1, 2, intValues[3])), ccmd, dictionaries));
+    assertTrue("Should drop: does not contain the values",
+        canDrop(in(i32, ImmutableSet.of(1, 2)), ccmd, dictionaries));
+    assertFalse("Should not drop: contains a value",
+        canDrop(in(i64, ImmutableSet.of(1L, longValues[3])), ccmd, dictionaries));
+    assertTrue("Should drop: does not contain the values",
+        canDrop(in(i64, ImmutableSet.of(1L, 2L)), ccmd, dictionaries));
+    assertFalse("Should not drop: contains a value",
+        canDrop(in(f, ImmutableSet.of(1.0f, toFloat(intValues[3]))), ccmd, dictionaries));
+    assertTrue("Should drop: does not contain the values",
+        canDrop(in(f, ImmutableSet.of(1.0f, 2.0f)), ccmd, dictionaries));
+    assertFalse("Should not drop: contains a value",
+        canDrop(in(d, ImmutableSet.of(1.0, toDouble(intValues[3]))), ccmd, dictionaries));
+    assertTrue("Should drop: does not contain the values",
+        canDrop(in(d, ImmutableSet.of(1.0, 2.0)), ccmd, dictionaries));
+  }
+
+  @Test
+  public void testNotIn() throws Exception {
+    BinaryColumn sharp = binaryColumn("single_value_field");
+    IntColumn i32 = intColumn("int32_field");
+
+    // binary statistics of this file are ignored, so the number of nulls is
+    // not known and the block is kept
+    assertFalse("Should not drop block without the number of nulls",
+        canDrop(notIn(sharp, ImmutableSet.of(Binary.fromString("flat"), Binary.fromString("sharp"))),
+            ccmd, dictionaries));
+
+    assertFalse("Should not drop block with any other value",
+        canDrop(notIn(sharp, ImmutableSet.of(Binary.fromString("flat"))), ccmd, dictionaries));
+
+    Set<Integer> allInts = new HashSet<Integer>();
+    for (int value : intValues) {
+      allInts.add(value);
+    }
+    assertTrue("Should drop block with only excluded values",
+        canDrop(notIn(i32, allInts), ccmd, dictionaries));
+
+    allInts.remove(intValues[3]);
+    assertFalse("Should not drop block with any other value",
+        canDrop(notIn(i32, allInts), ccmd, dictionaries));
+  }
+
+  @Test
+  public void testInMissingColumn() throws Exception {
+    BinaryColumn b = binaryColumn("missing_column");
+
+    assertTrue("Should drop block for non-null query",
+        canDrop(in(b, ImmutableSet.of(Binary.fromString("any"))), ccmd, dictionaries));
+
+    assertFalse("Should not drop block for non-null query",
+        canDrop(notIn(b, ImmutableSet.of(Binary.fromString("any"))), ccmd, dictionaries));
+  }
+
+  @Test
+  public void testDictionaryReadOncePerColumn() throws Exception {
+    final int[] reads = new int[1];
+    DictionaryPageReadStore countingStore = new DictionaryPageReadStore() {
+      @Override
+      public DictionaryPage readDictionaryPage(ColumnDescriptor descriptor) {
+        reads[0] += 1;
+        return dictionaries.readDictionaryPage(descriptor);
+      }
+    };
+    IntColumn i32 = intColumn("int32_field");
+
+    assertFalse("Should not drop: contains values in the range",
+        canDrop(or(or(lt(i32, 0), gt(i32, 100)), or(eq(i32, 1), notEq(i32, 2))), ccmd, countingStore));
+    assertEquals("Should decode the dictionary once for all predicates", 1, reads[0]);
+  }
+
   @Test
   public void testAnd() throws Exception {
     BinaryColumn col = binaryColumn("binary_field");
@@ -427,6 +551,59 @@ public class DictionaryFilterTest {
     verifyZeroInteractions(dictionaryStore);
   }
 
+  @Test
+  public void testFixedLenByteArray() throws Exception {
+    // 2.0 writers dictionary-encode fixed-length columns
+    MessageType fixedSchema = parseMessageType(
+        "message test { required fixed_len_byte_array(16) fixed_field; }");
+    Path fixedFile = new Path("target/test/TestDictionaryFilter/testFixedLenFile");
+    FileSystem fs = fixedFile.getFileSystem(conf);
+    if (fs.exists(fixedFile)) {
+      fs.delete(fixedFile, true);
+    }
+
+    SimpleGroupFactory f = new SimpleGroupFactory(fixedSchema);
+    ParquetWriter<Group> writer = ExampleParquetWriter.builder(fixedFile)
+        .withType(fixedSchema)
+        .withWriterVersion(PARQUET_2_0)
+        .enableDictionaryEncoding()
+        .build();
+    for (int i = 0; i < nElements; i++) {
+      writer.write(f.newGroup().append("fixed_field", toFixed(i % ALPHABET.length())));
+    }
+    writer.close();
+
+    ParquetFileReader fixedReader = ParquetFileReader.open(conf, fixedFile);
+    try {
+      BlockMetaData block = fixedReader.getFooter().getBlocks().get(0);
+      List<ColumnChunkMetaData> columns = block.getColumns();
+      DictionaryPageReadStore fixedDictionaries = fixedReader.getDictionaryReader(block);
+      assertTrue("Column should be dictionary encoded",
+          columns.get(0).getEncodings().contains(Encoding.RLE_DICTIONARY));
+
+      BinaryColumn b = binaryColumn("fixed_field");
+      assertFalse("Should not drop block with the value",
+          canDrop(eq(b, toFixed(3)), fixedSchema, columns, fixedDictionaries));
+      assertTrue("Should drop block without the value",
+          canDrop(eq(b, toFixed(30)), fixedSchema, columns, fixedDictionaries));
+      assertTrue("Should drop: > highest value",
+          canDrop(gt(b, toFixed(ALPHABET.length() - 1)), fixedSchema, columns, fixedDictionaries));
+      assertTrue("Should drop block without any of the values",
+          canDrop(in(b, ImmutableSet.of(toFixed(30), toFixed(31))), fixedSchema, columns, fixedDictionaries));
+
+      assertFalse("Should not drop without the type length from the schema",
+          canDrop(eq(b, toFixed(30)), columns, fixedDictionaries));
+
+      List<BlockMetaData> blocks = RowGroupFilter.filterRowGroups(
+          Collections.singletonList(RowGroupFilter.FilterLevel.DICTIONARY),
+          FilterCompat.get(eq(b, toFixed(30))), fixedReader.getFooter().getBlocks(), fixedReader);
+      assertEquals("Should drop all row groups", 0, blocks.size());
+    } finally {
+      fixedReader.close();
+      fs.delete(fixedFile, true);
+    }
+  }
+
   @Test
   public void testEqMissingColumn() throws Exception {
     BinaryColumn b = binaryColumn("missing_column");
@@ -531,6 +708,10 @@ public class DictionaryFilterTest {
     }
   }
 
+  private static Binary toFixed(int value) {
+    return Binary.fromString(String.format("fixed-%010d", value));
+  }
+
   private static double toDouble(int value) {
     return (value * 1.0);
   }
@@ -240,7 +240,10 @@ public class PhoneBookWriter {
   }
 
   public static List<Group> readFile(File f, Filter filter) throws IOException {
-    Configuration conf = new Configuration();
+    return readFile(f, filter, new Configuration());
+  }
+
+  public static List<Group> readFile(File f, Filter filter, Configuration conf) throws IOException {
     GroupWriteSupport.setSchema(schema, conf);
 
     ParquetReader<Group> reader =
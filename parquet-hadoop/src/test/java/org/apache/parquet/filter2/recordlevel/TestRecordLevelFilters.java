@@ -27,6 +27,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.HashSet;
 
+import org.apache.hadoop.conf.Configuration;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
@@ -41,6 +42,7 @@ import org.apache.parquet.filter2.predicate.UserDefinedPredicate;
 import org.apache.parquet.filter2.recordlevel.PhoneBookWriter.Location;
 import org.apache.parquet.filter2.recordlevel.PhoneBookWriter.PhoneNumber;
 import org.apache.parquet.filter2.recordlevel.PhoneBookWriter.User;
+import org.apache.parquet.hadoop.ParquetInputFormat;
 import org.apache.parquet.io.api.Binary;
 
 import static org.junit.Assert.assertEquals;
@@ -50,8 +52,11 @@ import static org.apache.parquet.filter2.predicate.FilterApi.doubleColumn;
 import static org.apache.parquet.filter2.predicate.FilterApi.longColumn;
 import static org.apache.parquet.filter2.predicate.FilterApi.eq;
 import static org.apache.parquet.filter2.predicate.FilterApi.gt;
+import static org.apache.parquet.filter2.predicate.FilterApi.gtEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.in;
 import static org.apache.parquet.filter2.predicate.FilterApi.not;
 import static org.apache.parquet.filter2.predicate.FilterApi.notEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.notIn;
 import static org.apache.parquet.filter2.predicate.FilterApi.or;
 import static org.apache.parquet.filter2.predicate.FilterApi.userDefined;
 
@@ -248,6 +253,67 @@ public class TestRecordLevelFilters {
     });
   }
 
+  @Test
+  public void testIn() throws Exception {
+    LongColumn id = longColumn("id");
+    BinaryColumn name = binaryColumn("name");
+
+    final HashSet<Long> ids = new HashSet<Long>(Arrays.asList(20L, 27L, 28L, 150L, 1000L));
+    final HashSet<String> names = new HashSet<String>(Arrays.asList("alice", "p101", "p102", "nobody"));
+
+    List<Group> found = PhoneBookWriter.readFile(phonebookFile, FilterCompat.get(in(id, ids)));
+
+    assertFilter(found, new UserFilter() {
+      @Override
+      public boolean keep(User u) {
+        return ids.contains(u.getId());
+      }
+    });
+
+    HashSet<Binary> binaryNames = new HashSet<Binary>();
+    for (String n : names) {
+      binaryNames.add(Binary.fromString(n));
+    }
+    found = PhoneBookWriter.readFile(phonebookFile, FilterCompat.get(in(name, binaryNames)));
+
+    assertFilter(found, new UserFilter() {
+      @Override
+      public boolean keep(User u) {
+        return u.getName() != null && names.contains(u.getName());
+      }
+    });
+  }
+
+  @Test
+  public void testNotIn() throws Exception {
+    BinaryColumn name = binaryColumn("name");
+
+    final HashSet<String> names = new HashSet<String>(Arrays.asList("bob", "thing1", "thing2"));
+    HashSet<Binary> binaryNames = new HashSet<Binary>();
+    for (String n : names) {
+      binaryNames.add(Binary.fromString(n));
+    }
+
+    // nulls are kept, like notEq(name, someNonNull)
+    List<Group> found = PhoneBookWriter.readFile(phonebookFile, FilterCompat.get(notIn(name, binaryNames)));
+
+    assertFilter(found, new UserFilter() {
+      @Override
+      public boolean keep(User u) {
+        return u.getName() == null || !names.contains(u.getName());
+      }
+    });
+
+    found = PhoneBookWriter.readFile(phonebookFile, FilterCompat.get(not(in(name, binaryNames))));
+
+    assertFilter(found, new UserFilter() {
+      @Override
+      public boolean keep(User u) {
+        return u.getName() == null || !names.contains(u.getName());
+      }
+    });
+  }
+
   @Test
   public void testComplex() throws Exception {
     BinaryColumn name = binaryColumn("name");
@@ -273,4 +339,28 @@ public class TestRecordLevelFilters {
       }
     });
   }
+
+  @Test
+  public void testCompiled() throws Exception {
+    Configuration conf = new Configuration();
+    conf.setBoolean(ParquetInputFormat.RECORD_FILTERING_COMPILED, true);
+
+    BinaryColumn name = binaryColumn("name");
+    DoubleColumn lon = doubleColumn("location.lon");
+    DoubleColumn lat = doubleColumn("location.lat");
+    LongColumn id = longColumn("id");
+
+    List<FilterPredicate> preds = Arrays.asList(
+        or(and(gt(lon, 150.0), notEq(lat, null)), eq(name, Binary.fromString("alice"))),
+        or(in(id, new HashSet<Long>(Arrays.asList(18L, 20L))), and(gtEq(lat, 250.0), eq(name, null))),
+        and(notIn(name, new HashSet<Binary>(Arrays.asList(Binary.fromString("bob")))),
+            userDefined(id, new SetInFilter(new HashSet<Long>(Arrays.asList(17L, 18L, 19L, 101L))))),
+        eq(doubleColumn("not.a.column"), null));
+
+    for (FilterPredicate pred : preds) {
+      List<Group> expected = PhoneBookWriter.readFile(phonebookFile, FilterCompat.get(pred));
+      List<Group> found = PhoneBookWriter.readFile(phonebookFile, FilterCompat.get(pred), conf);
+      assertEquals(pred.toString(), expected.toString(), found.toString());
+    }
+  }
 }
@@ -51,11 +51,13 @@ import static org.apache.parquet.filter2.predicate.FilterApi.doubleColumn;
 import static org.apache.parquet.filter2.predicate.FilterApi.eq;
 import static org.apache.parquet.filter2.predicate.FilterApi.gt;
 import static org.apache.parquet.filter2.predicate.FilterApi.gtEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.in;
 import static org.apache.parquet.filter2.predicate.FilterApi.intColumn;
 import static org.apache.parquet.filter2.predicate.FilterApi.lt;
 import static org.apache.parquet.filter2.predicate.FilterApi.ltEq;
 import static org.apache.parquet.filter2.predicate.FilterApi.not;
 import static org.apache.parquet.filter2.predicate.FilterApi.notEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.notIn;
 import static org.apache.parquet.filter2.predicate.FilterApi.or;
 import static org.apache.parquet.filter2.predicate.FilterApi.userDefined;
 import static org.apache.parquet.filter2.statisticslevel.StatisticsFilter.canDrop;
@@ -194,6 +196,74 @@ public class TestStatisticsFilter {
     assertTrue(canDrop(notEq(missingColumn, null), columnMetas));
   }
 
+  private static <T> HashSet<T> setOf(T... values) {
+    return new HashSet<T>(Arrays.asList(values));
+  }
+
+  @Test
+  public void testIn() {
+    assertTrue(canDrop(in(intColumn, setOf(1, 9, 101, 1000)), columnMetas));
+    assertFalse(canDrop(in(intColumn, setOf(1, 10)), columnMetas));
+    assertFalse(canDrop(in(intColumn, setOf(50)), columnMetas));
+    assertFalse(canDrop(in(intColumn, setOf(100, 1000)), columnMetas));
+    assertFalse(canDrop(in(doubleColumn, setOf(-1.0, 99.5)), columnMetas));
+    assertTrue(canDrop(in(doubleColumn, setOf(-1.0, 100.5)), columnMetas));
+
+    // drop columns of all nulls when looking for non-null values
+    assertTrue(canDrop(in(intColumn, setOf(0)), nullColumnMetas));
+    assertTrue(canDrop(in(missingColumn, setOf(fromString("any"))), columnMetas));
+  }
+
+  @Test
+  public void testNotIn() {
+    assertFalse(canDrop(notIn(intColumn, setOf(9, 10, 100)), columnMetas));
+
+    IntStatistics allSevens = new IntStatistics();
+    allSevens.setMinMax(7, 7);
+    assertTrue(canDrop(notIn(intColumn, setOf(3, 7)), Arrays.asList(
+        getIntColumnMeta(allSevens, 177L),
+        getDoubleColumnMeta(doubleStats, 177L))));
+    assertFalse(canDrop(notIn(intColumn, setOf(3, 8)), Arrays.asList(
+        getIntColumnMeta(allSevens, 177L),
+        getDoubleColumnMeta(doubleStats, 177L))));
+
+    allSevens.setNumNulls(100L);
+    assertFalse(canDrop(notIn(intColumn, setOf(3, 7)), Arrays.asList(
+        getIntColumnMeta(allSevens, 177L),
+        getDoubleColumnMeta(doubleStats, 177L))));
+
+    assertFalse(canDrop(notIn(missingColumn, setOf(fromString("any"))), columnMetas));
+  }
+
+  @Test
+  public void testInWithSignedZeros() {
+    // 0.0 == -0.0, as in the record-level filter
+    DoubleStatistics positiveZero = new DoubleStatistics();
+    positiveZero.setMinMax(0.0, 5.0);
+    assertFalse(canDrop(in(doubleColumn, setOf(-0.0)), Arrays.asList(
+        getIntColumnMeta(intStats, 177L),
+        getDoubleColumnMeta(positiveZero, 177L))));
+
+    DoubleStatistics negativeZeros = new DoubleStatistics();
+    negativeZeros.setMinMax(-0.0, -0.0);
+    assertFalse(canDrop(in(doubleColumn, setOf(0.0)), Arrays.asList(
+        getIntColumnMeta(intStats, 177L),
+        getDoubleColumnMeta(negativeZeros, 177L))));
+    assertTrue(canDrop(notIn(doubleColumn, setOf(0.0)), Arrays.asList(
+        getIntColumnMeta(intStats, 177L),
+        getDoubleColumnMeta(negativeZeros, 177L))));
+  }
+
+  @Test
+  public void testNotInWithNaN() {
+    // NaN is never in the values, so a column of NaN is kept
+    DoubleStatistics allNaN = new DoubleStatistics();
+    allNaN.setMinMax(Double.NaN, Double.NaN);
+    assertFalse(canDrop(notIn(doubleColumn, setOf(Double.NaN, 1.0)), Arrays.asList(
+        getIntColumnMeta(intStats, 177L),
+        getDoubleColumnMeta(allNaN, 177L))));
+  }
+
   @Test
   public void testLt() {
     assertTrue(canDrop(lt(intColumn, 9), columnMetas));
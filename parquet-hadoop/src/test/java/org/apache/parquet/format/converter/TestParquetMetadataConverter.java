@@ -57,8 +57,10 @@ import org.apache.parquet.column.statistics.LongStatistics;
 import org.apache.parquet.column.statistics.Statistics;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnIndex;
 import org.apache.parquet.hadoop.metadata.ColumnPath;
 import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.metadata.OffsetIndex;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
 import org.apache.parquet.io.api.Binary;
 import org.junit.Assert;
@@ -564,4 +566,40 @@ public class TestParquetMetadataConverter {
     Assert.assertEquals("Should have correct max (unsigned sort)",
         Binary.fromString("z"), convertedStats.genericGetMax());
   }
+
+  @Test
+  public void testPageIndexRoundTrip() throws IOException {
+    ParquetMetadataConverter converter = new ParquetMetadataConverter();
+    LongStatistics first = new LongStatistics();
+    first.updateStats(3L);
+    first.updateStats(17L);
+    first.incrementNumNulls();
+    LongStatistics empty = new LongStatistics();
+    ColumnIndex columnIndex = new ColumnIndex(
+        Arrays.<Statistics>asList(first, empty), Arrays.asList(20L, 5L));
+    OffsetIndex offsetIndex = new OffsetIndex(
+        Arrays.asList(4L, 1004L), Arrays.asList(1000, 300), Arrays.asList(0L, 20L));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    converter.writeColumnIndex(columnIndex, out);
+    ColumnIndex readColumnIndex = converter.readColumnIndex(
+        new ByteArrayInputStream(out.toByteArray()), Version.FULL_VERSION,
+        Types.required(PrimitiveTypeName.INT64).named("l"));
+    assertEquals(2, readColumnIndex.getPageCount());
+    assertEquals(20L, readColumnIndex.getValueCount(0));
+    assertEquals(first, readColumnIndex.getStatistics(0));
+    assertEquals(5L, readColumnIndex.getValueCount(1));
+    Assert.assertTrue("Stats should be empty", readColumnIndex.getStatistics(1).isEmpty());
+
+    out.reset();
+    converter.writeOffsetIndex(offsetIndex, out);
+    OffsetIndex readOffsetIndex = converter.readOffsetIndex(new ByteArrayInputStream(out.toByteArray()));
+    assertEquals(2, readOffsetIndex.getPageCount());
+    for (int i = 0; i < 2; i += 1) {
+      assertEquals(offsetIndex.getOffset(i), readOffsetIndex.getOffset(i));
+      assertEquals(offsetIndex.getCompressedPageSize(i), readOffsetIndex.getCompressedPageSize(i));
+      assertEquals(offsetIndex.getFirstRowIndex(i), readOffsetIndex.getFirstRowIndex(i));
+    }
+    assertEquals(39L, readOffsetIndex.getLastRowIndex(1, 40));
+  }
 }
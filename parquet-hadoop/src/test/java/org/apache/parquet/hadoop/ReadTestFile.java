@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.apache.parquet.schema.MessageTypeParser.parseMessageType;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.hadoop.example.GroupReadSupport;
+import org.apache.parquet.hadoop.util.CountingInputFile;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.schema.MessageType;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Writes and checks the test files of the read path tests.
+ *
+ * Record i has id i, name "name-i", category "category-(i % 7)" unless i is
+ * a multiple of 3, and score i / 3.0. Tests that need other data write files
+ * of their own schema with a {@link RecordFactory}.
+ */
+public class ReadTestFile {
+
+  public static final MessageType SCHEMA = parseMessageType(
+      "message test { "
+      + "required int64 id; "
+      + "required binary name; "
+      + "optional binary category; "
+      + "required double score; "
+      + "} ");
+
+  /**
+   * Creates the records of a test file.
+   */
+  public interface RecordFactory {
+    Group record(SimpleGroupFactory factory, int i);
+  }
+
+  private static final RecordFactory RECORDS = new RecordFactory() {
+    @Override
+    public Group record(SimpleGroupFactory factory, int i) {
+      return ReadTestFile.record(factory, i);
+    }
+  };
+
+  private ReadTestFile() {
+  }
+
+  /**
+   * @param temp a temporary folder
+   * @return a path in the folder for a new file
+   * @throws IOException if the file cannot be created
+   */
+  public static Path newPath(TemporaryFolder temp) throws IOException {
+    File testFile = temp.newFile();
+    testFile.delete();
+    return new Path(testFile.toString());
+  }
+
+  /**
+   * @param file the file to write
+   * @return a writer builder for the test schema, to configure before calling {@link #write}
+   */
+  public static ExampleParquetWriter.Builder writer(Path file) {
+    return writer(file, SCHEMA);
+  }
+
+  /**
+   * @param file the file to write
+   * @param schema the schema of the file
+   * @return a writer builder for the schema, to configure before calling {@link #write}
+   */
+  public static ExampleParquetWriter.Builder writer(Path file, MessageType schema) {
+    return ExampleParquetWriter.builder(file).withType(schema);
+  }
+
+  /**
+   * Writes the first recordCount test records.
+   */
+  public static void write(ExampleParquetWriter.Builder builder, int recordCount) throws IOException {
+    write(builder, SCHEMA, recordCount, RECORDS);
+  }
+
+  /**
+   * Writes the first recordCount records of the given factory.
+   */
+  public static void write(ExampleParquetWriter.Builder builder, MessageType schema, int recordCount,
+                           RecordFactory records) throws IOException {
+    SimpleGroupFactory factory = new SimpleGroupFactory(schema);
+    ParquetWriter<Group> writer = builder.build();
+    for (int i = 0; i < recordCount; i += 1) {
+      writer.write(records.record(factory, i));
+    }
+    writer.close();
+  }
+
+  public static Group record(SimpleGroupFactory factory, int i) {
+    Group group = factory.newGroup()
+        .append("id", (long) i)
+        .append("name", "name-" + i);
+    if (i % 3 != 0) {
+      group.append("category", "category-" + (i % 7));
+    }
+    return group.append("score", i / 3.0);
+  }
+
+  /**
+   * Checks the fields of a test record that are in the group's projection.
+   */
+  public static void assertRecord(int i, Group group) {
+    MessageType type = (MessageType) group.getType();
+    assertEquals(i, group.getLong("id", 0));
+    if (type.containsField("name")) {
+      assertEquals("name-" + i, group.getBinary("name", 0).toStringUsingUTF8());
+    }
+    if (type.containsField("category")) {
+      if (i % 3 != 0) {
+        assertEquals("category-" + (i % 7), group.getBinary("category", 0).toStringUsingUTF8());
+      } else {
+        assertEquals(0, group.getFieldRepetitionCount("category"));
+      }
+    }
+    if (type.containsField("score")) {
+      assertEquals(i / 3.0, group.getDouble("score", 0), 0.0);
+    }
+  }
+
+  /**
+   * Reads all records of a file and checks that they are the first recordCount test records.
+   * @return the file, which counts the reads
+   */
+  public static CountingInputFile assertRecords(Path file, Configuration conf, int recordCount)
+      throws IOException {
+    CountingInputFile input = new CountingInputFile(HadoopInputFile.fromPath(file, conf));
+    assertRecords(input, conf, recordCount);
+    return input;
+  }
+
+  public static void assertRecords(InputFile file, Configuration conf, int recordCount) throws IOException {
+    ParquetReader<Group> reader = ParquetReader.builder(new GroupReadSupport(), file)
+        .withConf(conf)
+        .build();
+    try {
+      for (int i = 0; i < recordCount; i += 1) {
+        assertRecord(i, reader.read());
+      }
+      assertNull(reader.read());
+    } finally {
+      reader.close();
+    }
+  }
+}
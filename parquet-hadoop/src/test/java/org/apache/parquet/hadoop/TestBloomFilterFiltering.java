@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.apache.parquet.filter2.predicate.FilterApi.and;
+import static org.apache.parquet.filter2.predicate.FilterApi.binaryColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.eq;
+import static org.apache.parquet.filter2.predicate.FilterApi.in;
+import static org.apache.parquet.filter2.predicate.FilterApi.longColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.or;
+import static org.apache.parquet.schema.MessageTypeParser.parseMessageType;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.column.ParquetProperties.WriterVersion;
+import org.apache.parquet.column.values.bloomfilter.BlockSplitBloomFilter;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.compat.RowGroupFilter.FilterLevel;
+import org.apache.parquet.hadoop.example.GroupReadSupport;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metrics.CountingParquetMetrics;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+@RunWith(Parameterized.class)
+public class TestBloomFilterFiltering {
+
+  private static final MessageType SCHEMA = parseMessageType(
+      "message test { "
+      + "required int64 id; "
+      + "required binary name; "
+      + "required int32 code; "
+      + "} ");
+  private static final int RECORD_COUNT = 20000;
+
+  @Parameterized.Parameters(name = "{0}")
+  public static Collection<Object[]> data() {
+    return Arrays.asList(new Object[][] {
+        { WriterVersion.PARQUET_1_0 },
+        { WriterVersion.PARQUET_2_0 } });
+  }
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private final WriterVersion version;
+  private final long[] ids = new long[RECORD_COUNT];
+  private Path file;
+
+  public TestBloomFilterFiltering(WriterVersion version) {
+    this.version = version;
+  }
+
+  @Before
+  public void writeFile() throws IOException {
+    this.file = ReadTestFile.newPath(temp);
+    final Random random = new Random(42);
+    ReadTestFile.write(ReadTestFile.writer(file, SCHEMA)
+        .withWriterVersion(version)
+        .withRowGroupSize(64 * 1024)
+        .withPageSize(4 * 1024)
+        .withDictionaryEncoding(false)
+        .withBloomFilterColumns(new HashSet<String>(Arrays.asList("id", "name")))
+        .withBloomFilterNDV(4000), SCHEMA, RECORD_COUNT, new ReadTestFile.RecordFactory() {
+          @Override
+          public Group record(SimpleGroupFactory factory, int i) {
+            // random ids, so that min/max statistics cannot prune row groups
+            ids[i] = random.nextLong();
+            return factory.newGroup()
+                .append("id", ids[i])
+                .append("name", "user-" + ids[i])
+                .append("code", i % 7);
+          }
+        });
+  }
+
+  private Configuration conf(boolean bloomFiltering) {
+    Configuration conf = new Configuration();
+    conf.setBoolean(ParquetInputFormat.STATS_FILTERING_ENABLED, true);
+    conf.setBoolean(ParquetInputFormat.BLOOM_FILTERING_ENABLED, bloomFiltering);
+    return conf;
+  }
+
+  @Test
+  public void testBloomFiltersWritten() throws IOException {
+    ParquetFileReader reader = ParquetFileReader.open(conf(true), file);
+    List<BlockMetaData> blocks = reader.getRowGroups();
+    assertTrue("Should write several row groups", blocks.size() > 4);
+    int row = 0;
+    for (BlockMetaData block : blocks) {
+      ColumnChunkMetaData id = block.getColumns().get(0);
+      ColumnChunkMetaData name = block.getColumns().get(1);
+      ColumnChunkMetaData code = block.getColumns().get(2);
+      assertNull("Should not write Bloom filters of other columns", reader.readBloomFilter(code));
+
+      BlockSplitBloomFilter idFilter = reader.readBloomFilter(id);
+      BlockSplitBloomFilter nameFilter = reader.readBloomFilter(name);
+      assertNotNull(idFilter);
+      assertNotNull(nameFilter);
+      for (long i = 0; i < block.getRowCount(); i += 1, row += 1) {
+        assertTrue(idFilter.findHash(BlockSplitBloomFilter.hash(ids[row])));
+        assertTrue(nameFilter.findHash(BlockSplitBloomFilter.hash(Binary.fromString("user-" + ids[row]))));
+      }
+    }
+    reader.close();
+  }
+
+  @Test
+  public void testPointLookup() throws IOException {
+    long id = ids[RECORD_COUNT / 2];
+    FilterCompat.Filter byId = FilterCompat.get(eq(longColumn("id"), id));
+    FilterCompat.Filter byNameAndId = FilterCompat.get(and(
+        eq(binaryColumn("name"), Binary.fromString("user-" + id)),
+        eq(longColumn("id"), id)));
+
+    assertLookup(conf(true), byId, id);
+    assertLookup(conf(true), byNameAndId, id);
+    assertLookup(conf(false), byId, id);
+
+    int blockCount = blockCount();
+    CountingParquetMetrics metrics = filterRowGroups(conf(true), byId);
+    assertEquals(0, metrics.getRowGroupsPruned(FilterLevel.STATISTICS));
+    assertTrue("Should prune the row groups without the id",
+        metrics.getRowGroupsPruned(FilterLevel.BLOOMFILTER) >= blockCount - 3);
+
+    metrics = filterRowGroups(conf(true), byNameAndId);
+    assertTrue(metrics.getRowGroupsPruned(FilterLevel.BLOOMFILTER) >= blockCount - 2);
+
+    metrics = filterRowGroups(conf(false), byId);
+    assertEquals(0, metrics.getRowGroupsPruned(FilterLevel.BLOOMFILTER));
+  }
+
+  @Test
+  public void testOrKeepsRowGroupsOfBothValues() throws IOException {
+    int blockCount = blockCount();
+    CountingParquetMetrics metrics = filterRowGroups(conf(true), FilterCompat.get(or(
+        eq(longColumn("id"), ids[10]), eq(longColumn("id"), ids[RECORD_COUNT - 10]))));
+    long pruned = metrics.getRowGroupsPruned(FilterLevel.BLOOMFILTER);
+    assertTrue(pruned > 0);
+    assertTrue("Should keep the row groups of both ids", pruned <= blockCount - 2);
+  }
+
+  @Test
+  public void testInKeepsRowGroupsOfAllValues() throws IOException {
+    int blockCount = blockCount();
+    HashSet<Long> values = new HashSet<Long>(Arrays.asList(ids[10], ids[RECORD_COUNT - 10], 17L));
+    CountingParquetMetrics metrics = filterRowGroups(conf(true), FilterCompat.get(in(longColumn("id"), values)));
+    long pruned = metrics.getRowGroupsPruned(FilterLevel.BLOOMFILTER);
+    assertEquals(0, metrics.getRowGroupsPruned(FilterLevel.STATISTICS));
+    assertTrue(pruned > 0);
+    assertTrue("Should keep the row groups of both ids", pruned <= blockCount - 2);
+  }
+
+  private int blockCount() throws IOException {
+    ParquetFileReader reader = ParquetFileReader.open(conf(true), file);
+    int blockCount = reader.getRowGroups().size();
+    reader.close();
+    return blockCount;
+  }
+
+  private CountingParquetMetrics filterRowGroups(Configuration conf, FilterCompat.Filter filter) throws IOException {
+    ParquetFileReader reader = ParquetFileReader.open(conf, file);
+    CountingParquetMetrics metrics = new CountingParquetMetrics();
+    reader.setMetrics(metrics);
+    reader.filterRowGroups(filter);
+    reader.close();
+    return metrics;
+  }
+
+  private void assertLookup(Configuration conf, FilterCompat.Filter filter, long id) throws IOException {
+    ParquetReader<Group> reader = ParquetReader.builder(new GroupReadSupport(), file)
+        .withConf(conf)
+        .withFilter(filter)
+        .build();
+    int found = 0;
+    Group group;
+    while ((group = reader.read()) != null) {
+      assertEquals(id, group.getLong("id", 0));
+      assertEquals("user-" + id, group.getBinary("name", 0).toStringUsingUTF8());
+      found += 1;
+    }
+    reader.close();
+    assertEquals(1, found);
+  }
+}
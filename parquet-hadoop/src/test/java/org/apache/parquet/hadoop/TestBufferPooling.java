@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.bytes.BytesInput;
+import org.apache.parquet.bytes.BytesUtils;
+import org.apache.parquet.bytes.PooledByteBufferAllocator;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.ParquetProperties.WriterVersion;
+import org.apache.parquet.column.statistics.BinaryStatistics;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.format.DataPageHeaderV2;
+import org.apache.parquet.format.PageHeader;
+import org.apache.parquet.format.PageType;
+import org.apache.parquet.format.Util;
+import org.apache.parquet.hadoop.example.GroupReadSupport;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestBufferPooling {
+
+  private static final int RECORD_COUNT = 20000;
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  @Test
+  public void testRecycleCompressedRowGroups() throws IOException {
+    PooledByteBufferAllocator allocator = PooledByteBufferAllocator.getHeapInstance();
+    Path file = writeFile(WriterVersion.PARQUET_1_0, CompressionCodecName.GZIP);
+    long reused = allocator.getReuseCount();
+
+    Configuration conf = new Configuration();
+    conf.setBoolean(ParquetInputFormat.READ_BUFFER_POOLING_ENABLED, true);
+    ReadTestFile.assertRecords(file, conf, RECORD_COUNT);
+    assertTrue("Row group buffers should be reused", allocator.getReuseCount() > reused);
+
+    // the buffers of the first read are all back in the pool
+    long allocated = allocator.getAllocationCount();
+    ReadTestFile.assertRecords(file, conf, RECORD_COUNT);
+    assertEquals("Should not allocate new buffers", allocated, allocator.getAllocationCount());
+  }
+
+  @Test
+  public void testRecycleWithParallelDecompression() throws IOException {
+    Path file = writeFile(WriterVersion.PARQUET_2_0, CompressionCodecName.SNAPPY);
+    Configuration conf = new Configuration();
+    conf.setBoolean(ParquetInputFormat.READ_BUFFER_POOLING_ENABLED, true);
+    conf.setBoolean(ParquetInputFormat.PARALLEL_DECOMPRESSION_ENABLED, true);
+    conf.setBoolean(ParquetInputFormat.PREFETCH_ENABLED, true);
+    ReadTestFile.assertRecords(file, conf, RECORD_COUNT);
+  }
+
+  @Test
+  public void testStreamedPagesAreNotPooled() throws IOException {
+    PooledByteBufferAllocator allocator = PooledByteBufferAllocator.getHeapInstance();
+    Path file = writeFile(WriterVersion.PARQUET_1_0, CompressionCodecName.GZIP);
+
+    Configuration conf = new Configuration();
+    conf.setBoolean(ParquetInputFormat.READ_BUFFER_POOLING_ENABLED, true);
+    conf.setBoolean(ParquetInputFormat.PAGE_STREAMING_ENABLED, true);
+    // streamed pages are never released, so they must not drain the pool
+    long allocated = allocator.getAllocationCount();
+    ReadTestFile.assertRecords(file, conf, RECORD_COUNT);
+    assertEquals("Should not allocate pooled buffers", allocated, allocator.getAllocationCount());
+  }
+
+  @Test
+  public void testValuesOfUncompressedRowGroupsRemainValid() throws IOException {
+    Path file = writeFile(WriterVersion.PARQUET_1_0, CompressionCodecName.UNCOMPRESSED);
+    Configuration conf = new Configuration();
+    conf.setBoolean(ParquetInputFormat.READ_BUFFER_POOLING_ENABLED, true);
+    // all records are held while later row groups are read
+    List<Group> records = readAll(file, conf);
+    assertEquals(RECORD_COUNT, records.size());
+    for (int i = 0; i < RECORD_COUNT; i += 1) {
+      ReadTestFile.assertRecord(i, records.get(i));
+    }
+  }
+
+  @Test
+  public void testValuesOfUncompressedV2PagesRemainValid() throws IOException {
+    // the writer compresses all V2 pages, so uncompressed pages of a compressed chunk are written by hand
+    MessageType schema = MessageTypeParser.parseMessageType("message test { required binary name (UTF8); }");
+    ColumnDescriptor column = schema.getColumns().get(0);
+    int recordCount = 1000;
+    Path file = ReadTestFile.newPath(temp);
+    ParquetFileWriter writer = new ParquetFileWriter(new Configuration(), schema, file);
+    writer.start();
+    for (int rowGroup = 0; rowGroup < 2; rowGroup++) {
+      ByteArrayOutputStream data = new ByteArrayOutputStream();
+      for (int i = 0; i < recordCount; i++) {
+        byte[] name = name(rowGroup, i).getBytes("UTF-8");
+        BytesUtils.writeIntLittleEndian(data, name.length);
+        data.write(name);
+      }
+      DataPageHeaderV2 dataHeader = new DataPageHeaderV2(
+          recordCount, 0, recordCount, org.apache.parquet.format.Encoding.PLAIN, 0, 0);
+      dataHeader.setIs_compressed(false);
+      PageHeader header = new PageHeader(PageType.DATA_PAGE_V2, data.size(), data.size());
+      header.setData_page_header_v2(dataHeader);
+      ByteArrayOutputStream page = new ByteArrayOutputStream();
+      Util.writePageHeader(header, page);
+      data.writeTo(page);
+
+      writer.startBlock(recordCount);
+      writer.startColumn(column, recordCount, CompressionCodecName.GZIP);
+      writer.writeDataPages(BytesInput.from(page.toByteArray()), data.size(), data.size(),
+          new BinaryStatistics(), Collections.<Encoding>emptySet(), Collections.<Encoding>emptySet(),
+          Arrays.asList(Encoding.PLAIN));
+      writer.endColumn();
+      writer.endBlock();
+    }
+    writer.end(new HashMap<String, String>());
+
+    Configuration conf = new Configuration();
+    conf.setBoolean(ParquetInputFormat.READ_BUFFER_POOLING_ENABLED, true);
+    // the buffer of the first row group is reused for the second one
+    List<Group> records = readAll(file, conf);
+    assertEquals(2 * recordCount, records.size());
+    for (int i = 0; i < records.size(); i++) {
+      assertEquals(name(i / recordCount, i % recordCount), records.get(i).getString("name", 0));
+    }
+  }
+
+  private static String name(int rowGroup, int i) {
+    return String.format("name-%d-%04d", rowGroup, i);
+  }
+
+  private Path writeFile(WriterVersion version, CompressionCodecName codec) throws IOException {
+    Path file = ReadTestFile.newPath(temp);
+    ReadTestFile.write(ReadTestFile.writer(file)
+        .withWriterVersion(version)
+        .withCompressionCodec(codec)
+        .withAllocator(PooledByteBufferAllocator.getHeapInstance())
+        .withDictionaryEncoding(false)
+        .withRowGroupSize(16 * 1024)
+        .withPageSize(2 * 1024), RECORD_COUNT);
+    return file;
+  }
+
+  private List<Group> readAll(Path file, Configuration conf) throws IOException {
+    ParquetReader<Group> reader = ParquetReader.builder(new GroupReadSupport(), file)
+        .withConf(conf)
+        .build();
+    List<Group> records = new ArrayList<Group>();
+    Group group;
+    while ((group = reader.read()) != null) {
+      records.add(group);
+    }
+    assertNull(reader.read());
+    reader.close();
+    return records;
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.apache.parquet.schema.MessageTypeParser.parseMessageType;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.hadoop.api.ReadSupport;
+import org.apache.parquet.hadoop.util.CountingInputFile;
+import org.apache.parquet.schema.MessageType;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestChunkReadCoalescing {
+
+  // name and category are gaps between the projected columns
+  private static final MessageType PROJECTION = parseMessageType(
+      "message test { "
+      + "required int64 id; "
+      + "required double score; "
+      + "} ");
+  private static final int RECORD_COUNT = 3000;
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private Path file;
+
+  @Before
+  public void writeFile() throws IOException {
+    this.file = ReadTestFile.newPath(temp);
+    ReadTestFile.write(ReadTestFile.writer(file)
+        .withRowGroupSize(16 * 1024)
+        .withPageSize(1024), RECORD_COUNT);
+  }
+
+  @Test
+  public void testReadAcrossGaps() throws IOException {
+    CountingInputFile separate = ReadTestFile.assertRecords(file, projected(new Configuration()), RECORD_COUNT);
+
+    Configuration conf = projected(new Configuration());
+    conf.setInt(ParquetInputFormat.READ_MAX_GAP, 1024 * 1024);
+    CountingInputFile merged = ReadTestFile.assertRecords(file, conf, RECORD_COUNT);
+
+    assertTrue("Should read the chunks of a row group together",
+        merged.getBufferReads() < separate.getBufferReads());
+    assertTrue("Should read the chunks of a row group together",
+        merged.getSeeks() < separate.getSeeks());
+    assertTrue("Should read the gaps between chunks",
+        merged.getBytesRead() > separate.getBytesRead());
+  }
+
+  @Test
+  public void testReadAcrossGapsWithSplitRuns() throws IOException {
+    Configuration conf = projected(new Configuration());
+    conf.setInt(ParquetInputFormat.READ_MAX_GAP, 1024 * 1024);
+    CountingInputFile merged = ReadTestFile.assertRecords(file, conf, RECORD_COUNT);
+
+    conf.setInt(ParquetInputFormat.READ_MAX_MERGED_SIZE, 2 * 1024);
+    CountingInputFile split = ReadTestFile.assertRecords(file, conf, RECORD_COUNT);
+
+    assertTrue("Should split reads larger than the merged size",
+        split.getBufferReads() > merged.getBufferReads());
+  }
+
+  @Test
+  public void testReadAllColumnsAcrossGaps() throws IOException {
+    CountingInputFile separate = ReadTestFile.assertRecords(file, new Configuration(), RECORD_COUNT);
+
+    Configuration conf = new Configuration();
+    conf.setInt(ParquetInputFormat.READ_MAX_GAP, 1024 * 1024);
+    CountingInputFile merged = ReadTestFile.assertRecords(file, conf, RECORD_COUNT);
+
+    assertEquals("Consecutive chunks are read together without gaps",
+        separate.getBufferReads(), merged.getBufferReads());
+    assertEquals(separate.getBytesRead(), merged.getBytesRead());
+  }
+
+  private static Configuration projected(Configuration conf) {
+    conf.set(ReadSupport.PARQUET_READ_SCHEMA, PROJECTION.toString());
+    return conf;
+  }
+}
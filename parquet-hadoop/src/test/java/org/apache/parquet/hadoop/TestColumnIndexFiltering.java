@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.apache.parquet.filter2.predicate.FilterApi.and;
+import static org.apache.parquet.filter2.predicate.FilterApi.binaryColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.eq;
+import static org.apache.parquet.filter2.predicate.FilterApi.gtEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.longColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.lt;
+import static org.apache.parquet.filter2.predicate.FilterApi.or;
+import static org.apache.parquet.schema.MessageTypeParser.parseMessageType;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.column.ParquetProperties.WriterVersion;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.format.converter.ParquetMetadataConverter;
+import org.apache.parquet.hadoop.example.GroupReadSupport;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+@RunWith(Parameterized.class)
+public class TestColumnIndexFiltering {
+
+  private static final MessageType SCHEMA = parseMessageType(
+      "message test { "
+      + "required int64 id; "
+      + "required binary name; "
+      + "optional binary category; "
+      + "} ");
+  private static final int RECORD_COUNT = 20000;
+
+  @Parameterized.Parameters
+  public static Collection<Object[]> data() {
+    Object[][] data = new Object[][] {
+        { WriterVersion.PARQUET_1_0, CompressionCodecName.UNCOMPRESSED },
+        { WriterVersion.PARQUET_2_0, CompressionCodecName.GZIP } };
+    return Arrays.asList(data);
+  }
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private final WriterVersion version;
+  private final CompressionCodecName codec;
+  private Path file;
+
+  public TestColumnIndexFiltering(WriterVersion version, CompressionCodecName codec) {
+    this.version = version;
+    this.codec = codec;
+  }
+
+  @Before
+  public void writeFile() throws IOException {
+    this.file = ReadTestFile.newPath(temp);
+    ReadTestFile.write(ReadTestFile.writer(file, SCHEMA)
+        .withWriterVersion(version)
+        .withCompressionCodec(codec)
+        .withDictionaryEncoding(false)
+        .withPageSize(1024)
+        .withPageIndex(true), SCHEMA, RECORD_COUNT, new ReadTestFile.RecordFactory() {
+          @Override
+          public Group record(SimpleGroupFactory factory, int i) {
+            return newGroup(factory, i);
+          }
+        });
+  }
+
+  // increasing ids with varying deltas, so that delta encoding doesn't fit all of them in one page
+  private static long id(int i) {
+    return i * 100L + (i * 7919L) % 100;
+  }
+
+  private static Group newGroup(SimpleGroupFactory factory, int i) {
+    Group group = factory.newGroup()
+        .append("id", id(i))
+        .append("name", "name-" + i);
+    if (i % 3 != 0) {
+      group.append("category", "category-" + (i / 1000));
+    }
+    return group;
+  }
+
+  @Test
+  public void testPageIndexesWritten() throws IOException {
+    ParquetMetadata footer = ParquetFileReader.readFooter(new Configuration(), file);
+    for (BlockMetaData block : footer.getBlocks()) {
+      for (ColumnChunkMetaData column : block.getColumns()) {
+        assertNotNull("Should have a column index: " + column.getPath(), column.getColumnIndexReference());
+        assertNotNull("Should have an offset index: " + column.getPath(), column.getOffsetIndexReference());
+      }
+    }
+  }
+
+  @Test
+  public void testPointLookupReadsFewerRows() throws IOException {
+    FilterPredicate pred = eq(longColumn("id"), id(4321));
+    ParquetFileReader reader = new ParquetFileReader(new Configuration(), file, ParquetMetadataConverter.NO_FILTER);
+    reader.filterRowGroups(FilterCompat.get(pred));
+    long rowsInGroups = reader.getRecordCount();
+    long filteredRows = reader.getFilteredRecordCount();
+    assertTrue("Should select some rows", filteredRows > 0);
+    assertTrue("Should skip most rows: " + filteredRows, filteredRows < rowsInGroups / 5);
+
+    long rowsRead = 0;
+    PageReadStore rowGroup;
+    while ((rowGroup = reader.readNextRowGroup()) != null) {
+      rowsRead += rowGroup.getRowCount();
+    }
+    reader.close();
+    assertEquals(filteredRows, rowsRead);
+
+    assertEquals(Arrays.asList(4321), readIndexes(pred, true));
+  }
+
+  @Test
+  public void testMatchesUnfilteredScan() throws IOException {
+    FilterPredicate pred = or(
+        and(gtEq(longColumn("id"), id(1500)), lt(longColumn("id"), id(1700))),
+        eq(binaryColumn("category"), Binary.fromString("category-7")));
+    List<Integer> expected = new ArrayList<Integer>();
+    for (int i = 0; i < RECORD_COUNT; i += 1) {
+      if ((i >= 1500 && i < 1700) || (i % 3 != 0 && i / 1000 == 7)) {
+        expected.add(i);
+      }
+    }
+    assertEquals(expected, readIndexes(pred, true));
+    assertEquals(expected, readIndexes(pred, false));
+  }
+
+  private List<Integer> readIndexes(FilterPredicate pred, boolean columnIndexFiltering) throws IOException {
+    Configuration conf = new Configuration();
+    conf.setBoolean(ParquetInputFormat.COLUMN_INDEX_FILTERING_ENABLED, columnIndexFiltering);
+    ParquetReader<Group> reader = ParquetReader.builder(new GroupReadSupport(), file)
+        .withConf(conf)
+        .withFilter(FilterCompat.get(pred))
+        .build();
+    SimpleGroupFactory factory = new SimpleGroupFactory(SCHEMA);
+    List<Integer> indexes = new ArrayList<Integer>();
+    Group group;
+    while ((group = reader.read()) != null) {
+      int i = (int) (group.getLong("id", 0) / 100);
+      assertEquals(newGroup(factory, i).toString(), group.toString());
+      indexes.add(i);
+    }
+    reader.close();
+    return indexes;
+  }
+}
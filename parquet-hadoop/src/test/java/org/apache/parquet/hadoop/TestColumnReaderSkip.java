@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.apache.parquet.schema.MessageTypeParser.parseMessageType;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.VersionParser;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ParquetProperties.WriterVersion;
+import org.apache.parquet.column.impl.ColumnReaderImpl;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.metrics.CountingParquetMetrics;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.PrimitiveConverter;
+import org.apache.parquet.schema.MessageType;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+@RunWith(Parameterized.class)
+public class TestColumnReaderSkip {
+
+  private static final MessageType SCHEMA = parseMessageType(
+      "message test { "
+      + "required int64 id; "
+      + "optional binary name; "
+      + "} ");
+  private static final int RECORD_COUNT = 20000;
+  private static final int[] SKIPS = { 0, 5, 1, 3000, 70, 1, 900 };
+
+  @Parameterized.Parameters(name = "{0} {1}")
+  public static Collection<Object[]> data() {
+    return Arrays.asList(new Object[][] {
+        { WriterVersion.PARQUET_1_0, "default" },
+        { WriterVersion.PARQUET_1_0, ParquetInputFormat.PAGE_STREAMING_ENABLED },
+        { WriterVersion.PARQUET_1_0, ParquetInputFormat.PARALLEL_DECOMPRESSION_ENABLED },
+        { WriterVersion.PARQUET_2_0, "default" },
+        { WriterVersion.PARQUET_2_0, ParquetInputFormat.PAGE_STREAMING_ENABLED },
+        { WriterVersion.PARQUET_2_0, ParquetInputFormat.PARALLEL_DECOMPRESSION_ENABLED } });
+  }
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private final WriterVersion version;
+  private final String readMode;
+  private Path file;
+
+  public TestColumnReaderSkip(WriterVersion version, String readMode) {
+    this.version = version;
+    this.readMode = readMode;
+  }
+
+  @Before
+  public void writeFile() throws IOException {
+    this.file = ReadTestFile.newPath(temp);
+    ReadTestFile.write(ReadTestFile.writer(file, SCHEMA)
+        .withWriterVersion(version)
+        .withCompressionCodec(CompressionCodecName.GZIP)
+        .withDictionaryEncoding(false)
+        .withPageSize(1024), SCHEMA, RECORD_COUNT, new ReadTestFile.RecordFactory() {
+          @Override
+          public Group record(SimpleGroupFactory factory, int i) {
+            Group group = factory.newGroup().append("id", (long) i);
+            if (i % 3 != 0) {
+              group.append("name", "name-" + i);
+            }
+            return group;
+          }
+        });
+  }
+
+  @Test
+  public void testSkip() throws Exception {
+    Configuration conf = new Configuration();
+    conf.setBoolean(readMode, true);
+    ParquetFileReader reader = ParquetFileReader.open(conf, file);
+    CountingParquetMetrics metrics = new CountingParquetMetrics();
+    reader.setMetrics(metrics);
+    VersionParser.ParsedVersion writerVersion = VersionParser.parse(reader.getFileMetaData().getCreatedBy());
+    ColumnDescriptor id = SCHEMA.getColumns().get(0);
+    ColumnDescriptor name = SCHEMA.getColumns().get(1);
+
+    long row = 0;
+    int checked = 0;
+    PageReadStore pages;
+    while ((pages = reader.readNextRowGroup()) != null) {
+      final long[] idValue = new long[1];
+      final String[] nameValue = new String[1];
+      ColumnReaderImpl ids = new ColumnReaderImpl(id, pages.getPageReader(id), new PrimitiveConverter() {
+        @Override
+        public void addLong(long value) {
+          idValue[0] = value;
+        }
+      }, writerVersion);
+      ColumnReaderImpl names = new ColumnReaderImpl(name, pages.getPageReader(name), new PrimitiveConverter() {
+        @Override
+        public void addBinary(Binary value) {
+          nameValue[0] = value.toStringUsingUTF8();
+        }
+      }, writerVersion);
+
+      long end = row + pages.getRowCount();
+      for (int i = 0; row < end; i += 1) {
+        ids.writeCurrentValueToConverter();
+        assertEquals(row, idValue[0]);
+        ids.consume();
+        if (row % 3 != 0) {
+          assertEquals(1, names.getCurrentDefinitionLevel());
+          names.writeCurrentValueToConverter();
+          assertEquals("name-" + row, nameValue[0]);
+        } else {
+          assertEquals(0, names.getCurrentDefinitionLevel());
+        }
+        names.consume();
+        checked += 1;
+        row += 1;
+
+        long skip = Math.min(SKIPS[i % SKIPS.length], end - row);
+        ids.skip(skip);
+        names.skip(skip);
+        row += skip;
+      }
+    }
+    reader.close();
+
+    assertEquals(RECORD_COUNT, row);
+    assertTrue(checked > 10);
+    if (ParquetInputFormat.PAGE_STREAMING_ENABLED.equals(readMode)) {
+      assertTrue("Should skip pages without reading them", metrics.getPagesSkipped() > 0);
+    }
+  }
+}
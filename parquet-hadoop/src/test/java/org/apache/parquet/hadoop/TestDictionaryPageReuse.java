@@ -0,0 +1,268 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.apache.parquet.filter2.predicate.FilterApi.and;
+import static org.apache.parquet.filter2.predicate.FilterApi.binaryColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.eq;
+import static org.apache.parquet.filter2.predicate.FilterApi.intColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.notEq;
+import static org.apache.parquet.schema.MessageTypeParser.parseMessageType;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.page.DictionaryPage;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.column.page.PageReader;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.compat.RowGroupFilter.FilterLevel;
+import org.apache.parquet.hadoop.example.GroupReadSupport;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.metrics.CountingParquetMetrics;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+@RunWith(Parameterized.class)
+public class TestDictionaryPageReuse {
+
+  private static final MessageType SCHEMA = parseMessageType(
+      "message test { "
+      + "required int64 id; "
+      + "required binary category; "
+      + "required int32 code; "
+      + "} ");
+  private static final int RECORD_COUNT = 10000;
+  private static final FilterCompat.Filter FILTER = FilterCompat.get(and(
+      eq(binaryColumn("category"), Binary.fromString("c-3")),
+      notEq(intColumn("code"), 100)));
+
+  @Parameterized.Parameters(name = "{0}")
+  public static Collection<Object[]> data() {
+    return Arrays.asList(new Object[][] {
+        { "default" },
+        { ParquetInputFormat.PAGE_STREAMING_ENABLED },
+        { ParquetInputFormat.PARALLEL_DECOMPRESSION_ENABLED } });
+  }
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private final String readMode;
+  private Path file;
+
+  public TestDictionaryPageReuse(String readMode) {
+    this.readMode = readMode;
+  }
+
+  @Before
+  public void writeFile() throws IOException {
+    this.file = ReadTestFile.newPath(temp);
+    ReadTestFile.write(ReadTestFile.writer(file, SCHEMA)
+        .withCompressionCodec(CompressionCodecName.GZIP)
+        .withRowGroupSize(8 * 1024)
+        .withPageSize(1024)
+        .withPageIndex(true), SCHEMA, RECORD_COUNT, new ReadTestFile.RecordFactory() {
+          @Override
+          public Group record(SimpleGroupFactory factory, int i) {
+            return factory.newGroup()
+                .append("id", (long) i)
+                .append("category", "c-" + (i / 1000))
+                .append("code", i % 7);
+          }
+        });
+  }
+
+  private Configuration conf(boolean columnIndexFiltering) {
+    Configuration conf = new Configuration();
+    conf.setBoolean(readMode, true);
+    conf.setBoolean(ParquetInputFormat.STATS_FILTERING_ENABLED, false);
+    conf.setBoolean(ParquetInputFormat.DICTIONARY_FILTERING_ENABLED, true);
+    conf.setBoolean(ParquetInputFormat.COLUMN_INDEX_FILTERING_ENABLED, columnIndexFiltering);
+    return conf;
+  }
+
+  @Test
+  public void testFilteredRecords() throws IOException {
+    assertFilteredRecords(conf(false));
+  }
+
+  @Test
+  public void testFilteredRecordsWithColumnIndexes() throws IOException {
+    assertFilteredRecords(conf(true));
+  }
+
+  private void assertFilteredRecords(Configuration conf) throws IOException {
+    ParquetReader<Group> reader = ParquetReader.builder(new GroupReadSupport(), file)
+        .withConf(conf)
+        .withFilter(FILTER)
+        .build();
+    for (int i = 3000; i < 4000; i += 1) {
+      Group group = reader.read();
+      assertEquals(i, group.getLong("id", 0));
+      assertEquals("c-3", group.getBinary("category", 0).toStringUsingUTF8());
+      assertEquals(i % 7, group.getInteger("code", 0));
+    }
+    assertNull(reader.read());
+    reader.close();
+  }
+
+  @Test
+  public void testCoalescedDictionaryReads() throws IOException {
+    Configuration conf = conf(false);
+    conf.setInt(ParquetInputFormat.READ_MAX_GAP, 1024 * 1024);
+    ParquetFileReader reader = ParquetFileReader.open(conf, file);
+    CountingParquetMetrics metrics = new CountingParquetMetrics();
+    reader.setMetrics(metrics);
+    int blockCount = reader.getRowGroups().size();
+    assertTrue("Should write several row groups", blockCount > 2);
+
+    reader.filterRowGroups(FILTER);
+
+    assertTrue(metrics.getRowGroupsPruned(FilterLevel.DICTIONARY) > 0);
+    assertEquals("Should read both dictionaries of a row group at once",
+        blockCount, metrics.getFileReads());
+    reader.close();
+  }
+
+  @Test
+  public void testRowGroupReadSharesDecodedDictionaries() throws IOException {
+    ParquetFileReader reader = ParquetFileReader.open(conf(false), file);
+    reader.filterRowGroups(FILTER);
+    ColumnDescriptor category = SCHEMA.getColumnDescription(new String[] {"category"});
+    List<DictionaryPage> filterPages = new ArrayList<DictionaryPage>();
+    for (BlockMetaData block : reader.getRowGroups()) {
+      DictionaryPage page = reader.getDictionaryReader(block).readDictionaryPage(category);
+      assertTrue("Should keep the page the filter decoded", page.isDecoded());
+      filterPages.add(page);
+    }
+
+    PageReadStore pages;
+    int rowGroup = 0;
+    while ((pages = reader.readNextRowGroup()) != null) {
+      DictionaryPage page = pages.getPageReader(category).readDictionaryPage();
+      assertSame(filterPages.get(rowGroup), page);
+      assertSame(filterPages.get(rowGroup).decode(category), page.decode(category));
+      rowGroup += 1;
+    }
+    assertEquals(filterPages.size(), rowGroup);
+    reader.close();
+  }
+
+  @Test
+  public void testKeptDictionariesAreBounded() throws IOException {
+    Configuration conf = conf(false);
+    conf.setLong(ParquetInputFormat.PREFETCH_MAX_BYTES, 1);
+    ParquetFileReader reader = ParquetFileReader.open(conf, file);
+    CountingParquetMetrics metrics = new CountingParquetMetrics();
+    reader.setMetrics(metrics);
+
+    reader.filterRowGroups(FilterCompat.get(and(
+        notEq(binaryColumn("category"), Binary.fromString("c-3")),
+        notEq(intColumn("code"), 100))));
+    long filterBytes = metrics.getBytesRead();
+    List<BlockMetaData> blocks = reader.getRowGroups();
+    assertTrue("Should keep several row groups", blocks.size() > 1);
+
+    // only the dictionaries of the first row group fit in the budget
+    long expectedBytes = 0;
+    for (int i = 0; i < blocks.size(); i += 1) {
+      for (ColumnChunkMetaData column : blocks.get(i).getColumns()) {
+        expectedBytes += column.getTotalSize();
+        if (i == 0 && !column.getPath().toDotString().equals("id")) {
+          expectedBytes -= reader.readOffsetIndex(column).getOffset(0) - column.getStartingPos();
+        }
+      }
+    }
+
+    PageReadStore pages;
+    while ((pages = reader.readNextRowGroup()) != null) {
+      for (ColumnDescriptor column : SCHEMA.getColumns()) {
+        PageReader pageReader = pages.getPageReader(column);
+        while (pageReader.readPage() != null) {
+        }
+      }
+    }
+    reader.close();
+    assertEquals(expectedBytes, metrics.getBytesRead() - filterBytes);
+  }
+
+  @Test
+  public void testRowGroupReadReusesDictionaries() throws IOException {
+    ParquetFileReader reader = ParquetFileReader.open(conf(false), file);
+    CountingParquetMetrics metrics = new CountingParquetMetrics();
+    reader.setMetrics(metrics);
+
+    reader.filterRowGroups(FILTER);
+    long filterBytes = metrics.getBytesRead();
+    assertTrue(filterBytes > 0);
+
+    List<BlockMetaData> blocks = reader.getRowGroups();
+    long expectedBytes = 0;
+    for (BlockMetaData block : blocks) {
+      for (ColumnChunkMetaData column : block.getColumns()) {
+        expectedBytes += column.getTotalSize();
+        if (!column.getPath().toDotString().equals("id")) {
+          // the dictionary pages were read by the filter
+          expectedBytes -= reader.readOffsetIndex(column).getOffset(0) - column.getStartingPos();
+        }
+      }
+    }
+
+    int rowGroups = 0;
+    PageReadStore pages;
+    while ((pages = reader.readNextRowGroup()) != null) {
+      for (ColumnDescriptor column : SCHEMA.getColumns()) {
+        PageReader pageReader = pages.getPageReader(column);
+        if (!column.getPath()[0].equals("id")) {
+          DictionaryPage dictionary = pageReader.readDictionaryPage();
+          assertTrue(dictionary.getDictionarySize() > 0);
+          assertEquals(dictionary.getUncompressedSize(), dictionary.getBytes().toByteArray().length);
+        }
+        while (pageReader.readPage() != null) {
+        }
+      }
+      rowGroups += 1;
+    }
+    reader.close();
+
+    assertEquals(blocks.size(), rowGroups);
+    assertEquals(expectedBytes, metrics.getBytesRead() - filterBytes);
+  }
+}
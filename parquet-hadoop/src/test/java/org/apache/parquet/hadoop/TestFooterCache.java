@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.apache.parquet.format.converter.ParquetMetadataConverter.NO_FILTER;
+import static org.apache.parquet.format.converter.ParquetMetadataConverter.SKIP_ROW_GROUPS;
+import static org.apache.parquet.format.converter.ParquetMetadataConverter.range;
+import static org.apache.parquet.schema.MessageTypeParser.parseMessageType;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.hadoop.example.GroupReadSupport;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.apache.parquet.schema.MessageType;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestFooterCache {
+
+  private static final MessageType SCHEMA = parseMessageType(
+      "message test { "
+      + "required int64 id; "
+      + "required binary name; "
+      + "} ");
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private Configuration conf;
+
+  @Before
+  public void enableCache() {
+    this.conf = new Configuration();
+    conf.setBoolean(ParquetInputFormat.FOOTER_CACHE_ENABLED, true);
+    FooterCache cache = FooterCache.getInstance(ParquetInputFormat.FOOTER_CACHE_MAX_BYTES_DEFAULT);
+    cache.setMaxBytes(ParquetInputFormat.FOOTER_CACHE_MAX_BYTES_DEFAULT);
+    cache.clear();
+  }
+
+  @Test
+  public void testSharedByReaders() throws IOException {
+    Path file = writeFile("shared.parquet", 10000);
+    FooterCache cache = FooterCache.getInstance();
+    long misses = cache.getMissCount();
+    long hits = cache.getHitCount();
+
+    ParquetMetadata first = ParquetFileReader.readFooter(conf, file, NO_FILTER);
+    assertEquals(misses + 1, cache.getMissCount());
+    assertEquals(1, cache.size());
+    assertTrue(cache.getCurrentBytes() > 0);
+
+    ParquetMetadata second = ParquetFileReader.readFooter(conf, file, NO_FILTER);
+    assertEquals(hits + 1, cache.getHitCount());
+    assertEquals(first.getBlocks().size(), second.getBlocks().size());
+    assertSame("Column meta data should be shared",
+        first.getBlocks().get(0).getColumns().get(0), second.getBlocks().get(0).getColumns().get(0));
+
+    ParquetReader<Group> reader = ParquetReader.builder(new GroupReadSupport(), file)
+        .withConf(conf)
+        .build();
+    int count = 0;
+    while (reader.read() != null) {
+      count += 1;
+    }
+    reader.close();
+    assertEquals(10000, count);
+    assertEquals(hits + 2, cache.getHitCount());
+    assertEquals(misses + 1, cache.getMissCount());
+  }
+
+  @Test
+  public void testFiltersApplyToCachedFooters() throws IOException {
+    Path file = writeFile("filtered.parquet", 20000);
+    Configuration uncached = new Configuration();
+    long end = HadoopInputFile.fromPath(file, conf).getLength() / 2;
+
+    // the first read caches the complete footer
+    assertEquals(0, ParquetFileReader.readFooter(conf, file, SKIP_ROW_GROUPS).getBlocks().size());
+    ParquetMetadata expected = ParquetFileReader.readFooter(uncached, file, range(0, end));
+    ParquetMetadata actual = ParquetFileReader.readFooter(conf, file, range(0, end));
+    assertTrue("Should have several row groups",
+        ParquetFileReader.readFooter(conf, file, NO_FILTER).getBlocks().size() > 1);
+    assertEquals(expected.getBlocks().size(), actual.getBlocks().size());
+    for (int i = 0; i < expected.getBlocks().size(); i += 1) {
+      assertEquals(expected.getBlocks().get(i).getStartingPos(), actual.getBlocks().get(i).getStartingPos());
+    }
+  }
+
+  @Test
+  public void testReplacedFileIsReread() throws IOException {
+    Path file = writeFile("replaced.parquet", 100);
+    assertEquals(100, ParquetFileReader.readFooter(conf, file, NO_FILTER).getBlocks().get(0).getRowCount());
+    new File(file.toString()).delete();
+    writeFile("replaced.parquet", 200);
+    assertEquals(200, ParquetFileReader.readFooter(conf, file, NO_FILTER).getBlocks().get(0).getRowCount());
+  }
+
+  @Test
+  public void testByteEviction() throws IOException {
+    Path file = writeFile("evict.parquet", 100);
+    ParquetMetadata footer = ParquetFileReader.readFooter(new Configuration(), file, NO_FILTER);
+    long weight = FooterCache.estimateSize(footer);
+    FooterCache cache = new FooterCache(weight * 5 / 2);
+    FileStatus a = status(file, 1);
+    FileStatus b = status(file, 2);
+    FileStatus c = status(file, 3);
+
+    cache.put(a, footer);
+    cache.put(b, footer);
+    assertNotNull(cache.get(a)); // b is now the least recently used
+    cache.put(c, footer);
+    assertEquals(2, cache.size());
+    assertEquals(1, cache.getEvictionCount());
+    assertEquals(2 * weight, cache.getCurrentBytes());
+    assertNull(cache.get(b));
+    assertNotNull(cache.get(a));
+    assertNotNull(cache.get(c));
+    assertEquals(3, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+
+    cache.setMaxBytes(weight);
+    assertEquals(1, cache.size());
+    cache.setMaxBytes(weight - 1);
+    assertEquals(0, cache.size());
+    cache.put(a, footer);
+    assertEquals("Should not cache footers larger than the budget", 0, cache.size());
+  }
+
+  private Path writeFile(String name, int records) throws IOException {
+    File testFile = new File(temp.getRoot(), name);
+    Path file = new Path(testFile.toString());
+    SimpleGroupFactory factory = new SimpleGroupFactory(SCHEMA);
+    ParquetWriter<Group> writer = ExampleParquetWriter.builder(file)
+        .withType(SCHEMA)
+        .withRowGroupSize(64 * 1024)
+        .build();
+    for (int i = 0; i < records; i += 1) {
+      writer.write(factory.newGroup()
+          .append("id", (long) i)
+          .append("name", "name-" + i));
+    }
+    writer.close();
+    return file;
+  }
+
+  private FileStatus status(Path file, long modificationTime) throws IOException {
+    FileStatus status = file.getFileSystem(conf).getFileStatus(file);
+    return new FileStatus(status.getLen(), false, 1, 1, modificationTime, status.getPath());
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.apache.parquet.filter2.predicate.FilterApi.eq;
+import static org.apache.parquet.filter2.predicate.FilterApi.longColumn;
+import static org.apache.parquet.format.converter.ParquetMetadataConverter.NO_FILTER;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.hadoop.util.CountingInputFile;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestFooterTailRead {
+
+  private static final int RECORD_COUNT = 5000;
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private Configuration conf;
+  private Path file;
+
+  @Before
+  public void writeFile() throws IOException {
+    this.conf = new Configuration();
+    this.file = ReadTestFile.newPath(temp);
+    ReadTestFile.write(ReadTestFile.writer(file)
+        .withPageSize(1024)
+        .withPageIndex(true), RECORD_COUNT);
+  }
+
+  @Test
+  public void testFooterInOneRead() throws IOException {
+    CountingInputFile input = new CountingInputFile(HadoopInputFile.fromPath(file, conf));
+    ParquetMetadata footer = ParquetFileReader.readFooter(input, NO_FILTER);
+    assertEquals("Should read the footer with one seek", 1, input.getSeeks());
+    assertEquals(ParquetMetadata.toJSON(ParquetFileReader.readFooter(conf, file, NO_FILTER)),
+        ParquetMetadata.toJSON(footer));
+  }
+
+  @Test
+  public void testFooterLargerThanTail() throws IOException {
+    conf.setInt(ParquetInputFormat.FOOTER_READ_SIZE, 16);
+    CountingInputFile input = new CountingInputFile(HadoopInputFile.fromPath(file, conf));
+    ParquetFileReader reader = new ParquetFileReader(conf, input, NO_FILTER);
+    assertEquals("Should read the rest of the footer", 2, input.getSeeks());
+    assertEquals(RECORD_COUNT, reader.getRecordCount());
+    reader.close();
+  }
+
+  @Test
+  public void testPageIndexesReadFromTail() throws IOException {
+    CountingInputFile input = new CountingInputFile(HadoopInputFile.fromPath(file, conf));
+    ParquetFileReader reader = new ParquetFileReader(conf, input, NO_FILTER);
+    reader.filterRowGroups(FilterCompat.get(eq(longColumn("id"), 1234L)));
+    assertTrue("Should filter pages", reader.getFilteredRecordCount() < RECORD_COUNT);
+    assertEquals("Should not read the page indexes again", 1, input.getSeeks());
+    reader.close();
+  }
+}
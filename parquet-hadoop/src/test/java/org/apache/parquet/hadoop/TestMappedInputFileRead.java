@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.apache.parquet.filter2.predicate.FilterApi.eq;
+import static org.apache.parquet.filter2.predicate.FilterApi.longColumn;
+import static org.apache.parquet.schema.MessageTypeParser.parseMessageType;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.hadoop.example.GroupReadSupport;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.MappedInputFile;
+import org.apache.parquet.schema.MessageType;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestMappedInputFileRead {
+
+  private static final MessageType SCHEMA = parseMessageType(
+      "message test { "
+      + "required int64 id; "
+      + "required binary name; "
+      + "} ");
+  private static final int RECORD_COUNT = 5000;
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private File testFile;
+
+  @Before
+  public void writeFile() throws IOException {
+    Path file = ReadTestFile.newPath(temp);
+    testFile = new File(file.toString());
+    ReadTestFile.write(ReadTestFile.writer(file, SCHEMA)
+        .withCompressionCodec(CompressionCodecName.UNCOMPRESSED)
+        .withRowGroupSize(32 * 1024)
+        .withPageSize(4 * 1024), SCHEMA, RECORD_COUNT, new ReadTestFile.RecordFactory() {
+          @Override
+          public Group record(SimpleGroupFactory factory, int i) {
+            return factory.newGroup()
+                .append("id", (long) i)
+                .append("name", "name-" + i);
+          }
+        });
+  }
+
+  @Test
+  public void testReadMappedFile() throws IOException {
+    MappedInputFile file = new MappedInputFile(testFile);
+    ParquetFileReader fileReader = ParquetFileReader.open(new Configuration(), file);
+    assertEquals("Should write several row groups", true, fileReader.getRowGroups().size() > 1);
+    fileReader.close();
+
+    ParquetReader<Group> reader = ParquetReader.builder(new GroupReadSupport(), file).build();
+    for (int i = 0; i < RECORD_COUNT; i += 1) {
+      Group group = reader.read();
+      assertEquals(i, group.getLong("id", 0));
+      assertEquals("name-" + i, group.getBinary("name", 0).toStringUsingUTF8());
+    }
+    assertNull(reader.read());
+    reader.close();
+  }
+
+  @Test
+  public void testFilterMappedFile() throws IOException {
+    ParquetReader<Group> reader = ParquetReader
+        .builder(new GroupReadSupport(), new MappedInputFile(testFile))
+        .withFilter(FilterCompat.get(eq(longColumn("id"), 4321L)))
+        .build();
+    Group group = reader.read();
+    assertEquals(4321L, group.getLong("id", 0));
+    assertNull(reader.read());
+    reader.close();
+  }
+}
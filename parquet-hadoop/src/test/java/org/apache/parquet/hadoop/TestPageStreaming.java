@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.apache.parquet.filter2.predicate.FilterApi.binaryColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.eq;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.column.ParquetProperties.WriterVersion;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.hadoop.example.GroupReadSupport;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.util.CountingInputFile;
+import org.apache.parquet.io.api.Binary;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+@RunWith(Parameterized.class)
+public class TestPageStreaming {
+
+  private static final int RECORD_COUNT = 6000;
+
+  @Parameterized.Parameters
+  public static Collection<Object[]> data() {
+    Object[][] data = new Object[][] {
+        { WriterVersion.PARQUET_1_0, CompressionCodecName.UNCOMPRESSED },
+        { WriterVersion.PARQUET_1_0, CompressionCodecName.GZIP },
+        { WriterVersion.PARQUET_2_0, CompressionCodecName.UNCOMPRESSED },
+        { WriterVersion.PARQUET_2_0, CompressionCodecName.GZIP } };
+    return Arrays.asList(data);
+  }
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private final WriterVersion version;
+  private final CompressionCodecName codec;
+  private Path file;
+
+  public TestPageStreaming(WriterVersion version, CompressionCodecName codec) {
+    this.version = version;
+    this.codec = codec;
+  }
+
+  @Before
+  public void writeFile() throws IOException {
+    this.file = ReadTestFile.newPath(temp);
+    ReadTestFile.write(ReadTestFile.writer(file)
+        .withWriterVersion(version)
+        .withCompressionCodec(codec)
+        .withRowGroupSize(64 * 1024)
+        .withPageSize(2 * 1024), RECORD_COUNT);
+  }
+
+  @Test
+  public void testStreamedRead() throws IOException {
+    CountingInputFile chunks = ReadTestFile.assertRecords(file, new Configuration(), RECORD_COUNT);
+
+    Configuration conf = new Configuration();
+    conf.setBoolean(ParquetInputFormat.PAGE_STREAMING_ENABLED, true);
+    CountingInputFile pages = ReadTestFile.assertRecords(file, conf, RECORD_COUNT);
+
+    assertTrue("Should read each page separately",
+        pages.getBufferReads() > chunks.getBufferReads());
+    assertTrue("Should not read whole column chunks",
+        pages.getMaxBufferReadSize() < chunks.getMaxBufferReadSize());
+  }
+
+  @Test
+  public void testStreamedReadWithFilter() throws IOException {
+    Configuration conf = new Configuration();
+    conf.setBoolean(ParquetInputFormat.PAGE_STREAMING_ENABLED, true);
+    // prefetching is ignored when streaming
+    conf.setBoolean(ParquetInputFormat.PREFETCH_ENABLED, true);
+    ParquetReader<Group> reader = ParquetReader.builder(new GroupReadSupport(), file)
+        .withConf(conf)
+        .withFilter(FilterCompat.get(eq(binaryColumn("name"), Binary.fromString("name-4321"))))
+        .build();
+    ReadTestFile.assertRecord(4321, reader.read());
+    assertNull(reader.read());
+    reader.close();
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.apache.parquet.bytes.BytesInput;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.page.DataPage;
+import org.apache.parquet.column.page.DataPageV1;
+import org.apache.parquet.column.statistics.IntStatistics;
+import org.apache.parquet.hadoop.CodecFactory.BytesDecompressor;
+import org.apache.parquet.hadoop.ColumnChunkPageReadStore.ParallelColumnChunkPageReader;
+import org.apache.parquet.io.ParquetDecodingException;
+import org.junit.Test;
+
+public class TestParallelColumnChunkPageReader {
+
+  private static final Executor DIRECT = new Executor() {
+    @Override
+    public void execute(Runnable command) {
+      command.run();
+    }
+  };
+
+  @Test
+  public void testDecompressorReleasedAfterSkippingAllPages() {
+    CountingDecompressor decompressor = new CountingDecompressor(false);
+    ParallelColumnChunkPageReader reader = new ParallelColumnChunkPageReader(
+        decompressor, pages(5), null, DIRECT, 1);
+    assertNotNull(reader.readPage());
+    for (int i = 0; i < 4; i += 1) {
+      reader.skipPage();
+    }
+    assertNull(reader.readPage());
+    assertEquals("Decompressor should be released once", 1, decompressor.released);
+  }
+
+  @Test
+  public void testDecompressorReleasedOnFailure() {
+    CountingDecompressor decompressor = new CountingDecompressor(true);
+    ParallelColumnChunkPageReader reader = new ParallelColumnChunkPageReader(
+        decompressor, pages(5), null, DIRECT, 1);
+    try {
+      reader.readPage();
+      fail("Should fail to decompress");
+    } catch (ParquetDecodingException e) {
+      // expected
+    }
+    assertEquals("Decompressor should be released once", 1, decompressor.released);
+  }
+
+  @Test
+  public void testDecompressorReleasedOnClose() {
+    CountingDecompressor decompressor = new CountingDecompressor(false);
+    ParallelColumnChunkPageReader reader = new ParallelColumnChunkPageReader(
+        decompressor, pages(5), null, DIRECT, 1);
+    assertNotNull(reader.readPage());
+    reader.close();
+    assertEquals("Decompressor should be released once", 1, decompressor.released);
+    try {
+      while (reader.readPage() != null) {
+      }
+      fail("Should not read pages that were not decompressed before close");
+    } catch (ParquetDecodingException e) {
+      // expected
+    }
+    assertEquals("Decompressor should be released once", 1, decompressor.released);
+  }
+
+  private static List<DataPage> pages(int count) {
+    List<DataPage> pages = new ArrayList<DataPage>();
+    for (int i = 0; i < count; i += 1) {
+      pages.add(new DataPageV1(BytesInput.fromInt(i), 1, 4, new IntStatistics(),
+          Encoding.BIT_PACKED, Encoding.BIT_PACKED, Encoding.PLAIN));
+    }
+    return pages;
+  }
+
+  private static class CountingDecompressor extends BytesDecompressor {
+    private final boolean fail;
+    private int released = 0;
+
+    private CountingDecompressor(boolean fail) {
+      this.fail = fail;
+    }
+
+    @Override
+    public BytesInput decompress(BytesInput bytes, int uncompressedSize) throws IOException {
+      if (fail) {
+        throw new IOException("corrupt page");
+      }
+      return bytes;
+    }
+
+    @Override
+    public void decompress(ByteBuffer input, int compressedSize, ByteBuffer output, int uncompressedSize) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void release() {
+      released += 1;
+    }
+  }
+}
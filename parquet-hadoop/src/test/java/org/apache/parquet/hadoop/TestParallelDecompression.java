@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.column.ParquetProperties.WriterVersion;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.column.page.PageReader;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.metrics.CountingParquetMetrics;
+import org.apache.parquet.io.ParquetDecodingException;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+@RunWith(Parameterized.class)
+public class TestParallelDecompression {
+
+  private static final int RECORD_COUNT = 30000;
+
+  @Parameterized.Parameters
+  public static Collection<Object[]> data() {
+    Object[][] data = new Object[][] {
+        { WriterVersion.PARQUET_1_0, CompressionCodecName.GZIP, 1L },
+        { WriterVersion.PARQUET_1_0, CompressionCodecName.SNAPPY, 64L * 1024 },
+        { WriterVersion.PARQUET_2_0, CompressionCodecName.GZIP, 64L * 1024 },
+        { WriterVersion.PARQUET_2_0, CompressionCodecName.UNCOMPRESSED, 1L } };
+    return Arrays.asList(data);
+  }
+
+  /**
+   * Metrics that count the pages decompressed on other threads than the one that
+   * opened the file, and keep the last instance.
+   */
+  public static class ThreadMetrics extends CountingParquetMetrics {
+    static ThreadMetrics last = null;
+
+    private final Thread owner = Thread.currentThread();
+    private final AtomicLong pagesDecompressedOnOtherThreads = new AtomicLong();
+
+    public ThreadMetrics() {
+      last = this;
+    }
+
+    @Override
+    public void pageDecompressed(ColumnPath column, CompressionCodecName codec,
+                                 long compressedSize, long uncompressedSize, long nanos) {
+      super.pageDecompressed(column, codec, compressedSize, uncompressedSize, nanos);
+      if (Thread.currentThread() != owner) {
+        pagesDecompressedOnOtherThreads.incrementAndGet();
+      }
+    }
+  }
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private final WriterVersion version;
+  private final CompressionCodecName codec;
+  private final long bufferSize;
+
+  public TestParallelDecompression(WriterVersion version, CompressionCodecName codec, long bufferSize) {
+    this.version = version;
+    this.codec = codec;
+    this.bufferSize = bufferSize;
+  }
+
+  @Test
+  public void testReadAllColumns() throws IOException {
+    Path file = writeFile();
+    Configuration conf = new Configuration();
+    conf.setBoolean(ParquetInputFormat.PARALLEL_DECOMPRESSION_ENABLED, true);
+    conf.setLong(ParquetInputFormat.PARALLEL_DECOMPRESSION_BUFFER_SIZE, bufferSize);
+    conf.setClass(ParquetInputFormat.METRICS_CLASS, ThreadMetrics.class, ThreadMetrics.class);
+    ReadTestFile.assertRecords(file, conf, RECORD_COUNT);
+    assertDecompressedInParallel();
+  }
+
+  @Test
+  public void testReadWithPrefetch() throws IOException {
+    Path file = writeFile();
+    Configuration conf = new Configuration();
+    conf.setBoolean(ParquetInputFormat.PARALLEL_DECOMPRESSION_ENABLED, true);
+    conf.setLong(ParquetInputFormat.PARALLEL_DECOMPRESSION_BUFFER_SIZE, bufferSize);
+    conf.setBoolean(ParquetInputFormat.PREFETCH_ENABLED, true);
+    conf.setInt(ParquetInputFormat.PREFETCH_DEPTH, 2);
+    conf.setClass(ParquetInputFormat.METRICS_CLASS, ThreadMetrics.class, ThreadMetrics.class);
+    ReadTestFile.assertRecords(file, conf, RECORD_COUNT);
+    assertDecompressedInParallel();
+  }
+
+  @Test
+  public void testPreviousRowGroupClosedWithoutBufferPooling() throws IOException {
+    Assume.assumeTrue(codec != CompressionCodecName.UNCOMPRESSED);
+    Path file = writeFile();
+    Configuration conf = new Configuration();
+    conf.setBoolean(ParquetInputFormat.PARALLEL_DECOMPRESSION_ENABLED, true);
+    conf.setLong(ParquetInputFormat.PARALLEL_DECOMPRESSION_BUFFER_SIZE, 1L);
+    conf.setBoolean(ParquetInputFormat.READ_BUFFER_POOLING_ENABLED, false);
+    ParquetFileReader reader = ParquetFileReader.open(conf, file);
+    try {
+      PageReadStore first = reader.readNextRowGroup();
+      // the previous row group is closed whether or not there is a next one
+      reader.readNextRowGroup();
+      PageReader pages = first.getPageReader(ReadTestFile.SCHEMA.getColumnDescription(new String[] {"name"}));
+      try {
+        while (pages.readPage() != null) {
+        }
+        fail("Pages of the previous row group should not be decompressed after it is closed");
+      } catch (ParquetDecodingException e) {
+        // expected
+      }
+    } finally {
+      reader.close();
+    }
+  }
+
+  private Path writeFile() throws IOException {
+    Path file = ReadTestFile.newPath(temp);
+    ReadTestFile.write(ReadTestFile.writer(file)
+        .withWriterVersion(version)
+        .withCompressionCodec(codec)
+        .withRowGroupSize(128 * 1024)
+        .withPageSize(4 * 1024), RECORD_COUNT);
+    return file;
+  }
+
+  private void assertDecompressedInParallel() {
+    long pages = ThreadMetrics.last.pagesDecompressedOnOtherThreads.get();
+    if (codec == CompressionCodecName.UNCOMPRESSED) {
+      assertEquals("Uncompressed pages are not decompressed", 0, pages);
+    } else {
+      assertTrue("Pages should be decompressed on the pool", pages > 0);
+    }
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.apache.parquet.filter2.predicate.FilterApi.gt;
+import static org.apache.parquet.filter2.predicate.FilterApi.longColumn;
+import static org.apache.parquet.schema.MessageTypeParser.parseMessageType;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.bytes.BytesInput;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.compat.RowGroupFilter.FilterLevel;
+import org.apache.parquet.hadoop.ColumnChunkPageReadStore.MeasuredDecompressor;
+import org.apache.parquet.hadoop.CodecFactory.BytesDecompressor;
+import org.apache.parquet.hadoop.example.GroupReadSupport;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.hadoop.metrics.CountingParquetMetrics;
+import org.apache.parquet.schema.MessageType;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestParquetMetrics {
+
+  private static final MessageType SCHEMA = parseMessageType(
+      "message test { "
+      + "required int64 id; "
+      + "required binary name; "
+      + "} ");
+  private static final int RECORD_COUNT = 20000;
+
+  /**
+   * Metrics configured by class name, which keep the last instance.
+   */
+  public static class LastMetrics extends CountingParquetMetrics {
+    static LastMetrics last = null;
+
+    public LastMetrics() {
+      last = this;
+    }
+  }
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private Path file;
+  private CountingParquetMetrics writeMetrics;
+
+  @Before
+  public void writeFile() throws IOException {
+    this.file = ReadTestFile.newPath(temp);
+    this.writeMetrics = new CountingParquetMetrics();
+    ReadTestFile.write(ReadTestFile.writer(file, SCHEMA)
+        .withCompressionCodec(CompressionCodecName.GZIP)
+        .withDictionaryEncoding(false)
+        .withRowGroupSize(16 * 1024)
+        .withPageSize(2 * 1024)
+        .withPageIndex(true)
+        .withMetrics(writeMetrics), SCHEMA, RECORD_COUNT, new ReadTestFile.RecordFactory() {
+          @Override
+          public Group record(SimpleGroupFactory factory, int i) {
+            return factory.newGroup()
+                .append("id", (long) i)
+                .append("name", "name-" + i);
+          }
+        });
+  }
+
+  @Test
+  public void testWriteMetrics() throws IOException {
+    ParquetMetadata footer = ParquetFileReader.readFooter(new Configuration(), file);
+    assertEquals(footer.getBlocks().size(), writeMetrics.getRowGroupsWritten());
+    assertTrue(writeMetrics.getBytesWritten() > 0);
+    assertTrue(writeMetrics.getBytesCompressed().get(CompressionCodecName.GZIP) > 0);
+    assertTrue(writeMetrics.getCompressionNanos() > 0);
+  }
+
+  @Test
+  public void testReadMetrics() throws IOException {
+    Configuration conf = new Configuration();
+    conf.setClass(ParquetInputFormat.METRICS_CLASS, LastMetrics.class, LastMetrics.class);
+    assertEquals(RECORD_COUNT, read(conf, FilterCompat.NOOP));
+
+    CountingParquetMetrics metrics = LastMetrics.last;
+    int rowGroups = ParquetFileReader.readFooter(conf, file).getBlocks().size();
+    assertTrue("Should write several row groups", rowGroups > 1);
+    assertEquals(rowGroups, metrics.getRowGroupsRead());
+    assertEquals(RECORD_COUNT, metrics.getRecordsRead());
+    assertTrue(metrics.getFileReads() >= rowGroups);
+    assertTrue(metrics.getPagesRead() > 2 * rowGroups);
+    assertEquals(0, metrics.getPagesSkipped());
+
+    Map<ColumnPath, Long> columnBytes = metrics.getColumnBytesRead();
+    assertEquals(2, columnBytes.size());
+    long total = columnBytes.get(ColumnPath.get("id")) + columnBytes.get(ColumnPath.get("name"));
+    assertTrue(total <= metrics.getBytesRead());
+    assertTrue(metrics.getBytesDecompressed().get(CompressionCodecName.GZIP) > 0);
+    assertTrue(metrics.getDecompressionNanos() > 0);
+    assertTrue(metrics.getRecordNanos() > 0);
+  }
+
+  @Test
+  public void testDecompressionIsMeasuredWhenRead() throws IOException {
+    byte[] bytes = new byte[64 * 1024];
+    new Random(42).nextBytes(bytes);
+    CodecFactory codecFactory = new CodecFactory(new Configuration(), 1024);
+    BytesInput compressed = BytesInput.copy(
+        codecFactory.getCompressor(CompressionCodecName.GZIP).compress(BytesInput.from(bytes)));
+
+    CountingParquetMetrics metrics = new CountingParquetMetrics();
+    BytesDecompressor decompressor = new MeasuredDecompressor(
+        codecFactory.getDecompressor(CompressionCodecName.GZIP), metrics,
+        ColumnPath.get("id"), CompressionCodecName.GZIP);
+    BytesInput decompressed = decompressor.decompress(compressed, bytes.length);
+    assertTrue("Should not report before the bytes are read", metrics.getBytesDecompressed().isEmpty());
+
+    assertArrayEquals(bytes, decompressed.toByteArray());
+    assertEquals(compressed.size(), (long) metrics.getBytesDecompressed().get(CompressionCodecName.GZIP));
+    assertTrue(metrics.getDecompressionNanos() > 0);
+    codecFactory.release();
+  }
+
+  @Test
+  public void testPrunedRowGroups() throws IOException {
+    Configuration conf = new Configuration();
+    conf.setClass(ParquetInputFormat.METRICS_CLASS, LastMetrics.class, LastMetrics.class);
+    conf.setBoolean(ParquetInputFormat.COLUMN_INDEX_FILTERING_ENABLED, false);
+    assertEquals(99, read(conf, FilterCompat.get(gt(longColumn("id"), (long) RECORD_COUNT - 100))));
+
+    CountingParquetMetrics metrics = LastMetrics.last;
+    int rowGroups = ParquetFileReader.readFooter(conf, file).getBlocks().size();
+    assertEquals(rowGroups - 1, metrics.getRowGroupsPruned(FilterLevel.STATISTICS));
+    assertEquals(1, metrics.getRowGroupsRead());
+  }
+
+  @Test
+  public void testSkippedPages() throws IOException {
+    Configuration conf = new Configuration();
+    conf.setClass(ParquetInputFormat.METRICS_CLASS, LastMetrics.class, LastMetrics.class);
+    conf.setBoolean(ParquetInputFormat.STATS_FILTERING_ENABLED, false);
+    assertEquals(99, read(conf, FilterCompat.get(gt(longColumn("id"), (long) RECORD_COUNT - 100))));
+
+    CountingParquetMetrics metrics = LastMetrics.last;
+    assertEquals(0, metrics.getRowGroupsPruned(FilterLevel.STATISTICS));
+    assertTrue("Pages before the matching rows should be skipped", metrics.getPagesSkipped() > 0);
+  }
+
+  private long read(Configuration conf, FilterCompat.Filter filter) throws IOException {
+    ParquetReader<Group> reader = ParquetReader.builder(new GroupReadSupport(), file)
+        .withConf(conf)
+        .withFilter(filter)
+        .build();
+    long count = 0;
+    while (reader.read() != null) {
+      count += 1;
+    }
+    reader.close();
+    return count;
+  }
+}
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.apache.parquet.filter2.predicate.FilterApi.eq;
+import static org.apache.parquet.filter2.predicate.FilterApi.longColumn;
+import static org.apache.parquet.format.converter.ParquetMetadataConverter.NO_FILTER;
+import static org.apache.parquet.format.converter.ParquetMetadataConverter.range;
+import static org.apache.parquet.schema.MessageTypeParser.parseMessageType;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.hadoop.api.ReadSupport;
+import org.apache.parquet.hadoop.example.GroupReadSupport;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.schema.MessageType;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestProjectedFooter {
+
+  private static final int COLUMN_COUNT = 30;
+  private static final int RECORD_COUNT = 20000;
+  private static final MessageType PROJECTION = parseMessageType(
+      "message test { "
+      + "required int64 c3; "
+      + "required int64 c17; "
+      + "} ");
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private Configuration conf;
+  private InputFile input;
+
+  @Before
+  public void writeFile() throws IOException {
+    StringBuilder schema = new StringBuilder("message test { ");
+    for (int c = 0; c < COLUMN_COUNT; c += 1) {
+      schema.append("required int64 c").append(c).append("; ");
+    }
+    MessageType fileSchema = parseMessageType(schema.append("}").toString());
+
+    Path file = ReadTestFile.newPath(temp);
+    this.conf = new Configuration();
+
+    ReadTestFile.write(ReadTestFile.writer(file, fileSchema)
+        .withRowGroupSize(256 * 1024)
+        .withDictionaryEncoding(false), fileSchema, RECORD_COUNT, new ReadTestFile.RecordFactory() {
+          @Override
+          public Group record(SimpleGroupFactory factory, int i) {
+            Group group = factory.newGroup();
+            for (int c = 0; c < COLUMN_COUNT; c += 1) {
+              group.append("c" + c, (long) i * c);
+            }
+            return group;
+          }
+        });
+    this.input = HadoopInputFile.fromPath(file, conf);
+  }
+
+  @Test
+  public void testProjectedColumnMetaData() throws IOException {
+    ParquetMetadata full = ParquetFileReader.readFooter(input, NO_FILTER);
+    ParquetMetadata projected = ParquetFileReader.readFooter(input, NO_FILTER, PROJECTION);
+    assertTrue("Should have several row groups", full.getBlocks().size() > 1);
+    assertEquals("Should keep the file schema",
+        full.getFileMetaData().getSchema(), projected.getFileMetaData().getSchema());
+    assertEquals(full.getBlocks().size(), projected.getBlocks().size());
+
+    for (int i = 0; i < full.getBlocks().size(); i += 1) {
+      BlockMetaData fullBlock = full.getBlocks().get(i);
+      BlockMetaData projectedBlock = projected.getBlocks().get(i);
+      assertEquals(fullBlock.getRowCount(), projectedBlock.getRowCount());
+      assertEquals(2, projectedBlock.getColumns().size());
+      assertSameColumn(fullBlock.getColumns().get(3), projectedBlock.getColumns().get(0));
+      assertSameColumn(fullBlock.getColumns().get(17), projectedBlock.getColumns().get(1));
+    }
+  }
+
+  @Test
+  public void testRowGroupsSelectedBeforeProjection() throws IOException {
+    long end = input.getLength() / 2;
+    ParquetMetadata full = ParquetFileReader.readFooter(input, range(0, end));
+    ParquetMetadata projected = ParquetFileReader.readFooter(input, range(0, end), PROJECTION);
+    assertEquals(full.getBlocks().size(), projected.getBlocks().size());
+    for (int i = 0; i < full.getBlocks().size(); i += 1) {
+      assertEquals(full.getBlocks().get(i).getColumns().get(3).getStartingPos(),
+          projected.getBlocks().get(i).getColumns().get(0).getStartingPos());
+    }
+  }
+
+  @Test
+  public void testReadProjectedColumns() throws IOException {
+    ParquetFileReader reader = new ParquetFileReader(conf, input, NO_FILTER, PROJECTION);
+    long rows = 0;
+    PageReadStore rowGroup;
+    while ((rowGroup = reader.readNextRowGroup()) != null) {
+      for (ColumnDescriptor column : PROJECTION.getColumns()) {
+        assertEquals(rowGroup.getRowCount(), rowGroup.getPageReader(column).getTotalValueCount());
+      }
+      rows += rowGroup.getRowCount();
+    }
+    reader.close();
+    assertEquals(RECORD_COUNT, rows);
+  }
+
+  @Test
+  public void testFooterProjectedOnRequestedSchema() throws Exception {
+    conf.set(ReadSupport.PARQUET_READ_SCHEMA, PROJECTION.toString());
+    InternalParquetRecordReader<Group> recordReader =
+        new InternalParquetRecordReader<Group>(new GroupReadSupport());
+    ParquetFileReader reader = new ParquetFileReader(conf, input, NO_FILTER,
+        recordReader.getFooterProjection(conf, Collections.<ColumnPath>emptySet()));
+    for (BlockMetaData block : reader.getRowGroups()) {
+      assertEquals(2, block.getColumns().size());
+    }
+
+    recordReader.initialize(reader, conf);
+    for (int i = 0; i < RECORD_COUNT; i += 1) {
+      assertTrue(recordReader.nextKeyValue());
+      Group group = recordReader.getCurrentValue();
+      assertEquals(i * 3L, group.getLong("c3", 0));
+      assertEquals(i * 17L, group.getLong("c17", 0));
+    }
+    assertFalse(recordReader.nextKeyValue());
+    recordReader.close();
+  }
+
+  @Test
+  public void testFooterNotProjectedWithoutFilterColumns() throws IOException {
+    conf.set(ReadSupport.PARQUET_READ_SCHEMA, PROJECTION.toString());
+    InternalParquetRecordReader<Group> recordReader =
+        new InternalParquetRecordReader<Group>(new GroupReadSupport());
+    ParquetFileReader reader = new ParquetFileReader(conf, input, NO_FILTER,
+        recordReader.getFooterProjection(conf, Collections.singleton(ColumnPath.get("c5"))));
+    for (BlockMetaData block : reader.getRowGroups()) {
+      assertEquals(COLUMN_COUNT, block.getColumns().size());
+    }
+    reader.close();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFilterOnColumnOutsideProjection() throws IOException {
+    ParquetFileReader reader = new ParquetFileReader(conf, input, NO_FILTER, PROJECTION);
+    try {
+      reader.filterRowGroups(FilterCompat.get(eq(longColumn("c5"), 10L)));
+    } finally {
+      reader.close();
+    }
+  }
+
+  private static void assertSameColumn(ColumnChunkMetaData expected, ColumnChunkMetaData actual) {
+    assertEquals(expected.getPath(), actual.getPath());
+    assertEquals(expected.getStartingPos(), actual.getStartingPos());
+    assertEquals(expected.getTotalSize(), actual.getTotalSize());
+    assertEquals(expected.getValueCount(), actual.getValueCount());
+    assertEquals(expected.getStatistics(), actual.getStatistics());
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.apache.parquet.filter2.predicate.FilterApi.gtEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.longColumn;
+import static org.apache.parquet.format.converter.ParquetMetadataConverter.NO_FILTER;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.hadoop.example.GroupReadSupport;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metrics.CountingParquetMetrics;
+import org.apache.parquet.hadoop.util.CountingInputFile;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestRowGroupPrefetch {
+
+  private static final int RECORD_COUNT = 5000;
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private Path file;
+
+  @Before
+  public void writeFile() throws IOException {
+    this.file = ReadTestFile.newPath(temp);
+    ReadTestFile.write(ReadTestFile.writer(file)
+        .withRowGroupSize(4 * 1024)
+        .withPageSize(1024)
+        .withDictionaryEncoding(false), RECORD_COUNT);
+  }
+
+  @Test
+  public void testReadWithPrefetch() throws IOException {
+    Configuration conf = new Configuration();
+    conf.setBoolean(ParquetInputFormat.PREFETCH_ENABLED, true);
+    conf.setInt(ParquetInputFormat.PREFETCH_DEPTH, 3);
+    CountingInputFile input = ReadTestFile.assertRecords(file, conf, RECORD_COUNT);
+    assertTrue("Row groups should be read in the background", input.getReadsOnOtherThreads() > 0);
+  }
+
+  @Test
+  public void testReadWithFilterWithoutPageIndexes() throws IOException {
+    Configuration conf = new Configuration();
+    conf.setBoolean(ParquetInputFormat.PREFETCH_ENABLED, true);
+    conf.setInt(ParquetInputFormat.PREFETCH_DEPTH, 3);
+    CountingInputFile input = new CountingInputFile(HadoopInputFile.fromPath(file, conf));
+    ParquetReader<Group> reader = ParquetReader.builder(new GroupReadSupport(), input)
+        .withConf(conf)
+        .withFilter(FilterCompat.get(gtEq(longColumn("id"), 0L)))
+        .build();
+    try {
+      for (int i = 0; i < RECORD_COUNT; i += 1) {
+        ReadTestFile.assertRecord(i, reader.read());
+      }
+      assertNull(reader.read());
+    } finally {
+      reader.close();
+    }
+    assertTrue("Row groups without page indexes should be read in the background",
+        input.getReadsOnOtherThreads() > 0);
+  }
+
+  @Test
+  public void testReadWithExhaustedByteBudget() throws IOException {
+    Configuration conf = new Configuration();
+    conf.setBoolean(ParquetInputFormat.PREFETCH_ENABLED, true);
+    conf.setLong(ParquetInputFormat.PREFETCH_MAX_BYTES, 1);
+    CountingInputFile input = ReadTestFile.assertRecords(file, conf, RECORD_COUNT);
+    assertEquals("No row group fits in the budget", 0, input.getReadsOnOtherThreads());
+  }
+
+  @Test
+  public void testSkipPrefetchedRowGroups() throws IOException {
+    Configuration conf = new Configuration();
+    conf.setBoolean(ParquetInputFormat.PREFETCH_ENABLED, true);
+    conf.setInt(ParquetInputFormat.PREFETCH_DEPTH, 2);
+
+    ParquetFileReader reader = new ParquetFileReader(conf, file, NO_FILTER);
+    CountingParquetMetrics metrics = new CountingParquetMetrics();
+    reader.setMetrics(metrics);
+    List<BlockMetaData> blocks = reader.getRowGroups();
+    assertTrue("Should write several row groups", blocks.size() > 4);
+
+    for (int i = 0; i < blocks.size(); i += 1) {
+      if (i % 3 == 1) {
+        assertTrue(reader.skipNextRowGroup());
+      } else {
+        PageReadStore rowGroup = reader.readNextRowGroup();
+        assertEquals("Row group " + i, blocks.get(i).getRowCount(), rowGroup.getRowCount());
+      }
+    }
+    assertNull(reader.readNextRowGroup());
+    assertTrue("Should report the wait for prefetched row groups", metrics.getPrefetchWaitNanos() > 0);
+    assertEquals(TimeUnit.NANOSECONDS.toMillis(metrics.getPrefetchWaitNanos()), reader.getPrefetchWaitTime());
+    reader.close();
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.column.ParquetProperties.WriterVersion;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.util.CountingInputFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+@RunWith(Parameterized.class)
+public class TestSegmentedChunkBuffers {
+
+  private static final int RECORD_COUNT = 4000;
+  // an odd size makes page headers and pages cross segment boundaries
+  private static final int SEGMENT_SIZE = 333;
+
+  @Parameterized.Parameters
+  public static Collection<Object[]> data() {
+    Object[][] data = new Object[][] {
+        { WriterVersion.PARQUET_1_0, CompressionCodecName.UNCOMPRESSED },
+        { WriterVersion.PARQUET_1_0, CompressionCodecName.GZIP },
+        { WriterVersion.PARQUET_2_0, CompressionCodecName.UNCOMPRESSED },
+        { WriterVersion.PARQUET_2_0, CompressionCodecName.GZIP } };
+    return Arrays.asList(data);
+  }
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private final WriterVersion version;
+  private final CompressionCodecName codec;
+
+  public TestSegmentedChunkBuffers(WriterVersion version, CompressionCodecName codec) {
+    this.version = version;
+    this.codec = codec;
+  }
+
+  @Test
+  public void testPagesSpanningSegments() throws IOException {
+    Path file = ReadTestFile.newPath(temp);
+    ReadTestFile.write(ReadTestFile.writer(file)
+        .withWriterVersion(version)
+        .withCompressionCodec(codec)
+        .withRowGroupSize(64 * 1024)
+        .withPageSize(2 * 1024), RECORD_COUNT);
+
+    Configuration conf = new Configuration();
+    conf.setInt(ParquetInputFormat.READ_BUFFER_SEGMENT_SIZE, SEGMENT_SIZE);
+    CountingInputFile input = ReadTestFile.assertRecords(file, conf, RECORD_COUNT);
+
+    assertTrue("Should read the chunks", input.getBufferReads() > 0);
+    assertTrue("Should read the chunks into buffers of at most the segment size",
+        input.getMaxBufferReadSize() <= SEGMENT_SIZE);
+    assertTrue("Should read the chunks into several segments",
+        input.getBufferReads() > input.getSeeks());
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.SeekableInputStream;
+
+/**
+ * An InputFile that counts the seeks and reads of its streams, and the reads
+ * made by threads other than the one that created it.
+ */
+public class CountingInputFile implements InputFile {
+  private final InputFile file;
+  private final Thread owner = Thread.currentThread();
+  private int seeks = 0;
+  private int bufferReads = 0;
+  private int maxBufferReadSize = 0;
+  private long bytesRead = 0;
+  private int readsOnOtherThreads = 0;
+
+  public CountingInputFile(InputFile file) {
+    this.file = file;
+  }
+
+  /**
+   * @return the number of seeks
+   */
+  public synchronized int getSeeks() {
+    return seeks;
+  }
+
+  /**
+   * @return the number of reads into a ByteBuffer, which is how column chunks and pages are read
+   */
+  public synchronized int getBufferReads() {
+    return bufferReads;
+  }
+
+  /**
+   * @return the size of the largest read into a ByteBuffer
+   */
+  public synchronized int getMaxBufferReadSize() {
+    return maxBufferReadSize;
+  }
+
+  /**
+   * @return the number of bytes read
+   */
+  public synchronized long getBytesRead() {
+    return bytesRead;
+  }
+
+  /**
+   * @return the number of reads made by threads other than the one that created this file
+   */
+  public synchronized int getReadsOnOtherThreads() {
+    return readsOnOtherThreads;
+  }
+
+  private synchronized void seeked() {
+    seeks += 1;
+  }
+
+  private synchronized void counted(long bytes) {
+    bytesRead += bytes;
+    if (Thread.currentThread() != owner) {
+      readsOnOtherThreads += 1;
+    }
+  }
+
+  private synchronized void bufferRead(int bytes) {
+    bufferReads += 1;
+    maxBufferReadSize = Math.max(maxBufferReadSize, bytes);
+    counted(bytes);
+  }
+
+  @Override
+  public long getLength() throws IOException {
+    return file.getLength();
+  }
+
+  @Override
+  public SeekableInputStream newStream() throws IOException {
+    final SeekableInputStream stream = file.newStream();
+    return new SeekableInputStream() {
+      @Override
+      public long getPos() throws IOException {
+        return stream.getPos();
+      }
+
+      @Override
+      public void seek(long newPos) throws IOException {
+        seeked();
+        stream.seek(newPos);
+      }
+
+      @Override
+      public void readFully(byte[] bytes) throws IOException {
+        stream.readFully(bytes);
+        counted(bytes.length);
+      }
+
+      @Override
+      public void readFully(byte[] bytes, int start, int len) throws IOException {
+        stream.readFully(bytes, start, len);
+        counted(len);
+      }
+
+      @Override
+      public int read(byte[] bytes, int start, int len) throws IOException {
+        int n = stream.read(bytes, start, len);
+        if (n > 0) {
+          counted(n);
+        }
+        return n;
+      }
+
+      @Override
+      public int read(ByteBuffer buf) throws IOException {
+        int n = stream.read(buf);
+        if (n > 0) {
+          bufferRead(n);
+        }
+        return n;
+      }
+
+      @Override
+      public void readFully(ByteBuffer buf) throws IOException {
+        int n = buf.remaining();
+        stream.readFully(buf);
+        bufferRead(n);
+      }
+
+      @Override
+      public int read() throws IOException {
+        int b = stream.read();
+        if (b >= 0) {
+          counted(1);
+        }
+        return b;
+      }
+
+      @Override
+      public void close() throws IOException {
+        stream.close();
+      }
+    };
+  }
+
+  @Override
+  public String toString() {
+    return file.toString();
+  }
+}
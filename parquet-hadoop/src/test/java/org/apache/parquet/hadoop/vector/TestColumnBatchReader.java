@@ -0,0 +1,277 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop.vector;
+
+import static org.apache.parquet.schema.MessageTypeParser.parseMessageType;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.column.ParquetProperties.WriterVersion;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.hadoop.ParquetInputFormat;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+@RunWith(Parameterized.class)
+public class TestColumnBatchReader {
+
+  private static final MessageType SCHEMA = parseMessageType(
+      "message test { "
+      + "required int32 id; "
+      + "optional int64 count; "
+      + "optional binary name (UTF8); "
+      + "required double score; "
+      + "optional float ratio; "
+      + "optional boolean flag; "
+      + "optional group nested { "
+      + "  optional fixed_len_byte_array(4) code; "
+      + "} "
+      + "} ");
+  private static final int RECORD_COUNT = 10000;
+
+  @Parameterized.Parameters(name = "{0} dictionary={1}")
+  public static Collection<Object[]> params() {
+    return Arrays.asList(new Object[][] {
+        { WriterVersion.PARQUET_1_0, true },
+        { WriterVersion.PARQUET_1_0, false },
+        { WriterVersion.PARQUET_2_0, true },
+        { WriterVersion.PARQUET_2_0, false } });
+  }
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private final WriterVersion version;
+  private final boolean dictionary;
+  private Path file;
+
+  public TestColumnBatchReader(WriterVersion version, boolean dictionary) {
+    this.version = version;
+    this.dictionary = dictionary;
+  }
+
+  @Before
+  public void writeFile() throws IOException {
+    File testFile = temp.newFile();
+    testFile.delete();
+    this.file = new Path(testFile.toString());
+    SimpleGroupFactory factory = new SimpleGroupFactory(SCHEMA);
+    ParquetWriter<Group> writer = ExampleParquetWriter.builder(file)
+        .withType(SCHEMA)
+        .withWriterVersion(version)
+        .withDictionaryEncoding(dictionary)
+        .withRowGroupSize(64 * 1024)
+        .withPageSize(4 * 1024)
+        .build();
+    for (int i = 0; i < RECORD_COUNT; i += 1) {
+      Group group = factory.newGroup()
+          .append("id", i)
+          .append("score", i / 4.0);
+      if (i % 3 != 0) {
+        group.append("count", (long) i * 1000);
+      }
+      if (i % 5 != 0) {
+        group.append("name", "name-" + (i % 100));
+      }
+      if (i % 7 != 0) {
+        group.append("ratio", (float) i / 2);
+      }
+      if (i % 2 != 0) {
+        group.append("flag", i % 4 == 1);
+      }
+      if (i % 11 != 0) {
+        group.addGroup("nested").append("code", Binary.fromConstantByteArray(
+            new byte[] { (byte) i, (byte) (i >> 8), 0, 1 }));
+      } else if (i % 2 == 0) {
+        group.addGroup("nested");
+      }
+      writer.write(group);
+    }
+    writer.close();
+  }
+
+  @Test
+  public void testReadAllColumns() throws IOException {
+    Configuration conf = new Configuration();
+    ColumnBatchReader reader = new ColumnBatchReader(
+        conf, HadoopInputFile.fromPath(file, conf), null, 1000);
+    int rowGroups = 0;
+    int row = 0;
+    ColumnBatch batch;
+    while ((batch = reader.nextBatch()) != null) {
+      assertTrue(batch.getRowCount() > 0 && batch.getRowCount() <= 1000);
+      if (batch.getRowCount() < 1000) {
+        rowGroups += 1;
+      }
+      ColumnVector ids = batch.getColumn("id");
+      ColumnVector counts = batch.getColumn("count");
+      ColumnVector names = batch.getColumn("name");
+      ColumnVector scores = batch.getColumn("score");
+      ColumnVector ratios = batch.getColumn("ratio");
+      ColumnVector flags = batch.getColumn("flag");
+      ColumnVector codes = batch.getColumn("nested", "code");
+      assertFalse(ids.isNullable());
+      assertNull(ids.getValidity());
+      for (int j = 0; j < batch.getRowCount(); j += 1, row += 1) {
+        assertEquals(row, ids.getInts()[j]);
+        assertEquals(row / 4.0, scores.getDoubles()[j], 0.0);
+        assertEquals(row % 3 == 0, counts.isNull(j));
+        assertEquals(row % 3 == 0 ? 0 : (long) row * 1000, counts.getLongs()[j]);
+        assertEquals(row % 5 == 0, names.isNull(j));
+        assertEquals(row % 5 == 0 ? "" : "name-" + (row % 100), names.getBinary(j).toStringUsingUTF8());
+        assertEquals(row % 7 == 0, ratios.isNull(j));
+        assertEquals(row % 7 == 0 ? 0.0f : (float) row / 2, ratios.getFloats()[j], 0.0f);
+        assertEquals(row % 2 == 0, flags.isNull(j));
+        assertEquals(row % 4 == 1, flags.getBooleans()[j]);
+        assertEquals(row % 11 == 0, codes.isNull(j));
+        if (row % 11 != 0) {
+          assertEquals(Binary.fromConstantByteArray(new byte[] { (byte) row, (byte) (row >> 8), 0, 1 }),
+              codes.getBinary(j));
+        }
+      }
+    }
+    reader.close();
+    assertEquals(RECORD_COUNT, row);
+    assertTrue("Should read several row groups", rowGroups > 1);
+  }
+
+  @Test
+  public void testNullCounts() throws IOException {
+    Configuration conf = new Configuration();
+    MessageType projection = parseMessageType(
+        "message test { optional int64 count; optional binary name (UTF8); }");
+    ColumnBatchReader reader = new ColumnBatchReader(conf, HadoopInputFile.fromPath(file, conf), projection);
+    long countNulls = 0;
+    long nameNulls = 0;
+    ColumnBatch batch;
+    while ((batch = reader.nextBatch()) != null) {
+      assertEquals(2, batch.getColumnCount());
+      ColumnVector counts = batch.getColumn(0);
+      countNulls += counts.getNullCount();
+      nameNulls += batch.getColumn(1).getNullCount();
+      assertEquals(batch.getRowCount(), counts.size());
+    }
+    reader.close();
+    assertEquals((RECORD_COUNT + 2) / 3, countNulls);
+    assertEquals(RECORD_COUNT / 5, nameNulls);
+  }
+
+  @Test
+  public void testDictionaryIds() throws IOException {
+    Configuration conf = new Configuration();
+    conf.setBoolean(ParquetInputFormat.BATCH_DICTIONARY_IDS_ENABLED, true);
+    MessageType projection = parseMessageType(
+        "message test { optional binary name (UTF8); optional int64 count; }");
+    ColumnBatchReader reader = new ColumnBatchReader(
+        conf, HadoopInputFile.fromPath(file, conf), projection, 1000);
+    int row = 0;
+    int encodedBatches = 0;
+    ColumnBatch batch;
+    while ((batch = reader.nextBatch()) != null) {
+      ColumnVector names = batch.getColumn("name");
+      // the writer may not use a dictionary for small row groups
+      if (names.isDictionaryEncoded()) {
+        encodedBatches += 1;
+      }
+      assertFalse(batch.getColumn("count").isDictionaryEncoded());
+      for (int j = 0; j < batch.getRowCount(); j += 1, row += 1) {
+        assertEquals(row % 5 == 0, names.isNull(j));
+        if (row % 5 != 0) {
+          String expected = "name-" + (row % 100);
+          assertEquals(expected, names.getBinary(j).toStringUsingUTF8());
+          if (names.isDictionaryEncoded()) {
+            assertEquals(expected,
+                names.getDictionary().decodeToBinary(names.getDictionaryIds()[j]).toStringUsingUTF8());
+          }
+        }
+      }
+    }
+    reader.close();
+    assertEquals(RECORD_COUNT, row);
+    assertEquals(dictionary, encodedBatches > 0);
+  }
+
+  @Test
+  public void testDictionaryIdsWithFallback() throws IOException {
+    MessageType schema = parseMessageType("message test { optional binary value (UTF8); }");
+    File testFile = temp.newFile();
+    testFile.delete();
+    Path fallbackFile = new Path(testFile.toString());
+    SimpleGroupFactory factory = new SimpleGroupFactory(schema);
+    ParquetWriter<Group> writer = ExampleParquetWriter.builder(fallbackFile)
+        .withType(schema)
+        .withWriterVersion(version)
+        .withDictionaryEncoding(dictionary)
+        .withDictionaryPageSize(2 * 1024)
+        .withPageSize(1024)
+        .build();
+    for (int i = 0; i < RECORD_COUNT; i += 1) {
+      Group group = factory.newGroup();
+      if (i % 3 != 0) {
+        group.append("value", "value-" + i);
+      }
+      writer.write(group);
+    }
+    writer.close();
+
+    Configuration conf = new Configuration();
+    conf.setBoolean(ParquetInputFormat.BATCH_DICTIONARY_IDS_ENABLED, true);
+    ColumnBatchReader reader = new ColumnBatchReader(
+        conf, HadoopInputFile.fromPath(fallbackFile, conf), null, 1000);
+    int row = 0;
+    ColumnBatch batch = reader.nextBatch();
+    // the first batch starts with dictionary encoded pages then falls back
+    assertFalse(batch.getColumn(0).isDictionaryEncoded());
+    for (; batch != null; batch = reader.nextBatch()) {
+      ColumnVector values = batch.getColumn(0);
+      for (int j = 0; j < batch.getRowCount(); j += 1, row += 1) {
+        assertEquals(row % 3 == 0, values.isNull(j));
+        assertEquals(row % 3 == 0 ? "" : "value-" + row, values.getBinary(j).toStringUsingUTF8());
+      }
+    }
+    reader.close();
+    assertEquals(RECORD_COUNT, row);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsRepeatedColumns() throws IOException {
+    Configuration conf = new Configuration();
+    MessageType repeated = parseMessageType("message test { repeated int32 id; }");
+    new ColumnBatchReader(conf, HadoopInputFile.fromPath(file, conf), repeated);
+  }
+}